@@ -0,0 +1,413 @@
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded deque that threads can block on, wrapping an ArrayDeque or a
+ * LinkedDeque.
+ *
+ * put methods wait while the deque is full and take methods wait while it is
+ * empty, so a consumer parks until there is work instead of spinning or
+ * sleeping. offer and poll do the same with a timeout.
+ *
+ * Every operation runs under one ReentrantLock, with one Condition for "not
+ * empty" and one for "not full". The lock is used instead of synchronized
+ * and wait/notify because a virtual thread that parks inside a synchronized
+ * block pins its carrier thread, while one that parks on a Condition
+ * unmounts and frees it.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ * @userid pkutz3
+ * @GTID 903637824
+ *
+ * @param <T> the type of the data
+ */
+public class BlockingBoundedDeque<T> {
+
+    private final Store<T> store;
+    private final int capacity;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    /**
+     * Constructs a blocking deque backed by an ArrayDeque.
+     *
+     * @param capacity the most elements the deque may hold
+     * @param <T>      the type of the data
+     * @return the new deque
+     * @throws java.lang.IllegalArgumentException if capacity is not positive
+     */
+    public static <T> BlockingBoundedDeque<T> overArrayDeque(int capacity) {
+        ArrayDeque<T> deque = new ArrayDeque<>();
+        return new BlockingBoundedDeque<>(capacity, new Store<T>() {
+            @Override
+            public void addFirst(T data) {
+                deque.addFirst(data);
+            }
+
+            @Override
+            public void addLast(T data) {
+                deque.addLast(data);
+            }
+
+            @Override
+            public T removeFirst() {
+                return deque.removeFirst();
+            }
+
+            @Override
+            public T removeLast() {
+                return deque.removeLast();
+            }
+
+            @Override
+            public int size() {
+                return deque.size();
+            }
+        });
+    }
+
+    /**
+     * Constructs a blocking deque backed by a LinkedDeque.
+     *
+     * @param capacity the most elements the deque may hold
+     * @param <T>      the type of the data
+     * @return the new deque
+     * @throws java.lang.IllegalArgumentException if capacity is not positive
+     */
+    public static <T> BlockingBoundedDeque<T> overLinkedDeque(int capacity) {
+        LinkedDeque<T> deque = new LinkedDeque<>();
+        return new BlockingBoundedDeque<>(capacity, new Store<T>() {
+            @Override
+            public void addFirst(T data) {
+                deque.addFirst(data);
+            }
+
+            @Override
+            public void addLast(T data) {
+                deque.addLast(data);
+            }
+
+            @Override
+            public T removeFirst() {
+                return deque.removeFirst();
+            }
+
+            @Override
+            public T removeLast() {
+                return deque.removeLast();
+            }
+
+            @Override
+            public int size() {
+                return deque.size();
+            }
+        });
+    }
+
+    /**
+     * Constructs a blocking deque over the given store.
+     *
+     * @param capacity the most elements the deque may hold
+     * @param store    the deque operations to guard
+     * @throws java.lang.IllegalArgumentException if capacity is not positive
+     */
+    private BlockingBoundedDeque(int capacity, Store<T> store) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The capacity is not positive.");
+        }
+        this.capacity = capacity;
+        this.store = store;
+    }
+
+    /**
+     * Adds the element to the front of the deque, waiting for room if it is
+     * full.
+     *
+     * @param data the data to add
+     * @throws java.lang.IllegalArgumentException if data is null
+     * @throws java.lang.InterruptedException     if interrupted while waiting
+     */
+    public void putFirst(T data) throws InterruptedException {
+        put(data, true);
+    }
+
+    /**
+     * Adds the element to the back of the deque, waiting for room if it is
+     * full.
+     *
+     * @param data the data to add
+     * @throws java.lang.IllegalArgumentException if data is null
+     * @throws java.lang.InterruptedException     if interrupted while waiting
+     */
+    public void putLast(T data) throws InterruptedException {
+        put(data, false);
+    }
+
+    /**
+     * Adds the element to the front of the deque, waiting up to timeout for
+     * room if it is full.
+     *
+     * @param data    the data to add
+     * @param timeout how long to wait
+     * @param unit    the unit of timeout
+     * @return true if the element was added, false if time ran out
+     * @throws java.lang.IllegalArgumentException if data is null
+     * @throws java.lang.InterruptedException     if interrupted while waiting
+     */
+    public boolean offerFirst(T data, long timeout, TimeUnit unit) throws InterruptedException {
+        return offer(data, true, unit.toNanos(timeout));
+    }
+
+    /**
+     * Adds the element to the back of the deque, waiting up to timeout for
+     * room if it is full.
+     *
+     * @param data    the data to add
+     * @param timeout how long to wait
+     * @param unit    the unit of timeout
+     * @return true if the element was added, false if time ran out
+     * @throws java.lang.IllegalArgumentException if data is null
+     * @throws java.lang.InterruptedException     if interrupted while waiting
+     */
+    public boolean offerLast(T data, long timeout, TimeUnit unit) throws InterruptedException {
+        return offer(data, false, unit.toNanos(timeout));
+    }
+
+    /**
+     * Removes and returns the first element, waiting for one if the deque is
+     * empty.
+     *
+     * @return the data formerly at the front of the deque
+     * @throws java.lang.InterruptedException if interrupted while waiting
+     */
+    public T takeFirst() throws InterruptedException {
+        return take(true);
+    }
+
+    /**
+     * Removes and returns the last element, waiting for one if the deque is
+     * empty.
+     *
+     * @return the data formerly at the back of the deque
+     * @throws java.lang.InterruptedException if interrupted while waiting
+     */
+    public T takeLast() throws InterruptedException {
+        return take(false);
+    }
+
+    /**
+     * Removes and returns the first element, waiting up to timeout for one if
+     * the deque is empty.
+     *
+     * @param timeout how long to wait
+     * @param unit    the unit of timeout
+     * @return the data formerly at the front, or null if time ran out
+     * @throws java.lang.InterruptedException if interrupted while waiting
+     */
+    public T pollFirst(long timeout, TimeUnit unit) throws InterruptedException {
+        return poll(true, unit.toNanos(timeout));
+    }
+
+    /**
+     * Removes and returns the last element, waiting up to timeout for one if
+     * the deque is empty.
+     *
+     * @param timeout how long to wait
+     * @param unit    the unit of timeout
+     * @return the data formerly at the back, or null if time ran out
+     * @throws java.lang.InterruptedException if interrupted while waiting
+     */
+    public T pollLast(long timeout, TimeUnit unit) throws InterruptedException {
+        return poll(false, unit.toNanos(timeout));
+    }
+
+    /**
+     * Returns the number of elements in the deque.
+     *
+     * @return the size of the deque
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return store.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the most elements the deque may hold.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Private helper for the put methods.
+     *
+     * @param data  the data to add
+     * @param front whether to add at the front
+     * @throws java.lang.InterruptedException if interrupted while waiting
+     */
+    private void put(T data, boolean front) throws InterruptedException {
+        if (data == null) {
+            throw new IllegalArgumentException("The data is null.");
+        }
+        lock.lockInterruptibly();
+        try {
+            while (store.size() == capacity) {
+                notFull.await();
+            }
+            add(data, front);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Private helper for the timed offer methods.
+     *
+     * @param data  the data to add
+     * @param front whether to add at the front
+     * @param nanos how long to wait
+     * @return true if the element was added
+     * @throws java.lang.InterruptedException if interrupted while waiting
+     */
+    private boolean offer(T data, boolean front, long nanos) throws InterruptedException {
+        if (data == null) {
+            throw new IllegalArgumentException("The data is null.");
+        }
+        lock.lockInterruptibly();
+        try {
+            while (store.size() == capacity) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            add(data, front);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Private helper for the take methods.
+     *
+     * @param front whether to remove from the front
+     * @return the removed data
+     * @throws java.lang.InterruptedException if interrupted while waiting
+     */
+    private T take(boolean front) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (store.size() == 0) {
+                notEmpty.await();
+            }
+            return remove(front);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Private helper for the timed poll methods.
+     *
+     * @param front whether to remove from the front
+     * @param nanos how long to wait
+     * @return the removed data, or null if time ran out
+     * @throws java.lang.InterruptedException if interrupted while waiting
+     */
+    private T poll(boolean front, long nanos) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (store.size() == 0) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return remove(front);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Private helper that adds to the store and wakes one taker. The lock
+     * must be held.
+     *
+     * @param data  the data to add
+     * @param front whether to add at the front
+     */
+    private void add(T data, boolean front) {
+        if (front) {
+            store.addFirst(data);
+        } else {
+            store.addLast(data);
+        }
+        notEmpty.signal();
+    }
+
+    /**
+     * Private helper that removes from the store and wakes one putter. The
+     * lock must be held.
+     *
+     * @param front whether to remove from the front
+     * @return the removed data
+     */
+    private T remove(boolean front) {
+        T data = front ? store.removeFirst() : store.removeLast();
+        notFull.signal();
+        return data;
+    }
+
+    /**
+     * The deque operations BlockingBoundedDeque needs from its backing deque.
+     *
+     * @param <T> the type of the data
+     */
+    private interface Store<T> {
+
+        /**
+         * Adds to the front.
+         *
+         * @param data the data
+         */
+        void addFirst(T data);
+
+        /**
+         * Adds to the back.
+         *
+         * @param data the data
+         */
+        void addLast(T data);
+
+        /**
+         * Removes from the front.
+         *
+         * @return the data
+         */
+        T removeFirst();
+
+        /**
+         * Removes from the back.
+         *
+         * @return the data
+         */
+        T removeLast();
+
+        /**
+         * Returns the size.
+         *
+         * @return the number of elements
+         */
+        int size();
+    }
+}
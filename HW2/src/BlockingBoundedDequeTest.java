@@ -0,0 +1,141 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for BlockingBoundedDeque.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ */
+public class BlockingBoundedDequeTest {
+
+    private static final int TIMEOUT = 2000;
+    private static final int CONCURRENT_TIMEOUT = 20_000;
+
+    private BlockingBoundedDeque<Integer> deque;
+
+    @Before
+    public void setUp() {
+        deque = BlockingBoundedDeque.overArrayDeque(2);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testBothEnds() throws InterruptedException {
+        BlockingBoundedDeque<Integer> linked = BlockingBoundedDeque.overLinkedDeque(3);
+        linked.putLast(2);
+        linked.putFirst(1);
+        linked.putLast(3);
+        assertEquals(3, linked.size());
+        assertEquals((Integer) 3, linked.takeLast());
+        assertEquals((Integer) 1, linked.takeFirst());
+        assertEquals((Integer) 2, linked.pollFirst(0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testTimedOperationsGiveUp() throws InterruptedException {
+        long start = System.nanoTime();
+        assertNull(deque.pollFirst(50, TimeUnit.MILLISECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+
+        assertTrue(deque.offerLast(1, 0, TimeUnit.MILLISECONDS));
+        assertTrue(deque.offerFirst(0, 0, TimeUnit.MILLISECONDS));
+        assertFalse(deque.offerLast(2, 20, TimeUnit.MILLISECONDS));
+        assertEquals(2, deque.size());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testTakeWaitsForPut() throws InterruptedException {
+        Thread producer = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+                deque.putLast(7);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        assertEquals((Integer) 7, deque.takeFirst());
+        producer.join();
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testPutWaitsForRoom() throws InterruptedException {
+        deque.putLast(1);
+        deque.putLast(2);
+        Thread producer = new Thread(() -> {
+            try {
+                deque.putLast(3);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        Thread.sleep(50);
+        assertEquals(2, deque.size());
+
+        assertEquals((Integer) 1, deque.takeFirst());
+        producer.join();
+        assertEquals((Integer) 2, deque.takeFirst());
+        assertEquals((Integer) 3, deque.takeFirst());
+    }
+
+    @Test(timeout = TIMEOUT, expected = InterruptedException.class)
+    public void testTakeIsInterruptible() throws InterruptedException {
+        Thread.currentThread().interrupt();
+        deque.takeFirst();
+    }
+
+    @Test(timeout = CONCURRENT_TIMEOUT)
+    public void testManyConsumersEachElementOnce() throws InterruptedException {
+        int consumers = 500;
+        int total = 100_000;
+        BlockingBoundedDeque<Integer> shared = BlockingBoundedDeque.overLinkedDeque(64);
+        AtomicIntegerArray seen = new AtomicIntegerArray(total);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int c = 0; c < consumers; c++) {
+            threads.add(new Thread(() -> {
+                try {
+                    for (Integer value = shared.takeFirst(); value >= 0;
+                            value = shared.takeFirst()) {
+                        seen.incrementAndGet(value);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (int i = 0; i < total; i++) {
+            shared.putLast(i);
+        }
+        for (int c = 0; c < consumers; c++) {
+            shared.putLast(-1);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (int i = 0; i < total; i++) {
+            assertEquals(1, seen.get(i));
+        }
+        assertEquals(0, shared.size());
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testPutNull() throws InterruptedException {
+        deque.putFirst(null);
+    }
+}
@@ -0,0 +1,203 @@
+import java.lang.invoke.VarHandle;
+
+/**
+ * A lock-free work-stealing deque (Chase and Lev, with the memory ordering
+ * of Le et al., "Correct and Efficient Work-Stealing for Weak Memory
+ * Models").
+ *
+ * One thread owns the deque and uses it as a stack at the back with addLast
+ * and removeLast, the same calls as on ArrayDeque. Any number of other
+ * threads steal from the front with removeFirst. The owner only races with
+ * thieves for the very last element, so its common path is a couple of plain
+ * writes and one fence, and thieves take the oldest (usually largest) tasks.
+ *
+ * Elements live in a circular array whose length is a power of two, indexed
+ * by two ever-increasing positions: top, the front, which thieves advance
+ * with compareAndSet, and bottom, the back, which only the owner writes.
+ * When the array fills up the owner copies the live range into an array of
+ * twice the length and publishes it; thieves still reading the old array see
+ * the same elements at the same positions, so they need no lock either. The
+ * array never shrinks.
+ *
+ * Unlike ArrayDeque, the remove methods return null instead of throwing when
+ * they come up empty, since running out of work is routine for a scheduler.
+ * removeFirst also returns null when it loses a race with another thief or
+ * with the owner.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ * @userid pkutz3
+ * @GTID 903637824
+ *
+ * @param <T> the type of the data
+ */
+public class ChaseLevDeque<T> {
+
+    /**
+     * The initial capacity of the ChaseLevDeque.
+     */
+    public static final int INITIAL_CAPACITY = 16;
+
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private final PaddedAtomicLong top = new PaddedAtomicLong(0);
+    private final PaddedAtomicLong bottom = new PaddedAtomicLong(0);
+    private volatile Object[] array;
+
+    /**
+     * Constructs a new ChaseLevDeque.
+     */
+    public ChaseLevDeque() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs a new ChaseLevDeque that can hold at least initialCapacity
+     * elements before it grows.
+     *
+     * @param initialCapacity the minimum initial capacity
+     * @throws java.lang.IllegalArgumentException if initialCapacity is
+     *                                            negative or more than 2^30
+     */
+    public ChaseLevDeque(int initialCapacity) {
+        if (initialCapacity < 0 || initialCapacity > MAXIMUM_CAPACITY) {
+            throw new IllegalArgumentException("The capacity must be in [0, 2^30].");
+        }
+        int length = initialCapacity <= 1 ? 1 : Integer.highestOneBit(initialCapacity - 1) << 1;
+        array = new Object[length];
+    }
+
+    /**
+     * Adds the element to the back of the deque, doubling the array first if
+     * it is full. Only the owner thread may call this.
+     *
+     * Must be amortized O(1).
+     *
+     * @param data the data to add to the back of the deque
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public void addLast(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("The data is null.");
+        }
+        long b = bottom.getPlain();
+        long t = top.getAcquire();
+        Object[] a = array;
+        if (b - t >= a.length) {
+            a = grow(a, t, b);
+        }
+        a[(int) b & (a.length - 1)] = data;
+        bottom.setRelease(b + 1);
+    }
+
+    /**
+     * Removes and returns the last element of the deque. Only the owner
+     * thread may call this.
+     *
+     * Must be O(1).
+     *
+     * @return the data formerly at the back, or null if the deque was empty
+     */
+    public T removeLast() {
+        long b = bottom.getPlain() - 1;
+        Object[] a = array;
+        bottom.setPlain(b);
+        // Thieves must see the smaller bottom before the owner reads top, or
+        // both could take the last element.
+        VarHandle.fullFence();
+        long t = top.getPlain();
+        if (t > b) {
+            bottom.setPlain(b + 1);
+            return null;
+        }
+        int index = (int) b & (a.length - 1);
+        T data = (T) a[index];
+        if (t == b) {
+            // Last element: race the thieves for it.
+            if (top.compareAndSet(t, t + 1)) {
+                a[index] = null;
+            } else {
+                data = null;
+            }
+            bottom.setPlain(b + 1);
+        } else {
+            a[index] = null;
+        }
+        return data;
+    }
+
+    /**
+     * Removes and returns the first element of the deque. Any thread may
+     * call this.
+     *
+     * Must be O(1).
+     *
+     * @return the data formerly at the front, or null if the deque was empty
+     *         or another thread took the element first
+     */
+    public T removeFirst() {
+        long t = top.getAcquire();
+        VarHandle.fullFence();
+        long b = bottom.getAcquire();
+        if (t >= b) {
+            return null;
+        }
+        Object[] a = array;
+        T data = (T) a[(int) t & (a.length - 1)];
+        if (!top.compareAndSet(t, t + 1)) {
+            return null;
+        }
+        return data;
+    }
+
+    /**
+     * Private helper that copies positions t to b into an array twice as
+     * long and publishes it.
+     *
+     * @param a the current array
+     * @param t the front position
+     * @param b the back position
+     * @return the new array
+     */
+    private Object[] grow(Object[] a, long t, long b) {
+        if (a.length == MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("The deque is full.");
+        }
+        Object[] bigger = new Object[a.length << 1];
+        for (long i = t; i < b; i++) {
+            bigger[(int) i & (bigger.length - 1)] = a[(int) i & (a.length - 1)];
+        }
+        array = bigger;
+        return bigger;
+    }
+
+    /**
+     * Returns the number of elements in the deque. While other threads are
+     * stealing, this is only an estimate.
+     *
+     * @return the size of the deque
+     */
+    public int size() {
+        long t = top.getAcquire();
+        long b = bottom.getAcquire();
+        return (int) Math.max(0, b - t);
+    }
+
+    /**
+     * Returns whether the deque looks empty.
+     *
+     * @return true if the deque has no elements
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the length of the current backing array.
+     *
+     * @return the capacity before the next growth
+     */
+    public int capacity() {
+        return array.length;
+    }
+}
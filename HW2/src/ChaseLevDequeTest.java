@@ -0,0 +1,112 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for ChaseLevDeque.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ */
+public class ChaseLevDequeTest {
+
+    private static final int TIMEOUT = 200;
+    private static final int CONCURRENT_TIMEOUT = 10_000;
+
+    private ChaseLevDeque<Integer> deque;
+
+    @Before
+    public void setUp() {
+        deque = new ChaseLevDeque<>(4);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testOwnerEndIsLifoThiefEndIsFifo() {
+        for (int i = 0; i < 4; i++) {
+            deque.addLast(i);
+        }
+        assertEquals((Integer) 3, deque.removeLast());
+        assertEquals((Integer) 0, deque.removeFirst());
+        assertEquals((Integer) 2, deque.removeLast());
+        assertEquals((Integer) 1, deque.removeFirst());
+        assertNull(deque.removeLast());
+        assertNull(deque.removeFirst());
+        assertTrue(deque.isEmpty());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testGrowsWhileWrapped() {
+        for (int i = 0; i < 3; i++) {
+            deque.addLast(i);
+        }
+        deque.removeFirst();
+        deque.removeFirst(); // live range now starts at position 2
+        for (int i = 3; i < 20; i++) {
+            deque.addLast(i);
+        }
+        assertEquals(32, deque.capacity());
+        assertEquals(18, deque.size());
+        for (int i = 2; i < 20; i++) {
+            assertEquals((Integer) i, deque.removeFirst());
+        }
+        assertNull(deque.removeLast());
+    }
+
+    @Test(timeout = CONCURRENT_TIMEOUT)
+    public void testEveryElementTakenExactlyOnce() throws InterruptedException {
+        int total = 200_000;
+        int thieves = 3;
+        ChaseLevDeque<Integer> shared = new ChaseLevDeque<>(2);
+        AtomicIntegerArray seen = new AtomicIntegerArray(total);
+        AtomicBoolean ownerDone = new AtomicBoolean();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < thieves; i++) {
+            threads.add(new Thread(() -> {
+                while (true) {
+                    Integer value = shared.removeFirst();
+                    if (value != null) {
+                        seen.incrementAndGet(value);
+                    } else if (ownerDone.get() && shared.isEmpty()) {
+                        return;
+                    } else {
+                        Thread.yield();
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (int i = 0; i < total; i++) {
+            shared.addLast(i);
+            if (i % 3 == 0) {
+                Integer value = shared.removeLast();
+                if (value != null) {
+                    seen.incrementAndGet(value);
+                }
+            }
+        }
+        ownerDone.set(true);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (int i = 0; i < total; i++) {
+            assertEquals(1, seen.get(i));
+        }
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testAddNull() {
+        deque.addLast(null);
+    }
+}
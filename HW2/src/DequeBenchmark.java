@@ -0,0 +1,951 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Rough benchmarks for the HW2 deques. Run main and read the console.
+ *
+ * These are not JMH benchmarks, so only compare numbers from the same run.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ */
+public class DequeBenchmark {
+
+    private static final int N = 5_000_000;
+    private static final int HANDOFFS = 2_000_000;
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final int FIBONACCI_CUTOFF = 10;
+    private static final int CONSUMERS = 10_000;
+    private static final int BLOCKING_HANDOFFS = 200_000;
+
+    // Results the JIT can't prove unused.
+    private static long sink;
+
+    /**
+     * Runs every benchmark in this class.
+     *
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        ringComparison();
+        segmentedComparison();
+        primitiveComparison();
+        unrolledComparison();
+        mappedComparison();
+        handoffComparison();
+        forkJoinComparison();
+        blockingComparison();
+    }
+
+    /**
+     * Compares ArrayDeque and PowerOfTwoArrayDeque on mixed front and back
+     * workloads: growing from empty, a steady queue that wraps around the
+     * array over and over, and random operations.
+     */
+    private static void ringComparison() {
+        Random random = new Random(17);
+        boolean[] coin = new boolean[N];
+        for (int i = 0; i < N; i++) {
+            coin[i] = random.nextBoolean();
+        }
+
+        System.out.println("== ring: " + N + " elements, ms ==");
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            ArrayDeque<Integer> mod = new ArrayDeque<>();
+            grow(mod, coin);
+            long modGrow = (System.nanoTime() - start) / 1_000_000;
+
+            start = System.nanoTime();
+            PowerOfTwoArrayDeque<Integer> mask = new PowerOfTwoArrayDeque<>();
+            grow(mask, coin);
+            long maskGrow = (System.nanoTime() - start) / 1_000_000;
+
+            start = System.nanoTime();
+            PowerOfTwoArrayDeque<Integer> sized = new PowerOfTwoArrayDeque<>();
+            sized.ensureCapacity(N);
+            grow(sized, coin);
+            long sizedGrow = (System.nanoTime() - start) / 1_000_000;
+
+            start = System.nanoTime();
+            steady(new ArrayDeque<>(), coin);
+            long modSteady = (System.nanoTime() - start) / 1_000_000;
+
+            start = System.nanoTime();
+            steady(new PowerOfTwoArrayDeque<>(), coin);
+            long maskSteady = (System.nanoTime() - start) / 1_000_000;
+
+            System.out.printf("grow+drain  ArrayDeque %5d  pow2 %5d  pow2+ensureCapacity %5d"
+                            + "   steady  ArrayDeque %5d  pow2 %5d%n",
+                    modGrow, maskGrow, sizedGrow, modSteady, maskSteady);
+        }
+    }
+
+    /**
+     * Adds N elements to random ends, then removes them from random ends.
+     *
+     * @param deque the deque to fill
+     * @param coin  which end to use for each operation
+     */
+    private static void grow(ArrayDeque<Integer> deque, boolean[] coin) {
+        Integer value = 1;
+        for (int i = 0; i < N; i++) {
+            if (coin[i]) {
+                deque.addFirst(value);
+            } else {
+                deque.addLast(value);
+            }
+        }
+        for (int i = 0; i < N; i++) {
+            sink += coin[i] ? deque.removeLast() : deque.removeFirst();
+        }
+    }
+
+    /**
+     * Adds N elements to random ends, then removes them from random ends.
+     *
+     * @param deque the deque to fill
+     * @param coin  which end to use for each operation
+     */
+    private static void grow(PowerOfTwoArrayDeque<Integer> deque, boolean[] coin) {
+        Integer value = 1;
+        for (int i = 0; i < N; i++) {
+            if (coin[i]) {
+                deque.addFirst(value);
+            } else {
+                deque.addLast(value);
+            }
+        }
+        for (int i = 0; i < N; i++) {
+            sink += coin[i] ? deque.removeLast() : deque.removeFirst();
+        }
+    }
+
+    /**
+     * Keeps about 1000 elements in the deque while N elements pass through
+     * it, half entering and leaving at each end.
+     *
+     * @param deque the deque to use
+     * @param coin  which end to use for each operation
+     */
+    private static void steady(ArrayDeque<Integer> deque, boolean[] coin) {
+        Integer value = 1;
+        for (int i = 0; i < 1000; i++) {
+            deque.addLast(value);
+        }
+        for (int i = 0; i < N; i++) {
+            if (coin[i]) {
+                deque.addLast(value);
+                sink += deque.removeFirst();
+            } else {
+                deque.addFirst(value);
+                sink += deque.removeLast();
+            }
+        }
+    }
+
+    /**
+     * Keeps about 1000 elements in the deque while N elements pass through
+     * it, half entering and leaving at each end.
+     *
+     * @param deque the deque to use
+     * @param coin  which end to use for each operation
+     */
+    private static void steady(PowerOfTwoArrayDeque<Integer> deque, boolean[] coin) {
+        Integer value = 1;
+        for (int i = 0; i < 1000; i++) {
+            deque.addLast(value);
+        }
+        for (int i = 0; i < N; i++) {
+            if (coin[i]) {
+                deque.addLast(value);
+                sink += deque.removeFirst();
+            } else {
+                deque.addFirst(value);
+                sink += deque.removeLast();
+            }
+        }
+    }
+
+    /**
+     * Compares ArrayDeque of Integer with IntArrayDeque: heap retained by a
+     * deque of N distinct ints, the time to push N ints through as a BFS
+     * frontier would (add at the back, remove from the front), and the same
+     * in blocks of 1024 with addAll and drainTo.
+     */
+    private static void primitiveComparison() {
+        System.out.println("== primitive: " + N + " ints ==");
+        long baseline = usedHeap();
+        ArrayDeque<Integer> boxed = new ArrayDeque<>();
+        for (int i = 0; i < N; i++) {
+            boxed.addLast(i);
+        }
+        long boxedBytes = usedHeap() - baseline;
+        sink += boxed.size();
+        boxed = null;
+
+        baseline = usedHeap();
+        IntArrayDeque ints = new IntArrayDeque();
+        for (int i = 0; i < N; i++) {
+            ints.addLast(i);
+        }
+        long intBytes = usedHeap() - baseline;
+        sink += ints.size();
+        ints = null;
+        System.out.printf("retained  ArrayDeque<Integer> %4d MB  IntArrayDeque %4d MB%n",
+                boxedBytes >> 20, intBytes >> 20);
+
+        int[] block = new int[1024];
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            ArrayDeque<Integer> frontier = new ArrayDeque<>();
+            for (int i = 0; i < N; i++) {
+                frontier.addLast(i);
+                if ((i & 1) == 1) {
+                    sink += frontier.removeFirst();
+                }
+            }
+            while (frontier.size() > 0) {
+                sink += frontier.removeFirst();
+            }
+            long boxedTime = (System.nanoTime() - start) / 1_000_000;
+
+            start = System.nanoTime();
+            IntArrayDeque primitive = new IntArrayDeque();
+            for (int i = 0; i < N; i++) {
+                primitive.addLast(i);
+                if ((i & 1) == 1) {
+                    sink += primitive.removeFirst();
+                }
+            }
+            while (!primitive.isEmpty()) {
+                sink += primitive.removeFirst();
+            }
+            long intTime = (System.nanoTime() - start) / 1_000_000;
+
+            start = System.nanoTime();
+            IntArrayDeque bulk = new IntArrayDeque();
+            for (int i = 0; i < N; i += block.length) {
+                for (int j = 0; j < block.length; j++) {
+                    block[j] = i + j;
+                }
+                bulk.addAll(block);
+                if ((i / block.length & 1) == 1) {
+                    bulk.drainTo(block);
+                    sink += block[0];
+                }
+            }
+            while (bulk.drainTo(block) > 0) {
+                sink += block[0];
+            }
+            long bulkTime = (System.nanoTime() - start) / 1_000_000;
+
+            System.out.printf("frontier  ArrayDeque<Integer> %4d ms  IntArrayDeque %4d ms"
+                    + "  addAll/drainTo %4d ms%n", boxedTime, intTime, bulkTime);
+        }
+    }
+
+    /**
+     * Returns the heap in use after asking for a few collections.
+     *
+     * @return used heap bytes
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Compares LinkedDeque with SegmentedLinkedDeque on the grow and steady
+     * workloads from ringComparison, reporting time and the bytes the
+     * benchmark thread allocated.
+     */
+    private static void segmentedComparison() {
+        Random random = new Random(17);
+        boolean[] coin = new boolean[N];
+        for (int i = 0; i < N; i++) {
+            coin[i] = random.nextBoolean();
+        }
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        System.out.println("== segmented: " + N + " elements, ms / MB allocated ==");
+        for (int round = 0; round < 3; round++) {
+            long bytes = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            grow(new LinkedDeque<>(), coin);
+            long linkedGrow = (System.nanoTime() - start) / 1_000_000;
+            long linkedGrowBytes = threads.getCurrentThreadAllocatedBytes() - bytes;
+
+            bytes = threads.getCurrentThreadAllocatedBytes();
+            start = System.nanoTime();
+            grow(new SegmentedLinkedDeque<>(), coin);
+            long segmentedGrow = (System.nanoTime() - start) / 1_000_000;
+            long segmentedGrowBytes = threads.getCurrentThreadAllocatedBytes() - bytes;
+
+            bytes = threads.getCurrentThreadAllocatedBytes();
+            start = System.nanoTime();
+            steady(new LinkedDeque<>(), coin);
+            long linkedSteady = (System.nanoTime() - start) / 1_000_000;
+            long linkedSteadyBytes = threads.getCurrentThreadAllocatedBytes() - bytes;
+
+            bytes = threads.getCurrentThreadAllocatedBytes();
+            start = System.nanoTime();
+            steady(new SegmentedLinkedDeque<>(), coin);
+            long segmentedSteady = (System.nanoTime() - start) / 1_000_000;
+            long segmentedSteadyBytes = threads.getCurrentThreadAllocatedBytes() - bytes;
+
+            System.out.printf("grow+drain  LinkedDeque %4d / %4d  segmented %4d / %4d"
+                            + "   steady  LinkedDeque %4d / %4d  segmented %4d / %4d%n",
+                    linkedGrow, linkedGrowBytes >> 20, segmentedGrow, segmentedGrowBytes >> 20,
+                    linkedSteady, linkedSteadyBytes >> 20,
+                    segmentedSteady, segmentedSteadyBytes >> 20);
+        }
+    }
+
+    /**
+     * Adds N elements to random ends, then removes them from random ends.
+     *
+     * @param deque the deque to fill
+     * @param coin  which end to use for each operation
+     */
+    private static void grow(LinkedDeque<Integer> deque, boolean[] coin) {
+        Integer value = 1;
+        for (int i = 0; i < N; i++) {
+            if (coin[i]) {
+                deque.addFirst(value);
+            } else {
+                deque.addLast(value);
+            }
+        }
+        for (int i = 0; i < N; i++) {
+            sink += coin[i] ? deque.removeLast() : deque.removeFirst();
+        }
+    }
+
+    /**
+     * Keeps about 1000 elements in the deque while N elements pass through
+     * it, half entering and leaving at each end.
+     *
+     * @param deque the deque to use
+     * @param coin  which end to use for each operation
+     */
+    private static void steady(LinkedDeque<Integer> deque, boolean[] coin) {
+        Integer value = 1;
+        for (int i = 0; i < 1000; i++) {
+            deque.addLast(value);
+        }
+        for (int i = 0; i < N; i++) {
+            if (coin[i]) {
+                deque.addLast(value);
+                sink += deque.removeFirst();
+            } else {
+                deque.addFirst(value);
+                sink += deque.removeLast();
+            }
+        }
+    }
+
+    /**
+     * Adds N elements to random ends, then removes them from random ends.
+     *
+     * @param deque the deque to fill
+     * @param coin  which end to use for each operation
+     */
+    private static void grow(SegmentedLinkedDeque<Integer> deque, boolean[] coin) {
+        Integer value = 1;
+        for (int i = 0; i < N; i++) {
+            if (coin[i]) {
+                deque.addFirst(value);
+            } else {
+                deque.addLast(value);
+            }
+        }
+        for (int i = 0; i < N; i++) {
+            sink += coin[i] ? deque.removeLast() : deque.removeFirst();
+        }
+    }
+
+    /**
+     * Keeps about 1000 elements in the deque while N elements pass through
+     * it, half entering and leaving at each end.
+     *
+     * @param deque the deque to use
+     * @param coin  which end to use for each operation
+     */
+    private static void steady(SegmentedLinkedDeque<Integer> deque, boolean[] coin) {
+        Integer value = 1;
+        for (int i = 0; i < 1000; i++) {
+            deque.addLast(value);
+        }
+        for (int i = 0; i < N; i++) {
+            if (coin[i]) {
+                deque.addLast(value);
+                sink += deque.removeFirst();
+            } else {
+                deque.addFirst(value);
+                sink += deque.removeLast();
+            }
+        }
+    }
+
+    /**
+     * Compares DoublyLinkedList with UnrolledDoublyLinkedList on an editor
+     * buffer workload: build a list of a million elements, then do random
+     * gets, inserts and removes by index.
+     */
+    private static void unrolledComparison() {
+        int n = 1_000_000;
+        int ops = 2_000;
+        System.out.println("== unrolled: " + n + " elements, " + ops
+                + " ops each, ms ==");
+        for (int round = 0; round < 3; round++) {
+            Random random = new Random(round);
+            Integer value = 1;
+
+            long start = System.nanoTime();
+            DoublyLinkedList<Integer> nodes = new DoublyLinkedList<>();
+            for (int i = 0; i < n; i++) {
+                nodes.addToBack(value);
+            }
+            long nodesBuild = (System.nanoTime() - start) / 1_000_000;
+            start = System.nanoTime();
+            for (int i = 0; i < ops; i++) {
+                sink += nodes.get(random.nextInt(n));
+            }
+            long nodesGet = (System.nanoTime() - start) / 1_000_000;
+            start = System.nanoTime();
+            for (int i = 0; i < ops; i++) {
+                nodes.addAtIndex(random.nextInt(n), value);
+                sink += nodes.removeAtIndex(random.nextInt(n));
+            }
+            long nodesEdit = (System.nanoTime() - start) / 1_000_000;
+
+            start = System.nanoTime();
+            UnrolledDoublyLinkedList<Integer> unrolled = new UnrolledDoublyLinkedList<>();
+            for (int i = 0; i < n; i++) {
+                unrolled.addToBack(value);
+            }
+            long unrolledBuild = (System.nanoTime() - start) / 1_000_000;
+            start = System.nanoTime();
+            for (int i = 0; i < ops; i++) {
+                sink += unrolled.get(random.nextInt(n));
+            }
+            long unrolledGet = (System.nanoTime() - start) / 1_000_000;
+            start = System.nanoTime();
+            for (int i = 0; i < ops; i++) {
+                unrolled.addAtIndex(random.nextInt(n), value);
+                sink += unrolled.removeAtIndex(random.nextInt(n));
+            }
+            long unrolledEdit = (System.nanoTime() - start) / 1_000_000;
+
+            System.out.printf("build  nodes %4d  unrolled %4d   get  nodes %5d  unrolled %3d"
+                            + "   insert+remove  nodes %5d  unrolled %3d%n",
+                    nodesBuild, unrolledBuild, nodesGet, unrolledGet, nodesEdit, unrolledEdit);
+        }
+    }
+
+    /**
+     * Appends a million 100-byte records to MappedArrayDeque, without and
+     * with a force every 10,000 records, then drains them, next to an
+     * in-memory ArrayDeque of byte[] as the upper bound.
+     */
+    private static void mappedComparison() {
+        int records = 1_000_000;
+        byte[] record = new byte[100];
+        System.out.println("== mapped: " + records + " records of " + record.length
+                + " bytes, ms ==");
+        Path path;
+        try {
+            path = Files.createTempFile("deque-benchmark", ".bin");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            ArrayDeque<byte[]> memory = new ArrayDeque<>();
+            for (int i = 0; i < records; i++) {
+                memory.addLast(record);
+            }
+            long memoryAppend = (System.nanoTime() - start) / 1_000_000;
+
+            long mappedAppend;
+            long mappedDrain;
+            long forcedAppend;
+            try (MappedArrayDeque mapped = MappedArrayDeque.create(path, 128 << 20)) {
+                start = System.nanoTime();
+                for (int i = 0; i < records; i++) {
+                    mapped.addLast(record);
+                }
+                mappedAppend = (System.nanoTime() - start) / 1_000_000;
+                start = System.nanoTime();
+                for (int i = 0; i < records; i++) {
+                    sink += mapped.removeFirst().length;
+                }
+                mappedDrain = (System.nanoTime() - start) / 1_000_000;
+
+                start = System.nanoTime();
+                for (int i = 0; i < records; i++) {
+                    mapped.addLast(record);
+                    if (i % 10_000 == 9_999) {
+                        mapped.force();
+                    }
+                }
+                forcedAppend = (System.nanoTime() - start) / 1_000_000;
+            }
+            System.out.printf("append  ArrayDeque %4d  mapped %5d (%3d MB/s)"
+                            + "  mapped+force/10k %5d   drain  mapped %5d%n",
+                    memoryAppend, mappedAppend,
+                    (long) records * record.length / 1000 / Math.max(1, mappedAppend),
+                    forcedAppend, mappedDrain);
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The queue operations handoffComparison times, so one driver can run
+     * every queue.
+     */
+    private interface Handoff {
+
+        /**
+         * Adds data if there is room.
+         *
+         * @param data the data to add
+         * @return false if the queue was full
+         */
+        boolean offer(Integer data);
+
+        /**
+         * Removes the front element if there is one.
+         *
+         * @return the element, or null if the queue was empty
+         */
+        Integer poll();
+    }
+
+    /**
+     * Passes HANDOFFS elements from producer threads to consumer threads
+     * through a bounded queue, with 1 to 32 threads split evenly between the
+     * two sides (1 thread alternates offer and poll). Compares ArrayDeque
+     * behind a lock, MpmcRingQueue, java.util.concurrent.ArrayBlockingQueue,
+     * and, at 2 threads, SpscRingQueue.
+     *
+     * A side that finds the queue full or empty yields instead of spinning,
+     * so the numbers still mean something on a machine with fewer cores than
+     * threads.
+     */
+    private static void handoffComparison() {
+        System.out.println("== handoff: " + HANDOFFS + " elements, capacity "
+                + QUEUE_CAPACITY + ", ms ==");
+        System.out.println("available processors: "
+                + Runtime.getRuntime().availableProcessors());
+        for (int threads : new int[] {1, 2, 4, 8, 16, 32}) {
+            long locked = Long.MAX_VALUE;
+            long mpmc = Long.MAX_VALUE;
+            long blocking = Long.MAX_VALUE;
+            long spsc = Long.MAX_VALUE;
+            for (int round = 0; round < 3; round++) {
+                locked = Math.min(locked, handoff(threads, lockedArrayDeque()));
+                MpmcRingQueue<Integer> ring = new MpmcRingQueue<>(QUEUE_CAPACITY);
+                mpmc = Math.min(mpmc, handoff(threads, new Handoff() {
+                    public boolean offer(Integer data) {
+                        return ring.offer(data);
+                    }
+
+                    public Integer poll() {
+                        return ring.poll();
+                    }
+                }));
+                ArrayBlockingQueue<Integer> jdk = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+                blocking = Math.min(blocking, handoff(threads, new Handoff() {
+                    public boolean offer(Integer data) {
+                        return jdk.offer(data);
+                    }
+
+                    public Integer poll() {
+                        return jdk.poll();
+                    }
+                }));
+                if (threads <= 2) {
+                    SpscRingQueue<Integer> single = new SpscRingQueue<>(QUEUE_CAPACITY);
+                    spsc = Math.min(spsc, handoff(threads, new Handoff() {
+                        public boolean offer(Integer data) {
+                            return single.offer(data);
+                        }
+
+                        public Integer poll() {
+                            return single.poll();
+                        }
+                    }));
+                }
+            }
+            System.out.printf("%2d threads  locked ArrayDeque %5d  MPMC ring %5d"
+                            + "  ArrayBlockingQueue %5d%s%n", threads, locked, mpmc,
+                    blocking, threads <= 2 ? String.format("  SPSC ring %5d", spsc) : "");
+        }
+    }
+
+    /**
+     * Returns an unbounded ArrayDeque behind one lock, capped at
+     * QUEUE_CAPACITY so it behaves like the bounded queues.
+     *
+     * @return the handoff
+     */
+    private static Handoff lockedArrayDeque() {
+        ArrayDeque<Integer> deque = new ArrayDeque<>();
+        return new Handoff() {
+            public synchronized boolean offer(Integer data) {
+                if (deque.size() == QUEUE_CAPACITY) {
+                    return false;
+                }
+                deque.addLast(data);
+                return true;
+            }
+
+            public synchronized Integer poll() {
+                return deque.size() == 0 ? null : deque.removeFirst();
+            }
+        };
+    }
+
+    /**
+     * Runs one handoff round and returns its wall-clock time.
+     *
+     * @param threads the number of threads, half producing and half consuming
+     * @param queue   the queue to pass elements through
+     * @return the elapsed time in ms
+     */
+    private static long handoff(int threads, Handoff queue) {
+        Integer value = 1;
+        long start = System.nanoTime();
+        if (threads == 1) {
+            for (int i = 0; i < HANDOFFS; i++) {
+                queue.offer(value);
+                sink += queue.poll();
+            }
+            return (System.nanoTime() - start) / 1_000_000;
+        }
+        int pairs = threads / 2;
+        int perThread = HANDOFFS / pairs;
+        long[] sums = new long[pairs];
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < pairs; t++) {
+            int id = t;
+            workers[2 * t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    while (!queue.offer(value)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            workers[2 * t + 1] = new Thread(() -> {
+                long sum = 0;
+                for (int i = 0; i < perThread; i++) {
+                    Integer data = queue.poll();
+                    while (data == null) {
+                        Thread.yield();
+                        data = queue.poll();
+                    }
+                    sum += data;
+                }
+                sums[id] = sum;
+            });
+        }
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        try {
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+        for (long sum : sums) {
+            sink += sum;
+        }
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    /**
+     * Computes Fibonacci numbers by naive recursion, forking one branch at
+     * every level above a small cutoff, on WorkStealingPool and on
+     * java.util.concurrent.ForkJoinPool with the same parallelism. Almost all
+     * of the time goes to creating, pushing, popping and stealing tasks, so
+     * this mostly measures scheduler overhead.
+     */
+    private static void forkJoinComparison() {
+        int n = 32;
+        System.out.println("== fork/join: fib(" + n + "), cutoff "
+                + FIBONACCI_CUTOFF + ", ms ==");
+        for (int parallelism : new int[] {1, 2, 4}) {
+            WorkStealingPool ours = new WorkStealingPool(parallelism);
+            ForkJoinPool jdk = new ForkJoinPool(parallelism);
+            long stealing = Long.MAX_VALUE;
+            long forkJoin = Long.MAX_VALUE;
+            for (int round = 0; round < 5; round++) {
+                long start = System.nanoTime();
+                sink += ours.invoke(new StealingFibonacci(n));
+                stealing = Math.min(stealing, (System.nanoTime() - start) / 1_000_000);
+
+                start = System.nanoTime();
+                sink += jdk.invoke(new ForkJoinFibonacci(n));
+                forkJoin = Math.min(forkJoin, (System.nanoTime() - start) / 1_000_000);
+            }
+            ours.shutdown();
+            jdk.shutdown();
+            System.out.printf("parallelism %d  WorkStealingPool %5d  ForkJoinPool %5d%n",
+                    parallelism, stealing, forkJoin);
+        }
+    }
+
+    /**
+     * Returns the nth Fibonacci number by plain recursion.
+     *
+     * @param n which Fibonacci number
+     * @return the nth Fibonacci number
+     */
+    private static long fibonacci(int n) {
+        return n < 2 ? n : fibonacci(n - 1) + fibonacci(n - 2);
+    }
+
+    /**
+     * Fibonacci as a WorkStealingTask.
+     */
+    private static final class StealingFibonacci extends WorkStealingTask<Long> {
+
+        private final int n;
+
+        /**
+         * Creates the task.
+         *
+         * @param n which Fibonacci number
+         */
+        StealingFibonacci(int n) {
+            this.n = n;
+        }
+
+        @Override
+        protected Long compute() {
+            if (n <= FIBONACCI_CUTOFF) {
+                return fibonacci(n);
+            }
+            StealingFibonacci left = new StealingFibonacci(n - 1);
+            left.fork();
+            return new StealingFibonacci(n - 2).compute() + left.join();
+        }
+    }
+
+    /**
+     * Fibonacci as a ForkJoinPool RecursiveTask.
+     */
+    private static final class ForkJoinFibonacci extends RecursiveTask<Long> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int n;
+
+        /**
+         * Creates the task.
+         *
+         * @param n which Fibonacci number
+         */
+        ForkJoinFibonacci(int n) {
+            this.n = n;
+        }
+
+        @Override
+        protected Long compute() {
+            if (n <= FIBONACCI_CUTOFF) {
+                return fibonacci(n);
+            }
+            ForkJoinFibonacci left = new ForkJoinFibonacci(n - 1);
+            left.fork();
+            return new ForkJoinFibonacci(n - 2).compute() + left.join();
+        }
+    }
+
+    /**
+     * Moves BLOCKING_HANDOFFS elements from 4 producers to CONSUMERS
+     * consumers that block in takeFirst, through BlockingBoundedDeque over
+     * ArrayDeque and over LinkedDeque, and through
+     * java.util.concurrent.LinkedBlockingDeque.
+     *
+     * Consumers are virtual threads when the JDK has them (21 and up) and
+     * platform threads otherwise.
+     */
+    private static void blockingComparison() {
+        Method startVirtual = virtualThreadStarter();
+        System.out.println("== blocking: " + BLOCKING_HANDOFFS + " elements, 4 producers, "
+                + CONSUMERS + (startVirtual == null ? " platform" : " virtual")
+                + " consumers, capacity " + QUEUE_CAPACITY + ", ms ==");
+        for (int round = 0; round < 3; round++) {
+            BlockingBoundedDeque<Integer> array =
+                    BlockingBoundedDeque.overArrayDeque(QUEUE_CAPACITY);
+            long overArray = blockingHandoff(startVirtual, new Handoff() {
+                public boolean offer(Integer data) {
+                    try {
+                        array.putLast(data);
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    return true;
+                }
+
+                public Integer poll() {
+                    try {
+                        return array.takeFirst();
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            });
+            BlockingBoundedDeque<Integer> linked =
+                    BlockingBoundedDeque.overLinkedDeque(QUEUE_CAPACITY);
+            long overLinked = blockingHandoff(startVirtual, new Handoff() {
+                public boolean offer(Integer data) {
+                    try {
+                        linked.putLast(data);
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    return true;
+                }
+
+                public Integer poll() {
+                    try {
+                        return linked.takeFirst();
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            });
+            LinkedBlockingDeque<Integer> jdk = new LinkedBlockingDeque<>(QUEUE_CAPACITY);
+            long jdkTime = blockingHandoff(startVirtual, new Handoff() {
+                public boolean offer(Integer data) {
+                    try {
+                        jdk.putLast(data);
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    return true;
+                }
+
+                public Integer poll() {
+                    try {
+                        return jdk.takeFirst();
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            });
+            System.out.printf("over ArrayDeque %5d  over LinkedDeque %5d"
+                    + "  LinkedBlockingDeque %5d%n", overArray, overLinked, jdkTime);
+        }
+    }
+
+    /**
+     * Runs one blocking handoff round: starts the consumers, has 4 producers
+     * put BLOCKING_HANDOFFS elements, then one stop marker (-1) per consumer.
+     *
+     * @param startVirtual Thread.Builder.start on a virtual builder, or null
+     *                     for platform threads
+     * @param queue        put and take on the deque under test
+     * @return the elapsed time in ms, consumer start-up included
+     */
+    private static long blockingHandoff(Method startVirtual, Handoff queue) {
+        int producers = 4;
+        Integer value = 1;
+        Integer stop = -1;
+        long[] sums = new long[CONSUMERS];
+        Thread[] threads = new Thread[CONSUMERS + producers];
+        long start = System.nanoTime();
+        for (int c = 0; c < CONSUMERS; c++) {
+            int id = c;
+            threads[c] = startThread(startVirtual, () -> {
+                long sum = 0;
+                for (Integer data = queue.poll(); data >= 0; data = queue.poll()) {
+                    sum += data;
+                }
+                sums[id] = sum;
+            });
+        }
+        for (int p = 0; p < producers; p++) {
+            threads[CONSUMERS + p] = startThread(null, () -> {
+                for (int i = 0; i < BLOCKING_HANDOFFS / producers; i++) {
+                    queue.offer(value);
+                }
+            });
+        }
+        try {
+            for (int p = 0; p < producers; p++) {
+                threads[CONSUMERS + p].join();
+            }
+            for (int c = 0; c < CONSUMERS; c++) {
+                queue.offer(stop);
+            }
+            for (int c = 0; c < CONSUMERS; c++) {
+                threads[c].join();
+            }
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+        for (long sum : sums) {
+            sink += sum;
+        }
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    /**
+     * Returns Thread.Builder.start bound for a virtual-thread builder, if the
+     * running JDK has virtual threads.
+     *
+     * @return the start method, or null before JDK 21
+     */
+    private static Method virtualThreadStarter() {
+        try {
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            return builder.getMethod("start", Runnable.class);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Starts a thread running task, virtual if startVirtual is not null.
+     *
+     * @param startVirtual from virtualThreadStarter, or null
+     * @param task         the code to run
+     * @return the started thread
+     */
+    private static Thread startThread(Method startVirtual, Runnable task) {
+        if (startVirtual != null) {
+            try {
+                Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+                return (Thread) startVirtual.invoke(builder, task);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        Thread thread = new Thread(task);
+        thread.start();
+        return thread;
+    }
+}
@@ -0,0 +1,278 @@
+import java.util.NoSuchElementException;
+
+/**
+ * An int version of ArrayDeque.
+ *
+ * Elements are stored in an int[] instead of an array of Integer references,
+ * so nothing is boxed: a deque of n ints takes about 4n bytes instead of the
+ * 4n of references plus 16n of Integer objects. The ring works like
+ * PowerOfTwoArrayDeque, with a power-of-two array, mask arithmetic, and
+ * doubling that unwraps the ring to start at index 0.
+ *
+ * addAll and drainTo move whole runs with System.arraycopy, at most two
+ * copies each since the ring can wrap once.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ * @userid pkutz3
+ * @GTID 903637824
+ */
+public class IntArrayDeque {
+
+    /**
+     * The initial capacity of the IntArrayDeque.
+     */
+    public static final int INITIAL_CAPACITY = 16;
+
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private int[] backingArray;
+    private int front;
+    private int size;
+
+    /**
+     * Constructs a new IntArrayDeque.
+     */
+    public IntArrayDeque() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs a new IntArrayDeque that can hold at least initialCapacity
+     * elements before it grows.
+     *
+     * @param initialCapacity the minimum initial capacity
+     * @throws java.lang.IllegalArgumentException if initialCapacity is
+     *                                            negative or more than the
+     *                                            largest supported capacity
+     */
+    public IntArrayDeque(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("The capacity is negative.");
+        }
+        if (initialCapacity > MAXIMUM_CAPACITY) {
+            throw new IllegalArgumentException("The capacity is too large.");
+        }
+        backingArray = new int[capacityFor(initialCapacity)];
+    }
+
+    /**
+     * Adds the element to the front of the deque.
+     *
+     * Must be amortized O(1).
+     *
+     * @param data the data to add to the front of the deque
+     */
+    public void addFirst(int data) {
+        if (size == backingArray.length) {
+            resize(backingArray.length << 1);
+        }
+        front = (front - 1) & (backingArray.length - 1);
+        backingArray[front] = data;
+        size++;
+    }
+
+    /**
+     * Adds the element to the back of the deque.
+     *
+     * Must be amortized O(1).
+     *
+     * @param data the data to add to the back of the deque
+     */
+    public void addLast(int data) {
+        if (size == backingArray.length) {
+            resize(backingArray.length << 1);
+        }
+        backingArray[(front + size) & (backingArray.length - 1)] = data;
+        size++;
+    }
+
+    /**
+     * Adds every element of data to the back of the deque, in order.
+     *
+     * Must be O(data.length) amortized.
+     *
+     * @param data the elements to add
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public void addAll(int[] data) {
+        if (data == null) {
+            throw new IllegalArgumentException("The data is null.");
+        }
+        ensureCapacity(size + data.length);
+        int mask = backingArray.length - 1;
+        int tail = (front + size) & mask;
+        int firstPart = Math.min(data.length, backingArray.length - tail);
+        System.arraycopy(data, 0, backingArray, tail, firstPart);
+        System.arraycopy(data, firstPart, backingArray, 0, data.length - firstPart);
+        size += data.length;
+    }
+
+    /**
+     * Removes elements from the front of the deque into destination, in
+     * order, until the deque is empty or destination is full.
+     *
+     * Must be O(number moved).
+     *
+     * @param destination the array to fill from index 0
+     * @return the number of elements moved
+     * @throws java.lang.IllegalArgumentException if destination is null
+     */
+    public int drainTo(int[] destination) {
+        if (destination == null) {
+            throw new IllegalArgumentException("The destination is null.");
+        }
+        int count = Math.min(size, destination.length);
+        int firstPart = Math.min(count, backingArray.length - front);
+        System.arraycopy(backingArray, front, destination, 0, firstPart);
+        System.arraycopy(backingArray, 0, destination, firstPart, count - firstPart);
+        front = (front + count) & (backingArray.length - 1);
+        size -= count;
+        return count;
+    }
+
+    /**
+     * Removes and returns the first element of the deque.
+     *
+     * Must be O(1).
+     *
+     * @return the data formerly located at the front of the deque
+     * @throws java.util.NoSuchElementException if the deque is empty
+     */
+    public int removeFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException("The deque is empty.");
+        }
+        int temp = backingArray[front];
+        front = (front + 1) & (backingArray.length - 1);
+        size--;
+        return temp;
+    }
+
+    /**
+     * Removes and returns the last element of the deque.
+     *
+     * Must be O(1).
+     *
+     * @return the data formerly located at the back of the deque
+     * @throws java.util.NoSuchElementException if the deque is empty
+     */
+    public int removeLast() {
+        if (size == 0) {
+            throw new NoSuchElementException("The deque is empty.");
+        }
+        size--;
+        return backingArray[(front + size) & (backingArray.length - 1)];
+    }
+
+    /**
+     * Returns the first data of the deque without removing it.
+     *
+     * Must be O(1).
+     *
+     * @return the first data
+     * @throws java.util.NoSuchElementException if the deque is empty
+     */
+    public int getFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException("The deque is empty.");
+        }
+        return backingArray[front];
+    }
+
+    /**
+     * Returns the last data of the deque without removing it.
+     *
+     * Must be O(1).
+     *
+     * @return the last data
+     * @throws java.util.NoSuchElementException if the deque is empty
+     */
+    public int getLast() {
+        if (size == 0) {
+            throw new NoSuchElementException("The deque is empty.");
+        }
+        return backingArray[(front + size - 1) & (backingArray.length - 1)];
+    }
+
+    /**
+     * Grows the backing array, if needed, so it can hold at least
+     * minCapacity elements without growing again.
+     *
+     * @param minCapacity the number of elements to make room for
+     * @throws java.lang.IllegalArgumentException if minCapacity is more than
+     *                                            the largest supported
+     *                                            capacity
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > MAXIMUM_CAPACITY || minCapacity < 0) {
+            throw new IllegalArgumentException("The capacity is too large.");
+        }
+        if (minCapacity > backingArray.length) {
+            resize(capacityFor(minCapacity));
+        }
+    }
+
+    /**
+     * Empties the deque. The backing array keeps its length.
+     */
+    public void clear() {
+        front = 0;
+        size = 0;
+    }
+
+    /**
+     * Private helper that moves the deque into a new array of the given
+     * length, starting at index 0.
+     *
+     * @param length the new length, a power of two at least size
+     */
+    private void resize(int length) {
+        if (length <= 0) {
+            throw new IllegalStateException("The deque is full.");
+        }
+        int[] tempArray = new int[length];
+        int firstPart = Math.min(size, backingArray.length - front);
+        System.arraycopy(backingArray, front, tempArray, 0, firstPart);
+        System.arraycopy(backingArray, 0, tempArray, firstPart, size - firstPart);
+        backingArray = tempArray;
+        front = 0;
+    }
+
+    /**
+     * Private helper that rounds a capacity up to a power of two, at least 1.
+     *
+     * @param capacity the requested capacity
+     * @return the array length to use
+     */
+    private static int capacityFor(int capacity) {
+        return capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    /**
+     * Returns the backing array of the deque.
+     *
+     * @return the backing array of the deque
+     */
+    public int[] getBackingArray() {
+        return backingArray;
+    }
+
+    /**
+     * Returns whether the deque is empty.
+     *
+     * @return true if the deque has no elements
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the size of the deque.
+     *
+     * @return the size of the deque
+     */
+    public int size() {
+        return size;
+    }
+}
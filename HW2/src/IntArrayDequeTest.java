@@ -0,0 +1,105 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for IntArrayDeque.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ */
+public class IntArrayDequeTest {
+
+    private static final int TIMEOUT = 200;
+
+    private IntArrayDeque deque;
+
+    @Before
+    public void setUp() {
+        deque = new IntArrayDeque(4);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testMatchesJavaDeque() {
+        java.util.ArrayDeque<Integer> expected = new java.util.ArrayDeque<>();
+        Random random = new Random(1332);
+        for (int i = 0; i < 20_000; i++) {
+            int op = random.nextInt(4);
+            if (op == 0) {
+                expected.addFirst(i);
+                deque.addFirst(i);
+            } else if (op == 1) {
+                expected.addLast(i);
+                deque.addLast(i);
+            } else if (expected.isEmpty()) {
+                continue;
+            } else if (op == 2) {
+                assertEquals((int) expected.removeFirst(), deque.removeFirst());
+            } else {
+                assertEquals((int) expected.removeLast(), deque.removeLast());
+            }
+            assertEquals(expected.size(), deque.size());
+            if (!expected.isEmpty()) {
+                assertEquals((int) expected.getFirst(), deque.getFirst());
+                assertEquals((int) expected.getLast(), deque.getLast());
+            }
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testAddAllWrapsAndGrows() {
+        deque.addLast(1);
+        deque.addLast(2);
+        deque.addLast(3);
+        deque.removeFirst();
+        deque.removeFirst(); // front is now 2
+        deque.addAll(new int[] {4, 5});
+        // Removed slots keep their old values; only front and size matter.
+        assertArrayEquals(new int[] {5, 2, 3, 4}, deque.getBackingArray());
+
+        deque.addAll(new int[] {6, 7, 8});
+        assertEquals(8, deque.getBackingArray().length);
+        assertEquals(6, deque.size());
+        int[] all = new int[6];
+        assertEquals(6, deque.drainTo(all));
+        assertArrayEquals(new int[] {3, 4, 5, 6, 7, 8}, all);
+        assertTrue(deque.isEmpty());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testDrainToStopsWhenFull() {
+        deque.addLast(2);
+        deque.addFirst(1);
+        deque.addFirst(0); // wraps: 2 at index 0, 0 and 1 at the end
+        int[] two = new int[2];
+        assertEquals(2, deque.drainTo(two));
+        assertArrayEquals(new int[] {0, 1}, two);
+        assertEquals(1, deque.size());
+
+        int[] more = new int[5];
+        assertEquals(1, deque.drainTo(more));
+        assertEquals(2, more[0]);
+        assertEquals(0, deque.drainTo(more));
+    }
+
+    @Test(timeout = TIMEOUT, expected = NoSuchElementException.class)
+    public void testRemoveFromEmpty() {
+        deque.removeLast();
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testAddAllNull() {
+        deque.addAll(null);
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testInitialCapacityTooLarge() {
+        new IntArrayDeque((1 << 30) + 1);
+    }
+}
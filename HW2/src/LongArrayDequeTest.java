@@ -0,0 +1,62 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for LongArrayDeque.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ */
+public class LongArrayDequeTest {
+
+    private static final int TIMEOUT = 200;
+
+    private LongArrayDeque deque;
+
+    @Before
+    public void setUp() {
+        deque = new LongArrayDeque(2);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testBothEndsKeepFullWidth() {
+        deque.addLast(1L << 40);
+        deque.addFirst(-1L);
+        deque.addLast(Long.MAX_VALUE);
+        assertEquals(4, deque.getBackingArray().length);
+        assertEquals(-1L, deque.getFirst());
+        assertEquals(Long.MAX_VALUE, deque.removeLast());
+        assertEquals(-1L, deque.removeFirst());
+        assertEquals(1L << 40, deque.removeFirst());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testAddAllThenDrain() {
+        long[] values = new long[100];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i * 1_000_000_007L;
+        }
+        deque.addFirst(-5L);
+        deque.addAll(values);
+        assertEquals(-5L, deque.removeFirst());
+
+        long[] out = new long[100];
+        assertEquals(100, deque.drainTo(out));
+        assertArrayEquals(values, out);
+    }
+
+    @Test(timeout = TIMEOUT, expected = NoSuchElementException.class)
+    public void testGetFromEmpty() {
+        deque.getLast();
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testInitialCapacityTooLarge() {
+        new LongArrayDeque((1 << 30) + 1);
+    }
+}
@@ -0,0 +1,559 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+import java.util.zip.CRC32;
+
+/**
+ * A FIFO queue of byte[] records stored in a memory-mapped file, with the
+ * front/size ring layout of ArrayDeque.
+ *
+ * The file is a header followed by a ring of capacity bytes. Each record is
+ * [int length][int crc][long number][int epoch][bytes], padded to a multiple
+ * of 4. Like ArrayDeque's front and size, the queue is described by front,
+ * the ring offset of the first record, and used, the number of ring bytes in
+ * use, plus the record count. addLast writes at (front + used) mod capacity
+ * and removeFirst reads at front. A record that would run past the end of
+ * the ring goes to offset 0 instead, after a WRAP marker at the old position.
+ *
+ * After every addLast or removeFirst the new front, used and count are
+ * written to one of two commit slots in the header, alternating, each with
+ * a sequence number and a CRC32. A record is written before the commit that
+ * makes it visible. open takes the valid slot with the highest sequence
+ * number, so a process that dies at any point leaves the file at its last
+ * complete operation, and a torn commit falls back to the one before.
+ *
+ * Writes go to the page cache straight away, which survives a crash of the
+ * process. A crash of the machine only keeps what the last force wrote:
+ * the OS writes pages back in any order, so a commit made after it can
+ * reach the disk without the records it points at. To catch that, every
+ * record carries a CRC32, its number (how many records were added before
+ * it) and the epoch (how many times the file was opened) it was written in.
+ * open walks the committed records and drops the first one whose checksum,
+ * number or epoch is wrong, along with everything after it, so the queue
+ * comes back as a prefix of what was added, never with records that did not
+ * reach the disk. Space a removeFirst freed after the last force still
+ * holds records the committed state on disk may need, so offerLast forces
+ * before writing over it. This walk makes open read every live record.
+ *
+ * Unlike ArrayDeque the ring does not grow: growing would have to move
+ * records under a live mapping. Pick the capacity at create; addLast throws
+ * and offerLast returns false when a record does not fit.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ * @userid pkutz3
+ * @GTID 903637824
+ */
+public class MappedArrayDeque implements Closeable {
+
+    /**
+     * The largest ring capacity, in bytes.
+     */
+    public static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private static final int MAGIC = 0x4D414451;
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 128;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int SLOT_OFFSET = 16;
+    private static final int SLOT_SIZE = 56;
+    private static final int SLOT_CHECKED = 48;
+    private static final int RECORD_HEADER = 20;
+    private static final int WRAP = -1;
+
+    private final Path path;
+    private final int capacity;
+    private final CRC32 crc = new CRC32();
+    private FileChannel channel;
+    private MappedByteBuffer header;
+    private MappedByteBuffer ring;
+    private long sequence;
+    private int front;
+    private int used;
+    private int size;
+    // The number of the record at front.
+    private long first;
+    private int epoch;
+    // Ring bytes removeFirst has freed since the last force.
+    private int freed;
+
+    /**
+     * Private constructor used by create and open.
+     *
+     * @param path     the backing file
+     * @param channel  an open read/write channel on the file
+     * @param capacity the ring capacity in bytes
+     * @throws IOException if the file cannot be mapped
+     */
+    private MappedArrayDeque(Path path, FileChannel channel, int capacity) throws IOException {
+        this.path = path;
+        this.channel = channel;
+        this.capacity = capacity;
+        header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+        ring = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE, capacity);
+    }
+
+    /**
+     * Creates a new, empty queue in the given file, replacing anything
+     * already there.
+     *
+     * @param path     the backing file
+     * @param capacity the ring capacity in bytes, rounded up to a multiple
+     *                 of 4
+     * @return the new queue
+     * @throws java.lang.IllegalArgumentException if capacity is less than 20
+     *                                            or more than
+     *                                            MAXIMUM_CAPACITY
+     * @throws java.io.UncheckedIOException       if the file cannot be
+     *                                            written
+     */
+    public static MappedArrayDeque create(Path path, int capacity) {
+        if (capacity < RECORD_HEADER || capacity > MAXIMUM_CAPACITY) {
+            throw new IllegalArgumentException("The capacity must be in [20, 2^30].");
+        }
+        int ringBytes = (capacity + 3) & ~3;
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            MappedArrayDeque deque = new MappedArrayDeque(path, channel, ringBytes);
+            deque.header.putInt(0, MAGIC);
+            deque.header.putInt(4, VERSION);
+            deque.header.putInt(CAPACITY_OFFSET, ringBytes);
+            deque.writeSlot(0);
+            return deque;
+        } catch (IOException e) {
+            closeQuietly(channel, e);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            closeQuietly(channel, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Reopens a queue created by create, at its last committed operation,
+     * minus any records at the end that did not reach the disk.
+     *
+     * @param path the backing file
+     * @return the reopened queue
+     * @throws java.lang.IllegalArgumentException if the file is not a queue
+     *                                            file or has no valid commit
+     * @throws java.io.UncheckedIOException       if the file cannot be read
+     */
+    public static MappedArrayDeque open(Path path) {
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // keep reading until the header is full or the file ends
+            }
+            int ringBytes = buffer.getInt(CAPACITY_OFFSET);
+            if (buffer.position() < HEADER_SIZE || buffer.getInt(0) != MAGIC
+                    || buffer.getInt(4) != VERSION || ringBytes < RECORD_HEADER
+                    || channel.size() < HEADER_SIZE + (long) ringBytes) {
+                throw new IllegalArgumentException("The file is not a queue file.");
+            }
+            MappedArrayDeque deque = new MappedArrayDeque(path, channel, ringBytes);
+            if (!deque.recover()) {
+                throw new IllegalArgumentException("The file has no valid commit.");
+            }
+            deque.dropDamagedTail();
+            // Records written from here on must not pass for ones a crash
+            // left behind, so the new epoch reaches the disk before any of
+            // them.
+            deque.epoch++;
+            deque.commit();
+            deque.force();
+            return deque;
+        } catch (IOException e) {
+            closeQuietly(channel, e);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            closeQuietly(channel, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Adds the record to the back of the queue and commits.
+     *
+     * @param record the record to add
+     * @throws java.lang.IllegalArgumentException if record is null
+     * @throws java.lang.IllegalStateException    if the record does not fit
+     *                                            or the queue is closed
+     */
+    public void addLast(byte[] record) {
+        if (!offerLast(record)) {
+            throw new IllegalStateException("The deque is full.");
+        }
+    }
+
+    /**
+     * Adds the record to the back of the queue and commits, if it fits.
+     *
+     * @param record the record to add
+     * @return true if the record was added, false if the ring is too full
+     * @throws java.lang.IllegalArgumentException if record is null
+     * @throws java.lang.IllegalStateException    if the queue is closed
+     */
+    public boolean offerLast(byte[] record) {
+        if (record == null) {
+            throw new IllegalArgumentException("The data is null.");
+        }
+        checkOpen();
+        long need = align((long) RECORD_HEADER + record.length);
+        int tail = (int) (((long) front + used) % capacity);
+        int start = tail;
+        long waste = 0;
+        if (tail + need > capacity) {
+            waste = capacity - tail;
+            start = 0;
+        }
+        if (used + waste + need > capacity) {
+            return false;
+        }
+        if (used + freed + waste + need > capacity) {
+            force();
+        }
+        ring.putInt(start, record.length);
+        ring.putLong(start + 8, first + size);
+        ring.putInt(start + 16, epoch);
+        ring.put(start + RECORD_HEADER, record);
+        ring.putInt(start + 4, recordChecksum(start, record.length));
+        if (waste > 0) {
+            ring.putInt(tail, WRAP);
+        }
+        used += (int) (waste + need);
+        size++;
+        commit();
+        return true;
+    }
+
+    /**
+     * Removes and returns the first record of the queue and commits.
+     *
+     * @return the record formerly at the front of the queue
+     * @throws java.util.NoSuchElementException if the queue is empty
+     * @throws java.lang.IllegalStateException  if the queue is closed
+     */
+    public byte[] removeFirst() {
+        byte[] record = getFirst();
+        int start = recordStart();
+        int need = (int) align((long) RECORD_HEADER + record.length);
+        // front does not jump back to 0 when the queue empties, so the bytes
+        // freed since the last force stay the ones just behind front.
+        int released = (start - front + capacity) % capacity + need;
+        used -= released;
+        freed += released;
+        size--;
+        first++;
+        front = (start + need) % capacity;
+        commit();
+        return record;
+    }
+
+    /**
+     * Returns a copy of the first record of the queue without removing it.
+     *
+     * @return the record at the front of the queue
+     * @throws java.util.NoSuchElementException if the queue is empty
+     * @throws java.lang.IllegalStateException  if the queue is closed
+     */
+    public byte[] getFirst() {
+        checkOpen();
+        if (size == 0) {
+            throw new NoSuchElementException("The deque is empty.");
+        }
+        int start = recordStart();
+        byte[] record = new byte[ring.getInt(start)];
+        ring.get(start + RECORD_HEADER, record);
+        return record;
+    }
+
+    /**
+     * Flushes every committed change to the storage device. A crash of the
+     * machine keeps the queue as of the last call.
+     *
+     * @throws java.io.UncheckedIOException    if the flush fails
+     * @throws java.lang.IllegalStateException if the queue is closed
+     */
+    public void force() {
+        checkOpen();
+        ring.force();
+        header.force();
+        freed = 0;
+    }
+
+    /**
+     * Flushes and closes the queue. The mapping itself is released when the
+     * buffers are garbage collected. Closing a closed queue does nothing;
+     * every other method throws IllegalStateException once it is closed.
+     *
+     * @throws java.io.UncheckedIOException if the file cannot be closed
+     */
+    @Override
+    public void close() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            force();
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            channel = null;
+            header = null;
+            ring = null;
+        }
+    }
+
+    /**
+     * Returns the number of records in the queue.
+     *
+     * @return the size of the queue
+     * @throws java.lang.IllegalStateException if the queue is closed
+     */
+    public int size() {
+        checkOpen();
+        return size;
+    }
+
+    /**
+     * Returns whether the queue has no records.
+     *
+     * @return true if the queue is empty
+     * @throws java.lang.IllegalStateException if the queue is closed
+     */
+    public boolean isEmpty() {
+        checkOpen();
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of ring bytes in use, padding included.
+     *
+     * @return the bytes in use
+     * @throws java.lang.IllegalStateException if the queue is closed
+     */
+    public int usedBytes() {
+        checkOpen();
+        return used;
+    }
+
+    /**
+     * Returns the size of the ring in bytes.
+     *
+     * @return the capacity
+     * @throws java.lang.IllegalStateException if the queue is closed
+     */
+    public int capacity() {
+        checkOpen();
+        return capacity;
+    }
+
+    /**
+     * Returns the backing file.
+     *
+     * @return the path of the file
+     * @throws java.lang.IllegalStateException if the queue is closed
+     */
+    public Path path() {
+        checkOpen();
+        return path;
+    }
+
+    /**
+     * Private helper that throws if the queue has been closed.
+     *
+     * @throws java.lang.IllegalStateException if the queue is closed
+     */
+    private void checkOpen() {
+        if (channel == null) {
+            throw new IllegalStateException("The deque is closed.");
+        }
+    }
+
+    /**
+     * Private helper that returns where the first record starts, following
+     * a WRAP marker at front if there is one.
+     *
+     * @return the ring offset of the first record's length
+     */
+    private int recordStart() {
+        return ring.getInt(front) == WRAP ? 0 : front;
+    }
+
+    /**
+     * Private helper that writes front, used and size to the next commit
+     * slot. The fence keeps the record bytes ahead of the commit that
+     * publishes them.
+     */
+    private void commit() {
+        VarHandle.storeStoreFence();
+        writeSlot(sequence + 1);
+    }
+
+    /**
+     * Private helper that writes the current state as commit number seq.
+     *
+     * @param seq the sequence number of the commit
+     */
+    private void writeSlot(long seq) {
+        int base = SLOT_OFFSET + (int) (seq & 1) * SLOT_SIZE;
+        header.putLong(base, seq);
+        header.putLong(base + 8, front);
+        header.putLong(base + 16, used);
+        header.putLong(base + 24, size);
+        header.putLong(base + 32, first);
+        header.putLong(base + 40, epoch);
+        header.putInt(base + SLOT_CHECKED, checksum(base));
+        sequence = seq;
+    }
+
+    /**
+     * Private helper that loads the newest valid commit slot.
+     *
+     * @return false if neither slot is valid
+     */
+    private boolean recover() {
+        long best = -1;
+        int bestBase = -1;
+        for (int slot = 0; slot < 2; slot++) {
+            int base = SLOT_OFFSET + slot * SLOT_SIZE;
+            long seq = header.getLong(base);
+            if ((seq & 1) == slot && header.getInt(base + SLOT_CHECKED) == checksum(base)
+                    && seq > best) {
+                best = seq;
+                bestBase = base;
+            }
+        }
+        if (bestBase == -1) {
+            return false;
+        }
+        long savedFront = header.getLong(bestBase + 8);
+        long savedUsed = header.getLong(bestBase + 16);
+        long savedSize = header.getLong(bestBase + 24);
+        long savedFirst = header.getLong(bestBase + 32);
+        long savedEpoch = header.getLong(bestBase + 40);
+        if (savedFront < 0 || savedFront >= capacity || savedUsed < 0
+                || savedUsed > capacity || savedSize < 0
+                || savedSize > savedUsed / RECORD_HEADER || savedFirst < 0
+                || savedEpoch < 0 || savedEpoch >= Integer.MAX_VALUE) {
+            return false;
+        }
+        sequence = best;
+        front = (int) savedFront;
+        used = (int) savedUsed;
+        size = (int) savedSize;
+        first = savedFirst;
+        epoch = (int) savedEpoch;
+        return true;
+    }
+
+    /**
+     * Private helper that walks the committed records from front and cuts
+     * the queue off at the first one that did not survive: a bad checksum,
+     * the wrong number, or an epoch older than the record before it, which
+     * marks a record a crash left behind in a later open's space.
+     */
+    private void dropDamagedTail() {
+        int position = front;
+        int kept = 0;
+        int keptUsed = 0;
+        int lastEpoch = 0;
+        while (kept < size) {
+            int start = position;
+            if (start != 0 && ring.getInt(start) == WRAP) {
+                start = 0;
+            }
+            int length = ring.getInt(start);
+            if (length < 0 || length > capacity - start - RECORD_HEADER) {
+                break;
+            }
+            int recordEpoch = ring.getInt(start + 16);
+            if (ring.getLong(start + 8) != first + kept || recordEpoch < lastEpoch
+                    || recordEpoch > epoch
+                    || ring.getInt(start + 4) != recordChecksum(start, length)) {
+                break;
+            }
+            int need = (int) align((long) RECORD_HEADER + length);
+            int step = (start - position + capacity) % capacity + need;
+            if (keptUsed + step > used) {
+                break;
+            }
+            keptUsed += step;
+            lastEpoch = recordEpoch;
+            position = (start + need) % capacity;
+            kept++;
+        }
+        size = kept;
+        used = keptUsed;
+    }
+
+    /**
+     * Private helper that computes the CRC32 of a commit slot's fields.
+     *
+     * @param base the offset of the slot in the header
+     * @return the checksum
+     */
+    private int checksum(int base) {
+        crc.reset();
+        crc.update(header.slice(base, SLOT_CHECKED));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Private helper that computes the CRC32 of a record's length, number,
+     * epoch and bytes, everything in it but the checksum itself.
+     *
+     * @param start  the ring offset of the record
+     * @param length the number of data bytes
+     * @return the checksum
+     */
+    private int recordChecksum(int start, int length) {
+        crc.reset();
+        crc.update(ring.slice(start, 4));
+        crc.update(ring.slice(start + 8, RECORD_HEADER - 8 + length));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Private helper that closes channel after a failed create or open,
+     * adding any failure to close to the original exception.
+     *
+     * @param channel the channel to close, or null if it never opened
+     * @param cause   the exception that aborted create or open
+     */
+    private static void closeQuietly(FileChannel channel, Exception cause) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Private helper that rounds a byte count up to a multiple of 4.
+     *
+     * @param bytes the byte count
+     * @return the padded count
+     */
+    private static long align(long bytes) {
+        return (bytes + 3) & ~3L;
+    }
+}
@@ -0,0 +1,277 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for MappedArrayDeque.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ */
+public class MappedArrayDequeTest {
+
+    private static final int TIMEOUT = 2000;
+    private static final int PROCESS_TIMEOUT = 30_000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path path;
+    private MappedArrayDeque deque;
+
+    @Before
+    public void setUp() throws IOException {
+        path = folder.newFile("queue.bin").toPath();
+        deque = MappedArrayDeque.create(path, 128);
+    }
+
+    @After
+    public void tearDown() {
+        deque.close();
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testFifoAndReopen() {
+        deque.addLast(bytes("one"));
+        deque.addLast(bytes("two"));
+        deque.addLast(new byte[0]);
+        assertEquals("one", string(deque.removeFirst()));
+        deque.addLast(bytes("four"));
+        deque.close();
+
+        deque = MappedArrayDeque.open(path);
+        assertEquals(3, deque.size());
+        assertEquals("two", string(deque.removeFirst()));
+        assertEquals("", string(deque.removeFirst()));
+        assertEquals("four", string(deque.getFirst()));
+        assertEquals(1, deque.size());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testWrapsAroundRing() {
+        // Each 12-byte record takes 32 ring bytes, so 4 fill the ring.
+        for (int i = 0; i < 3; i++) {
+            deque.addLast(record(i, 12));
+        }
+        assertEquals((byte) 0, deque.removeFirst()[0]);
+        assertEquals((byte) 1, deque.removeFirst()[0]);
+        // Offset 96 has 32 bytes left: record 3 fits, record 4 wraps to 0.
+        deque.addLast(record(3, 12));
+        deque.addLast(record(4, 12));
+        assertEquals(96, deque.usedBytes());
+        // 13 bytes need 36: the 32 free bytes at 32..64 are too few.
+        assertFalse(deque.offerLast(record(5, 13)));
+
+        deque.close();
+        deque = MappedArrayDeque.open(path);
+        for (int i = 2; i <= 4; i++) {
+            assertArrayEquals(record(i, 12), deque.removeFirst());
+        }
+        assertTrue(deque.isEmpty());
+        assertEquals(0, deque.usedBytes());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testWrapMarkerBeforeNextRecord() {
+        for (int i = 0; i < 3; i++) {
+            deque.addLast(record(i, 12));
+        }
+        deque.removeFirst();
+        deque.removeFirst();
+        // 17 bytes need 40 but only 32 are left at offset 96, so the record
+        // goes to offset 0 and the last 32 bytes are skipped.
+        deque.addLast(record(3, 17));
+        assertEquals(104, deque.usedBytes());
+
+        assertArrayEquals(record(2, 12), deque.removeFirst());
+        assertEquals(72, deque.usedBytes());
+        assertArrayEquals(record(3, 17), deque.removeFirst());
+        assertEquals(0, deque.usedBytes());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testTornCommitFallsBackToPrevious() throws IOException {
+        deque.addLast(bytes("kept"));
+        deque.addLast(bytes("lost"));
+        deque.close();
+
+        // Commit 2 (slot 0, offset 16) holds two records; tear it.
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {1, 2, 3}), 28);
+        }
+        deque = MappedArrayDeque.open(path);
+        assertEquals(1, deque.size());
+        assertEquals("kept", string(deque.removeFirst()));
+        deque.addLast(bytes("again"));
+        deque.close();
+
+        deque = MappedArrayDeque.open(path);
+        assertEquals("again", string(deque.removeFirst()));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testRecordsMissingAfterPowerLossAreDropped() throws IOException {
+        deque.addLast(bytes("one"));
+        deque.addLast(bytes("two"));
+        deque.force();
+        ByteBuffer ringOnDisk = ByteBuffer.allocate(128);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            channel.read(ringOnDisk, 128);
+        }
+        deque.addLast(bytes("three"));
+        deque.addLast(bytes("four"));
+        deque.close();
+
+        // The header page, with the commit for "four", reached the disk but
+        // the ring page did not.
+        ringOnDisk.flip();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ringOnDisk, 128);
+        }
+        deque = MappedArrayDeque.open(path);
+        assertEquals(2, deque.size());
+        assertEquals(48, deque.usedBytes());
+        assertEquals("one", string(deque.removeFirst()));
+        deque.addLast(bytes("five"));
+        deque.close();
+
+        deque = MappedArrayDeque.open(path);
+        assertEquals("two", string(deque.removeFirst()));
+        assertEquals("five", string(deque.removeFirst()));
+        assertTrue(deque.isEmpty());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testClosedQueueRejectsCalls() {
+        deque.addLast(bytes("one"));
+        deque.close();
+        deque.close();
+        try {
+            deque.size();
+            fail("Expected the closed queue to throw.");
+        } catch (IllegalStateException e) {
+            assertEquals("The deque is closed.", e.getMessage());
+        }
+        try {
+            deque.addLast(bytes("two"));
+            fail("Expected the closed queue to throw.");
+        } catch (IllegalStateException e) {
+            assertEquals("The deque is closed.", e.getMessage());
+        }
+        try {
+            deque.force();
+            fail("Expected the closed queue to throw.");
+        } catch (IllegalStateException e) {
+            assertEquals("The deque is closed.", e.getMessage());
+        }
+    }
+
+    @Test(timeout = PROCESS_TIMEOUT)
+    public void testSurvivesKilledProcess() throws Exception {
+        deque.close();
+        Path big = folder.newFile("crash.bin").toPath();
+        String java = System.getProperty("java.home") + File.separator + "bin"
+                + File.separator + "java";
+        Process process = new ProcessBuilder(java, "-cp",
+                System.getProperty("java.class.path"), Crasher.class.getName(),
+                big.toString(), "5000").inheritIO().start();
+        assertEquals(Crasher.EXIT_CODE, process.waitFor());
+
+        deque = MappedArrayDeque.open(big);
+        assertEquals(4000, deque.size());
+        for (int i = 1000; i < 5000; i++) {
+            assertEquals("record " + i, string(deque.removeFirst()));
+        }
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testOpenNotAQueue() throws IOException {
+        MappedArrayDeque.open(folder.newFile("empty.bin").toPath());
+    }
+
+    @Test(timeout = TIMEOUT, expected = NoSuchElementException.class)
+    public void testRemoveFromEmpty() {
+        deque.removeFirst();
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalStateException.class)
+    public void testAddTooLarge() {
+        deque.addLast(new byte[109]);
+    }
+
+    /**
+     * Returns the UTF-8 bytes of s.
+     *
+     * @param s the string
+     * @return its bytes
+     */
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decodes UTF-8 bytes.
+     *
+     * @param b the bytes
+     * @return the string
+     */
+    private static String string(byte[] b) {
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns a record of the given length filled with id.
+     *
+     * @param id     the fill byte
+     * @param length the length
+     * @return the record
+     */
+    private static byte[] record(int id, int length) {
+        byte[] record = new byte[length];
+        java.util.Arrays.fill(record, (byte) id);
+        return record;
+    }
+
+    /**
+     * Run in a child JVM: appends records, removes the first 1000, and halts
+     * without closing or forcing the queue.
+     */
+    public static final class Crasher {
+
+        static final int EXIT_CODE = 42;
+
+        /**
+         * Entry point.
+         *
+         * @param args the queue file and the number of records
+         */
+        public static void main(String[] args) {
+            MappedArrayDeque queue = MappedArrayDeque.create(Path.of(args[0]), 1 << 20);
+            int count = Integer.parseInt(args[1]);
+            for (int i = 0; i < count; i++) {
+                queue.addLast(bytes("record " + i));
+            }
+            for (int i = 0; i < 1000; i++) {
+                queue.removeFirst();
+            }
+            Runtime.getRuntime().halt(EXIT_CODE);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A bounded, lock-free, multi-producer multi-consumer FIFO queue on a
+ * circular array, after Dmitry Vyukov's bounded MPMC queue.
+ *
+ * Like ArrayDeque, elements live in a circular backing array, but instead of
+ * front and size there are two ever-increasing positions: tail, where the
+ * next element goes, and head, where the next element comes from. A position
+ * maps to slot position & (capacity - 1).
+ *
+ * Each slot also has a sequence number that says whose turn it is. A slot
+ * at position p is free for the producer of p when its sequence is p, and
+ * holds data for the consumer of p when its sequence is p + 1. After taking
+ * the data, the consumer sets it to p + capacity, which hands the slot to
+ * the producer one lap later. A producer or consumer claims a position with
+ * one compareAndSet on tail or head, and publishes the slot with a release
+ * store of its sequence, so the element write is visible to whoever sees the
+ * new sequence.
+ *
+ * head and tail are padded onto separate cache lines so producers and
+ * consumers do not invalidate each other's line on every operation.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ * @userid pkutz3
+ * @GTID 903637824
+ *
+ * @param <T> the type of the data
+ */
+public class MpmcRingQueue<T> {
+
+    private final Object[] buffer;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final PaddedAtomicLong tail = new PaddedAtomicLong(0);
+    private final PaddedAtomicLong head = new PaddedAtomicLong(0);
+
+    /**
+     * Constructs a queue that holds at least capacity elements. The capacity
+     * is rounded up to a power of two, and to at least 2: with one slot, the
+     * sequence a consumer leaves for the next lap, p + 1, is the same as the
+     * one a producer leaves for the consumer, so a second offer would
+     * overwrite data nobody has taken yet.
+     *
+     * @param capacity the minimum capacity
+     * @throws java.lang.IllegalArgumentException if capacity is not positive
+     *                                            or more than 2^30
+     */
+    public MpmcRingQueue(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("The capacity must be in [1, 2^30].");
+        }
+        int length = Math.max(2, Integer.highestOneBit(capacity - 1) << 1);
+        buffer = new Object[length];
+        sequences = new AtomicLongArray(length);
+        for (int i = 0; i < length; i++) {
+            sequences.set(i, i);
+        }
+        mask = length - 1;
+    }
+
+    /**
+     * Adds the element to the back of the queue if there is room.
+     *
+     * @param data the data to add
+     * @return true if the element was added, false if the queue was full
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public boolean offer(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("The data is null.");
+        }
+        long pos = tail.get();
+        while (true) {
+            int index = (int) pos & mask;
+            long diff = sequences.getAcquire(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    buffer[index] = data;
+                    sequences.setRelease(index, pos + 1);
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                // The slot still holds data from the last lap.
+                return false;
+            } else {
+                // Another producer took pos first.
+                pos = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes and returns the element at the front of the queue, if any.
+     *
+     * @return the data formerly at the front, or null if the queue was empty
+     */
+    public T poll() {
+        long pos = head.get();
+        while (true) {
+            int index = (int) pos & mask;
+            long diff = sequences.getAcquire(index) - (pos + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    T data = (T) buffer[index];
+                    buffer[index] = null;
+                    sequences.setRelease(index, pos + mask + 1);
+                    return data;
+                }
+                pos = head.get();
+            } else if (diff < 0) {
+                // The producer for pos has not published yet.
+                return null;
+            } else {
+                // Another consumer took pos first.
+                pos = head.get();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of elements in the queue. While other threads are
+     * adding or removing, this is only an estimate.
+     *
+     * @return the size of the queue
+     */
+    public int size() {
+        while (true) {
+            long before = head.get();
+            long currentTail = tail.get();
+            if (head.get() == before) {
+                return (int) Math.max(0, Math.min(currentTail - before, buffer.length));
+            }
+        }
+    }
+
+    /**
+     * Returns whether the queue looks empty.
+     *
+     * @return true if the queue has no elements
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the most elements the queue can hold.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return buffer.length;
+    }
+}
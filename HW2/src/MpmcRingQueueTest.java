@@ -0,0 +1,136 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for MpmcRingQueue.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ */
+public class MpmcRingQueueTest {
+
+    private static final int TIMEOUT = 200;
+    private static final int CONCURRENT_TIMEOUT = 10_000;
+
+    private MpmcRingQueue<Integer> queue;
+
+    @Before
+    public void setUp() {
+        queue = new MpmcRingQueue<>(4);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testCapacityRoundsUp() {
+        assertEquals(4, queue.capacity());
+        assertEquals(2, new MpmcRingQueue<Integer>(1).capacity());
+        assertEquals(8, new MpmcRingQueue<Integer>(5).capacity());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testFifoUntilFull() {
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(i));
+        }
+        assertFalse(queue.offer(4));
+        assertEquals(4, queue.size());
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals((Integer) i, queue.poll());
+        }
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testWrapsAroundManyLaps() {
+        int next = 0;
+        int expected = 0;
+        for (int lap = 0; lap < 1000; lap++) {
+            assertTrue(queue.offer(next++));
+            assertTrue(queue.offer(next++));
+            assertTrue(queue.offer(next++));
+            assertEquals((Integer) expected++, queue.poll());
+            assertEquals((Integer) expected++, queue.poll());
+            assertEquals((Integer) expected++, queue.poll());
+        }
+        assertNull(queue.poll());
+    }
+
+    @Test(timeout = CONCURRENT_TIMEOUT)
+    public void testEveryElementTakenExactlyOnce() throws InterruptedException {
+        int producers = 4;
+        int consumers = 4;
+        int perProducer = 50_000;
+        int total = producers * perProducer;
+        MpmcRingQueue<Integer> shared = new MpmcRingQueue<>(64);
+        AtomicIntegerArray seen = new AtomicIntegerArray(total);
+        int[] taken = new int[consumers];
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int first = p * perProducer;
+            threads.add(new Thread(() -> {
+                for (int i = first; i < first + perProducer; i++) {
+                    while (!shared.offer(i)) {
+                        Thread.yield();
+                    }
+                }
+            }));
+        }
+        for (int c = 0; c < consumers; c++) {
+            int id = c;
+            threads.add(new Thread(() -> {
+                while (taken[id] < total / consumers) {
+                    Integer value = shared.poll();
+                    if (value == null) {
+                        Thread.yield();
+                        continue;
+                    }
+                    seen.incrementAndGet(value);
+                    taken[id]++;
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (int i = 0; i < total; i++) {
+            assertEquals(1, seen.get(i));
+        }
+        assertNull(shared.poll());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testCapacityOne() {
+        MpmcRingQueue<Integer> small = new MpmcRingQueue<>(1);
+        assertTrue(small.offer(0));
+        assertTrue(small.offer(1));
+        assertFalse(small.offer(2));
+        assertEquals((Integer) 0, small.poll());
+        assertEquals((Integer) 1, small.poll());
+        assertNull(small.poll());
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testOfferNull() {
+        queue.offer(null);
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testZeroCapacity() {
+        new MpmcRingQueue<Integer>(0);
+    }
+}
@@ -0,0 +1,48 @@
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An AtomicLong padded out to more than a cache line, for counters that
+ * different threads hammer on. Two of these allocated one after the other
+ * never share a cache line, so a write to one does not slow down readers of
+ * the other (false sharing).
+ *
+ * The cached field sits on the same line as the value and is for the thread
+ * that owns the counter to remember the last value it read from the other
+ * side's counter.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ * @userid pkutz3
+ * @GTID 903637824
+ */
+final class PaddedAtomicLong extends AtomicLong {
+
+    private static final long serialVersionUID = 1L;
+
+    long cached;
+
+    // Padding only; never read.
+    private long p1;
+    private long p2;
+    private long p3;
+    private long p4;
+    private long p5;
+    private long p6;
+    private long p7;
+    private long p8;
+    private long p9;
+    private long p10;
+    private long p11;
+    private long p12;
+    private long p13;
+    private long p14;
+
+    /**
+     * Creates a counter starting at value.
+     *
+     * @param value the initial value
+     */
+    PaddedAtomicLong(long value) {
+        super(value);
+    }
+}
@@ -0,0 +1,233 @@
+import java.util.NoSuchElementException;
+
+/**
+ * An ArrayDeque whose backing array length is always a power of two.
+ *
+ * Indices wrap with index & (length - 1) instead of a call to mod, so no
+ * add or remove does an integer division. Growing doubles the array and
+ * unwraps the deque to start at index 0 with two System.arraycopy calls, one
+ * for the part from front to the end of the old array and one for the part
+ * that had wrapped around to its start.
+ *
+ * ensureCapacity grows the array ahead of time, so a caller that knows how
+ * many elements are coming pays for at most one copy.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ * @userid pkutz3
+ * @GTID 903637824
+ *
+ * @param <T> the type of the data
+ */
+public class PowerOfTwoArrayDeque<T> {
+
+    /**
+     * The initial capacity of the PowerOfTwoArrayDeque.
+     */
+    public static final int INITIAL_CAPACITY = 16;
+
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private T[] backingArray;
+    private int front;
+    private int size;
+
+    /**
+     * Constructs a new PowerOfTwoArrayDeque.
+     */
+    public PowerOfTwoArrayDeque() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs a new PowerOfTwoArrayDeque that can hold at least
+     * initialCapacity elements before it grows.
+     *
+     * @param initialCapacity the minimum initial capacity
+     * @throws java.lang.IllegalArgumentException if initialCapacity is
+     *                                            negative or more than the
+     *                                            largest supported capacity
+     */
+    public PowerOfTwoArrayDeque(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("The capacity is negative.");
+        }
+        if (initialCapacity > MAXIMUM_CAPACITY) {
+            throw new IllegalArgumentException("The capacity is too large.");
+        }
+        backingArray = (T[]) new Object[capacityFor(initialCapacity)];
+    }
+
+    /**
+     * Adds the element to the front of the deque, doubling the backing array
+     * first if it is full.
+     *
+     * Must be amortized O(1).
+     *
+     * @param data the data to add to the front of the deque
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public void addFirst(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("The data is null.");
+        }
+        if (size == backingArray.length) {
+            resize(backingArray.length << 1);
+        }
+        front = (front - 1) & (backingArray.length - 1);
+        backingArray[front] = data;
+        size++;
+    }
+
+    /**
+     * Adds the element to the back of the deque, doubling the backing array
+     * first if it is full.
+     *
+     * Must be amortized O(1).
+     *
+     * @param data the data to add to the back of the deque
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public void addLast(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("The data is null.");
+        }
+        if (size == backingArray.length) {
+            resize(backingArray.length << 1);
+        }
+        backingArray[(front + size) & (backingArray.length - 1)] = data;
+        size++;
+    }
+
+    /**
+     * Removes and returns the first element of the deque.
+     *
+     * Must be O(1).
+     *
+     * @return the data formerly located at the front of the deque
+     * @throws java.util.NoSuchElementException if the deque is empty
+     */
+    public T removeFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException("The deque is empty.");
+        }
+        T temp = backingArray[front];
+        backingArray[front] = null;
+        front = (front + 1) & (backingArray.length - 1);
+        size--;
+        return temp;
+    }
+
+    /**
+     * Removes and returns the last element of the deque.
+     *
+     * Must be O(1).
+     *
+     * @return the data formerly located at the back of the deque
+     * @throws java.util.NoSuchElementException if the deque is empty
+     */
+    public T removeLast() {
+        if (size == 0) {
+            throw new NoSuchElementException("The deque is empty.");
+        }
+        int index = (front + size - 1) & (backingArray.length - 1);
+        T temp = backingArray[index];
+        backingArray[index] = null;
+        size--;
+        return temp;
+    }
+
+    /**
+     * Returns the first data of the deque without removing it.
+     *
+     * Must be O(1).
+     *
+     * @return the first data
+     * @throws java.util.NoSuchElementException if the deque is empty
+     */
+    public T getFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException("The deque is empty.");
+        }
+        return backingArray[front];
+    }
+
+    /**
+     * Returns the last data of the deque without removing it.
+     *
+     * Must be O(1).
+     *
+     * @return the last data
+     * @throws java.util.NoSuchElementException if the deque is empty
+     */
+    public T getLast() {
+        if (size == 0) {
+            throw new NoSuchElementException("The deque is empty.");
+        }
+        return backingArray[(front + size - 1) & (backingArray.length - 1)];
+    }
+
+    /**
+     * Grows the backing array, if needed, so it can hold at least
+     * minCapacity elements without growing again.
+     *
+     * @param minCapacity the number of elements to make room for
+     * @throws java.lang.IllegalArgumentException if minCapacity is more than
+     *                                            the largest supported
+     *                                            capacity
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > MAXIMUM_CAPACITY) {
+            throw new IllegalArgumentException("The capacity is too large.");
+        }
+        if (minCapacity > backingArray.length) {
+            resize(capacityFor(minCapacity));
+        }
+    }
+
+    /**
+     * Private helper that moves the deque into a new array of the given
+     * length, starting at index 0.
+     *
+     * @param length the new length, a power of two at least size
+     */
+    private void resize(int length) {
+        if (length <= 0) {
+            throw new IllegalStateException("The deque is full.");
+        }
+        T[] tempArray = (T[]) new Object[length];
+        int firstPart = Math.min(size, backingArray.length - front);
+        System.arraycopy(backingArray, front, tempArray, 0, firstPart);
+        System.arraycopy(backingArray, 0, tempArray, firstPart, size - firstPart);
+        backingArray = tempArray;
+        front = 0;
+    }
+
+    /**
+     * Private helper that rounds a capacity up to a power of two, at least 1.
+     *
+     * @param capacity the requested capacity
+     * @return the array length to use
+     */
+    private static int capacityFor(int capacity) {
+        return capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    /**
+     * Returns the backing array of the deque.
+     *
+     * @return the backing array of the deque
+     */
+    public T[] getBackingArray() {
+        return backingArray;
+    }
+
+    /**
+     * Returns the size of the deque.
+     *
+     * @return the size of the deque
+     */
+    public int size() {
+        return size;
+    }
+}
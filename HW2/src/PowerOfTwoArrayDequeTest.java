@@ -0,0 +1,129 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for PowerOfTwoArrayDeque.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ */
+public class PowerOfTwoArrayDequeTest {
+
+    private static final int TIMEOUT = 200;
+
+    private PowerOfTwoArrayDeque<String> deque;
+
+    @Before
+    public void setUp() {
+        deque = new PowerOfTwoArrayDeque<>(4);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testWrappedGrowthUnwraps() {
+        deque.addLast("c");
+        deque.addFirst("b");
+        deque.addFirst("a");
+        deque.addLast("d"); // c, d, a, b with front at 2
+        assertArrayEquals(new Object[] {"c", "d", "a", "b"}, deque.getBackingArray());
+
+        deque.addLast("e");
+        Object[] expected = new Object[8];
+        expected[0] = "a";
+        expected[1] = "b";
+        expected[2] = "c";
+        expected[3] = "d";
+        expected[4] = "e";
+        assertArrayEquals(expected, deque.getBackingArray());
+        assertEquals(5, deque.size());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testAddFirstWhenFull() {
+        for (int i = 0; i < 4; i++) {
+            deque.addLast("" + i);
+        }
+        deque.addFirst("x");
+
+        Object[] array = deque.getBackingArray();
+        assertEquals(8, array.length);
+        assertEquals("x", array[7]);
+        assertEquals("x", deque.getFirst());
+        assertEquals("3", deque.getLast());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testMatchesJavaDeque() {
+        java.util.ArrayDeque<Integer> expected = new java.util.ArrayDeque<>();
+        PowerOfTwoArrayDeque<Integer> actual = new PowerOfTwoArrayDeque<>();
+        Random random = new Random(1332);
+        for (int i = 0; i < 20_000; i++) {
+            int op = random.nextInt(4);
+            if (op == 0) {
+                expected.addFirst(i);
+                actual.addFirst(i);
+            } else if (op == 1) {
+                expected.addLast(i);
+                actual.addLast(i);
+            } else if (expected.isEmpty()) {
+                continue;
+            } else if (op == 2) {
+                assertEquals(expected.removeFirst(), actual.removeFirst());
+            } else {
+                assertEquals(expected.removeLast(), actual.removeLast());
+            }
+            assertEquals(expected.size(), actual.size());
+            if (!expected.isEmpty()) {
+                assertEquals(expected.getFirst(), actual.getFirst());
+                assertEquals(expected.getLast(), actual.getLast());
+            }
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testEnsureCapacity() {
+        deque.addLast("a");
+        deque.ensureCapacity(100);
+        Object[] array = deque.getBackingArray();
+        assertEquals(128, array.length);
+
+        for (int i = 0; i < 127; i++) {
+            deque.addFirst("" + i);
+        }
+        assertSame(array, deque.getBackingArray());
+        assertEquals("a", deque.getLast());
+
+        deque.ensureCapacity(10);
+        assertSame(array, deque.getBackingArray());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testRemovesNullOutSlots() {
+        deque.addLast("a");
+        deque.addLast("b");
+        assertEquals("a", deque.removeFirst());
+        assertEquals("b", deque.removeLast());
+        assertArrayEquals(new Object[4], deque.getBackingArray());
+    }
+
+    @Test(timeout = TIMEOUT, expected = NoSuchElementException.class)
+    public void testRemoveFromEmpty() {
+        deque.removeFirst();
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testAddNull() {
+        deque.addFirst(null);
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testInitialCapacityTooLarge() {
+        new PowerOfTwoArrayDeque<Integer>((1 << 30) + 1);
+    }
+}
@@ -0,0 +1,352 @@
+import java.util.NoSuchElementException;
+
+/**
+ * A LinkedDeque that stores its elements in chunks instead of one node per
+ * element (an unrolled linked list).
+ *
+ * Each chunk holds up to chunkSize elements in an array, filled from the
+ * right for chunks added at the front and from the left for chunks added at
+ * the back, so both ends stay O(1). A new chunk is only needed once every
+ * chunkSize adds at one end, and a chunk that empties out goes into a small
+ * pool for reuse instead of to the garbage collector. A deque that hovers
+ * around the same size therefore allocates nothing once it is warm.
+ *
+ * getHead and getTail still return LinkedNodes, for code that walks the
+ * deque that way. They are a copy: the first call after a change builds a
+ * LinkedNode chain of the current elements in O(n), and later calls return
+ * the same chain until the deque changes again. Changing the copy does not
+ * change the deque.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ * @userid pkutz3
+ * @GTID 903637824
+ *
+ * @param <T> the type of the data
+ */
+public class SegmentedLinkedDeque<T> {
+
+    /**
+     * The number of elements per chunk if none is given.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 64;
+
+    /**
+     * The number of empty chunks kept for reuse if no limit is given.
+     */
+    public static final int DEFAULT_MAX_POOLED = 4;
+
+    private final int chunkSize;
+    private final Chunk[] pool;
+    private int pooled;
+
+    private Chunk first;
+    private Chunk last;
+    private int size;
+
+    private LinkedNode<T> viewHead;
+    private LinkedNode<T> viewTail;
+    private boolean viewStale = true;
+
+    /**
+     * Constructs a new SegmentedLinkedDeque with the default chunk size and
+     * pool limit.
+     */
+    public SegmentedLinkedDeque() {
+        this(DEFAULT_CHUNK_SIZE, DEFAULT_MAX_POOLED);
+    }
+
+    /**
+     * Constructs a new SegmentedLinkedDeque.
+     *
+     * @param chunkSize the number of elements per chunk
+     * @param maxPooled the most empty chunks to keep for reuse
+     * @throws java.lang.IllegalArgumentException if chunkSize is less than 2
+     *                                            or maxPooled is negative
+     */
+    public SegmentedLinkedDeque(int chunkSize, int maxPooled) {
+        if (chunkSize < 2) {
+            throw new IllegalArgumentException("The chunk size is less than 2.");
+        }
+        if (maxPooled < 0) {
+            throw new IllegalArgumentException("The pool limit is negative.");
+        }
+        this.chunkSize = chunkSize;
+        this.pool = new Chunk[maxPooled];
+    }
+
+    /**
+     * Adds the element to the front of the deque.
+     *
+     * Must be amortized O(1).
+     *
+     * @param data the data to add to the front of the deque
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public void addFirst(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("The data is null.");
+        }
+        if (first == null) {
+            first = obtain(chunkSize / 2);
+            last = first;
+        } else if (first.start == 0) {
+            Chunk chunk = obtain(chunkSize);
+            chunk.next = first;
+            first.previous = chunk;
+            first = chunk;
+        }
+        first.items[--first.start] = data;
+        size++;
+        viewStale = true;
+    }
+
+    /**
+     * Adds the element to the back of the deque.
+     *
+     * Must be amortized O(1).
+     *
+     * @param data the data to add to the back of the deque
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public void addLast(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("The data is null.");
+        }
+        if (last == null) {
+            last = obtain(chunkSize / 2);
+            first = last;
+        } else if (last.end == chunkSize) {
+            Chunk chunk = obtain(0);
+            chunk.previous = last;
+            last.next = chunk;
+            last = chunk;
+        }
+        last.items[last.end++] = data;
+        size++;
+        viewStale = true;
+    }
+
+    /**
+     * Removes and returns the first element of the deque.
+     *
+     * Must be O(1).
+     *
+     * @return the data formerly located at the front of the deque
+     * @throws java.util.NoSuchElementException if the deque is empty
+     */
+    public T removeFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException("The deque is empty.");
+        }
+        Chunk chunk = first;
+        T data = (T) chunk.items[chunk.start];
+        chunk.items[chunk.start++] = null;
+        if (chunk.start == chunk.end) {
+            first = chunk.next;
+            if (first == null) {
+                last = null;
+            } else {
+                first.previous = null;
+            }
+            recycle(chunk);
+        }
+        size--;
+        viewStale = true;
+        return data;
+    }
+
+    /**
+     * Removes and returns the last element of the deque.
+     *
+     * Must be O(1).
+     *
+     * @return the data formerly located at the back of the deque
+     * @throws java.util.NoSuchElementException if the deque is empty
+     */
+    public T removeLast() {
+        if (size == 0) {
+            throw new NoSuchElementException("The deque is empty.");
+        }
+        Chunk chunk = last;
+        T data = (T) chunk.items[--chunk.end];
+        chunk.items[chunk.end] = null;
+        if (chunk.start == chunk.end) {
+            last = chunk.previous;
+            if (last == null) {
+                first = null;
+            } else {
+                last.next = null;
+            }
+            recycle(chunk);
+        }
+        size--;
+        viewStale = true;
+        return data;
+    }
+
+    /**
+     * Returns the first data of the deque without removing it.
+     *
+     * Must be O(1).
+     *
+     * @return the data located at the front of the deque
+     * @throws java.util.NoSuchElementException if the deque is empty
+     */
+    public T getFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException("The deque is empty.");
+        }
+        return (T) first.items[first.start];
+    }
+
+    /**
+     * Returns the last data of the deque without removing it.
+     *
+     * Must be O(1).
+     *
+     * @return the data located at the back of the deque
+     * @throws java.util.NoSuchElementException if the deque is empty
+     */
+    public T getLast() {
+        if (size == 0) {
+            throw new NoSuchElementException("The deque is empty.");
+        }
+        return (T) last.items[last.end - 1];
+    }
+
+    /**
+     * Returns the head of a LinkedNode copy of the deque.
+     *
+     * O(n) after the deque changes, O(1) otherwise.
+     *
+     * @return node at the head of the deque, or null if it is empty
+     */
+    public LinkedNode<T> getHead() {
+        refreshView();
+        return viewHead;
+    }
+
+    /**
+     * Returns the tail of a LinkedNode copy of the deque, the same copy
+     * getHead returns.
+     *
+     * O(n) after the deque changes, O(1) otherwise.
+     *
+     * @return node at the tail of the deque, or null if it is empty
+     */
+    public LinkedNode<T> getTail() {
+        refreshView();
+        return viewTail;
+    }
+
+    /**
+     * Returns the size of the deque.
+     *
+     * @return the size of the deque
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of chunks currently holding elements.
+     *
+     * @return the number of chunks in use
+     */
+    int chunkCount() {
+        int count = 0;
+        for (Chunk chunk = first; chunk != null; chunk = chunk.next) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of empty chunks waiting for reuse.
+     *
+     * @return the pool size
+     */
+    int pooledChunks() {
+        return pooled;
+    }
+
+    /**
+     * Private helper that rebuilds the LinkedNode copy if the deque changed
+     * since it was built.
+     */
+    private void refreshView() {
+        if (!viewStale) {
+            return;
+        }
+        viewHead = null;
+        viewTail = null;
+        for (Chunk chunk = first; chunk != null; chunk = chunk.next) {
+            for (int i = chunk.start; i < chunk.end; i++) {
+                LinkedNode<T> node = new LinkedNode<>((T) chunk.items[i], viewTail, null);
+                if (viewTail == null) {
+                    viewHead = node;
+                } else {
+                    viewTail.setNext(node);
+                }
+                viewTail = node;
+            }
+        }
+        viewStale = false;
+    }
+
+    /**
+     * Private helper that returns an empty, unlinked chunk whose start and
+     * end are both at position, taken from the pool if it has one.
+     *
+     * @param position where the chunk's first element will go
+     * @return the chunk
+     */
+    private Chunk obtain(int position) {
+        Chunk chunk;
+        if (pooled > 0) {
+            chunk = pool[--pooled];
+            pool[pooled] = null;
+        } else {
+            chunk = new Chunk(chunkSize);
+        }
+        chunk.start = position;
+        chunk.end = position;
+        return chunk;
+    }
+
+    /**
+     * Private helper that puts an emptied chunk in the pool if there is room.
+     * Its slots are already null.
+     *
+     * @param chunk the empty chunk
+     */
+    private void recycle(Chunk chunk) {
+        if (pooled < pool.length) {
+            chunk.previous = null;
+            chunk.next = null;
+            pool[pooled++] = chunk;
+        }
+    }
+
+    /**
+     * A run of up to chunkSize elements in items[start..end).
+     */
+    private static final class Chunk {
+
+        private final Object[] items;
+        private int start;
+        private int end;
+        private Chunk previous;
+        private Chunk next;
+
+        /**
+         * Creates an empty chunk.
+         *
+         * @param chunkSize the length of its array
+         */
+        Chunk(int chunkSize) {
+            items = new Object[chunkSize];
+        }
+    }
+}
@@ -0,0 +1,124 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for SegmentedLinkedDeque.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ */
+public class SegmentedLinkedDequeTest {
+
+    private static final int TIMEOUT = 200;
+
+    private SegmentedLinkedDeque<Integer> deque;
+
+    @Before
+    public void setUp() {
+        deque = new SegmentedLinkedDeque<>(4, 2);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testMatchesJavaDeque() {
+        java.util.ArrayDeque<Integer> expected = new java.util.ArrayDeque<>();
+        Random random = new Random(1332);
+        for (int i = 0; i < 20_000; i++) {
+            int op = random.nextInt(4);
+            if (op == 0) {
+                expected.addFirst(i);
+                deque.addFirst(i);
+            } else if (op == 1) {
+                expected.addLast(i);
+                deque.addLast(i);
+            } else if (expected.isEmpty()) {
+                continue;
+            } else if (op == 2) {
+                assertEquals(expected.removeFirst(), deque.removeFirst());
+            } else {
+                assertEquals(expected.removeLast(), deque.removeLast());
+            }
+            assertEquals(expected.size(), deque.size());
+            if (!expected.isEmpty()) {
+                assertEquals(expected.getFirst(), deque.getFirst());
+                assertEquals(expected.getLast(), deque.getLast());
+            }
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testChunksFillBeforeAllocating() {
+        deque.addLast(0);
+        deque.addLast(1); // the first chunk starts in its middle: [_, _, 0, 1]
+        assertEquals(1, deque.chunkCount());
+        deque.addLast(2);
+        assertEquals(2, deque.chunkCount());
+        deque.addFirst(-1);
+        deque.addFirst(-2);
+        assertEquals(2, deque.chunkCount());
+        deque.addFirst(-3);
+        assertEquals(3, deque.chunkCount());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testEmptiedChunksArePooledUpToLimit() {
+        for (int i = 0; i < 20; i++) {
+            deque.addLast(i);
+        }
+        assertEquals(6, deque.chunkCount());
+        for (int i = 0; i < 20; i++) {
+            assertEquals((Integer) i, deque.removeFirst());
+        }
+        assertEquals(0, deque.chunkCount());
+        assertEquals(2, deque.pooledChunks());
+
+        for (int i = 0; i < 6; i++) {
+            deque.addFirst(i);
+        }
+        assertEquals(2, deque.chunkCount());
+        assertEquals(0, deque.pooledChunks());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testLinkedNodeView() {
+        assertNull(deque.getHead());
+        assertNull(deque.getTail());
+        for (int i = 0; i < 6; i++) {
+            deque.addLast(i);
+        }
+
+        LinkedNode<Integer> node = deque.getHead();
+        LinkedNode<Integer> previous = null;
+        for (int i = 0; i < 6; i++) {
+            assertEquals((Integer) i, node.getData());
+            assertSame(previous, node.getPrevious());
+            previous = node;
+            node = node.getNext();
+        }
+        assertNull(node);
+        assertSame(previous, deque.getTail());
+        assertSame(deque.getHead(), deque.getHead());
+
+        deque.removeFirst();
+        assertEquals((Integer) 1, deque.getHead().getData());
+        assertEquals((Integer) 5, deque.getTail().getData());
+    }
+
+    @Test(timeout = TIMEOUT, expected = NoSuchElementException.class)
+    public void testRemoveFromEmpty() {
+        deque.addFirst(1);
+        deque.removeLast();
+        deque.removeFirst();
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testAddNull() {
+        deque.addLast(null);
+    }
+}
@@ -0,0 +1,125 @@
+/**
+ * A bounded FIFO queue on a circular array for exactly one producer thread
+ * and one consumer thread.
+ *
+ * With one thread on each side nobody races for a position, so there is no
+ * compareAndSet and no per-slot sequence as in MpmcRingQueue. Only the
+ * producer writes tail and only the consumer writes head, each with a
+ * release store that publishes the slot it just filled or emptied.
+ *
+ * Each side also keeps its own copy of the other side's counter next to its
+ * counter, and only re-reads the real one when the copy says the queue is
+ * full (producer) or empty (consumer). In a busy queue that means most
+ * operations touch no cache line the other thread is writing.
+ *
+ * Calling offer from more than one thread, or poll from more than one
+ * thread, at the same time is not supported.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ * @userid pkutz3
+ * @GTID 903637824
+ *
+ * @param <T> the type of the data
+ */
+public class SpscRingQueue<T> {
+
+    private final Object[] buffer;
+    private final int mask;
+    // tail.cached is the producer's copy of head; head.cached the consumer's
+    // copy of tail.
+    private final PaddedAtomicLong tail = new PaddedAtomicLong(0);
+    private final PaddedAtomicLong head = new PaddedAtomicLong(0);
+
+    /**
+     * Constructs a queue that holds at least capacity elements. The capacity
+     * is rounded up to a power of two.
+     *
+     * @param capacity the minimum capacity
+     * @throws java.lang.IllegalArgumentException if capacity is not positive
+     *                                            or more than 2^30
+     */
+    public SpscRingQueue(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("The capacity must be in [1, 2^30].");
+        }
+        int length = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        buffer = new Object[length];
+        mask = length - 1;
+    }
+
+    /**
+     * Adds the element to the back of the queue if there is room. Only the
+     * producer thread may call this.
+     *
+     * @param data the data to add
+     * @return true if the element was added, false if the queue was full
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public boolean offer(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("The data is null.");
+        }
+        long pos = tail.getPlain();
+        if (pos - tail.cached == buffer.length) {
+            tail.cached = head.getAcquire();
+            if (pos - tail.cached == buffer.length) {
+                return false;
+            }
+        }
+        buffer[(int) pos & mask] = data;
+        tail.setRelease(pos + 1);
+        return true;
+    }
+
+    /**
+     * Removes and returns the element at the front of the queue, if any.
+     * Only the consumer thread may call this.
+     *
+     * @return the data formerly at the front, or null if the queue was empty
+     */
+    public T poll() {
+        long pos = head.getPlain();
+        if (pos == head.cached) {
+            head.cached = tail.getAcquire();
+            if (pos == head.cached) {
+                return null;
+            }
+        }
+        int index = (int) pos & mask;
+        T data = (T) buffer[index];
+        buffer[index] = null;
+        head.setRelease(pos + 1);
+        return data;
+    }
+
+    /**
+     * Returns the number of elements in the queue. While the other thread is
+     * adding or removing, this is only an estimate.
+     *
+     * @return the size of the queue
+     */
+    public int size() {
+        long currentHead = head.getAcquire();
+        long currentTail = tail.getAcquire();
+        return (int) Math.max(0, Math.min(currentTail - currentHead, buffer.length));
+    }
+
+    /**
+     * Returns whether the queue looks empty.
+     *
+     * @return true if the queue has no elements
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the most elements the queue can hold.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return buffer.length;
+    }
+}
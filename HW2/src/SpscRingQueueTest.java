@@ -0,0 +1,73 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for SpscRingQueue.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ */
+public class SpscRingQueueTest {
+
+    private static final int TIMEOUT = 200;
+    private static final int CONCURRENT_TIMEOUT = 10_000;
+
+    private SpscRingQueue<Integer> queue;
+
+    @Before
+    public void setUp() {
+        queue = new SpscRingQueue<>(3);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testFifoUntilFull() {
+        assertEquals(4, queue.capacity());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(i));
+        }
+        assertFalse(queue.offer(4));
+
+        assertEquals((Integer) 0, queue.poll());
+        assertTrue(queue.offer(4));
+        for (int i = 1; i <= 4; i++) {
+            assertEquals((Integer) i, queue.poll());
+        }
+        assertNull(queue.poll());
+        assertEquals(0, queue.size());
+    }
+
+    @Test(timeout = CONCURRENT_TIMEOUT)
+    public void testProducerConsumerInOrder() throws InterruptedException {
+        int total = 200_000;
+        SpscRingQueue<Integer> shared = new SpscRingQueue<>(16);
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < total; i++) {
+                while (!shared.offer(i)) {
+                    Thread.yield();
+                }
+            }
+        });
+        producer.start();
+
+        for (int i = 0; i < total; i++) {
+            Integer value = shared.poll();
+            while (value == null) {
+                Thread.yield();
+                value = shared.poll();
+            }
+            assertEquals((Integer) i, value);
+        }
+        producer.join();
+        assertNull(shared.poll());
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testOfferNull() {
+        queue.offer(null);
+    }
+}
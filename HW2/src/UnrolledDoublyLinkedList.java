@@ -0,0 +1,492 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A DoublyLinkedList that stores its elements in blocks of about sqrt(n)
+ * elements instead of one node per element, so positional access and
+ * insertion are O(sqrt(n)) instead of O(n).
+ *
+ * The blocks are kept in order in a directory array, with each block's
+ * element count in a parallel int array. Finding index i scans the counts
+ * from whichever end is closer, which is a tight loop over O(sqrt(n)) ints,
+ * and then indexes into one block. Adding or removing inside a block shifts
+ * at most one block's worth of elements with System.arraycopy. A full block
+ * splits in two; a block that drops to a quarter full merges into a
+ * neighbour that has room.
+ *
+ * The block size is picked from the size of the list, so when the list grows
+ * or shrinks by a factor of four the blocks are rebuilt in one O(n) pass to
+ * the new sqrt(n). That keeps every operation O(sqrt(n)) amortized.
+ *
+ * getHead and getTail still return DoublyLinkedListNodes, but as a copy: the
+ * first call after a change builds the node chain in O(n), and later calls
+ * return the same chain until the list changes again.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ * @userid pkutz3
+ * @GTID 903637824
+ *
+ * @param <T> the type of the data
+ */
+public class UnrolledDoublyLinkedList<T> {
+
+    private static final int MIN_BLOCK_SIZE = 32;
+
+    private Object[][] blocks;
+    private int[] counts;
+    private int blockCount;
+    private int blockSize;
+    private int size;
+    private int growAt;
+    private int shrinkAt;
+
+    private DoublyLinkedListNode<T> viewHead;
+    private DoublyLinkedListNode<T> viewTail;
+    private boolean viewStale = true;
+
+    /**
+     * Constructs a new, empty UnrolledDoublyLinkedList.
+     */
+    public UnrolledDoublyLinkedList() {
+        rebuild(new Object[0]);
+    }
+
+    /**
+     * Adds the element to the specified index.
+     *
+     * Must be O(sqrt(n)) amortized.
+     *
+     * @param index the index at which to add the new element
+     * @param data  the data to add at the specified index
+     * @throws java.lang.IndexOutOfBoundsException if index < 0 or index > size
+     * @throws java.lang.IllegalArgumentException  if data is null
+     */
+    public void addAtIndex(int index, T data) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("The index is negative.");
+        } else if (index > size) {
+            throw new IndexOutOfBoundsException("The index is greater than "
+                    + "the size of the list.");
+        } else if (data == null) {
+            throw new IllegalArgumentException("The data is null.");
+        }
+        if (blockCount == 0) {
+            insertBlock(0);
+            insertInto(0, 0, data);
+        } else if (index == size) {
+            insertInto(blockCount - 1, counts[blockCount - 1], data);
+        } else {
+            long position = locate(index);
+            insertInto((int) (position >>> 32), (int) position, data);
+        }
+        size++;
+        viewStale = true;
+        if (size > growAt) {
+            rebuild(toArray());
+        }
+    }
+
+    /**
+     * Adds the element to the front of the list.
+     *
+     * Must be O(sqrt(n)) amortized.
+     *
+     * @param data the data to add to the front of the list
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public void addToFront(T data) {
+        addAtIndex(0, data);
+    }
+
+    /**
+     * Adds the element to the back of the list.
+     *
+     * Must be O(1) amortized.
+     *
+     * @param data the data to add to the back of the list
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public void addToBack(T data) {
+        addAtIndex(size, data);
+    }
+
+    /**
+     * Removes and returns the element at the specified index.
+     *
+     * Must be O(sqrt(n)) amortized.
+     *
+     * @param index the index of the element to remove
+     * @return the data formerly located at the specified index
+     * @throws java.lang.IndexOutOfBoundsException if index < 0 or index >= size
+     */
+    public T removeAtIndex(int index) {
+        checkIndex(index);
+        long position = locate(index);
+        return removeFrom((int) (position >>> 32), (int) position);
+    }
+
+    /**
+     * Removes and returns the first element of the list.
+     *
+     * Must be O(sqrt(n)) amortized.
+     *
+     * @return the data formerly located at the front of the list
+     * @throws java.util.NoSuchElementException if the list is empty
+     */
+    public T removeFromFront() {
+        if (size == 0) {
+            throw new NoSuchElementException("The list is empty.");
+        }
+        return removeFrom(0, 0);
+    }
+
+    /**
+     * Removes and returns the last element of the list.
+     *
+     * Must be O(1) amortized.
+     *
+     * @return the data formerly located at the back of the list
+     * @throws java.util.NoSuchElementException if the list is empty
+     */
+    public T removeFromBack() {
+        if (size == 0) {
+            throw new NoSuchElementException("The list is empty.");
+        }
+        return removeFrom(blockCount - 1, counts[blockCount - 1] - 1);
+    }
+
+    /**
+     * Returns the element at the specified index.
+     *
+     * Must be O(sqrt(n)).
+     *
+     * @param index the index of the element to get
+     * @return the data stored at the index in the list
+     * @throws java.lang.IndexOutOfBoundsException if index < 0 or index >= size
+     */
+    public T get(int index) {
+        checkIndex(index);
+        long position = locate(index);
+        return (T) blocks[(int) (position >>> 32)][(int) position];
+    }
+
+    /**
+     * Returns whether or not the list is empty.
+     *
+     * Must be O(1).
+     *
+     * @return true if empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Clears the list.
+     *
+     * Must be O(1).
+     */
+    public void clear() {
+        size = 0;
+        rebuild(new Object[0]);
+        viewStale = true;
+    }
+
+    /**
+     * Removes and returns the last copy of the given data from the list,
+     * comparing with equals.
+     *
+     * Must be O(n).
+     *
+     * @param data the data to be removed from the list
+     * @return the data that was removed
+     * @throws java.lang.IllegalArgumentException if data is null
+     * @throws java.util.NoSuchElementException   if data is not found
+     */
+    public T removeLastOccurrence(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("The data is null.");
+        }
+        for (int b = blockCount - 1; b >= 0; b--) {
+            Object[] block = blocks[b];
+            for (int i = counts[b] - 1; i >= 0; i--) {
+                if (data.equals(block[i])) {
+                    return removeFrom(b, i);
+                }
+            }
+        }
+        throw new NoSuchElementException("The data is not in the list.");
+    }
+
+    /**
+     * Returns an array representation of the list. If the list is size 0,
+     * return an empty array.
+     *
+     * Must be O(n).
+     *
+     * @return an array of length size holding all of the objects in the
+     * list in the same order
+     */
+    public Object[] toArray() {
+        Object[] array = new Object[size];
+        int next = 0;
+        for (int b = 0; b < blockCount; b++) {
+            System.arraycopy(blocks[b], 0, array, next, counts[b]);
+            next += counts[b];
+        }
+        return array;
+    }
+
+    /**
+     * Returns the head of a DoublyLinkedListNode copy of the list.
+     *
+     * O(n) after the list changes, O(1) otherwise.
+     *
+     * @return the node at the head of the list, or null if it is empty
+     */
+    public DoublyLinkedListNode<T> getHead() {
+        refreshView();
+        return viewHead;
+    }
+
+    /**
+     * Returns the tail of a DoublyLinkedListNode copy of the list, the same
+     * copy getHead returns.
+     *
+     * O(n) after the list changes, O(1) otherwise.
+     *
+     * @return the node at the tail of the list, or null if it is empty
+     */
+    public DoublyLinkedListNode<T> getTail() {
+        refreshView();
+        return viewTail;
+    }
+
+    /**
+     * Returns the size of the list.
+     *
+     * @return the size of the list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of blocks holding elements.
+     *
+     * @return the number of blocks
+     */
+    int blockCount() {
+        return blockCount;
+    }
+
+    /**
+     * Returns the most elements a block holds before it splits.
+     *
+     * @return the block size
+     */
+    int blockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Private helper that throws if index is not an element's index.
+     *
+     * @param index the index to check
+     * @throws java.lang.IndexOutOfBoundsException if index < 0 or index >= size
+     */
+    private void checkIndex(int index) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("The index is negative.");
+        } else if (index >= size) {
+            throw new IndexOutOfBoundsException("The index is not less than "
+                    + "the size of the list.");
+        }
+    }
+
+    /**
+     * Private helper that finds the block holding index, scanning the block
+     * counts from whichever end of the list is closer.
+     *
+     * @param index an index in [0, size)
+     * @return the block number in the high 32 bits and the offset in that
+     *         block in the low 32 bits
+     */
+    private long locate(int index) {
+        if (index < size / 2) {
+            int b = 0;
+            while (index >= counts[b]) {
+                index -= counts[b];
+                b++;
+            }
+            return ((long) b << 32) | index;
+        }
+        int fromBack = size - 1 - index;
+        int b = blockCount - 1;
+        while (fromBack >= counts[b]) {
+            fromBack -= counts[b];
+            b--;
+        }
+        return ((long) b << 32) | (counts[b] - 1 - fromBack);
+    }
+
+    /**
+     * Private helper that puts data at the offset in block b, splitting the
+     * block first if it is full.
+     *
+     * @param b      the block number
+     * @param offset where in the block the data goes, in [0, counts[b]]
+     * @param data   the data
+     */
+    private void insertInto(int b, int offset, T data) {
+        if (counts[b] == blockSize) {
+            if (offset == blockSize && b == blockCount - 1) {
+                // Appending at the very end: start a new block instead of
+                // leaving two half-full ones behind.
+                insertBlock(++b);
+                offset = 0;
+            } else if (offset == 0 && b == 0) {
+                insertBlock(0);
+            } else {
+                int half = blockSize / 2;
+                insertBlock(b + 1);
+                System.arraycopy(blocks[b], half, blocks[b + 1], 0, blockSize - half);
+                Arrays.fill(blocks[b], half, blockSize, null);
+                counts[b + 1] = blockSize - half;
+                counts[b] = half;
+                if (offset > half) {
+                    b++;
+                    offset -= half;
+                }
+            }
+        }
+        Object[] block = blocks[b];
+        System.arraycopy(block, offset, block, offset + 1, counts[b] - offset);
+        block[offset] = data;
+        counts[b]++;
+    }
+
+    /**
+     * Private helper that removes and returns the element at the offset in
+     * block b, then drops or merges the block if it got too small.
+     *
+     * @param b      the block number
+     * @param offset the element's offset in the block
+     * @return the removed data
+     */
+    private T removeFrom(int b, int offset) {
+        Object[] block = blocks[b];
+        T data = (T) block[offset];
+        int count = --counts[b];
+        System.arraycopy(block, offset + 1, block, offset, count - offset);
+        block[count] = null;
+        size--;
+        viewStale = true;
+
+        if (count == 0) {
+            removeBlock(b);
+        } else if (count < blockSize / 4) {
+            if (b + 1 < blockCount && count + counts[b + 1] <= blockSize) {
+                merge(b);
+            } else if (b > 0 && counts[b - 1] + count <= blockSize) {
+                merge(b - 1);
+            }
+        }
+        if (size < shrinkAt) {
+            rebuild(toArray());
+        }
+        return data;
+    }
+
+    /**
+     * Private helper that moves block b + 1's elements onto the end of block
+     * b and drops block b + 1.
+     *
+     * @param b the block to merge into
+     */
+    private void merge(int b) {
+        System.arraycopy(blocks[b + 1], 0, blocks[b], counts[b], counts[b + 1]);
+        counts[b] += counts[b + 1];
+        removeBlock(b + 1);
+    }
+
+    /**
+     * Private helper that inserts an empty block at position b of the
+     * directory.
+     *
+     * @param b the new block's number
+     */
+    private void insertBlock(int b) {
+        if (blockCount == blocks.length) {
+            blocks = Arrays.copyOf(blocks, blocks.length * 2);
+            counts = Arrays.copyOf(counts, counts.length * 2);
+        }
+        System.arraycopy(blocks, b, blocks, b + 1, blockCount - b);
+        System.arraycopy(counts, b, counts, b + 1, blockCount - b);
+        blocks[b] = new Object[blockSize];
+        counts[b] = 0;
+        blockCount++;
+    }
+
+    /**
+     * Private helper that removes block b from the directory.
+     *
+     * @param b the block's number
+     */
+    private void removeBlock(int b) {
+        blockCount--;
+        System.arraycopy(blocks, b + 1, blocks, b, blockCount - b);
+        System.arraycopy(counts, b + 1, counts, b, blockCount - b);
+        blocks[blockCount] = null;
+        counts[blockCount] = 0;
+    }
+
+    /**
+     * Private helper that picks the block size for the current size and
+     * repacks the elements into blocks three quarters full.
+     *
+     * @param all the elements in order, size of them
+     */
+    private void rebuild(Object[] all) {
+        blockSize = Math.max(MIN_BLOCK_SIZE, (int) Math.ceil(Math.sqrt(size)));
+        int fill = blockSize - blockSize / 4;
+        int needed = (size + fill - 1) / fill;
+        blocks = new Object[Math.max(4, needed * 2)][];
+        counts = new int[blocks.length];
+        blockCount = 0;
+        for (int next = 0; next < size; next += fill) {
+            insertBlock(blockCount);
+            int count = Math.min(fill, size - next);
+            System.arraycopy(all, next, blocks[blockCount - 1], 0, count);
+            counts[blockCount - 1] = count;
+        }
+        growAt = 4 * Math.max(size, MIN_BLOCK_SIZE * MIN_BLOCK_SIZE);
+        shrinkAt = blockSize > MIN_BLOCK_SIZE ? size / 4 : 0;
+    }
+
+    /**
+     * Private helper that rebuilds the DoublyLinkedListNode copy if the list
+     * changed since it was built.
+     */
+    private void refreshView() {
+        if (!viewStale) {
+            return;
+        }
+        viewHead = null;
+        viewTail = null;
+        for (int b = 0; b < blockCount; b++) {
+            for (int i = 0; i < counts[b]; i++) {
+                DoublyLinkedListNode<T> node =
+                        new DoublyLinkedListNode<>((T) blocks[b][i], viewTail, null);
+                if (viewTail == null) {
+                    viewHead = node;
+                } else {
+                    viewTail.setNext(node);
+                }
+                viewTail = node;
+            }
+        }
+        viewStale = false;
+    }
+}
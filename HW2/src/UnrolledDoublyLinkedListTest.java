@@ -0,0 +1,133 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for UnrolledDoublyLinkedList.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ */
+public class UnrolledDoublyLinkedListTest {
+
+    private static final int TIMEOUT = 2000;
+
+    private UnrolledDoublyLinkedList<Integer> list;
+
+    @Before
+    public void setUp() {
+        list = new UnrolledDoublyLinkedList<>();
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testMatchesArrayList() {
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(1332);
+        for (int i = 0; i < 50_000; i++) {
+            int op = random.nextInt(expected.size() > 5000 ? 4 : 3);
+            if (op == 0 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                expected.add(index, i);
+                list.addAtIndex(index, i);
+            } else if (op == 1) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.get(index), list.get(index));
+            } else {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.removeAtIndex(index));
+            }
+            assertEquals(expected.size(), list.size());
+        }
+        assertArrayEquals(expected.toArray(), list.toArray());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testBlocksTrackSquareRootOfSize() {
+        for (int i = 0; i < 100_000; i++) {
+            list.addToBack(i);
+        }
+        assertTrue(list.blockSize() >= 64 && list.blockSize() <= 400);
+        assertTrue(list.blockCount() <= 2 * 100_000 / list.blockSize() + 1);
+        for (int i = 0; i < 100_000; i += 997) {
+            assertEquals((Integer) i, list.get(i));
+        }
+
+        while (list.size() > 100) {
+            list.removeFromFront();
+        }
+        assertEquals(32, list.blockSize());
+        assertEquals((Integer) 99_900, list.get(0));
+        assertEquals((Integer) 99_999, list.get(99));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testFrontBackAndLastOccurrence() {
+        list.addToBack(2);
+        list.addToFront(1);
+        list.addToBack(1);
+        list.addToBack(3);
+        assertArrayEquals(new Object[] {1, 2, 1, 3}, list.toArray());
+
+        Integer stored = list.get(2);
+        assertSame(stored, list.removeLastOccurrence(new Integer(1)));
+        assertArrayEquals(new Object[] {1, 2, 3}, list.toArray());
+        assertEquals((Integer) 1, list.removeFromFront());
+        assertEquals((Integer) 3, list.removeFromBack());
+        assertEquals(1, list.size());
+
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertArrayEquals(new Object[0], list.toArray());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testNodeView() {
+        assertNull(list.getHead());
+        for (int i = 0; i < 100; i++) {
+            list.addToBack(i);
+        }
+        DoublyLinkedListNode<Integer> node = list.getHead();
+        DoublyLinkedListNode<Integer> previous = null;
+        for (int i = 0; i < 100; i++) {
+            assertEquals((Integer) i, node.getData());
+            assertSame(previous, node.getPrevious());
+            previous = node;
+            node = node.getNext();
+        }
+        assertSame(previous, list.getTail());
+
+        list.removeAtIndex(50);
+        node = list.getHead();
+        for (int i = 0; i < 50; i++) {
+            node = node.getNext();
+        }
+        assertEquals((Integer) 51, node.getData());
+        assertEquals((Integer) 99, list.getTail().getData());
+    }
+
+    @Test(timeout = TIMEOUT, expected = NoSuchElementException.class)
+    public void testRemoveLastOccurrenceMissing() {
+        list.addToBack(1);
+        list.removeLastOccurrence(2);
+    }
+
+    @Test(timeout = TIMEOUT, expected = IndexOutOfBoundsException.class)
+    public void testAddPastEnd() {
+        list.addAtIndex(1, 1);
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testAddNull() {
+        list.addToFront(null);
+    }
+}
@@ -0,0 +1,251 @@
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A small fork/join scheduler built on ChaseLevDeque.
+ *
+ * Each worker thread owns a ChaseLevDeque of tasks. Tasks a worker forks go
+ * on the back of its own deque and it runs them back to front, so it works
+ * depth first on small, cache-warm subtasks. A worker with nothing to do
+ * steals from the front of a random other worker's deque, which holds the
+ * oldest, and so usually the largest, pieces of work. Tasks from outside the
+ * pool arrive through a shared MpmcRingQueue.
+ *
+ * Idle workers back off to short parks instead of spinning, which keeps an
+ * idle pool cheap but adds up to a fraction of a millisecond of latency
+ * when new work arrives.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ * @userid pkutz3
+ * @GTID 903637824
+ */
+public class WorkStealingPool {
+
+    private static final int SUBMISSION_CAPACITY = 1024;
+    private static final int SPINS_BEFORE_PARK = 64;
+    private static final long PARK_NANOS = 50_000;
+
+    private final Worker[] workers;
+    private final MpmcRingQueue<WorkStealingTask<?>> submissions =
+            new MpmcRingQueue<>(SUBMISSION_CAPACITY);
+    private volatile boolean shutdown;
+
+    /**
+     * Constructs a pool with one worker per available processor.
+     */
+    public WorkStealingPool() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs and starts a pool with the given number of worker threads.
+     *
+     * @param parallelism the number of workers
+     * @throws java.lang.IllegalArgumentException if parallelism is not
+     *                                            positive
+     */
+    public WorkStealingPool(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("The parallelism is not positive.");
+        }
+        workers = new Worker[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            workers[i] = new Worker(this, i);
+        }
+        for (Worker worker : workers) {
+            worker.start();
+        }
+    }
+
+    /**
+     * Runs the task in the pool and returns its result. May be called from
+     * outside the pool or from inside one of its tasks.
+     *
+     * @param task the task to run
+     * @param <V>  the type of the result
+     * @return the result
+     * @throws java.lang.IllegalArgumentException if task is null
+     * @throws java.lang.IllegalStateException    if the pool is shut down
+     * @throws java.lang.RuntimeException         if the task threw
+     */
+    public <V> V invoke(WorkStealingTask<V> task) {
+        if (task == null) {
+            throw new IllegalArgumentException("The task is null.");
+        }
+        Thread current = Thread.currentThread();
+        if (current instanceof Worker && ((Worker) current).pool == this) {
+            task.run();
+            return task.report();
+        }
+        task.external = true;
+        // Checking shutdown and enqueueing under the lock shutdown takes to
+        // set the flag means every task shutdown's drain can miss was never
+        // queued at all.
+        synchronized (submissions) {
+            if (shutdown) {
+                throw new IllegalStateException("The pool is shut down.");
+            }
+            while (!submissions.offer(task)) {
+                Thread.yield();
+            }
+        }
+        for (Worker worker : workers) {
+            LockSupport.unpark(worker);
+        }
+        try {
+            task.awaitDone();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting.", e);
+        }
+        return task.report();
+    }
+
+    /**
+     * Stops the workers once they finish their current tasks and waits for
+     * them to exit. Tasks from invoke that no worker has picked up yet are
+     * not run; their callers get an IllegalStateException instead.
+     */
+    public void shutdown() {
+        synchronized (submissions) {
+            shutdown = true;
+        }
+        WorkStealingTask<?> pending = submissions.poll();
+        while (pending != null) {
+            pending.fail(new IllegalStateException("The pool is shut down."));
+            pending = submissions.poll();
+        }
+        for (Worker worker : workers) {
+            LockSupport.unpark(worker);
+        }
+        for (Worker worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of worker threads.
+     *
+     * @return the parallelism
+     */
+    public int parallelism() {
+        return workers.length;
+    }
+
+    /**
+     * Returns the worker running the current thread.
+     *
+     * @return the current worker
+     * @throws java.lang.IllegalStateException if the current thread is not a
+     *                                         pool worker
+     */
+    static Worker currentWorker() {
+        Thread current = Thread.currentThread();
+        if (!(current instanceof Worker)) {
+            throw new IllegalStateException("Not inside a WorkStealingPool task.");
+        }
+        return (Worker) current;
+    }
+
+    /**
+     * A worker thread and the deque it owns.
+     */
+    static final class Worker extends Thread {
+
+        private final WorkStealingPool pool;
+        private final ChaseLevDeque<WorkStealingTask<?>> deque = new ChaseLevDeque<>();
+
+        /**
+         * Creates a daemon worker.
+         *
+         * @param pool  the pool the worker belongs to
+         * @param index the worker's index, for its name
+         */
+        Worker(WorkStealingPool pool, int index) {
+            super("work-stealing-worker-" + index);
+            this.pool = pool;
+            setDaemon(true);
+        }
+
+        /**
+         * Pushes a forked task onto this worker's deque.
+         *
+         * @param task the task
+         */
+        void push(WorkStealingTask<?> task) {
+            deque.addLast(task);
+        }
+
+        @Override
+        public void run() {
+            int idle = 0;
+            while (!pool.shutdown) {
+                WorkStealingTask<?> task = deque.removeLast();
+                if (task == null) {
+                    task = pool.submissions.poll();
+                }
+                if (task == null) {
+                    task = steal();
+                }
+                if (task != null) {
+                    task.run();
+                    idle = 0;
+                } else if (++idle < SPINS_BEFORE_PARK) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(PARK_NANOS);
+                }
+            }
+        }
+
+        /**
+         * Runs other tasks until target is done.
+         *
+         * @param target the task being joined
+         */
+        void helpUntilDone(WorkStealingTask<?> target) {
+            while (!target.isDone()) {
+                WorkStealingTask<?> task = deque.removeLast();
+                if (task == null) {
+                    task = steal();
+                }
+                if (task != null) {
+                    task.run();
+                } else {
+                    Thread.yield();
+                }
+            }
+        }
+
+        /**
+         * Tries each other worker once, starting at a random one, and returns
+         * the first task stolen.
+         *
+         * @return a stolen task, or null if every other deque looked empty
+         */
+        private WorkStealingTask<?> steal() {
+            Worker[] all = pool.workers;
+            int n = all.length;
+            if (n == 1) {
+                return null;
+            }
+            int start = ThreadLocalRandom.current().nextInt(n);
+            for (int i = 0; i < n; i++) {
+                Worker victim = all[(start + i) % n];
+                if (victim != this) {
+                    WorkStealingTask<?> task = victim.deque.removeFirst();
+                    if (task != null) {
+                        return task;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+}
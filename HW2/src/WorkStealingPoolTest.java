@@ -0,0 +1,202 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for WorkStealingPool and WorkStealingTask.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ */
+public class WorkStealingPoolTest {
+
+    private static final int TIMEOUT = 10_000;
+
+    private WorkStealingPool pool;
+
+    @Before
+    public void setUp() {
+        pool = new WorkStealingPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testRecursiveFibonacci() {
+        assertEquals((Integer) 6765, pool.invoke(new Fibonacci(20)));
+        assertEquals((Integer) 832040, pool.invoke(new Fibonacci(30)));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testSplitSum() {
+        long[] values = new long[1_000_000];
+        long expected = 0;
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i * 7L;
+            expected += values[i];
+        }
+        assertEquals((Long) expected, pool.invoke(new Sum(values, 0, values.length)));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testFailureReachesCaller() {
+        try {
+            pool.invoke(new WorkStealingTask<Integer>() {
+                @Override
+                protected Integer compute() {
+                    WorkStealingTask<Integer> child = new WorkStealingTask<Integer>() {
+                        @Override
+                        protected Integer compute() {
+                            throw new IllegalStateException("boom");
+                        }
+                    };
+                    child.fork();
+                    return child.join();
+                }
+            });
+        } catch (IllegalStateException e) {
+            assertEquals("boom", e.getMessage());
+            return;
+        }
+        fail("Expected the child's exception.");
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testShutdownFailsQueuedInvoke() throws InterruptedException {
+        WorkStealingPool single = new WorkStealingPool(1);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // Keeps the only worker busy so the next task stays queued.
+        Thread blocker = new Thread(() -> single.invoke(new WorkStealingTask<Integer>() {
+            @Override
+            protected Integer compute() {
+                running.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return 0;
+            }
+        }));
+        blocker.start();
+        running.await();
+
+        boolean[] ran = new boolean[1];
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        Thread waiter = new Thread(() -> {
+            try {
+                single.invoke(new WorkStealingTask<Integer>() {
+                    @Override
+                    protected Integer compute() {
+                        ran[0] = true;
+                        return 1;
+                    }
+                });
+            } catch (Throwable t) {
+                thrown.set(t);
+            }
+        });
+        waiter.start();
+        while (waiter.getState() != Thread.State.WAITING) {
+            Thread.yield();
+        }
+
+        Thread stopper = new Thread(single::shutdown);
+        stopper.start();
+        waiter.join();
+        assertTrue(thrown.get() instanceof IllegalStateException);
+        assertFalse(ran[0]);
+
+        release.countDown();
+        blocker.join();
+        stopper.join();
+        try {
+            single.invoke(new Fibonacci(3));
+            fail("Expected the pool to reject the task.");
+        } catch (IllegalStateException e) {
+            assertEquals("The pool is shut down.", e.getMessage());
+        }
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalStateException.class)
+    public void testForkOutsidePool() {
+        new Fibonacci(3).fork();
+    }
+
+    /**
+     * Naive recursive Fibonacci, the usual fork/join stress test.
+     */
+    private static final class Fibonacci extends WorkStealingTask<Integer> {
+
+        private final int n;
+
+        /**
+         * Creates the task.
+         *
+         * @param n which Fibonacci number to compute
+         */
+        Fibonacci(int n) {
+            this.n = n;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (n < 2) {
+                return n;
+            }
+            Fibonacci left = new Fibonacci(n - 1);
+            left.fork();
+            return new Fibonacci(n - 2).compute() + left.join();
+        }
+    }
+
+    /**
+     * Sums a range of an array by halving it.
+     */
+    private static final class Sum extends WorkStealingTask<Long> {
+
+        private final long[] values;
+        private final int from;
+        private final int to;
+
+        /**
+         * Creates the task.
+         *
+         * @param values the array
+         * @param from   the first index, inclusive
+         * @param to     the last index, exclusive
+         */
+        Sum(long[] values, int from, int to) {
+            this.values = values;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from <= 1000) {
+                long sum = 0;
+                for (int i = from; i < to; i++) {
+                    sum += values[i];
+                }
+                return sum;
+            }
+            int middle = (from + to) >>> 1;
+            Sum right = new Sum(values, middle, to);
+            right.fork();
+            return new Sum(values, from, middle).compute() + right.join();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/**
+ * A piece of work for a WorkStealingPool that can split itself into
+ * subtasks, in the style of java.util.concurrent.RecursiveTask.
+ *
+ * compute does the work. Inside it, fork pushes a subtask onto the current
+ * worker's deque, where idle workers can steal it, and join waits for a
+ * forked subtask's result. A waiting worker does not block: it keeps running
+ * tasks from its own deque and steals from others until the result is ready.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ * @userid pkutz3
+ * @GTID 903637824
+ *
+ * @param <V> the type of the result
+ */
+public abstract class WorkStealingTask<V> {
+
+    private volatile boolean done;
+    private V result;
+    private Throwable failure;
+    // Set for tasks handed to WorkStealingPool.invoke, whose caller waits on
+    // the task's monitor.
+    boolean external;
+
+    /**
+     * Does the work of this task and returns its result.
+     *
+     * @return the result
+     */
+    protected abstract V compute();
+
+    /**
+     * Schedules this task to run on the current worker, where another worker
+     * may steal it. Must be called from inside a WorkStealingPool task.
+     *
+     * @return this task
+     * @throws java.lang.IllegalStateException if the current thread is not a
+     *                                         pool worker
+     */
+    public final WorkStealingTask<V> fork() {
+        WorkStealingPool.currentWorker().push(this);
+        return this;
+    }
+
+    /**
+     * Returns the result of this task, running other tasks until it is done.
+     * Must be called from inside a WorkStealingPool task.
+     *
+     * @return the result
+     * @throws java.lang.IllegalStateException if the current thread is not a
+     *                                         pool worker
+     * @throws java.lang.RuntimeException      if compute threw
+     */
+    public final V join() {
+        if (!done) {
+            WorkStealingPool.currentWorker().helpUntilDone(this);
+        }
+        return report();
+    }
+
+    /**
+     * Returns whether this task has finished.
+     *
+     * @return true if compute has returned or thrown
+     */
+    public final boolean isDone() {
+        return done;
+    }
+
+    /**
+     * Runs compute and records the outcome. Called at most once per task.
+     */
+    final void run() {
+        try {
+            result = compute();
+        } catch (Throwable e) {
+            failure = e;
+        }
+        finish();
+    }
+
+    /**
+     * Finishes this task without running it, so report throws failure.
+     * Called instead of run, for a task the pool will never run.
+     *
+     * @param failure the exception report should throw
+     */
+    final void fail(Throwable failure) {
+        this.failure = failure;
+        finish();
+    }
+
+    /**
+     * Marks this task done and wakes an outside caller waiting on it.
+     */
+    private void finish() {
+        done = true;
+        if (external) {
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Waits, without helping, until this task is done. For threads outside
+     * the pool.
+     *
+     * @throws java.lang.InterruptedException if interrupted while waiting
+     */
+    final synchronized void awaitDone() throws InterruptedException {
+        while (!done) {
+            wait();
+        }
+    }
+
+    /**
+     * Returns the result or rethrows the failure of a finished task.
+     *
+     * @return the result
+     */
+    final V report() {
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else if (failure instanceof Error) {
+            throw (Error) failure;
+        } else if (failure != null) {
+            throw new RuntimeException(failure);
+        }
+        return result;
+    }
+}
@@ -1,5 +1,9 @@
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -8,6 +12,10 @@ import java.util.Queue;
 /**
  * Your implementation of a BST.
  *
+ * Every operation walks the tree with a loop, keeping a parent pointer or an
+ * explicit stack where it needs one, so a degenerate tree (say, from sorted
+ * inserts) costs O(n) time but never O(n) call stack.
+ *
  * @author Peter Kutz
  * @version 1.0
  * @userid pkutz3
@@ -48,27 +56,131 @@ public class BST<T extends Comparable<? super T>> {
      * will not work here. However, all Collections are Iterable, so what type
      * of loop would work?
      *
+     * If the data is already in ascending order, adding it one at a time
+     * would build a single path in O(n^2). Instead the constructor builds a
+     * perfectly balanced tree of the distinct data in O(n). Any other order
+     * is added one at a time.
+     *
      * @param data the data to add
      * @throws java.lang.IllegalArgumentException if data or any element in data
      *                                            is null
      */
+    @SuppressWarnings("unchecked")
     public BST(Collection<T> data) {
+        Object[] array = toCheckedArray(data);
+        if (isSorted(array)) {
+            build(array);
+        } else {
+            for (Object t : array) {
+                add((T) t);
+            }
+        }
+    }
+
+    /**
+     * Returns a perfectly balanced BST of the distinct data in the
+     * Collection, in whatever order it comes.
+     *
+     * Must be O(n log n) to sort, or O(n) if the data is already sorted.
+     *
+     * @param data the data to add
+     * @param <T>  the type of the data
+     * @return the new BST
+     * @throws java.lang.IllegalArgumentException if data or any element in data
+     *                                            is null
+     */
+    public static <T extends Comparable<? super T>> BST<T> balanced(Collection<T> data) {
+        Object[] array = toCheckedArray(data);
+        Arrays.sort(array);
+        BST<T> tree = new BST<>();
+        tree.build(array);
+        return tree;
+    }
+
+    /**
+     * Private helper that copies a Collection into an array, checking it
+     * for nulls.
+     *
+     * @param data the data to copy
+     * @return the data as an array, in iteration order
+     * @throws java.lang.IllegalArgumentException if data or any element in data
+     *                                            is null
+     */
+    private static Object[] toCheckedArray(Collection<?> data) {
         if (data == null) {
             throw new IllegalArgumentException("The data is null.");
         }
-        for (T t : data) {
+        Object[] array = data.toArray();
+        for (Object t : array) {
             if (t == null) {
                 throw new IllegalArgumentException("A value in the data is null");
-            } else {
-                add(t);
             }
         }
+        return array;
     }
 
     /**
-     * Adds the data to the tree.
+     * Private helper that checks whether an array is in ascending order,
+     * allowing duplicates.
+     *
+     * @param array the data
+     * @return true if no element is greater than the one after it
+     */
+    @SuppressWarnings("unchecked")
+    private boolean isSorted(Object[] array) {
+        for (int i = 1; i < array.length; i++) {
+            if (((T) array[i - 1]).compareTo((T) array[i]) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Private helper that replaces the tree with a perfectly balanced one
+     * holding the distinct data of a sorted array.
+     *
+     * Must be O(n).
      *
-     * This must be done recursively.
+     * @param array the data in ascending order; duplicates are compacted
+     *              out in place
+     */
+    @SuppressWarnings("unchecked")
+    private void build(Object[] array) {
+        int distinct = 0;
+        for (int i = 0; i < array.length; i++) {
+            if (distinct == 0 || ((T) array[distinct - 1]).compareTo((T) array[i]) != 0) {
+                array[distinct++] = array[i];
+            }
+        }
+        root = build(array, 0, distinct);
+        size = distinct;
+    }
+
+    /**
+     * Private helper that builds a perfectly balanced subtree from
+     * array[low, high), rooted at the middle element. It recurses only
+     * log2(n) deep.
+     *
+     * @param array the data in strictly ascending order
+     * @param low   the first index, inclusive
+     * @param high  the last index, exclusive
+     * @return the root of the subtree, or null if the range is empty
+     */
+    @SuppressWarnings("unchecked")
+    private BSTNode<T> build(Object[] array, int low, int high) {
+        if (low >= high) {
+            return null;
+        }
+        int mid = (low + high) >>> 1;
+        BSTNode<T> node = new BSTNode<>((T) array[mid]);
+        node.setLeft(build(array, low, mid));
+        node.setRight(build(array, mid + 1, high));
+        return node;
+    }
+
+    /**
+     * Adds the data to the tree.
      *
      * The data becomes a leaf in the tree.
      *
@@ -86,43 +198,44 @@ public class BST<T extends Comparable<? super T>> {
             throw new IllegalArgumentException("The data is null.");
         }
 
-        root = rAdd(root, data);
-    }
-
-    /**
-     * Private helper that adds the data to the tree recursively using pointer
-     * reinforcement.
-     *
-     * @param curr the current node that is being accessed
-     * @param data the data to add
-     * @return the current node used to execute pointer reinforcement correctly
-     **/
-    private BSTNode<T> rAdd(BSTNode<T> curr, T data) {
-        if (curr == null) {
+        if (root == null) {
+            root = new BSTNode<>(data);
             size++;
-            return new BSTNode<>(data);
-        } else if (data.compareTo(curr.getData()) < 0) {
-            curr.setLeft(rAdd(curr.getLeft(), data));
-        } else if (data.compareTo(curr.getData()) > 0) {
-            curr.setRight(rAdd(curr.getRight(), data));
+            return;
+        }
+        BSTNode<T> curr = root;
+        while (true) {
+            int compare = data.compareTo(curr.getData());
+            if (compare < 0) {
+                if (curr.getLeft() == null) {
+                    curr.setLeft(new BSTNode<>(data));
+                    size++;
+                    return;
+                }
+                curr = curr.getLeft();
+            } else if (compare > 0) {
+                if (curr.getRight() == null) {
+                    curr.setRight(new BSTNode<>(data));
+                    size++;
+                    return;
+                }
+                curr = curr.getRight();
+            } else {
+                return;
+            }
         }
-        return curr;
     }
 
     /**
      * Removes and returns the data from the tree matching the given parameter.
      *
-     * This must be done recursively.
-     *
      * There are 3 cases to consider:
      * 1: The node containing the data is a leaf (no children). In this case,
      * simply remove it.
      * 2: The node containing the data has one child. In this case, simply
      * replace it with its child.
      * 3: The node containing the data has 2 children. Use the successor to
-     * replace the data. You MUST use recursion to find and remove the
-     * successor (you will likely need an additional helper method to
-     * handle this case efficiently).
+     * replace the data.
      *
      * Do not return the same data that was passed in. Return the data that
      * was stored in the tree.
@@ -141,69 +254,48 @@ public class BST<T extends Comparable<? super T>> {
             throw new IllegalArgumentException("The data is null.");
         }
 
-        BSTNode<T> dummy = new BSTNode<>(null);
-        root = rRemove(root, data, dummy);
-        return dummy.getData();
-    }
-
-    /**
-     * Private helper that removes the data from the tree recursively using
-     * pointer reinforcement,
-     *
-     * @param curr the current node that is being accessed
-     * @param data the data to be removed
-     * @param dummy dummy node used to store the removed data
-     * @return the current node used to execute pointer reinforcement correctly
-     */
-    private BSTNode<T> rRemove(BSTNode<T> curr, T data, BSTNode<T> dummy) {
+        BSTNode<T> parent = null;
+        BSTNode<T> curr = root;
+        int compare;
+        while (curr != null && (compare = data.compareTo(curr.getData())) != 0) {
+            parent = curr;
+            curr = compare < 0 ? curr.getLeft() : curr.getRight();
+        }
         if (curr == null) {
             throw new NoSuchElementException("The data was not found in the tree.");
-        } else if (data.compareTo(curr.getData()) < 0) {
-            curr.setLeft(rRemove(curr.getLeft(), data, dummy));
-        } else if (data.compareTo(curr.getData()) > 0) {
-            curr.setRight(rRemove(curr.getRight(), data, dummy));
-        } else {
-            dummy.setData(curr.getData());
-            size--;
-
-            if (curr.getLeft() == null && curr.getRight() == null) {
-                return null;
-            } else if (curr.getRight() == null) {
-                return curr.getLeft();
-            } else if (curr.getLeft() == null) {
-                return curr.getRight();
+        }
+        T removed = curr.getData();
+        size--;
+
+        if (curr.getLeft() != null && curr.getRight() != null) {
+            BSTNode<T> successorParent = curr;
+            BSTNode<T> successor = curr.getRight();
+            while (successor.getLeft() != null) {
+                successorParent = successor;
+                successor = successor.getLeft();
+            }
+            if (successorParent == curr) {
+                curr.setRight(successor.getRight());
             } else {
-                BSTNode<T> dummy2 = new BSTNode<>(null);
-                curr.setRight(removeSuccessor(curr.getRight(), dummy2));
-                curr.setData(dummy2.getData());
+                successorParent.setLeft(successor.getRight());
             }
-        }
-        return curr;
-    }
-
-    /**
-     * Private helper method that removes the successor from the tree and
-     * rearranges the tree to implement remove by successor.
-     *
-     * @param curr the current node being accessed
-     * @param dummy the dummy node used to store removed data
-     * @return the successor node used in remove by successor
-     */
-    private BSTNode<T> removeSuccessor(BSTNode<T> curr, BSTNode<T> dummy) {
-        if (curr.getLeft() == null) {
-            dummy.setData(curr.getData());
-            return curr.getRight();
+            curr.setData(successor.getData());
         } else {
-            curr.setLeft(removeSuccessor(curr.getLeft(), dummy));
+            BSTNode<T> child = curr.getLeft() != null ? curr.getLeft() : curr.getRight();
+            if (parent == null) {
+                root = child;
+            } else if (parent.getLeft() == curr) {
+                parent.setLeft(child);
+            } else {
+                parent.setRight(child);
+            }
         }
-        return curr;
+        return removed;
     }
 
     /**
      * Returns the data from the tree matching the given parameter.
      *
-     * This must be done recursively.
-     *
      * Do not return the same data that was passed in. Return the data that
      * was stored in the tree.
      *
@@ -221,36 +313,17 @@ public class BST<T extends Comparable<? super T>> {
             throw new IllegalArgumentException("The data is null.");
         }
 
-        return rGet(root, data);
-    }
-
-
-    /**
-     * Private helper method that traverses through the tree and finds a node
-     * with the given data.
-     * @param curr the current node being accessed
-     * @param data the data we are trying to get
-     * @return the data that was found in the tree
-     */
-    private T rGet(BSTNode<T> curr, T data) {
+        BSTNode<T> curr = find(data);
         if (curr == null) {
             throw new NoSuchElementException("The data is not in the tree.");
         }
-        if (data.compareTo(curr.getData()) < 0) {
-            return rGet(curr.getLeft(), data);
-        } else if (data.compareTo(curr.getData()) > 0) {
-            return rGet(curr.getRight(), data);
-        } else {
-            return curr.getData();
-        }
+        return curr.getData();
     }
 
     /**
      * Returns whether or not data matching the given parameter is contained
      * within the tree.
      *
-     * This must be done recursively.
-     *
      * Hint: Should you use value equality or reference equality?
      *
      * Must be O(log n) for best and average cases and O(n) for worst case.
@@ -265,116 +338,102 @@ public class BST<T extends Comparable<? super T>> {
             throw new IllegalArgumentException("The data is null.");
         }
 
-        return rContains(root, data);
+        return find(data) != null;
     }
 
     /**
-     * Private helper method searches the tree to see if the data is in said tree.
+     * Private helper that finds the node holding data.
      *
-     * @param curr the current node being accessed
      * @param data the data being searched for
-     * @return true if data is in tree; false if data is not in tree
+     * @return the node whose data equals data, or null if there is none
      */
-    private boolean rContains(BSTNode<T> curr, T data) {
-        if (curr == null) {
-            return false;
-        } else if (data.compareTo(curr.getData()) < 0) {
-            return rContains(curr.getLeft(), data);
-        } else if (data.compareTo(curr.getData()) > 0) {
-            return rContains(curr.getRight(), data);
-        } else {
-            return true;
+    private BSTNode<T> find(T data) {
+        BSTNode<T> curr = root;
+        while (curr != null) {
+            int compare = data.compareTo(curr.getData());
+            if (compare == 0) {
+                return curr;
+            }
+            curr = compare < 0 ? curr.getLeft() : curr.getRight();
         }
+        return null;
     }
 
     /**
      * Generate a pre-order traversal of the tree.
      *
-     * This must be done recursively.
-     *
      * Must be O(n).
      *
      * @return the preorder traversal of the tree
      */
     public List<T> preorder() {
         List<T> list = new ArrayList<>(size);
-        rPreorder(root, list);
-        return list;
-    }
-
-    /**
-     * Private helper that executes a preorder traversal ands stores the data
-     * in an ArrayList.
-     *
-     * @param curr the current node being accessed
-     * @param list the list of data in preorder traversal
-     */
-    private void rPreorder(BSTNode<T> curr, List<T> list) {
-        if (curr != null) {
+        Deque<BSTNode<T>> stack = new ArrayDeque<>();
+        if (root != null) {
+            stack.push(root);
+        }
+        while (!stack.isEmpty()) {
+            BSTNode<T> curr = stack.pop();
             list.add(curr.getData());
-            rPreorder(curr.getLeft(), list);
-            rPreorder(curr.getRight(), list);
+            if (curr.getRight() != null) {
+                stack.push(curr.getRight());
+            }
+            if (curr.getLeft() != null) {
+                stack.push(curr.getLeft());
+            }
         }
+        return list;
     }
 
     /**
      * Generate an in-order traversal of the tree.
      *
-     * This must be done recursively.
-     *
      * Must be O(n).
      *
      * @return the inorder traversal of the tree
      */
     public List<T> inorder() {
         List<T> list = new ArrayList<>(size);
-        rInorder(root, list);
-        return list;
-    }
-
-    /**
-     * Private helper that executes an inorder traversal ands stores the data
-     * in an ArrayList.
-     *
-     * @param curr the current node being accessed
-     * @param list the list of data in inorder traversal
-     */
-    private void rInorder(BSTNode<T> curr, List<T> list) {
-        if (curr != null) {
-            rInorder(curr.getLeft(), list);
+        Deque<BSTNode<T>> stack = new ArrayDeque<>();
+        BSTNode<T> curr = root;
+        while (curr != null || !stack.isEmpty()) {
+            while (curr != null) {
+                stack.push(curr);
+                curr = curr.getLeft();
+            }
+            curr = stack.pop();
             list.add(curr.getData());
-            rInorder(curr.getRight(), list);
+            curr = curr.getRight();
         }
+        return list;
     }
 
     /**
      * Generate a post-order traversal of the tree.
      *
-     * This must be done recursively.
-     *
      * Must be O(n).
      *
      * @return the postorder traversal of the tree
      */
     public List<T> postorder() {
+        // Root, right, left is postorder backwards.
         List<T> list = new ArrayList<>(size);
-        rPostorder(root, list);
-        return list;
-    }
-
-    /**
-     * Private helper that executes a postorder traversal ands stores the data
-     * in an ArrayList.
-     *
-     * @param curr the current node being accessed
-     * @param list the list of data in postorder traversal
-     */
-    private void rPostorder(BSTNode<T> curr, List<T> list) {
-        if (curr != null) {
-            rPostorder(curr.getLeft(), list);
-            rPostorder(curr.getRight(), list);
+        Deque<BSTNode<T>> stack = new ArrayDeque<>();
+        if (root != null) {
+            stack.push(root);
+        }
+        while (!stack.isEmpty()) {
+            BSTNode<T> curr = stack.pop();
             list.add(curr.getData());
+            if (curr.getLeft() != null) {
+                stack.push(curr.getLeft());
+            }
+            if (curr.getRight() != null) {
+                stack.push(curr.getRight());
+            }
         }
+        Collections.reverse(list);
+        return list;
     }
 
     /**
@@ -413,8 +472,6 @@ public class BST<T extends Comparable<? super T>> {
     /**
      * Returns the height of the root of the tree.
      *
-     * This must be done recursively.
-     *
      * A node's height is defined as max(left.height, right.height) + 1. A
      * leaf node has a height of 0 and a null child has a height of -1.
      *
@@ -423,21 +480,25 @@ public class BST<T extends Comparable<? super T>> {
      * @return the height of the root of the tree, -1 if the tree is empty
      */
     public int height() {
-        return rHeight(root);
-    }
-
-    /**
-     * Private helper method that recursively finds the height of node curr.
-     *
-     * @param curr the node currently being accessed
-     * @return the height of the node curr passed in
-     */
-    private int rHeight(BSTNode<T> curr) {
-        if (curr == null) {
-            return -1;
-        } else {
-            return Math.max(rHeight(curr.getLeft()), rHeight(curr.getRight())) + 1;
+        // Count the levels of a level-order traversal.
+        int height = -1;
+        Queue<BSTNode<T>> q = new ArrayDeque<>();
+        if (root != null) {
+            q.add(root);
         }
+        while (!q.isEmpty()) {
+            for (int i = q.size(); i > 0; i--) {
+                BSTNode<T> curr = q.remove();
+                if (curr.getLeft() != null) {
+                    q.add(curr.getLeft());
+                }
+                if (curr.getRight() != null) {
+                    q.add(curr.getRight());
+                }
+            }
+            height++;
+        }
+        return height;
     }
 
     /**
@@ -456,8 +517,6 @@ public class BST<T extends Comparable<? super T>> {
      * Finds and retrieves the k-largest elements from the BST in sorted order,
      * least to greatest.
      *
-     * This must be done recursively.
-     *
      * In most cases, this method will not need to traverse the entire tree to
      * function properly, so you should only traverse the branches of the tree
      * necessary to get the data and only do so once. Failure to do so will
@@ -494,30 +553,21 @@ public class BST<T extends Comparable<? super T>> {
                     + "in the tree.");
         }
 
-        rkLargest(root, list, k);
-        return list;
-    }
-
-    /**
-     * Private helper method to execute kLargest recursively. Adds the k largest
-     * values to the list.
-     * @param curr the current node being accessed
-     * @param list the list that holds the k largest values
-     * @param k the number of largest values to find
-     */
-    private void rkLargest(BSTNode<T> curr, List<T> list, int k) {
-        if (curr != null) {
-            rkLargest(curr.getRight(), list, k);
-            if (list.size() < k) {
-                list.add(0, curr.getData());
-            }
-            if (list.size() < k) {
-                rkLargest(curr.getLeft(), list, k);
+        // Reverse in-order: largest first, stopping after k.
+        Deque<BSTNode<T>> stack = new ArrayDeque<>();
+        BSTNode<T> curr = root;
+        while (list.size() < k && (curr != null || !stack.isEmpty())) {
+            while (curr != null) {
+                stack.push(curr);
+                curr = curr.getRight();
             }
+            curr = stack.pop();
+            list.add(0, curr.getData());
+            curr = curr.getLeft();
         }
+        return list;
     }
 
-
     /**
      * Returns the root of the tree.
      *
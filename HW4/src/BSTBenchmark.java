@@ -0,0 +1,165 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Rough benchmarks for BST. Run main and read the console.
+ *
+ * These are not JMH benchmarks, so only compare numbers from the same run.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ */
+public class BSTBenchmark {
+
+    private static final int N = 1_000_000;
+    private static final int DEPTH = 20_000;
+    private static final int BULK_N = 10_000_000;
+
+    // Results the JIT can't prove unused.
+    private static long sink;
+
+    /**
+     * Runs every benchmark in this class.
+     *
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        randomTree();
+        degenerateTree();
+        bulkLoad();
+    }
+
+    /**
+     * Times each operation on a tree built from shuffled keys, where paths
+     * are about 2 ln n long.
+     */
+    private static void randomTree() {
+        int[] keys = new int[N];
+        for (int i = 0; i < N; i++) {
+            keys[i] = i;
+        }
+        Random random = new Random(17);
+        for (int i = N - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int temp = keys[i];
+            keys[i] = keys[j];
+            keys[j] = temp;
+        }
+
+        System.out.println("== random: " + N + " keys, ms ==");
+        for (int round = 0; round < 3; round++) {
+            BST<Integer> tree = new BST<>();
+            long start = System.nanoTime();
+            for (int key : keys) {
+                tree.add(key);
+            }
+            long add = (System.nanoTime() - start) / 1_000_000;
+
+            start = System.nanoTime();
+            for (int key : keys) {
+                if (tree.contains(key)) {
+                    sink++;
+                }
+            }
+            long contains = (System.nanoTime() - start) / 1_000_000;
+
+            start = System.nanoTime();
+            sink += tree.inorder().size() + tree.postorder().size() + tree.height();
+            long traverse = (System.nanoTime() - start) / 1_000_000;
+
+            start = System.nanoTime();
+            for (int i = 0; i < N; i += 2) {
+                sink += tree.remove(keys[i]);
+            }
+            long remove = (System.nanoTime() - start) / 1_000_000;
+
+            System.out.printf("add %4d  contains %4d  inorder+postorder+height %4d"
+                    + "  remove half %4d%n", add, contains, traverse, remove);
+        }
+    }
+
+    /**
+     * Times sorted adds, which build one path DEPTH nodes long, and then
+     * walks it, on a thread with the default stack size.
+     */
+    private static void degenerateTree() {
+        System.out.println("== degenerate: " + DEPTH + " sorted keys, ms ==");
+        long[] times = new long[3];
+        Throwable[] failure = new Throwable[1];
+        Thread thread = new Thread(() -> {
+            try {
+                BST<Integer> tree = new BST<>();
+                long start = System.nanoTime();
+                for (int i = 0; i < DEPTH; i++) {
+                    tree.add(i);
+                }
+                times[0] = (System.nanoTime() - start) / 1_000_000;
+
+                start = System.nanoTime();
+                sink += tree.inorder().size() + tree.postorder().size() + tree.height();
+                times[1] = (System.nanoTime() - start) / 1_000_000;
+
+                start = System.nanoTime();
+                for (int i = DEPTH - 1; i >= 0; i--) {
+                    sink += tree.remove(i);
+                }
+                times[2] = (System.nanoTime() - start) / 1_000_000;
+            } catch (Throwable t) {
+                failure[0] = t;
+            }
+        });
+        thread.start();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (failure[0] != null) {
+            System.out.println("failed: " + failure[0]);
+        } else {
+            System.out.printf("add %4d  inorder+postorder+height %4d  remove %4d%n",
+                    times[0], times[1], times[2]);
+        }
+    }
+
+    /**
+     * Compares building a tree of BULK_N keys with the Collection
+     * constructor or balanced against adding them one at a time. Adding
+     * sorted keys one at a time would be O(n^2), so for sorted input only
+     * the constructor is timed.
+     */
+    private static void bulkLoad() {
+        System.out.println("== bulk load: " + BULK_N + " keys, ms ==");
+        List<Integer> data = new ArrayList<>(BULK_N);
+        for (int i = 0; i < BULK_N; i++) {
+            data.add(i);
+        }
+
+        long start = System.nanoTime();
+        BST<Integer> tree = new BST<>(data);
+        long sortedBulk = (System.nanoTime() - start) / 1_000_000;
+        sink += tree.size();
+        tree = null;
+
+        Collections.shuffle(data, new Random(17));
+        start = System.nanoTime();
+        tree = BST.balanced(data);
+        long shuffledBulk = (System.nanoTime() - start) / 1_000_000;
+        sink += tree.size();
+        tree = null;
+
+        start = System.nanoTime();
+        tree = new BST<>();
+        for (Integer key : data) {
+            tree.add(key);
+        }
+        long shuffledAdds = (System.nanoTime() - start) / 1_000_000;
+        sink += tree.size();
+
+        System.out.printf("sorted  constructor %5d%n", sortedBulk);
+        System.out.printf("shuffled  balanced %5d  add each %5d%n", shuffledBulk, shuffledAdds);
+    }
+}
@@ -0,0 +1,99 @@
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests for BST's bulk construction from sorted data.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ */
+public class BSTBulkLoadTest {
+
+    private static final int TIMEOUT = 10000;
+
+    @Test(timeout = TIMEOUT)
+    public void testSortedInputIsBalanced() {
+        /*
+                  3
+                /   \
+               1     5
+              / \   / \
+             0   2 4   6
+        */
+        BST<Integer> tree = new BST<>(Arrays.asList(0, 1, 1, 2, 3, 4, 4, 4, 5, 6));
+        assertEquals(7, tree.size());
+        assertEquals(2, tree.height());
+        assertEquals(Arrays.asList(3, 1, 0, 2, 5, 4, 6), tree.preorder());
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6), tree.inorder());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testLargeSortedInput() {
+        List<Integer> data = new ArrayList<>();
+        for (int i = 0; i < 1_000_000; i++) {
+            data.add(i);
+        }
+        BST<Integer> tree = new BST<>(data);
+        assertEquals(1_000_000, tree.size());
+        // 2^19 <= n < 2^20
+        assertEquals(19, tree.height());
+        assertEquals(data, tree.inorder());
+        tree.add(-1);
+        tree.remove(500_000);
+        assertEquals(1_000_000, tree.size());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testUnsortedInputKeepsInsertionOrder() {
+        List<Integer> data = new LinkedList<>();
+        Random random = new Random(1332);
+        for (int i = 0; i < 1000; i++) {
+            data.add(random.nextInt(500));
+        }
+        BST<Integer> expected = new BST<>();
+        for (Integer i : data) {
+            expected.add(i);
+        }
+        BST<Integer> tree = new BST<>(data);
+        assertEquals(expected.size(), tree.size());
+        assertEquals(expected.preorder(), tree.preorder());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testBalanced() {
+        List<Integer> data = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            data.add(i % 700);
+        }
+        Collections.shuffle(data, new Random(1332));
+        BST<Integer> tree = BST.balanced(data);
+        assertEquals(new ArrayList<>(new TreeSet<>(data)), tree.inorder());
+        assertEquals(new BST<>(new ArrayList<>(new TreeSet<>(data))).preorder(),
+                tree.preorder());
+        assertEquals(9, tree.height());
+
+        BST<Integer> empty = BST.balanced(new ArrayList<Integer>());
+        assertEquals(0, empty.size());
+        assertNull(empty.getRoot());
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testBalancedNullElement() {
+        BST.balanced(Arrays.asList(1, null, 3));
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testBalancedNullCollection() {
+        BST.balanced(null);
+    }
+}
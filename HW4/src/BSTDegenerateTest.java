@@ -0,0 +1,157 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for BST on degenerate trees, run on a thread with a small stack so a
+ * recursive walk down a long path would overflow it.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ */
+public class BSTDegenerateTest {
+
+    private static final int TIMEOUT = 10000;
+    private static final int DEPTH = 10_000;
+    private static final long SMALL_STACK = 128 * 1024;
+    private BST<Integer> tree;
+
+    @Before
+    public void setUp() {
+        tree = new BST<>();
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testAscendingChain() throws Throwable {
+        onSmallStack(() -> {
+            for (int i = 0; i < DEPTH; i++) {
+                tree.add(i);
+            }
+            assertEquals(DEPTH, tree.size());
+            assertEquals(DEPTH - 1, tree.height());
+            assertNull(tree.getRoot().getLeft());
+
+            Integer last = DEPTH - 1;
+            assertTrue(tree.contains(last));
+            assertFalse(tree.contains(DEPTH));
+            assertEquals(last, tree.get(DEPTH - 1));
+
+            List<Integer> sorted = range(0, DEPTH);
+            assertEquals(sorted, tree.inorder());
+            assertEquals(sorted, tree.preorder());
+            assertEquals(sorted, tree.levelorder());
+            List<Integer> reversed = new ArrayList<>(sorted);
+            Collections.reverse(reversed);
+            assertEquals(reversed, tree.postorder());
+            assertEquals(range(DEPTH - 3, DEPTH), tree.kLargest(3));
+            assertEquals(sorted, tree.kLargest(DEPTH));
+
+            Integer removed = tree.remove(DEPTH - 1);
+            assertEquals(last, removed);
+            assertEquals(DEPTH - 1, tree.size());
+            assertEquals(DEPTH - 2, tree.height());
+        });
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testDescendingChain() throws Throwable {
+        onSmallStack(() -> {
+            for (int i = DEPTH - 1; i >= 0; i--) {
+                tree.add(i);
+            }
+            assertEquals(DEPTH - 1, tree.height());
+            assertNull(tree.getRoot().getRight());
+            assertEquals(range(0, DEPTH), tree.inorder());
+            assertEquals(range(DEPTH - 5, DEPTH), tree.kLargest(5));
+
+            // Removing the middle of the chain splices in its only child.
+            Integer stored = tree.get(DEPTH / 2);
+            assertSame(stored, tree.remove(DEPTH / 2));
+            assertFalse(tree.contains(DEPTH / 2));
+            assertEquals(DEPTH - 2, tree.height());
+        });
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testMatchesTreeSet() {
+        Random random = new Random(1332);
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < 20_000; i++) {
+            int value = random.nextInt(2_000);
+            if (random.nextInt(3) == 0 && expected.contains(value)) {
+                assertEquals(Integer.valueOf(value), tree.remove(value));
+                expected.remove(value);
+            } else {
+                tree.add(value);
+                expected.add(value);
+            }
+            assertEquals(expected.size(), tree.size());
+        }
+        assertEquals(new ArrayList<>(expected), tree.inorder());
+        assertEquals(new ArrayList<>(expected.descendingSet()).subList(0, 10),
+                reverse(tree.kLargest(10)));
+        assertEquals(expected.size(), tree.preorder().size());
+        assertEquals(expected.size(), tree.postorder().size());
+    }
+
+    /**
+     * Runs body on a new thread with a small stack and rethrows anything it
+     * throws.
+     *
+     * @param body the code to run
+     * @throws Throwable whatever body threw
+     */
+    private static void onSmallStack(Runnable body) throws Throwable {
+        Throwable[] failure = new Throwable[1];
+        Thread thread = new Thread(null, () -> {
+            try {
+                body.run();
+            } catch (Throwable t) {
+                failure[0] = t;
+            }
+        }, "small-stack", SMALL_STACK);
+        thread.start();
+        thread.join();
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+    }
+
+    /**
+     * Returns the integers in [from, to).
+     *
+     * @param from the first integer
+     * @param to   one past the last integer
+     * @return the list of integers
+     */
+    private static List<Integer> range(int from, int to) {
+        List<Integer> list = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    /**
+     * Returns a reversed copy of list.
+     *
+     * @param list the list to reverse
+     * @return the reversed copy
+     */
+    private static List<Integer> reverse(List<Integer> list) {
+        List<Integer> copy = new ArrayList<>(list);
+        Collections.reverse(copy);
+        return copy;
+    }
+}
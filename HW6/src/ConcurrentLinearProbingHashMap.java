@@ -0,0 +1,398 @@
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A thread-safe linear probing hash map split into independently locked
+ * segments.
+ *
+ * The high bits of a key's mixed hash pick a segment and the low bits pick
+ * the home slot inside that segment's table. get and containsKey never lock:
+ * they read slots through an AtomicReferenceArray and values through a
+ * volatile field. put and remove lock only the segment the key falls in, and
+ * each segment resizes on its own, so a resize never stops the other
+ * segments.
+ *
+ * Removal marks an entry by clearing its value, the same tombstone rule as
+ * LinearProbingHashMap. A segment counts tombstones toward its load and
+ * rebuilds its table once they would push it over MAX_LOAD_FACTOR.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ * @userid pkutz3
+ * @GTID 903637824
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class ConcurrentLinearProbingHashMap<K, V> {
+
+    /**
+     * The default number of segments.
+     */
+    public static final int DEFAULT_SEGMENTS = 16;
+
+    /**
+     * The initial capacity of each segment's table.
+     */
+    public static final int INITIAL_SEGMENT_CAPACITY = 16;
+
+    /**
+     * The max load factor of each segment, counting removed entries.
+     */
+    public static final double MAX_LOAD_FACTOR = LinearProbingHashMap.MAX_LOAD_FACTOR;
+
+    private final Segment<K, V>[] segments;
+    private final int segmentShift;
+
+    /**
+     * Constructs a new map with DEFAULT_SEGMENTS segments.
+     */
+    public ConcurrentLinearProbingHashMap() {
+        this(DEFAULT_SEGMENTS);
+    }
+
+    /**
+     * Constructs a new map. The number of segments is rounded up to the next
+     * power of two.
+     *
+     * @param concurrencyLevel the expected number of concurrent writers
+     * @throws java.lang.IllegalArgumentException if concurrencyLevel is not
+     *                                            positive
+     */
+    public ConcurrentLinearProbingHashMap(int concurrencyLevel) {
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("The concurrency level must be positive.");
+        }
+        int count = PowerOfTwoLinearProbingHashMap.tableSizeFor(concurrencyLevel);
+        segments = (Segment<K, V>[]) new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment<>(INITIAL_SEGMENT_CAPACITY);
+        }
+        segmentShift = 32 - Integer.numberOfTrailingZeros(count);
+    }
+
+    /**
+     * Adds the given key-value pair to the map, replacing the value if the
+     * key is already present.
+     *
+     * @param key   the key to add
+     * @param value the value to add
+     * @return null if the key was not already in the map, otherwise the old
+     * value associated with it
+     * @throws java.lang.IllegalArgumentException if key or value is null
+     */
+    public V put(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key is null.");
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("The value is null.");
+        }
+        int hash = PowerOfTwoLinearProbingHashMap.mix(key.hashCode());
+        return segmentFor(hash).put(key, hash, value);
+    }
+
+    /**
+     * Removes the entry with a matching key from the map.
+     *
+     * @param key the key to remove
+     * @return the value previously associated with the key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException   if the key is not in the map
+     */
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key is null.");
+        }
+        int hash = PowerOfTwoLinearProbingHashMap.mix(key.hashCode());
+        V value = segmentFor(hash).remove(key, hash);
+        if (value == null) {
+            throw new NoSuchElementException("The key is not in the map.");
+        }
+        return value;
+    }
+
+    /**
+     * Gets the value associated with the given key without locking.
+     *
+     * @param key the key to search for in the map
+     * @return the value associated with the given key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException   if the key is not in the map
+     */
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key is null.");
+        }
+        int hash = PowerOfTwoLinearProbingHashMap.mix(key.hashCode());
+        V value = segmentFor(hash).get(key, hash);
+        if (value == null) {
+            throw new NoSuchElementException("The key is not in the map.");
+        }
+        return value;
+    }
+
+    /**
+     * Returns whether or not the key is in the map, without locking.
+     *
+     * @param key the key to search for in the map
+     * @return true if the key is contained within the map, false otherwise
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    public boolean containsKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key is null.");
+        }
+        int hash = PowerOfTwoLinearProbingHashMap.mix(key.hashCode());
+        return segmentFor(hash).get(key, hash) != null;
+    }
+
+    /**
+     * Returns the number of entries in the map. Under concurrent updates this
+     * is only an estimate.
+     *
+     * @return the size of the map
+     */
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            size += segment.count;
+        }
+        return size;
+    }
+
+    /**
+     * Clears the map one segment at a time.
+     */
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * Returns the number of segments.
+     *
+     * @return the number of segments
+     */
+    public int segmentCount() {
+        return segments.length;
+    }
+
+    /**
+     * Returns the table length of one segment.
+     *
+     * For testing purposes only.
+     *
+     * @param index the index of the segment
+     * @return the length of that segment's table
+     */
+    int segmentCapacity(int index) {
+        return segments[index].table.length();
+    }
+
+    /**
+     * Private helper that picks the segment for a mixed hash.
+     *
+     * @param hash the mixed hash of a key
+     * @return the segment that owns the key
+     */
+    private Segment<K, V> segmentFor(int hash) {
+        return segmentShift == 32 ? segments[0] : segments[hash >>> segmentShift];
+    }
+
+    /**
+     * A table slot. The key and hash never change once the node is
+     * published; a null value marks the node as removed.
+     *
+     * @param <K> the type of the key
+     * @param <V> the type of the value
+     */
+    private static final class Node<K, V> {
+        private final K key;
+        private final int hash;
+        private volatile V value;
+
+        /**
+         * Creates a node.
+         *
+         * @param key   the key
+         * @param hash  the mixed hash of the key
+         * @param value the value
+         */
+        Node(K key, int hash, V value) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+        }
+    }
+
+    /**
+     * One independently locked open-addressing table.
+     *
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     */
+    private static final class Segment<K, V> extends ReentrantLock {
+        private static final long serialVersionUID = 1L;
+
+        private volatile AtomicReferenceArray<Node<K, V>> table;
+        private volatile int count;
+        private int used;
+
+        /**
+         * Creates a segment.
+         *
+         * @param capacity the initial table length, a power of two
+         */
+        Segment(int capacity) {
+            table = new AtomicReferenceArray<>(capacity);
+        }
+
+        /**
+         * Looks up a key without locking.
+         *
+         * @param key  the key
+         * @param hash the mixed hash of the key
+         * @return the value, or null if the key is absent
+         */
+        V get(K key, int hash) {
+            AtomicReferenceArray<Node<K, V>> tab = table;
+            int mask = tab.length() - 1;
+            int i = hash & mask;
+            for (int probes = 0; probes <= mask; probes++) {
+                Node<K, V> node = tab.get(i);
+                if (node == null) {
+                    return null;
+                }
+                if (node.hash == hash && node.key.equals(key)) {
+                    V value = node.value;
+                    if (value != null) {
+                        return value;
+                    }
+                }
+                i = (i + 1) & mask;
+            }
+            return null;
+        }
+
+        /**
+         * Adds or replaces a key under the segment lock.
+         *
+         * @param key   the key
+         * @param hash  the mixed hash of the key
+         * @param value the value
+         * @return the old value, or null if the key was absent
+         */
+        V put(K key, int hash, V value) {
+            lock();
+            try {
+                if ((double) (used + 1) / table.length() > MAX_LOAD_FACTOR) {
+                    int length = table.length();
+                    // Only grow when live entries, not tombstones, fill it.
+                    rehash((double) (count + 1) / length > MAX_LOAD_FACTOR / 2
+                            ? length << 1 : length);
+                }
+
+                AtomicReferenceArray<Node<K, V>> tab = table;
+                int mask = tab.length() - 1;
+                int i = hash & mask;
+                int delI = -1;
+                Node<K, V> node;
+                while ((node = tab.get(i)) != null) {
+                    if (node.value == null) {
+                        if (delI == -1) {
+                            delI = i;
+                        }
+                    } else if (node.hash == hash && node.key.equals(key)) {
+                        V temp = node.value;
+                        node.value = value;
+                        return temp;
+                    }
+                    i = (i + 1) & mask;
+                }
+
+                if (delI == -1) {
+                    used++;
+                    delI = i;
+                }
+                tab.set(delI, new Node<>(key, hash, value));
+                count++;
+                return null;
+            } finally {
+                unlock();
+            }
+        }
+
+        /**
+         * Removes a key under the segment lock.
+         *
+         * @param key  the key
+         * @param hash the mixed hash of the key
+         * @return the removed value, or null if the key was absent
+         */
+        V remove(K key, int hash) {
+            lock();
+            try {
+                AtomicReferenceArray<Node<K, V>> tab = table;
+                int mask = tab.length() - 1;
+                int i = hash & mask;
+                Node<K, V> node;
+                while ((node = tab.get(i)) != null) {
+                    V value = node.value;
+                    if (value != null && node.hash == hash && node.key.equals(key)) {
+                        node.value = null;
+                        count--;
+                        return value;
+                    }
+                    i = (i + 1) & mask;
+                }
+                return null;
+            } finally {
+                unlock();
+            }
+        }
+
+        /**
+         * Copies the live nodes into a new table and publishes it. Readers
+         * still on the old table see the same node objects, so they never
+         * miss a value that was there before the rehash started.
+         *
+         * @param length the new table length, a power of two
+         */
+        private void rehash(int length) {
+            AtomicReferenceArray<Node<K, V>> old = table;
+            AtomicReferenceArray<Node<K, V>> tab = new AtomicReferenceArray<>(length);
+            int mask = length - 1;
+            int live = 0;
+            for (int j = 0; j < old.length(); j++) {
+                Node<K, V> node = old.get(j);
+                if (node != null && node.value != null) {
+                    int i = node.hash & mask;
+                    while (tab.get(i) != null) {
+                        i = (i + 1) & mask;
+                    }
+                    tab.set(i, node);
+                    live++;
+                }
+            }
+            used = live;
+            table = tab;
+        }
+
+        /**
+         * Empties the segment under its lock.
+         */
+        void clear() {
+            lock();
+            try {
+                table = new AtomicReferenceArray<>(INITIAL_SEGMENT_CAPACITY);
+                count = 0;
+                used = 0;
+            } finally {
+                unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for ConcurrentLinearProbingHashMap.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ */
+public class ConcurrentLinearProbingHashMapTest {
+
+    private static final int TIMEOUT = 5000;
+    private ConcurrentLinearProbingHashMap<Integer, String> map;
+
+    @Before
+    public void setUp() {
+        map = new ConcurrentLinearProbingHashMap<>();
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testSingleThreaded() {
+        String temp = "B";
+        assertNull(map.put(1, "A"));
+        assertNull(map.put(2, temp));
+        assertEquals("A", map.put(1, "C"));
+
+        assertEquals(2, map.size());
+        assertEquals("C", map.get(1));
+        assertSame(temp, map.remove(2));
+        assertFalse(map.containsKey(2));
+        assertNull(map.put(2, "D"));
+        assertEquals("D", map.get(2));
+        assertEquals(2, map.size());
+
+        map.clear();
+        assertEquals(0, map.size());
+        assertFalse(map.containsKey(1));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testSegmentCount() {
+        assertEquals(ConcurrentLinearProbingHashMap.DEFAULT_SEGMENTS, map.segmentCount());
+        assertEquals(8, new ConcurrentLinearProbingHashMap<Integer, String>(5).segmentCount());
+
+        ConcurrentLinearProbingHashMap<Integer, String> single =
+                new ConcurrentLinearProbingHashMap<>(1);
+        for (int i = 0; i < 1000; i++) {
+            single.put(i, "v" + i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("v" + i, single.get(i));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testSegmentsResizeIndependently() {
+        for (int i = 0; i < 10000; i++) {
+            map.put(i, "v");
+        }
+        for (int s = 0; s < map.segmentCount(); s++) {
+            assertTrue(map.segmentCapacity(s) > ConcurrentLinearProbingHashMap.INITIAL_SEGMENT_CAPACITY);
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testTombstonesAreRecycled() {
+        ConcurrentLinearProbingHashMap<Integer, String> single =
+                new ConcurrentLinearProbingHashMap<>(1);
+        for (int i = 0; i < 8; i++) {
+            single.put(i, "v");
+        }
+        for (int i = 8; i < 100000; i++) {
+            single.remove(i - 8);
+            single.put(i, "v");
+        }
+        // Without recycling, 100000 puts would have grown the table far
+        // past what 8 live keys need.
+        assertTrue(single.segmentCapacity(0) <= 32);
+        assertEquals(8, single.size());
+    }
+
+    @Test(timeout = TIMEOUT, expected = NoSuchElementException.class)
+    public void testGetMissing() {
+        map.get(3);
+    }
+
+    @Test(timeout = TIMEOUT, expected = NoSuchElementException.class)
+    public void testRemoveMissing() {
+        map.put(3, "A");
+        map.remove(3);
+        map.remove(3);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testConcurrentWriters() throws InterruptedException {
+        int threads = 8;
+        int perThread = 20000;
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int base = t * perThread;
+            workers[t] = new Thread(() -> {
+                for (int i = base; i < base + perThread; i++) {
+                    map.put(i, "v" + i);
+                }
+                for (int i = base; i < base + perThread; i += 2) {
+                    map.remove(i);
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(threads * perThread / 2, map.size());
+        for (int i = 0; i < threads * perThread; i++) {
+            assertEquals(i % 2 == 1, map.containsKey(i));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testReadersNeverMissStableKeys() throws InterruptedException {
+        // Keys below 1000 are never touched again, so readers must always
+        // find them while writers resize the segments underneath.
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, "stable");
+        }
+        AtomicBoolean failed = new AtomicBoolean();
+        AtomicBoolean done = new AtomicBoolean();
+        CountDownLatch readersStarted = new CountDownLatch(4);
+        Thread[] readers = new Thread[4];
+        for (int r = 0; r < readers.length; r++) {
+            readers[r] = new Thread(() -> {
+                readersStarted.countDown();
+                while (!done.get()) {
+                    for (int i = 0; i < 1000; i++) {
+                        if (!map.containsKey(i)) {
+                            failed.set(true);
+                        }
+                    }
+                }
+            });
+            readers[r].start();
+        }
+
+        readersStarted.await();
+        for (int i = 1000; i < 200000; i++) {
+            map.put(i, "churn");
+            if (i % 3 == 0) {
+                map.remove(i);
+            }
+        }
+        done.set(true);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        assertFalse(failed.get());
+    }
+}
@@ -0,0 +1,486 @@
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A linear probing hash map for keys that may come from an attacker.
+ *
+ * Each instance hashes keys with its own random seed. A String key is
+ * hashed from its characters rather than String.hashCode, so strings built
+ * to share a hash code, like "Aa" and "BB", no longer collide. Any other key
+ * is hashed by mixing its hashCode with the seed. The table length is a
+ * power of two.
+ *
+ * A watchdog checks the probe length of every insert. If a key would land
+ * more than probeLimit() slots from its home, the table is rebuilt once
+ * with a new seed, which also clears out removed entries. If the key is
+ * still too far from home after that, the table is not the problem: the key
+ * has the same hashCode as many others. A key that is Comparable is then
+ * moved to a tree-backed overflow bucket, where lookups take O(log n).
+ * Other keys stay in the table. At most one reseed happens per table
+ * length, so a flood cannot force a rebuild on every put.
+ *
+ * The seeded string hash is a keyed multiply-xorshift, not a cryptographic
+ * PRF. It stops precomputed collisions, but a determined attacker who can
+ * time many requests could in theory still learn about the seed.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ * @userid pkutz3
+ * @GTID 903637824
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class FloodResistantLinearProbingHashMap<K, V> {
+
+    /**
+     * The initial capacity of the map when created with the default
+     * constructor.
+     */
+    public static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The max load factor of the table, counting removed entries but not the
+     * overflow bucket.
+     */
+    public static final double MAX_LOAD_FACTOR = LinearProbingHashMap.MAX_LOAD_FACTOR;
+
+    private static final int MIN_PROBE_LIMIT = 32;
+
+    private LinearProbingMapEntry<K, V>[] table;
+    private int[] hashes;
+    private int mask;
+    private int tableSize;
+    private int used;
+    private int probeLimit;
+    private long seed;
+    private boolean reseeded;
+    private int reseedCount;
+    private final TreeMap<K, V> overflow = new TreeMap<>();
+
+    /**
+     * Constructs a new FloodResistantLinearProbingHashMap with a capacity of
+     * INITIAL_CAPACITY.
+     */
+    public FloodResistantLinearProbingHashMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs a new FloodResistantLinearProbingHashMap. The capacity is
+     * rounded up to the next power of two.
+     *
+     * @param initialCapacity the minimum initial capacity of the table
+     * @throws java.lang.IllegalArgumentException if initialCapacity is not
+     *                                            positive
+     */
+    public FloodResistantLinearProbingHashMap(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("The capacity must be positive.");
+        }
+        seed = ThreadLocalRandom.current().nextLong();
+        allocate(PowerOfTwoLinearProbingHashMap.tableSizeFor(initialCapacity));
+    }
+
+    /**
+     * Adds the given key-value pair to the map. If an entry in the map
+     * already has this key, replace the entry's value with the new one.
+     *
+     * @param key   the key to add
+     * @param value the value to add
+     * @return null if the key was not already in the map. If it was in the
+     * map, return the old value associated with it
+     * @throws java.lang.IllegalArgumentException if key or value is null
+     */
+    public V put(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key is null.");
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("The value is null.");
+        }
+
+        int hash = hash(key);
+        int i = indexOf(key, hash);
+        if (i != -1) {
+            V temp = table[i].getValue();
+            table[i].setValue(value);
+            return temp;
+        }
+        if (usesOverflow(key) && overflow.containsKey(key)) {
+            return overflow.put(key, value);
+        }
+
+        if ((double) (used + 1) / (double) table.length > MAX_LOAD_FACTOR) {
+            // Grow only if live entries, not removed ones, fill the table.
+            boolean grow = (double) (tableSize + 1) / (double) table.length
+                    > MAX_LOAD_FACTOR / 2;
+            rebuild(grow ? table.length << 1 : table.length);
+            hash = hash(key);
+        }
+
+        LinearProbingMapEntry<K, V> entry = new LinearProbingMapEntry<>(key, value);
+        if (place(entry, hash)) {
+            return null;
+        }
+        if (!reseeded) {
+            // The watchdog: a new seed may break up the cluster.
+            reseeded = true;
+            reseedCount++;
+            seed = ThreadLocalRandom.current().nextLong();
+            rebuild(table.length);
+            hash = hash(key);
+            if (place(entry, hash)) {
+                return null;
+            }
+        }
+        if (overflows(key)) {
+            overflow.put(key, value);
+        } else {
+            placeAnywhere(entry, hash);
+        }
+        return null;
+    }
+
+    /**
+     * Removes the entry with a matching key from the map by marking the entry
+     * as removed, or by taking it out of the overflow bucket.
+     *
+     * @param key the key to remove
+     * @return the value previously associated with the key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException   if the key is not in the map
+     */
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key is null.");
+        }
+        int i = indexOf(key, hash(key));
+        if (i != -1) {
+            table[i].setRemoved(true);
+            tableSize--;
+            return table[i].getValue();
+        }
+        if (usesOverflow(key) && overflow.containsKey(key)) {
+            return overflow.remove(key);
+        }
+        throw new NoSuchElementException("The key is not in the map.");
+    }
+
+    /**
+     * Gets the value associated with the given key.
+     *
+     * @param key the key to search for in the map
+     * @return the value associated with the given key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException   if the key is not in the map
+     */
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key is null.");
+        }
+        int i = indexOf(key, hash(key));
+        if (i != -1) {
+            return table[i].getValue();
+        }
+        V value = usesOverflow(key) ? overflow.get(key) : null;
+        if (value == null) {
+            throw new NoSuchElementException("The key is not in the map.");
+        }
+        return value;
+    }
+
+    /**
+     * Returns whether or not the key is in the map.
+     *
+     * @param key the key to search for in the map
+     * @return true if the key is contained within the map, false otherwise
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    public boolean containsKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key is null.");
+        }
+        return indexOf(key, hash(key)) != -1
+                || usesOverflow(key) && overflow.containsKey(key);
+    }
+
+    /**
+     * Private helper that finds the slot holding a live entry for the key.
+     *
+     * @param key  the key to search for
+     * @param hash the seeded hash of the key
+     * @return the index of the entry, -1 if the key is not in the table
+     */
+    private int indexOf(K key, int hash) {
+        int i = hash & mask;
+        for (int probes = 0; probes < table.length && table[i] != null; probes++) {
+            if (hashes[i] == hash && !table[i].isRemoved() && table[i].getKey().equals(key)) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Private helper that puts an entry whose key is not in the map into the
+     * first empty or removed slot of its probe run, unless that slot is more
+     * than probeLimit slots from home.
+     *
+     * @param entry the entry to place
+     * @param hash  the seeded hash of the entry's key
+     * @return true if the entry was placed, false if the run was too long
+     */
+    private boolean place(LinearProbingMapEntry<K, V> entry, int hash) {
+        int i = hash & mask;
+        for (int probes = 0; probes <= probeLimit; probes++) {
+            if (table[i] == null || table[i].isRemoved()) {
+                if (table[i] == null) {
+                    used++;
+                }
+                table[i] = entry;
+                hashes[i] = hash;
+                tableSize++;
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Private helper that puts an entry into the first empty or removed slot
+     * of its probe run however far away it is.
+     *
+     * @param entry the entry to place
+     * @param hash  the seeded hash of the entry's key
+     */
+    private void placeAnywhere(LinearProbingMapEntry<K, V> entry, int hash) {
+        int i = hash & mask;
+        while (table[i] != null && !table[i].isRemoved()) {
+            i = (i + 1) & mask;
+        }
+        if (table[i] == null) {
+            used++;
+        }
+        table[i] = entry;
+        hashes[i] = hash;
+        tableSize++;
+    }
+
+    /**
+     * Private helper that rebuilds the table at the given length with the
+     * current seed. Removed entries are dropped and entries in the overflow
+     * bucket get another chance at a table slot.
+     *
+     * @param length the new length of the table, a power of two
+     */
+    private void rebuild(int length) {
+        if (length != table.length) {
+            reseeded = false;
+        }
+        LinearProbingMapEntry<K, V>[] oldTable = table;
+        allocate(length);
+        tableSize = 0;
+
+        List<LinearProbingMapEntry<K, V>> entries = new ArrayList<>(overflow.size());
+        for (Map.Entry<K, V> entry : overflow.entrySet()) {
+            entries.add(new LinearProbingMapEntry<>(entry.getKey(), entry.getValue()));
+        }
+        overflow.clear();
+        for (LinearProbingMapEntry<K, V> entry : oldTable) {
+            if (entry != null && !entry.isRemoved()) {
+                entries.add(entry);
+            }
+        }
+
+        for (LinearProbingMapEntry<K, V> entry : entries) {
+            int hash = hash(entry.getKey());
+            if (!place(entry, hash)) {
+                if (overflows(entry.getKey())) {
+                    overflow.put(entry.getKey(), entry.getValue());
+                } else {
+                    placeAnywhere(entry, hash);
+                }
+            }
+        }
+    }
+
+    /**
+     * Private helper that says whether the overflow bucket could hold the
+     * key, so lookups know whether to check it.
+     *
+     * @param key the key
+     * @return true if the key may be in the overflow bucket
+     */
+    private boolean usesOverflow(K key) {
+        return !overflow.isEmpty() && overflow.firstKey().getClass() == key.getClass();
+    }
+
+    /**
+     * Private helper that says whether a key with too long a probe run can go
+     * to the overflow bucket. The bucket is a TreeMap, so the key must be
+     * Comparable and the same class as the keys already there.
+     *
+     * @param key the key
+     * @return true if the key can be stored in the overflow bucket
+     */
+    private boolean overflows(K key) {
+        return key instanceof Comparable
+                && (overflow.isEmpty() || overflow.firstKey().getClass() == key.getClass());
+    }
+
+    /**
+     * Private helper that computes the seeded hash of a key.
+     *
+     * @param key the key to hash
+     * @return the seeded hash
+     */
+    private int hash(Object key) {
+        long h = seed;
+        if (key instanceof String) {
+            String s = (String) key;
+            h ^= s.length();
+            for (int i = 0; i < s.length(); i++) {
+                h = (h ^ s.charAt(i)) * 0x9E3779B97F4A7C15L;
+                h ^= h >>> 32;
+            }
+        } else {
+            h ^= key.hashCode();
+        }
+        // The MurmurHash3 64-bit finalizer.
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    /**
+     * Returns a Set of the keys contained in this map.
+     *
+     * @return the set of keys in this map
+     */
+    public Set<K> keySet() {
+        Set<K> keys = new HashSet<>(size());
+        for (LinearProbingMapEntry<K, V> entry : table) {
+            if (entry != null && !entry.isRemoved()) {
+                keys.add(entry.getKey());
+            }
+        }
+        keys.addAll(overflow.keySet());
+        return keys;
+    }
+
+    /**
+     * Returns a List of the values contained in this map, the table's in
+     * order of increasing index followed by the overflow bucket's.
+     *
+     * @return list of values in this map
+     */
+    public List<V> values() {
+        List<V> values = new ArrayList<>(size());
+        for (LinearProbingMapEntry<K, V> entry : table) {
+            if (entry != null && !entry.isRemoved()) {
+                values.add(entry.getValue());
+            }
+        }
+        values.addAll(overflow.values());
+        return values;
+    }
+
+    /**
+     * Resize the backing table to at least length, rounded up to the next
+     * power of two.
+     *
+     * @param length the minimum new length of the backing table
+     * @throws java.lang.IllegalArgumentException if length is less than the
+     *                                            number of items in the map
+     */
+    public void resizeBackingTable(int length) {
+        if (length < size() || length <= 0) {
+            throw new IllegalArgumentException("The length is less than the items in hash map.");
+        }
+        rebuild(PowerOfTwoLinearProbingHashMap.tableSizeFor(length));
+    }
+
+    /**
+     * Clears the map and resets the table to INITIAL_CAPACITY.
+     */
+    public void clear() {
+        allocate(INITIAL_CAPACITY);
+        tableSize = 0;
+        overflow.clear();
+        reseeded = false;
+    }
+
+    /**
+     * Private helper that allocates the table and hash arrays and sets the
+     * probe limit for the new length.
+     *
+     * @param length the length of the new arrays, a power of two
+     */
+    private void allocate(int length) {
+        table = (LinearProbingMapEntry<K, V>[]) new LinearProbingMapEntry[length];
+        hashes = new int[length];
+        mask = length - 1;
+        used = 0;
+        // Random keys at MAX_LOAD_FACTOR stay well inside 16 log2(length).
+        probeLimit = Math.max(MIN_PROBE_LIMIT, 16 * Integer.numberOfTrailingZeros(length));
+    }
+
+    /**
+     * Returns the longest probe run an insert may take before the watchdog
+     * steps in.
+     *
+     * @return the probe limit for the current table length
+     */
+    public int probeLimit() {
+        return probeLimit;
+    }
+
+    /**
+     * Returns how many times the watchdog has reseeded the table.
+     *
+     * @return the number of reseeds
+     */
+    public int reseedCount() {
+        return reseedCount;
+    }
+
+    /**
+     * Returns the number of entries in the overflow bucket.
+     *
+     * @return the size of the overflow bucket
+     */
+    public int overflowSize() {
+        return overflow.size();
+    }
+
+    /**
+     * Returns the table of the map. Entries in the overflow bucket are not
+     * in it.
+     *
+     * @return the table of the map
+     */
+    public LinearProbingMapEntry<K, V>[] getTable() {
+        return table;
+    }
+
+    /**
+     * Returns the size of the map, including the overflow bucket.
+     *
+     * @return the size of the map
+     */
+    public int size() {
+        return tableSize + overflow.size();
+    }
+}
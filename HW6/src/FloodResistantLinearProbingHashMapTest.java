@@ -0,0 +1,207 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for FloodResistantLinearProbingHashMap.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ */
+public class FloodResistantLinearProbingHashMapTest {
+
+    private static final int TIMEOUT = 2000;
+
+    private FloodResistantLinearProbingHashMap<String, Integer> map;
+
+    @Before
+    public void setUp() {
+        map = new FloodResistantLinearProbingHashMap<>();
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testPutGetRemove() {
+        assertNull(map.put("a", 1));
+        assertNull(map.put("b", 2));
+        assertEquals(Integer.valueOf(1), map.put("a", 3));
+
+        assertEquals(2, map.size());
+        assertEquals(Integer.valueOf(3), map.get("a"));
+        assertEquals(Integer.valueOf(2), map.remove("b"));
+        assertFalse(map.containsKey("b"));
+        assertEquals(1, map.size());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testCollidingStringsSpreadOut() {
+        List<String> keys = collidingStrings(15);
+        for (int i = 0; i < keys.size(); i++) {
+            map.put(keys.get(i), i);
+        }
+
+        assertEquals(keys.size(), map.size());
+        assertEquals(0, map.overflowSize());
+        for (int i = 0; i < keys.size(); i++) {
+            assertEquals(Integer.valueOf(i), map.get(keys.get(i)));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testSeedsDifferPerInstance() {
+        FloodResistantLinearProbingHashMap<String, Integer> other =
+                new FloodResistantLinearProbingHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put("key" + i, i);
+            other.put("key" + i, i);
+        }
+
+        boolean differs = false;
+        for (int i = 0; i < map.getTable().length; i++) {
+            LinearProbingMapEntry<String, Integer> a = map.getTable()[i];
+            LinearProbingMapEntry<String, Integer> b = other.getTable()[i];
+            differs |= a == null ? b != null : b == null || !a.getKey().equals(b.getKey());
+        }
+        assertTrue(differs);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testEqualHashCodesGoToOverflow() {
+        FloodResistantLinearProbingHashMap<Long, Integer> longs =
+                new FloodResistantLinearProbingHashMap<>();
+        int n = 5000;
+        for (int i = 0; i < n; i++) {
+            longs.put(collidingLong(i), i);
+        }
+
+        assertEquals(n, longs.size());
+        assertTrue(longs.overflowSize() > 0);
+        assertTrue(longs.overflowSize() < n);
+        for (int i = 0; i < n; i++) {
+            assertEquals(Integer.valueOf(i), longs.get(collidingLong(i)));
+        }
+        for (int i = 0; i < n; i += 2) {
+            assertEquals(Integer.valueOf(i), longs.remove(collidingLong(i)));
+        }
+        assertEquals(n / 2, longs.size());
+        for (int i = 0; i < n; i++) {
+            assertEquals(i % 2 == 1, longs.containsKey(collidingLong(i)));
+        }
+        assertEquals(Integer.valueOf(1), longs.put(collidingLong(1), -1));
+        assertEquals(Integer.valueOf(-1), longs.get(collidingLong(1)));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testNonComparableKeysStayInTable() {
+        FloodResistantLinearProbingHashMap<Collider, Integer> colliders =
+                new FloodResistantLinearProbingHashMap<>();
+        for (int i = 0; i < 500; i++) {
+            colliders.put(new Collider(i), i);
+        }
+
+        assertEquals(500, colliders.size());
+        assertEquals(0, colliders.overflowSize());
+        assertTrue(colliders.reseedCount() > 0);
+        for (int i = 0; i < 500; i++) {
+            assertEquals(Integer.valueOf(i), colliders.get(new Collider(i)));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testChurnReusesTable() {
+        for (int i = 0; i < 80; i++) {
+            map.put("key" + i, i);
+        }
+        int length = 0;
+        for (int i = 80; i < 100_000; i++) {
+            map.remove("key" + (i - 80));
+            map.put("key" + i, i);
+            if (i == 1000) {
+                length = map.getTable().length;
+            }
+        }
+        // Removed entries are cleared by rebuilding, not by growing forever.
+        assertEquals(80, map.size());
+        assertEquals(length, map.getTable().length);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testClear() {
+        map.put("a", 1);
+        map.clear();
+        assertEquals(0, map.size());
+        assertEquals(FloodResistantLinearProbingHashMap.INITIAL_CAPACITY, map.getTable().length);
+    }
+
+    @Test(timeout = TIMEOUT, expected = NoSuchElementException.class)
+    public void testGetMissing() {
+        map.get("a");
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testNullKey() {
+        map.put(null, 1);
+    }
+
+    /**
+     * Builds 2^n strings that all have the same String.hashCode, by joining
+     * n blocks that are each "Aa" or "BB".
+     *
+     * @param n the number of blocks
+     * @return the strings
+     */
+    private static List<String> collidingStrings(int n) {
+        List<String> keys = new ArrayList<>(1 << n);
+        for (int bits = 0; bits < 1 << n; bits++) {
+            StringBuilder key = new StringBuilder(2 * n);
+            for (int j = 0; j < n; j++) {
+                key.append((bits >>> j & 1) == 0 ? "Aa" : "BB");
+            }
+            keys.add(key.toString());
+        }
+        return keys;
+    }
+
+    /**
+     * Returns a long whose Long.hashCode is 0.
+     *
+     * @param i which long to make
+     * @return (i << 32) | i
+     */
+    private static Long collidingLong(int i) {
+        return ((long) i << 32) | i;
+    }
+
+    /**
+     * A key whose hash code is always the same and that is not Comparable.
+     */
+    private static final class Collider {
+        private final int id;
+
+        /**
+         * Creates a key.
+         *
+         * @param id the id that decides equality
+         */
+        Collider(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Collider && ((Collider) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+    }
+}
@@ -0,0 +1,700 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Rough benchmarks for the HW6 hash maps. Run main and read the console.
+ *
+ * These are not JMH benchmarks, so only compare numbers from the same run.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ */
+public class HashMapBenchmark {
+
+    private static final int N = 1_000_000;
+    private static final String VALUE = "value";
+
+    // Results the JIT can't prove unused.
+    private static long sink;
+
+    /**
+     * Runs every benchmark in this class.
+     *
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        allocationComparison();
+        probeLengthComparison();
+        churnComparison();
+        concurrentThroughput();
+        putLatencyComparison();
+        batchComparison();
+        snapshotComparison();
+        cacheComparison();
+        controlByteComparison();
+        floodComparison();
+    }
+
+    /**
+     * Compares how many bytes LinearProbingHashMap and IntLinearProbingHashMap
+     * allocate to put N int keys and read them back.
+     */
+    private static void allocationComparison() {
+        System.out.println("== allocation: " + N + " puts + gets ==");
+        for (int round = 0; round < 3; round++) {
+            long before = allocatedBytes();
+            long start = System.nanoTime();
+            LinearProbingHashMap<Integer, String> boxed = new LinearProbingHashMap<>();
+            for (int i = 0; i < N; i++) {
+                boxed.put(i * 7, VALUE);
+            }
+            for (int i = 0; i < N; i++) {
+                boxed.get(i * 7);
+            }
+            report("LinearProbingHashMap", before, start);
+
+            before = allocatedBytes();
+            start = System.nanoTime();
+            IntLinearProbingHashMap<String> primitive = new IntLinearProbingHashMap<>();
+            for (int i = 0; i < N; i++) {
+                primitive.put(i * 7, VALUE);
+            }
+            for (int i = 0; i < N; i++) {
+                primitive.get(i * 7);
+            }
+            report("IntLinearProbingHashMap", before, start);
+        }
+    }
+
+    /**
+     * Prints probe length histograms for LinearProbingHashMap and
+     * PowerOfTwoLinearProbingHashMap over a few key patterns.
+     */
+    private static void probeLengthComparison() {
+        int[][] patterns = new int[3][N];
+        Random random = new Random(1332);
+        for (int i = 0; i < N; i++) {
+            patterns[0][i] = i;
+            patterns[1][i] = i * 64;
+            patterns[2][i] = random.nextInt();
+        }
+        String[] names = {"sequential", "stride 64", "random"};
+
+        for (int p = 0; p < patterns.length; p++) {
+            LinearProbingHashMap<Integer, String> prime = new LinearProbingHashMap<>();
+            PowerOfTwoLinearProbingHashMap<Integer, String> pow2 =
+                    new PowerOfTwoLinearProbingHashMap<>();
+            long start = System.nanoTime();
+            for (int key : patterns[p]) {
+                prime.put(key, VALUE);
+            }
+            long primeMillis = (System.nanoTime() - start) / 1_000_000;
+            start = System.nanoTime();
+            for (int key : patterns[p]) {
+                pow2.put(key, VALUE);
+            }
+            long pow2Millis = (System.nanoTime() - start) / 1_000_000;
+
+            System.out.println("== probe lengths: " + names[p] + " ==");
+            printHistogram("LinearProbingHashMap", histogram(prime.getTable()), primeMillis);
+            printHistogram("PowerOfTwoLinearProbingHashMap",
+                    pow2.probeLengthHistogram(), pow2Millis);
+        }
+    }
+
+    /**
+     * Keeps a fixed number of live keys while replacing old keys with new
+     * ones, then times lookups. Tombstones build up in LinearProbingHashMap
+     * but RobinHoodHashMap shifts entries back instead.
+     */
+    private static void churnComparison() {
+        int live = 10_000;
+        int churn = 50_000;
+        LinearProbingHashMap<Integer, String> tombstones = new LinearProbingHashMap<>();
+        RobinHoodHashMap<Integer, String> robinHood = new RobinHoodHashMap<>();
+        for (int i = 0; i < live; i++) {
+            tombstones.put(i, VALUE);
+            robinHood.put(i, VALUE);
+        }
+
+        long start = System.nanoTime();
+        for (int i = live; i < churn; i++) {
+            tombstones.remove(i - live);
+            tombstones.put(i, VALUE);
+        }
+        long tombstoneChurn = (System.nanoTime() - start) / 1_000_000;
+        start = System.nanoTime();
+        for (int i = live; i < churn; i++) {
+            robinHood.remove(i - live);
+            robinHood.put(i, VALUE);
+        }
+        long robinHoodChurn = (System.nanoTime() - start) / 1_000_000;
+
+        start = System.nanoTime();
+        for (int i = churn - live; i < churn; i++) {
+            tombstones.get(i);
+        }
+        long tombstoneGets = (System.nanoTime() - start) / 1_000;
+        start = System.nanoTime();
+        for (int i = churn - live; i < churn; i++) {
+            robinHood.get(i);
+        }
+        long robinHoodGets = (System.nanoTime() - start) / 1_000;
+
+        System.out.println("== churn: " + live + " live keys, " + churn + " replacements ==");
+        System.out.printf("%-28s churn %6d ms, %d gets %6d us%n", "LinearProbingHashMap",
+                tombstoneChurn, live, tombstoneGets);
+        System.out.printf("%-28s churn %6d ms, %d gets %6d us%n", "RobinHoodHashMap",
+                robinHoodChurn, live, robinHoodGets);
+        printHistogram("RobinHoodHashMap", robinHood.probeLengthHistogram(), robinHoodChurn);
+    }
+
+    /**
+     * Runs a 90% get / 10% put mix from 1 to 8 threads against a
+     * synchronized LinearProbingHashMap, ConcurrentLinearProbingHashMap and
+     * ConcurrentHashMap, and prints millions of operations per second.
+     */
+    private static void concurrentThroughput() {
+        int keys = 100_000;
+        int opsPerThread = 2_000_000;
+        LinearProbingHashMap<Integer, String> plain = new LinearProbingHashMap<>();
+        ConcurrentLinearProbingHashMap<Integer, String> striped =
+                new ConcurrentLinearProbingHashMap<>();
+        ConcurrentHashMap<Integer, String> jdk = new ConcurrentHashMap<>();
+        for (int i = 0; i < keys; i++) {
+            plain.put(i, VALUE);
+            striped.put(i, VALUE);
+            jdk.put(i, VALUE);
+        }
+
+        Object lock = new Object();
+        MapOp synchronizedOp = (key, write) -> {
+            synchronized (lock) {
+                if (write) {
+                    plain.put(key, VALUE);
+                } else {
+                    plain.get(key);
+                }
+            }
+        };
+        MapOp stripedOp = (key, write) -> {
+            if (write) {
+                striped.put(key, VALUE);
+            } else {
+                striped.get(key);
+            }
+        };
+        MapOp jdkOp = (key, write) -> {
+            if (write) {
+                jdk.put(key, VALUE);
+            } else {
+                jdk.get(key);
+            }
+        };
+
+        System.out.println("== concurrent throughput: 90% get, 10% put, Mops/s ==");
+        for (int threads = 1; threads <= 8; threads *= 2) {
+            System.out.printf("%d threads: synchronized %6.1f  striped %6.1f  ConcurrentHashMap %6.1f%n",
+                    threads,
+                    runThreads(threads, opsPerThread, keys, synchronizedOp),
+                    runThreads(threads, opsPerThread, keys, stripedOp),
+                    runThreads(threads, opsPerThread, keys, jdkOp));
+        }
+    }
+
+    /**
+     * One operation against a map under test.
+     */
+    private interface MapOp {
+        /**
+         * Performs a get or a put.
+         *
+         * @param key   the key to use
+         * @param write true for a put, false for a get
+         */
+        void apply(int key, boolean write);
+    }
+
+    /**
+     * Runs op from several threads at once and measures throughput.
+     *
+     * @param threads      the number of threads
+     * @param opsPerThread the operations each thread performs
+     * @param keys         the size of the key range
+     * @param op           the operation to run
+     * @return millions of operations per second across all threads
+     */
+    private static double runThreads(int threads, int opsPerThread, int keys, MapOp op) {
+        Thread[] workers = new Thread[threads];
+        CountDownLatch startGate = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            int seed = t;
+            workers[t] = new Thread(() -> {
+                Random random = new Random(seed);
+                try {
+                    startGate.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < opsPerThread; i++) {
+                    op.apply(random.nextInt(keys), random.nextInt(10) == 0);
+                }
+            });
+            workers[t].start();
+        }
+
+        long start = System.nanoTime();
+        startGate.countDown();
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return (double) threads * opsPerThread / seconds / 1e6;
+    }
+
+    /**
+     * Times every put while growing to 4N entries and prints the slowest
+     * single put for LinearProbingHashMap and IncrementalLinearProbingHashMap.
+     * Run with a large fixed heap (for example -Xms3g -Xmx3g) so that GC
+     * pauses do not hide the cost of rehashing.
+     */
+    private static void putLatencyComparison() {
+        int n = 4 * N;
+        System.out.println("== put latency: " + n + " puts ==");
+        for (int round = 0; round < 2; round++) {
+            LinearProbingHashMap<Integer, String> stopTheWorld = new LinearProbingHashMap<>();
+            timePuts("LinearProbingHashMap", n, stopTheWorld::put);
+            IncrementalLinearProbingHashMap<Integer, String> incremental =
+                    new IncrementalLinearProbingHashMap<>();
+            timePuts("IncrementalLinearProbingHashMap", n, incremental::put);
+        }
+    }
+
+    /**
+     * A put method under test.
+     */
+    private interface PutOp {
+        /**
+         * Puts a key-value pair.
+         *
+         * @param key   the key
+         * @param value the value
+         * @return the old value
+         */
+        String put(Integer key, String value);
+    }
+
+    /**
+     * Times n puts one by one and prints the total, the worst put and how
+     * many puts took over a millisecond.
+     *
+     * @param name the name of the map
+     * @param n    the number of puts
+     * @param op   the put method to call
+     */
+    private static void timePuts(String name, int n, PutOp op) {
+        long worst = 0;
+        int slow = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            long t = System.nanoTime();
+            op.put(i, VALUE);
+            long elapsed = System.nanoTime() - t;
+            worst = Math.max(worst, elapsed);
+            if (elapsed > 1_000_000) {
+                slow++;
+            }
+        }
+        System.out.printf("%-32s total %6d ms, worst put %8.2f ms, %3d puts over 1 ms%n",
+                name, (System.nanoTime() - start) / 1_000_000, worst / 1e6, slow);
+    }
+
+    /**
+     * Compares a put loop and a get loop with putAll and getAll for N random
+     * keys.
+     */
+    private static void batchComparison() {
+        Random random = new Random(7);
+        Integer[] keys = new Integer[N];
+        String[] values = new String[N];
+        for (int i = 0; i < N; i++) {
+            keys[i] = random.nextInt();
+            values[i] = VALUE;
+        }
+
+        System.out.println("== batch: " + N + " random keys ==");
+        for (int round = 0; round < 3; round++) {
+            LinearProbingHashMap<Integer, String> looped = new LinearProbingHashMap<>();
+            long start = System.nanoTime();
+            for (int i = 0; i < N; i++) {
+                looped.put(keys[i], values[i]);
+            }
+            long putLoop = (System.nanoTime() - start) / 1_000_000;
+            start = System.nanoTime();
+            for (int i = 0; i < N; i++) {
+                looped.get(keys[i]);
+            }
+            long getLoop = (System.nanoTime() - start) / 1_000_000;
+
+            LinearProbingHashMap<Integer, String> batched = new LinearProbingHashMap<>();
+            start = System.nanoTime();
+            batched.putAll(keys, values);
+            long putAll = (System.nanoTime() - start) / 1_000_000;
+            start = System.nanoTime();
+            batched.getAll(keys);
+            long getAll = (System.nanoTime() - start) / 1_000_000;
+
+            System.out.printf("put loop %5d ms  putAll %5d ms  get loop %5d ms  getAll %5d ms%n",
+                    putLoop, putAll, getLoop, getAll);
+        }
+    }
+
+    /**
+     * Compares rebuilding a map of N entries by replaying put calls from the
+     * smallest table against loading it from a snapshot file.
+     */
+    private static void snapshotComparison() {
+        Random random = new Random(9);
+        LinearProbingHashMap<Integer, String> source = new LinearProbingHashMap<>();
+        Integer[] keys = new Integer[N];
+        String[] values = new String[N];
+        for (int i = 0; i < N; i++) {
+            keys[i] = random.nextInt();
+            values[i] = "value" + i;
+            source.put(keys[i], values[i]);
+        }
+
+        Path path;
+        try {
+            path = Files.createTempFile("snapshot", ".bin");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            System.out.println("== snapshot: " + N + " random keys ==");
+            for (int round = 0; round < 3; round++) {
+                long start = System.nanoTime();
+                LinearProbingHashMap<Integer, String> replayed = new LinearProbingHashMap<>();
+                for (int i = 0; i < N; i++) {
+                    replayed.put(keys[i], values[i]);
+                }
+                long replay = (System.nanoTime() - start) / 1_000_000;
+
+                start = System.nanoTime();
+                LinearProbingHashMapSnapshot.write(source, path,
+                        SnapshotCodec.INTEGER, SnapshotCodec.STRING);
+                long write = (System.nanoTime() - start) / 1_000_000;
+
+                start = System.nanoTime();
+                LinearProbingHashMap<Integer, String> loaded = LinearProbingHashMapSnapshot.read(
+                        path, SnapshotCodec.INTEGER, SnapshotCodec.STRING);
+                long load = (System.nanoTime() - start) / 1_000_000;
+
+                System.out.printf("replay %5d ms  write %5d ms  load %5d ms  (%d bytes, %d entries)%n",
+                        replay, write, load, Files.size(path), loaded.size());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                System.out.println("Could not delete " + path);
+            }
+        }
+    }
+
+    /**
+     * Compares hit rates on a skewed workload with periodic one-off scans:
+     * a LinearProbingHashMap that is cleared when it fills, the LRU cache and
+     * the LRU cache with the TinyLFU admission filter, all holding at most
+     * 10,000 entries.
+     */
+    private static void cacheComparison() {
+        int capacity = 10_000;
+        int universe = 1_000_000;
+        Random random = new Random(11);
+        // Random ids rather than small ints, which Integer.hashCode would
+        // pack into one long probe run.
+        int[] ids = new int[universe];
+        for (int i = 0; i < universe; i++) {
+            ids[i] = random.nextInt();
+        }
+        int[] requests = new int[N];
+        for (int i = 0; i < N; i++) {
+            if ((i / 50_000) % 4 == 3) {
+                // Every fourth block of 50k requests is a scan of new keys.
+                requests[i] = random.nextInt();
+            } else {
+                double r = random.nextDouble();
+                requests[i] = ids[(int) (universe * r * r * r * r)];
+            }
+        }
+
+        System.out.println("== cache: " + N + " requests, " + capacity + " entries ==");
+        long start = System.nanoTime();
+        LinearProbingHashMap<Integer, String> map = new LinearProbingHashMap<>();
+        long hits = 0;
+        for (int key : requests) {
+            if (map.getOrNull(key) != null) {
+                hits++;
+            } else {
+                if (map.size() == capacity) {
+                    map.clear();
+                }
+                map.put(key, VALUE);
+            }
+        }
+        System.out.printf("%-24s hit rate %.3f  %5d ms%n", "clear when full",
+                (double) hits / N, (System.nanoTime() - start) / 1_000_000);
+
+        for (boolean filter : new boolean[] {false, true}) {
+            start = System.nanoTime();
+            LinearProbingHashMapCache<Integer, String> cache =
+                    new LinearProbingHashMapCache<>(capacity, filter);
+            for (int key : requests) {
+                if (cache.get(key) == null) {
+                    cache.put(key, VALUE);
+                }
+            }
+            System.out.printf("%-24s hit rate %.3f  %5d ms  (%d evictions, %d rejections)%n",
+                    filter ? "LRU + TinyLFU" : "LRU", cache.hitRate(),
+                    (System.nanoTime() - start) / 1_000_000,
+                    cache.evictionCount(), cache.rejectionCount());
+        }
+    }
+
+    /**
+     * Compares lookup latency of LinearProbingHashMap and SwissTableHashMap
+     * on the same 2^20 slot table at several load factors, for keys that are
+     * present and keys that are not.
+     */
+    private static void controlByteComparison() {
+        int capacity = 1 << 20;
+        System.out.println("== control bytes: " + capacity + " slots, ns per lookup ==");
+        for (double loadFactor : new double[] {0.5, 0.67, 0.75, 0.87}) {
+            int n = (int) (capacity * loadFactor);
+            Random random = new Random(13);
+            Integer[] present = new Integer[n];
+            Integer[] absent = new Integer[n];
+            LinearProbingHashMap<Integer, String> linear = new LinearProbingHashMap<>(capacity);
+            SwissTableHashMap<Integer, String> swiss =
+                    new SwissTableHashMap<>(capacity, SwissTableHashMap.MAX_LOAD_FACTOR);
+            for (int i = 0; i < n; i++) {
+                present[i] = random.nextInt();
+                absent[i] = random.nextInt();
+                linear.put(present[i], VALUE);
+                swiss.put(present[i], VALUE);
+            }
+            // Pull the linear table back to the shared length; this ignores
+            // its own load factor, which would have grown it past 0.67.
+            linear.resizeBackingTable(capacity);
+
+            for (int round = 0; round < 3; round++) {
+                double linearHit = timeLinearLookups(linear, present);
+                double linearMiss = timeLinearLookups(linear, absent);
+                double swissHit = timeSwissLookups(swiss, present);
+                double swissMiss = timeSwissLookups(swiss, absent);
+                System.out.printf("load %.2f  linear hit %6.1f miss %6.1f"
+                                + "  swiss hit %6.1f miss %6.1f%n",
+                        loadFactor, linearHit, linearMiss, swissHit, swissMiss);
+            }
+        }
+    }
+
+    /**
+     * Times one lookup of every key in a LinearProbingHashMap, without the
+     * exception get throws on a miss.
+     *
+     * @param map  the map to search
+     * @param keys the keys to look up
+     * @return the mean nanoseconds per lookup
+     */
+    private static double timeLinearLookups(LinearProbingHashMap<Integer, String> map,
+                                            Integer[] keys) {
+        long start = System.nanoTime();
+        int found = 0;
+        for (Integer key : keys) {
+            if (map.getOrNull(key) != null) {
+                found++;
+            }
+        }
+        sink += found;
+        return (double) (System.nanoTime() - start) / keys.length;
+    }
+
+    /**
+     * Times one lookup of every key in a SwissTableHashMap.
+     *
+     * @param map  the map to search
+     * @param keys the keys to look up
+     * @return the mean nanoseconds per lookup
+     */
+    private static double timeSwissLookups(SwissTableHashMap<Integer, String> map, Integer[] keys) {
+        long start = System.nanoTime();
+        int found = 0;
+        for (Integer key : keys) {
+            if (map.containsKey(key)) {
+                found++;
+            }
+        }
+        sink += found;
+        return (double) (System.nanoTime() - start) / keys.length;
+    }
+
+    /**
+     * Compares LinearProbingHashMap and FloodResistantLinearProbingHashMap
+     * on keys built to share a hash code, and on ordinary keys to show the
+     * cost of the seeded hash.
+     */
+    private static void floodComparison() {
+        int n = 1 << 14;
+        List<String> strings = new ArrayList<>(n);
+        List<Long> longs = new ArrayList<>(n);
+        List<String> ordinary = new ArrayList<>(n);
+        for (int bits = 0; bits < n; bits++) {
+            // Every "Aa"/"BB" string of the same length has the same hashCode.
+            StringBuilder key = new StringBuilder();
+            for (int j = 0; j < 14; j++) {
+                key.append((bits >>> j & 1) == 0 ? "Aa" : "BB");
+            }
+            strings.add(key.toString());
+            // Long.hashCode is 0 for every one of these.
+            longs.add(((long) bits << 32) | bits);
+            ordinary.add("key" + bits);
+        }
+
+        System.out.println("== flooding: " + n + " keys, put + get ==");
+        for (int round = 0; round < 2; round++) {
+            System.out.printf("colliding strings  linear %6d ms  resistant %4d ms%n",
+                    timeLinear(strings), timeResistant(strings));
+            System.out.printf("colliding longs    linear %6d ms  resistant %4d ms%n",
+                    timeLinear(longs), timeResistant(longs));
+            System.out.printf("ordinary strings   linear %6d ms  resistant %4d ms%n",
+                    timeLinear(ordinary), timeResistant(ordinary));
+        }
+    }
+
+    /**
+     * Times putting and then getting every key in a LinearProbingHashMap.
+     *
+     * @param keys the keys
+     * @param <K>  the type of the keys
+     * @return the elapsed milliseconds
+     */
+    private static <K> long timeLinear(List<K> keys) {
+        long start = System.nanoTime();
+        LinearProbingHashMap<K, String> map = new LinearProbingHashMap<>();
+        for (K key : keys) {
+            map.put(key, VALUE);
+        }
+        for (K key : keys) {
+            map.get(key);
+        }
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    /**
+     * Times putting and then getting every key in a
+     * FloodResistantLinearProbingHashMap.
+     *
+     * @param keys the keys
+     * @param <K>  the type of the keys
+     * @return the elapsed milliseconds
+     */
+    private static <K> long timeResistant(List<K> keys) {
+        long start = System.nanoTime();
+        FloodResistantLinearProbingHashMap<K, String> map =
+                new FloodResistantLinearProbingHashMap<>();
+        for (K key : keys) {
+            map.put(key, VALUE);
+        }
+        for (K key : keys) {
+            map.get(key);
+        }
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    /**
+     * Computes the probe length histogram of a LinearProbingHashMap table.
+     *
+     * @param table the table to inspect
+     * @return index d holds the number of entries d probes from home
+     */
+    private static int[] histogram(LinearProbingMapEntry<Integer, String>[] table) {
+        int[] histogram = new int[table.length];
+        int max = 0;
+        for (int i = 0; i < table.length; i++) {
+            if (table[i] != null && !table[i].isRemoved()) {
+                int home = Math.abs(table[i].getKey().hashCode() % table.length);
+                int distance = Math.floorMod(i - home, table.length);
+                histogram[distance]++;
+                max = Math.max(max, distance);
+            }
+        }
+        return Arrays.copyOf(histogram, max + 1);
+    }
+
+    /**
+     * Prints the mean, max and first buckets of a probe length histogram.
+     *
+     * @param name      the name of the map
+     * @param histogram the histogram to print
+     * @param millis    how long the puts took
+     */
+    private static void printHistogram(String name, int[] histogram, long millis) {
+        long total = 0;
+        long count = 0;
+        for (int d = 0; d < histogram.length; d++) {
+            total += (long) d * histogram[d];
+            count += histogram[d];
+        }
+        StringBuilder buckets = new StringBuilder();
+        for (int d = 0; d < Math.min(8, histogram.length); d++) {
+            buckets.append(' ').append(histogram[d]);
+        }
+        System.out.printf("%-32s mean %6.2f max %6d %5d ms |%s%n", name,
+                (double) total / count, histogram.length - 1, millis, buckets);
+    }
+
+    /**
+     * Prints the bytes allocated and time taken since the given marks.
+     *
+     * @param name   the name of the map being measured
+     * @param before the allocated byte count at the start
+     * @param start  the nanoTime at the start
+     */
+    private static void report(String name, long before, long start) {
+        long bytes = allocatedBytes() - before;
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.printf("%-28s %8.1f MB %6d ms%n", name,
+                bytes / (1024.0 * 1024.0), millis);
+    }
+
+    /**
+     * Returns the number of bytes the current thread has allocated so far.
+     *
+     * @return the allocated byte count, or 0 if the JVM does not support it
+     */
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean)
+                    .getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,380 @@
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A LinearProbingHashMap that spreads the cost of growing over many
+ * operations.
+ *
+ * When a put would go over MAX_LOAD_FACTOR, a new table of length
+ * 2 * old length + 1 is allocated but nothing is copied yet. Every later
+ * put, get, remove and containsKey moves up to MIGRATION_STEP slots from the
+ * old table into the new one. Until the old table is drained, lookups check
+ * the new table first and then the old one. A migrated slot in the old table
+ * is replaced by a removed marker so the probe runs that pass through it
+ * stay intact.
+ *
+ * A new table has room for about as many puts as the old table had slots,
+ * and each put migrates several slots, so the old table is always drained
+ * before the new one fills up.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ * @userid pkutz3
+ * @GTID 903637824
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class IncrementalLinearProbingHashMap<K, V> {
+
+    /**
+     * The initial capacity of the map when created with the default
+     * constructor.
+     */
+    public static final int INITIAL_CAPACITY = LinearProbingHashMap.INITIAL_CAPACITY;
+
+    /**
+     * The max load factor of the map.
+     */
+    public static final double MAX_LOAD_FACTOR = LinearProbingHashMap.MAX_LOAD_FACTOR;
+
+    /**
+     * The number of old-table slots migrated by each operation.
+     */
+    public static final int MIGRATION_STEP = 16;
+
+    private final LinearProbingMapEntry<K, V> moved;
+    private LinearProbingMapEntry<K, V>[] table;
+    private LinearProbingMapEntry<K, V>[] oldTable;
+    private int migrateIndex;
+    private int size;
+
+    /**
+     * Constructs a new IncrementalLinearProbingHashMap with a capacity of
+     * INITIAL_CAPACITY.
+     */
+    public IncrementalLinearProbingHashMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs a new IncrementalLinearProbingHashMap.
+     *
+     * @param initialCapacity the initial capacity of the backing table
+     */
+    public IncrementalLinearProbingHashMap(int initialCapacity) {
+        table = newTable(initialCapacity);
+        moved = new LinearProbingMapEntry<>(null, null);
+        moved.setRemoved(true);
+    }
+
+    /**
+     * Adds the given key-value pair to the map. If an entry in the map
+     * already has this key, replace the entry's value with the new one.
+     *
+     * If the put would go over MAX_LOAD_FACTOR, a new table of length
+     * 2 * old length + 1 is started and filled in over later operations.
+     *
+     * @param key   the key to add
+     * @param value the value to add
+     * @return null if the key was not already in the map. If it was in the
+     * map, return the old value associated with it
+     * @throws java.lang.IllegalArgumentException if key or value is null
+     */
+    public V put(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key is null.");
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("The value is null.");
+        }
+
+        if ((double) (size + 1) / (double) table.length > MAX_LOAD_FACTOR) {
+            startResize(2 * table.length + 1);
+        }
+        migrateStep();
+
+        LinearProbingMapEntry<K, V> entry = find(key);
+        if (entry != null) {
+            V temp = entry.getValue();
+            entry.setValue(value);
+            return temp;
+        }
+
+        insert(table, new LinearProbingMapEntry<>(key, value));
+        size++;
+        return null;
+    }
+
+    /**
+     * Removes the entry with a matching key from map by marking the entry as
+     * removed.
+     *
+     * @param key the key to remove
+     * @return the value previously associated with the key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException   if the key is not in the map
+     */
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key is null.");
+        }
+        migrateStep();
+
+        LinearProbingMapEntry<K, V> entry = find(key);
+        if (entry == null) {
+            throw new NoSuchElementException("The key is not in the map.");
+        }
+        entry.setRemoved(true);
+        size--;
+        return entry.getValue();
+    }
+
+    /**
+     * Gets the value associated with the given key.
+     *
+     * @param key the key to search for in the map
+     * @return the value associated with the given key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException   if the key is not in the map
+     */
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key is null.");
+        }
+        migrateStep();
+
+        LinearProbingMapEntry<K, V> entry = find(key);
+        if (entry == null) {
+            throw new NoSuchElementException("The key is not in the map.");
+        }
+        return entry.getValue();
+    }
+
+    /**
+     * Returns whether or not the key is in the map.
+     *
+     * @param key the key to search for in the map
+     * @return true if the key is contained within the map, false otherwise
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    public boolean containsKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key is null.");
+        }
+        migrateStep();
+        return find(key) != null;
+    }
+
+    /**
+     * Private helper that finds the live entry for a key, looking in the new
+     * table first and then in the table being drained.
+     *
+     * @param key the key to search for
+     * @return the entry holding the key, or null if the key is absent
+     */
+    private LinearProbingMapEntry<K, V> find(K key) {
+        LinearProbingMapEntry<K, V> entry = find(table, key);
+        if (entry == null && oldTable != null) {
+            entry = find(oldTable, key);
+        }
+        return entry;
+    }
+
+    /**
+     * Private helper that probes one table for a live entry with the key.
+     *
+     * @param tab the table to search
+     * @param key the key to search for
+     * @return the entry holding the key, or null if it is not in tab
+     */
+    private static <K, V> LinearProbingMapEntry<K, V> find(
+            LinearProbingMapEntry<K, V>[] tab, K key) {
+        int i = Math.abs(key.hashCode() % tab.length);
+        for (int probes = 0; probes < tab.length && tab[i] != null; probes++) {
+            if (!tab[i].isRemoved() && tab[i].getKey().equals(key)) {
+                return tab[i];
+            }
+            i = (i + 1) % tab.length;
+        }
+        return null;
+    }
+
+    /**
+     * Private helper that places an entry whose key is known to be absent in
+     * the first empty or removed slot of its probe run.
+     *
+     * @param tab   the table to insert into
+     * @param entry the entry to insert
+     */
+    private static <K, V> void insert(LinearProbingMapEntry<K, V>[] tab,
+                                      LinearProbingMapEntry<K, V> entry) {
+        int i = Math.abs(entry.getKey().hashCode() % tab.length);
+        while (tab[i] != null && !tab[i].isRemoved()) {
+            i = (i + 1) % tab.length;
+        }
+        tab[i] = entry;
+    }
+
+    /**
+     * Private helper that makes table a fresh array of the given length and
+     * keeps the current contents around to be migrated. Any migration still
+     * in progress is finished first.
+     *
+     * @param length the length of the new table
+     */
+    private void startResize(int length) {
+        finishResize();
+        oldTable = table;
+        table = newTable(length);
+        migrateIndex = 0;
+    }
+
+    /**
+     * Private helper that moves up to MIGRATION_STEP old-table slots into the
+     * new table.
+     */
+    private void migrateStep() {
+        if (oldTable == null) {
+            return;
+        }
+        int end = Math.min(migrateIndex + MIGRATION_STEP, oldTable.length);
+        for (; migrateIndex < end; migrateIndex++) {
+            LinearProbingMapEntry<K, V> entry = oldTable[migrateIndex];
+            if (entry != null) {
+                if (!entry.isRemoved()) {
+                    insert(table, entry);
+                }
+                oldTable[migrateIndex] = moved;
+            }
+        }
+        if (migrateIndex == oldTable.length) {
+            oldTable = null;
+        }
+    }
+
+    /**
+     * Private helper that drains whatever is left of the old table.
+     */
+    private void finishResize() {
+        while (oldTable != null) {
+            migrateStep();
+        }
+    }
+
+    /**
+     * Returns a Set of the keys contained in this map.
+     *
+     * @return the set of keys in this map
+     */
+    public Set<K> keySet() {
+        Set<K> keys = new HashSet<>(size);
+        addLive(table, keys, null);
+        if (oldTable != null) {
+            addLive(oldTable, keys, null);
+        }
+        return keys;
+    }
+
+    /**
+     * Returns a List of the values contained in this map. Values still in the
+     * table being drained come after the rest.
+     *
+     * @return list of values in this map
+     */
+    public List<V> values() {
+        List<V> values = new ArrayList<>(size);
+        addLive(table, null, values);
+        if (oldTable != null) {
+            addLive(oldTable, null, values);
+        }
+        return values;
+    }
+
+    /**
+     * Private helper that collects the live keys or values of a table.
+     *
+     * @param tab    the table to walk
+     * @param keys   where to put keys, or null
+     * @param values where to put values, or null
+     */
+    private static <K, V> void addLive(LinearProbingMapEntry<K, V>[] tab,
+                                       Set<K> keys, List<V> values) {
+        for (LinearProbingMapEntry<K, V> entry : tab) {
+            if (entry != null && !entry.isRemoved()) {
+                if (keys != null) {
+                    keys.add(entry.getKey());
+                }
+                if (values != null) {
+                    values.add(entry.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Resize the backing table to length all at once, finishing any
+     * migration in progress first.
+     *
+     * @param length new length of the backing table
+     * @throws java.lang.IllegalArgumentException if length is less than the
+     *                                            number of items in the map
+     */
+    public void resizeBackingTable(int length) {
+        if (length < size) {
+            throw new IllegalArgumentException("The length is less than the items in hash map.");
+        }
+        startResize(length);
+        finishResize();
+    }
+
+    /**
+     * Clears the map, dropping any migration in progress.
+     */
+    public void clear() {
+        table = newTable(INITIAL_CAPACITY);
+        oldTable = null;
+        size = 0;
+    }
+
+    /**
+     * Returns whether an old table is still being drained.
+     *
+     * @return true if a resize is in progress
+     */
+    public boolean isResizing() {
+        return oldTable != null;
+    }
+
+    /**
+     * Private helper that allocates an empty table.
+     *
+     * @param length the length of the table
+     * @return the new table
+     */
+    private LinearProbingMapEntry<K, V>[] newTable(int length) {
+        return (LinearProbingMapEntry<K, V>[]) new LinearProbingMapEntry[length];
+    }
+
+    /**
+     * Returns the newest table of the map. While isResizing() is true, some
+     * entries are still in the old table.
+     *
+     * @return the table of the map
+     */
+    public LinearProbingMapEntry<K, V>[] getTable() {
+        return table;
+    }
+
+    /**
+     * Returns the size of the map.
+     *
+     * @return the size of the map
+     */
+    public int size() {
+        return size;
+    }
+}
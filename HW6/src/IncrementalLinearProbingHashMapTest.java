@@ -0,0 +1,136 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for IncrementalLinearProbingHashMap.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ */
+public class IncrementalLinearProbingHashMapTest {
+
+    private static final int TIMEOUT = 500;
+    private IncrementalLinearProbingHashMap<Integer, String> map;
+
+    @Before
+    public void setUp() {
+        map = new IncrementalLinearProbingHashMap<>();
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testResizeIsSpreadOut() {
+        // (8 + 1) / 13 = 0.69 > 0.67, so the ninth put starts a resize.
+        for (int i = 0; i < 8; i++) {
+            map.put(i, "v" + i);
+        }
+        assertFalse(map.isResizing());
+        map.put(8, "v8");
+        assertEquals(27, map.getTable().length);
+
+        // The 13 old slots fit in one migration step.
+        assertFalse(map.isResizing());
+
+        IncrementalLinearProbingHashMap<Integer, String> big =
+                new IncrementalLinearProbingHashMap<>(1000);
+        for (int i = 0; i < 670; i++) {
+            big.put(i, "v" + i);
+        }
+        big.put(670, "v670");
+        assertTrue(big.isResizing());
+        assertEquals(2001, big.getTable().length);
+
+        // Every key stays reachable while the old table drains.
+        for (int i = 0; i <= 670; i++) {
+            assertEquals("v" + i, big.get(i));
+        }
+        assertFalse(big.isResizing());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testUpdatesDuringMigration() {
+        IncrementalLinearProbingHashMap<Integer, String> big =
+                new IncrementalLinearProbingHashMap<>(1000);
+        for (int i = 0; i < 671; i++) {
+            big.put(i, "v" + i);
+        }
+        assertTrue(big.isResizing());
+
+        assertEquals("v600", big.put(600, "new"));
+        assertEquals("v650", big.remove(650));
+        assertFalse(big.containsKey(650));
+        assertNull(big.put(650, "back"));
+        assertEquals(671, big.size());
+        assertEquals("new", big.get(600));
+        assertEquals("back", big.get(650));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testMatchesHashMap() {
+        Map<Integer, String> expected = new HashMap<>();
+        Random random = new Random(1332);
+        for (int i = 0; i < 50000; i++) {
+            int key = random.nextInt(20000);
+            if (random.nextInt(4) == 0 && expected.containsKey(key)) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                String value = "v" + i;
+                assertEquals(expected.put(key, value), map.put(key, value));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected.keySet(), map.keySet());
+        assertEquals(new HashSet<>(expected.values()), new HashSet<>(map.values()));
+        for (Map.Entry<Integer, String> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testResizeBackingTableIsImmediate() {
+        IncrementalLinearProbingHashMap<Integer, String> big =
+                new IncrementalLinearProbingHashMap<>(1000);
+        for (int i = 0; i < 671; i++) {
+            big.put(i, "v" + i);
+        }
+        big.resizeBackingTable(5000);
+        assertFalse(big.isResizing());
+        assertEquals(5000, big.getTable().length);
+        assertEquals(671, big.values().size());
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testResizeTooSmall() {
+        map.put(1, "A");
+        map.put(2, "B");
+        map.resizeBackingTable(1);
+    }
+
+    @Test(timeout = TIMEOUT, expected = NoSuchElementException.class)
+    public void testGetMissing() {
+        map.put(1, "A");
+        map.get(2);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testClear() {
+        for (int i = 0; i < 100; i++) {
+            map.put(i, "v");
+        }
+        map.clear();
+        assertEquals(0, map.size());
+        assertFalse(map.isResizing());
+        assertEquals(IncrementalLinearProbingHashMap.INITIAL_CAPACITY, map.getTable().length);
+    }
+}
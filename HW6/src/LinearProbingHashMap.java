@@ -1,5 +1,11 @@
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Set;
@@ -105,11 +111,24 @@ public class LinearProbingHashMap<K, V> {
             resizeBackingTable(2 * table.length + 1);
         }
 
+        return putAt(key, value, Math.abs(key.hashCode() % table.length));
+    }
+
+    /**
+     * Private helper that does the probing part of put once the table is big
+     * enough and the home index of the key is known.
+     *
+     * @param key   the key to add
+     * @param value the value to add
+     * @param i     the index the key hashes to in the current table
+     * @return null if the key was not already in the map, otherwise the old
+     * value associated with it
+     */
+    private V putAt(K key, V value, int i) {
         LinearProbingMapEntry<K, V> entry = new LinearProbingMapEntry<>(key, value);
         LinearProbingMapEntry<K, V> eTemp;
         V temp;
 
-        int i = Math.abs(key.hashCode() % table.length);
         int numProbes = 0;
         int delI = -1;
 
@@ -210,7 +229,51 @@ public class LinearProbingHashMap<K, V> {
             throw new IllegalArgumentException("The key is null.");
         }
 
-        int hashNum = Math.abs(key.hashCode() % table.length);
+        return getAt(key, Math.abs(key.hashCode() % table.length));
+    }
+
+    /**
+     * Private helper that does the probing part of get once the home index
+     * of the key is known.
+     *
+     * @param key     the key to search for in the map
+     * @param hashNum the index the key hashes to in the current table
+     * @return the value associated with the given key
+     * @throws java.util.NoSuchElementException if the key is not in the map
+     */
+    private V getAt(K key, int hashNum) {
+        V value = findAt(key, hashNum);
+        if (value == null) {
+            throw new NoSuchElementException("The key is not in the map.");
+        }
+        return value;
+    }
+
+    /**
+     * Gets the value associated with the given key, or null if the key is
+     * not in the map. For callers such as LinearProbingHashMapCache where a
+     * miss is routine and should not cost an exception.
+     *
+     * @param key the key to search for in the map
+     * @return the value associated with the given key, or null
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    V getOrNull(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key is null.");
+        }
+
+        return findAt(key, Math.abs(key.hashCode() % table.length));
+    }
+
+    /**
+     * Private helper that probes for a live entry with the key.
+     *
+     * @param key     the key to search for in the map
+     * @param hashNum the index the key hashes to in the current table
+     * @return the value associated with the given key, or null if absent
+     */
+    private V findAt(K key, int hashNum) {
         while (table[hashNum] != null) {
             if (table[hashNum].getKey().equals(key)) {
                 if (!table[hashNum].isRemoved()) {
@@ -219,7 +282,120 @@ public class LinearProbingHashMap<K, V> {
             }
             hashNum = (hashNum + 1) % table.length;
         }
-        throw new NoSuchElementException("The key is not in the map.");
+        return null;
+    }
+
+    /**
+     * Adds every key-value pair in the two arrays to the map, as if put were
+     * called for each index in order. A key that appears more than once ends
+     * up with its last value.
+     * <p>
+     * The table is grown once, up front, to a length that keeps the map
+     * under MAX_LOAD_FACTOR even if every key is new. Then every home index
+     * is computed and the pairs are inserted grouped by where their home
+     * index falls in the table, so the probes walk the table from front to
+     * back instead of jumping around it.
+     *
+     * @param keys   the keys to add
+     * @param values the values to add, values[i] goes with keys[i]
+     * @throws java.lang.IllegalArgumentException if either array or any
+     *                                            element is null, or the
+     *                                            arrays differ in length
+     */
+    public void putAll(K[] keys, V[] values) {
+        if (keys == null || values == null) {
+            throw new IllegalArgumentException("The keys or values are null.");
+        }
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("There must be one value per key.");
+        }
+        for (int j = 0; j < keys.length; j++) {
+            if (keys[j] == null) {
+                throw new IllegalArgumentException("The key is null.");
+            }
+            if (values[j] == null) {
+                throw new IllegalArgumentException("The value is null.");
+            }
+        }
+
+        int length = table.length;
+        while ((double) (size + keys.length) / (double) length > MAX_LOAD_FACTOR) {
+            length = 2 * length + 1;
+        }
+        if (length != table.length) {
+            resizeBackingTable(length);
+        }
+
+        int[] homes = new int[keys.length];
+        for (int j : homeOrder(keys, homes)) {
+            putAt(keys[j], values[j], homes[j]);
+        }
+    }
+
+    /**
+     * Gets the values associated with each of the given keys. The lookups
+     * are grouped by home index like in putAll, but the returned list is in
+     * the same order as keys.
+     *
+     * @param keys the keys to search for in the map
+     * @return a list where index i holds the value associated with keys[i]
+     * @throws java.lang.IllegalArgumentException if keys or any key is null
+     * @throws java.util.NoSuchElementException   if any key is not in the map
+     */
+    public List<V> getAll(K[] keys) {
+        if (keys == null) {
+            throw new IllegalArgumentException("The keys are null.");
+        }
+        for (K key : keys) {
+            if (key == null) {
+                throw new IllegalArgumentException("The key is null.");
+            }
+        }
+
+        V[] found = (V[]) new Object[keys.length];
+        int[] homes = new int[keys.length];
+        for (int j : homeOrder(keys, homes)) {
+            found[j] = getAt(keys[j], homes[j]);
+        }
+        return Arrays.asList(found);
+    }
+
+    /**
+     * Private helper that hashes a batch of keys against the current table
+     * and orders them by home index with a counting sort over blocks of the
+     * table. Keys in the same block keep their batch order.
+     *
+     * @param keys  the batch of keys, none null
+     * @param homes filled in with the home index of each key
+     * @return the positions of the keys in the batch, in block order
+     */
+    private int[] homeOrder(K[] keys, int[] homes) {
+        int blocks = Math.min(table.length, Math.max(1, keys.length));
+        int[] starts = new int[blocks + 1];
+        for (int j = 0; j < keys.length; j++) {
+            homes[j] = Math.abs(keys[j].hashCode() % table.length);
+            starts[block(homes[j], blocks) + 1]++;
+        }
+        for (int b = 0; b < blocks; b++) {
+            starts[b + 1] += starts[b];
+        }
+        int[] order = new int[keys.length];
+        for (int j = 0; j < keys.length; j++) {
+            order[starts[block(homes[j], blocks)]++] = j;
+        }
+        return order;
+    }
+
+    /**
+     * Private helper that maps a home index to one of blocks equal slices of
+     * the table.
+     *
+     * @param home   the home index
+     * @param blocks the number of blocks
+     * @return the block the home index falls in
+     */
+    private int block(int home, int blocks) {
+        return (int) ((long) home * blocks / table.length);
     }
 
     /**
@@ -262,6 +438,9 @@ public class LinearProbingHashMap<K, V> {
      * Returns a Set view of the keys contained in this map.
      * <p>
      * Use java.util.HashSet.
+     * <p>
+     * This copies the keys. Use keyView or cursor to walk the map without
+     * allocating.
      *
      * @return the set of keys in this map
      */
@@ -299,6 +478,244 @@ public class LinearProbingHashMap<K, V> {
         return values;
     }
 
+    /**
+     * Returns a live Set view of the keys in this map.
+     * <p>
+     * Unlike keySet, nothing is copied: the view is a small object that
+     * reads the backing table directly and always reflects the current
+     * contents of the map. Iterators walk the table in order of increasing
+     * index, skip removed entries, and throw a
+     * ConcurrentModificationException if the map is changed other than
+     * through the iterator's own remove.
+     * <p>
+     * The map has no modification counter, since the template allows no new
+     * instance variables, so iterators notice a change by the table being
+     * replaced or the size moving. Like java.util's fail-fast iterators this
+     * is best effort: a remove and an add between two calls to next go
+     * unnoticed.
+     *
+     * @return a live view of the keys in this map
+     */
+    public Set<K> keyView() {
+        return new AbstractSet<K>() {
+            @Override
+            public Iterator<K> iterator() {
+                return new TableIterator<K>() {
+                    @Override
+                    K extract(LinearProbingMapEntry<K, V> entry) {
+                        return entry.getKey();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return o != null && containsKey((K) o);
+            }
+        };
+    }
+
+    /**
+     * Returns a live Collection view of the values in this map, in order of
+     * increasing index.
+     * <p>
+     * Like keyView, nothing is copied and iterators fail fast on a best
+     * effort basis.
+     *
+     * @return a live view of the values in this map
+     */
+    public Collection<V> valueView() {
+        return new AbstractCollection<V>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new TableIterator<V>() {
+                    @Override
+                    V extract(LinearProbingMapEntry<K, V> entry) {
+                        return entry.getValue();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Returns a new Cursor positioned before the first entry. A cursor can be
+     * reset and reused, so walking the map repeatedly allocates nothing after
+     * the first call.
+     *
+     * @return a cursor over this map
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Iterator over the live entries of the table, shared by the views.
+     *
+     * @param <E> the type of element the iterator returns
+     */
+    private abstract class TableIterator<E> implements Iterator<E> {
+        private int next = -1;
+        private int last = -1;
+        private LinearProbingMapEntry<K, V>[] expectedTable = table;
+        private int expectedSize = size;
+
+        /**
+         * Creates an iterator positioned before the first live entry.
+         */
+        TableIterator() {
+            findNext();
+        }
+
+        /**
+         * Returns the part of the entry this iterator produces.
+         *
+         * @param entry a live entry
+         * @return the element for that entry
+         */
+        abstract E extract(LinearProbingMapEntry<K, V> entry);
+
+        /**
+         * Moves next to the following live entry, or to table.length if there
+         * is none.
+         */
+        private void findNext() {
+            do {
+                next++;
+            } while (next < table.length
+                    && (table[next] == null || table[next].isRemoved()));
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < table.length;
+        }
+
+        @Override
+        public E next() {
+            if (table != expectedTable || size != expectedSize) {
+                throw new ConcurrentModificationException("The map was modified.");
+            }
+            if (next >= table.length) {
+                throw new NoSuchElementException("There are no more entries.");
+            }
+            last = next;
+            findNext();
+            return extract(table[last]);
+        }
+
+        @Override
+        public void remove() {
+            if (last == -1) {
+                throw new IllegalStateException("next has not been called.");
+            }
+            if (table != expectedTable || size != expectedSize) {
+                throw new ConcurrentModificationException("The map was modified.");
+            }
+            table[last].setRemoved(true);
+            size--;
+            expectedSize = size;
+            last = -1;
+        }
+    }
+
+    /**
+     * A reusable cursor over the live entries of the map, in order of
+     * increasing index.
+     * <p>
+     * Call advance to move to the next entry, then key and value to read it.
+     * Adding or removing a key or resizing the table makes the next call to
+     * advance throw a ConcurrentModificationException, on the same best
+     * effort basis as the keyView iterators; call reset to start over after
+     * changing the map.
+     */
+    public final class Cursor {
+        private int index;
+        private LinearProbingMapEntry<K, V>[] expectedTable;
+        private int expectedSize;
+
+        /**
+         * Creates a cursor positioned before the first entry.
+         */
+        private Cursor() {
+            reset();
+        }
+
+        /**
+         * Moves the cursor to the next live entry.
+         *
+         * @return true if the cursor is on an entry, false if there are no
+         * more entries
+         * @throws java.util.ConcurrentModificationException if the map was
+         *                                                   changed since the
+         *                                                   cursor was reset
+         */
+        public boolean advance() {
+            if (table != expectedTable || size != expectedSize) {
+                throw new ConcurrentModificationException("The map was modified.");
+            }
+            do {
+                index++;
+            } while (index < table.length
+                    && (table[index] == null || table[index].isRemoved()));
+            return index < table.length;
+        }
+
+        /**
+         * Returns the key of the current entry.
+         *
+         * @return the current key
+         * @throws java.lang.IllegalStateException if the cursor is not on an
+         *                                         entry
+         */
+        public K key() {
+            return current().getKey();
+        }
+
+        /**
+         * Returns the value of the current entry.
+         *
+         * @return the current value
+         * @throws java.lang.IllegalStateException if the cursor is not on an
+         *                                         entry
+         */
+        public V value() {
+            return current().getValue();
+        }
+
+        /**
+         * Moves the cursor back before the first entry so it can be reused.
+         */
+        public void reset() {
+            index = -1;
+            expectedTable = table;
+            expectedSize = size;
+        }
+
+        /**
+         * Private helper that returns the entry the cursor is on.
+         *
+         * @return the current entry
+         */
+        private LinearProbingMapEntry<K, V> current() {
+            if (index < 0 || index >= table.length || table != expectedTable
+                    || size != expectedSize) {
+                throw new IllegalStateException("The cursor is not on an entry.");
+            }
+            return table[index];
+        }
+    }
+
     /**
      * Resize the backing table to length.
      * <p>
@@ -0,0 +1,109 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for LinearProbingHashMap.putAll and LinearProbingHashMap.getAll.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ */
+public class LinearProbingHashMapBatchTest {
+
+    private static final int TIMEOUT = 500;
+    private LinearProbingHashMap<Integer, String> map;
+
+    @Before
+    public void setUp() {
+        map = new LinearProbingHashMap<>();
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testPutAllResizesOnce() {
+        Integer[] keys = new Integer[100];
+        String[] values = new String[100];
+        for (int i = 0; i < 100; i++) {
+            keys[i] = i;
+            values[i] = "v" + i;
+        }
+
+        // 13 -> 27 -> 55 -> 111 -> 223, the first length that fits 100 keys
+        map.putAll(keys, values);
+        assertEquals(100, map.size());
+        assertEquals(223, map.getTable().length);
+        for (int i = 0; i < 100; i++) {
+            assertEquals("v" + i, map.get(i));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testPutAllMatchesPutLoop() {
+        Random random = new Random(1332);
+        Integer[] keys = new Integer[5000];
+        String[] values = new String[5000];
+        Map<Integer, String> expected = new HashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextInt(3000) - 1500;
+            values[i] = "v" + i;
+            expected.put(keys[i], values[i]);
+        }
+        map.put(7, "before");
+        map.remove(7);
+        map.put(8, "before");
+        expected.putIfAbsent(8, "before");
+
+        map.putAll(keys, values);
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected.keySet(), map.keySet());
+        for (Map.Entry<Integer, String> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testGetAllKeepsRequestOrder() {
+        for (int i = 0; i < 50; i++) {
+            map.put(i, "v" + i);
+        }
+        List<String> found = map.getAll(new Integer[] {49, 0, 13, 26, 13});
+        assertEquals(Arrays.asList("v49", "v0", "v13", "v26", "v13"), found);
+    }
+
+    @Test(timeout = TIMEOUT, expected = NoSuchElementException.class)
+    public void testGetAllMissingKey() {
+        map.put(1, "A");
+        map.getAll(new Integer[] {1, 2});
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testPutAllRejectsNullsBeforeChanging() {
+        try {
+            map.putAll(new Integer[] {1, 2, null}, new String[] {"A", "B", "C"});
+        } catch (IllegalArgumentException e) {
+            assertEquals(0, map.size());
+            return;
+        }
+        throw new AssertionError("Expected an IllegalArgumentException");
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testPutAllLengthMismatch() {
+        map.putAll(new Integer[] {1, 2}, new String[] {"A"});
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testEmptyBatches() {
+        map.putAll(new Integer[0], new String[0]);
+        assertEquals(0, map.size());
+        assertEquals(LinearProbingHashMap.INITIAL_CAPACITY, map.getTable().length);
+        assertEquals(0, map.getAll(new Integer[0]).size());
+    }
+}
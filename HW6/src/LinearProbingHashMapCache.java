@@ -0,0 +1,430 @@
+import java.util.NoSuchElementException;
+
+/**
+ * A bounded cache indexed by a LinearProbingHashMap.
+ *
+ * Every cached entry is a node in a doubly linked recency list, with the
+ * most recently used entry at the head. The index maps each key to its
+ * node, so a hit finds the node in one probe sequence and moves it to the
+ * head in O(1). When the cache is full, a new key evicts the tail, which is
+ * the least recently used entry.
+ *
+ * With the admission filter on, the cache also keeps a TinyLFU frequency
+ * sketch of recently seen keys, including keys that missed. When the cache
+ * is full, a new key is only admitted if the sketch has seen it more often
+ * than the entry it would evict. A key that shows up once, like one from a
+ * large scan, is turned away and does not push out a popular entry.
+ *
+ * The index is sized so it never resizes. Evictions leave removed entries
+ * behind in it, so it is rebuilt at the same length after enough evictions
+ * to keep empty slots in the table.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ * @userid pkutz3
+ * @GTID 903637824
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class LinearProbingHashMapCache<K, V> {
+
+    private final LinearProbingHashMap<K, Node<K, V>> index;
+    private final int maximumSize;
+    private final int indexLength;
+    private final int purgeThreshold;
+    private final FrequencySketch sketch;
+
+    private Node<K, V> head;
+    private Node<K, V> tail;
+    private int removals;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long rejections;
+
+    /**
+     * Constructs a plain LRU cache.
+     *
+     * @param maximumSize the most entries the cache holds
+     * @throws java.lang.IllegalArgumentException if maximumSize is not
+     *                                            positive
+     */
+    public LinearProbingHashMapCache(int maximumSize) {
+        this(maximumSize, false);
+    }
+
+    /**
+     * Constructs a cache.
+     *
+     * @param maximumSize     the most entries the cache holds
+     * @param admissionFilter whether to use the TinyLFU admission filter
+     * @throws java.lang.IllegalArgumentException if maximumSize is not
+     *                                            positive
+     */
+    public LinearProbingHashMapCache(int maximumSize, boolean admissionFilter) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("The maximum size must be positive.");
+        }
+        this.maximumSize = maximumSize;
+        indexLength = (int) Math.ceil(maximumSize / LinearProbingHashMap.MAX_LOAD_FACTOR) + 1;
+        index = new LinearProbingHashMap<>(indexLength);
+        purgeThreshold = Math.max(1, (indexLength - maximumSize) / 2);
+        sketch = admissionFilter ? new FrequencySketch(maximumSize) : null;
+    }
+
+    /**
+     * Gets the value cached for the key and marks it as most recently used.
+     * Counts a hit or a miss.
+     *
+     * @param key the key to look up
+     * @return the cached value, or null if the key is not cached
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key is null.");
+        }
+        if (sketch != null) {
+            sketch.increment(key);
+        }
+
+        Node<K, V> node = index.getOrNull(key);
+        if (node == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        moveToHead(node);
+        return node.value;
+    }
+
+    /**
+     * Caches the value for the key and marks it as most recently used. If the
+     * key is new and the cache is full, the least recently used entry is
+     * evicted, or with the admission filter on, the new key may be rejected
+     * instead.
+     *
+     * @param key   the key to add
+     * @param value the value to add
+     * @return the value previously cached for the key, or null if there was
+     * none
+     * @throws java.lang.IllegalArgumentException if key or value is null
+     */
+    public V put(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key is null.");
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("The value is null.");
+        }
+        if (sketch != null) {
+            sketch.increment(key);
+        }
+
+        Node<K, V> node = index.getOrNull(key);
+        if (node != null) {
+            V temp = node.value;
+            node.value = value;
+            moveToHead(node);
+            return temp;
+        }
+
+        if (index.size() == maximumSize) {
+            if (sketch != null && sketch.frequency(key) <= sketch.frequency(tail.key)) {
+                rejections++;
+                return null;
+            }
+            Node<K, V> victim = tail;
+            unlink(victim);
+            removeFromIndex(victim.key);
+            evictions++;
+        }
+
+        node = new Node<>(key, value);
+        index.put(key, node);
+        linkAtHead(node);
+        return null;
+    }
+
+    /**
+     * Removes the key from the cache.
+     *
+     * @param key the key to remove
+     * @return the value that was cached for the key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException   if the key is not cached
+     */
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key is null.");
+        }
+        Node<K, V> node = index.getOrNull(key);
+        if (node == null) {
+            throw new NoSuchElementException("The key is not in the cache.");
+        }
+        unlink(node);
+        removeFromIndex(key);
+        return node.value;
+    }
+
+    /**
+     * Returns whether the key is cached, without changing its recency or the
+     * counters.
+     *
+     * @param key the key to search for
+     * @return true if the key is cached, false otherwise
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    public boolean containsKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key is null.");
+        }
+        return index.getOrNull(key) != null;
+    }
+
+    /**
+     * Empties the cache. The counters and the admission filter's history are
+     * kept.
+     */
+    public void clear() {
+        index.clear();
+        index.resizeBackingTable(indexLength);
+        head = null;
+        tail = null;
+        removals = 0;
+    }
+
+    /**
+     * Private helper that removes a key from the index and rebuilds the index
+     * once enough removed entries have built up in it.
+     *
+     * @param key the key to remove
+     */
+    private void removeFromIndex(K key) {
+        index.remove(key);
+        if (++removals >= purgeThreshold) {
+            index.resizeBackingTable(indexLength);
+            removals = 0;
+        }
+    }
+
+    /**
+     * Private helper that moves a node to the head of the recency list.
+     *
+     * @param node the node to move
+     */
+    private void moveToHead(Node<K, V> node) {
+        if (node != head) {
+            unlink(node);
+            linkAtHead(node);
+        }
+    }
+
+    /**
+     * Private helper that adds a node at the head of the recency list.
+     *
+     * @param node the node to add
+     */
+    private void linkAtHead(Node<K, V> node) {
+        node.previous = null;
+        node.next = head;
+        if (head == null) {
+            tail = node;
+        } else {
+            head.previous = node;
+        }
+        head = node;
+    }
+
+    /**
+     * Private helper that takes a node out of the recency list.
+     *
+     * @param node the node to remove
+     */
+    private void unlink(Node<K, V> node) {
+        if (node.previous == null) {
+            head = node.next;
+        } else {
+            node.previous.next = node.next;
+        }
+        if (node.next == null) {
+            tail = node.previous;
+        } else {
+            node.next.previous = node.previous;
+        }
+        node.previous = null;
+        node.next = null;
+    }
+
+    /**
+     * Returns the number of cached entries.
+     *
+     * @return the size of the cache
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Returns the most entries the cache holds.
+     *
+     * @return the maximum size
+     */
+    public int maximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Returns the number of calls to get that found the key.
+     *
+     * @return the hit count
+     */
+    public long hitCount() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of calls to get that did not find the key.
+     *
+     * @return the miss count
+     */
+    public long missCount() {
+        return misses;
+    }
+
+    /**
+     * Returns the fraction of calls to get that found the key.
+     *
+     * @return the hit rate, or 0 if get was never called
+     */
+    public double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    /**
+     * Returns the number of entries evicted to make room for new keys.
+     *
+     * @return the eviction count
+     */
+    public long evictionCount() {
+        return evictions;
+    }
+
+    /**
+     * Returns the number of new keys the admission filter turned away.
+     *
+     * @return the rejection count, always 0 without the filter
+     */
+    public long rejectionCount() {
+        return rejections;
+    }
+
+    /**
+     * Returns the least recently used key.
+     *
+     * For testing purposes only.
+     *
+     * @return the key at the tail of the recency list, or null if empty
+     */
+    K eldestKey() {
+        return tail == null ? null : tail.key;
+    }
+
+    /**
+     * A cached entry and its place in the recency list.
+     *
+     * @param <K> the type of the key
+     * @param <V> the type of the value
+     */
+    private static final class Node<K, V> {
+        private final K key;
+        private V value;
+        private Node<K, V> previous;
+        private Node<K, V> next;
+
+        /**
+         * Creates a node.
+         *
+         * @param key   the key
+         * @param value the value
+         */
+        Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * A count-min sketch of 4 bit counters, 16 to a long. Each key has one
+     * counter in each of 4 rows and its frequency is the smallest of them.
+     * Once the sketch has counted 10 times as many keys as the cache holds,
+     * every counter is halved so old popularity fades.
+     */
+    private static final class FrequencySketch {
+        private static final int DEPTH = 4;
+        private static final int SEED = 0x9E3779B9;
+        private static final long HALF_MASK = 0x7777777777777777L;
+
+        private final long[] table;
+        private final int mask;
+        private final int sampleSize;
+        private int additions;
+
+        /**
+         * Creates a sketch for a cache of the given size.
+         *
+         * @param maximumSize the maximum size of the cache
+         */
+        FrequencySketch(int maximumSize) {
+            int length = PowerOfTwoLinearProbingHashMap.tableSizeFor(Math.max(16, maximumSize));
+            table = new long[length];
+            mask = length - 1;
+            sampleSize = (int) Math.min(10L * maximumSize, Integer.MAX_VALUE);
+        }
+
+        /**
+         * Returns the estimated number of times key was counted.
+         *
+         * @param key the key
+         * @return the estimate, at most 15
+         */
+        int frequency(Object key) {
+            int hash = key.hashCode();
+            int min = 15;
+            for (int row = 0; row < DEPTH; row++) {
+                int h = PowerOfTwoLinearProbingHashMap.mix(hash + row * SEED);
+                int shift = (h >>> 28) << 2;
+                min = Math.min(min, (int) ((table[h & mask] >>> shift) & 15));
+            }
+            return min;
+        }
+
+        /**
+         * Counts key once, halving every counter if the sample is full.
+         *
+         * @param key the key
+         */
+        void increment(Object key) {
+            int hash = key.hashCode();
+            boolean added = false;
+            for (int row = 0; row < DEPTH; row++) {
+                int h = PowerOfTwoLinearProbingHashMap.mix(hash + row * SEED);
+                int shift = (h >>> 28) << 2;
+                int i = h & mask;
+                if (((table[i] >>> shift) & 15) != 15) {
+                    table[i] += 1L << shift;
+                    added = true;
+                }
+            }
+            if (added && ++additions == sampleSize) {
+                for (int i = 0; i < table.length; i++) {
+                    table[i] = (table[i] >>> 1) & HALF_MASK;
+                }
+                additions /= 2;
+            }
+        }
+    }
+}
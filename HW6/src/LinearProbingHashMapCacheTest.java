@@ -0,0 +1,171 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for LinearProbingHashMapCache.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ */
+public class LinearProbingHashMapCacheTest {
+
+    private static final int TIMEOUT = 2000;
+
+    private LinearProbingHashMapCache<Integer, String> cache;
+
+    @Before
+    public void setUp() {
+        cache = new LinearProbingHashMapCache<>(3);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testEvictsLeastRecentlyUsed() {
+        cache.put(1, "one");
+        cache.put(2, "two");
+        cache.put(3, "three");
+        assertEquals(Integer.valueOf(1), cache.eldestKey());
+
+        cache.put(4, "four");
+        assertEquals(3, cache.size());
+        assertFalse(cache.containsKey(1));
+        assertEquals(Integer.valueOf(2), cache.eldestKey());
+        assertEquals(1, cache.evictionCount());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testGetRefreshesRecency() {
+        cache.put(1, "one");
+        cache.put(2, "two");
+        cache.put(3, "three");
+
+        assertEquals("one", cache.get(1));
+        cache.put(4, "four");
+
+        assertTrue(cache.containsKey(1));
+        assertFalse(cache.containsKey(2));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testPutExistingKeyDoesNotEvict() {
+        cache.put(1, "one");
+        cache.put(2, "two");
+        cache.put(3, "three");
+
+        assertEquals("one", cache.put(1, "uno"));
+        assertEquals(3, cache.size());
+        assertEquals(0, cache.evictionCount());
+        assertEquals(Integer.valueOf(2), cache.eldestKey());
+        assertEquals("uno", cache.get(1));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testCounters() {
+        cache.put(1, "one");
+        cache.get(1);
+        cache.get(1);
+        assertNull(cache.get(2));
+
+        assertEquals(2, cache.hitCount());
+        assertEquals(1, cache.missCount());
+        assertEquals(2.0 / 3.0, cache.hitRate(), 1e-9);
+        assertEquals(0, cache.rejectionCount());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testRemoveAndClear() {
+        cache.put(1, "one");
+        cache.put(2, "two");
+
+        assertEquals("one", cache.remove(1));
+        assertEquals(1, cache.size());
+        assertEquals(Integer.valueOf(2), cache.eldestKey());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertNull(cache.eldestKey());
+        cache.put(5, "five");
+        assertEquals("five", cache.get(5));
+    }
+
+    @Test(timeout = TIMEOUT, expected = NoSuchElementException.class)
+    public void testRemoveMissing() {
+        cache.remove(1);
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testBadSize() {
+        new LinearProbingHashMapCache<Integer, String>(0);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testLongChurnKeepsIndexUsable() {
+        // Every put evicts, so removed entries pile up in the index unless
+        // it is rebuilt.
+        LinearProbingHashMapCache<Integer, String> churn = new LinearProbingHashMapCache<>(100);
+        for (int i = 0; i < 200_000; i++) {
+            churn.put(i, "v");
+            assertNull(churn.get(-1));
+        }
+        assertEquals(100, churn.size());
+        assertEquals(199_900, churn.evictionCount());
+        for (int i = 199_900; i < 200_000; i++) {
+            assertTrue(churn.containsKey(i));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testAdmissionFilterResistsScan() {
+        LinearProbingHashMapCache<Integer, String> lru = new LinearProbingHashMapCache<>(100);
+        LinearProbingHashMapCache<Integer, String> tiny =
+                new LinearProbingHashMapCache<>(100, true);
+        for (int round = 0; round < 5; round++) {
+            for (int key = 0; key < 50; key++) {
+                lru.put(key, "hot");
+                tiny.put(key, "hot");
+            }
+        }
+
+        // A scan of keys that are each seen once.
+        for (int key = 1000; key < 2000; key++) {
+            lru.put(key, "cold");
+            tiny.put(key, "cold");
+        }
+
+        int lruHot = 0;
+        int tinyHot = 0;
+        for (int key = 0; key < 50; key++) {
+            lruHot += lru.containsKey(key) ? 1 : 0;
+            tinyHot += tiny.containsKey(key) ? 1 : 0;
+        }
+        assertEquals(0, lruHot);
+        assertEquals(50, tinyHot);
+        assertTrue(tiny.rejectionCount() > 0);
+        assertEquals(100, tiny.size());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testAdmissionFilterAdmitsRepeatedKeys() {
+        LinearProbingHashMapCache<Integer, String> tiny = new LinearProbingHashMapCache<>(2, true);
+        tiny.put(1, "one");
+        tiny.put(2, "two");
+
+        Random random = new Random(1332);
+        int key = 100 + random.nextInt(1000);
+        for (int i = 0; i < 5; i++) {
+            tiny.get(key);
+        }
+        tiny.put(key, "new");
+
+        assertTrue(tiny.containsKey(key));
+        assertEquals(2, tiny.size());
+        assertEquals(1, tiny.evictionCount());
+    }
+}
@@ -0,0 +1,268 @@
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes a LinearProbingHashMap to a compact binary snapshot and reads it
+ * back.
+ *
+ * A snapshot is a header (magic, version, table length, entry count)
+ * followed by one record per live entry in order of increasing table index.
+ * Each record is the length-prefixed key bytes and then the length-prefixed
+ * value bytes, both produced by a SnapshotCodec. Removed entries and empty
+ * slots are not written.
+ *
+ * Reading creates the map with the table length it was saved with. The
+ * saved map was under MAX_LOAD_FACTOR at that length, so putting the
+ * entries back never triggers a resize. Both directions stream through one
+ * reusable buffer with sequential channel reads and writes.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ * @userid pkutz3
+ * @GTID 903637824
+ */
+public final class LinearProbingHashMapSnapshot {
+
+    private static final int MAGIC = 0x4C50534E;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Not instantiable.
+     */
+    private LinearProbingHashMapSnapshot() {
+    }
+
+    /**
+     * Writes a snapshot of map to the file at path, replacing the file.
+     *
+     * @param map        the map to save
+     * @param path       the file to write
+     * @param keyCodec   the codec for keys
+     * @param valueCodec the codec for values
+     * @param <K>        the type of the keys
+     * @param <V>        the type of the values
+     * @throws java.io.UncheckedIOException if the file cannot be written
+     */
+    public static <K, V> void write(LinearProbingHashMap<K, V> map, Path path,
+                                    SnapshotCodec<K> keyCodec, SnapshotCodec<V> valueCodec) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            write(map, channel, keyCodec, valueCodec);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads a snapshot from the file at path.
+     *
+     * @param path       the file to read
+     * @param keyCodec   the codec for keys
+     * @param valueCodec the codec for values
+     * @param <K>        the type of the keys
+     * @param <V>        the type of the values
+     * @return the rebuilt map
+     * @throws java.lang.IllegalArgumentException if the file is not a snapshot
+     * @throws java.io.UncheckedIOException       if the file cannot be read
+     */
+    public static <K, V> LinearProbingHashMap<K, V> read(Path path, SnapshotCodec<K> keyCodec,
+                                                         SnapshotCodec<V> valueCodec) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return read(channel, keyCodec, valueCodec);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes a snapshot of map to channel. The channel is not closed.
+     *
+     * @param map        the map to save
+     * @param channel    the channel to write to
+     * @param keyCodec   the codec for keys
+     * @param valueCodec the codec for values
+     * @param <K>        the type of the keys
+     * @param <V>        the type of the values
+     * @throws IOException if the channel cannot be written
+     * @throws java.lang.IllegalArgumentException if any argument is null
+     */
+    public static <K, V> void write(LinearProbingHashMap<K, V> map, WritableByteChannel channel,
+                                    SnapshotCodec<K> keyCodec, SnapshotCodec<V> valueCodec)
+            throws IOException {
+        if (map == null || channel == null || keyCodec == null || valueCodec == null) {
+            throw new IllegalArgumentException("The arguments cannot be null.");
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        buffer.putInt(MAGIC).putInt(VERSION)
+                .putInt(map.getTable().length).putInt(map.size());
+
+        LinearProbingHashMap<K, V>.Cursor cursor = map.cursor();
+        while (cursor.advance()) {
+            buffer = writeField(cursor.key(), keyCodec, buffer, channel);
+            buffer = writeField(cursor.value(), valueCodec, buffer, channel);
+        }
+        drain(buffer, channel);
+    }
+
+    /**
+     * Reads a snapshot from channel. The channel is not closed.
+     *
+     * @param channel    the channel to read from
+     * @param keyCodec   the codec for keys
+     * @param valueCodec the codec for values
+     * @param <K>        the type of the keys
+     * @param <V>        the type of the values
+     * @return the rebuilt map
+     * @throws IOException if the channel cannot be read or ends early
+     * @throws java.lang.IllegalArgumentException if the data is not a snapshot
+     */
+    public static <K, V> LinearProbingHashMap<K, V> read(ReadableByteChannel channel,
+                                                         SnapshotCodec<K> keyCodec,
+                                                         SnapshotCodec<V> valueCodec)
+            throws IOException {
+        if (channel == null || keyCodec == null || valueCodec == null) {
+            throw new IllegalArgumentException("The arguments cannot be null.");
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        buffer.flip();
+        buffer = fill(buffer, channel, HEADER_SIZE);
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IllegalArgumentException("The data is not a map snapshot.");
+        }
+        int length = buffer.getInt();
+        int count = buffer.getInt();
+        if (length <= 0 || count < 0 || count > length) {
+            throw new IllegalArgumentException("The snapshot header is corrupt.");
+        }
+        // A table shrunk by resizeBackingTable can be over the load factor.
+        while ((double) count / (double) length > LinearProbingHashMap.MAX_LOAD_FACTOR) {
+            length = 2 * length + 1;
+        }
+
+        LinearProbingHashMap<K, V> map = new LinearProbingHashMap<>(length);
+        for (int i = 0; i < count; i++) {
+            buffer = fill(buffer, channel, Integer.BYTES);
+            int keySize = buffer.getInt();
+            buffer = fill(buffer, channel, keySize);
+            K key = readField(keyCodec, buffer, keySize);
+
+            buffer = fill(buffer, channel, Integer.BYTES);
+            int valueSize = buffer.getInt();
+            buffer = fill(buffer, channel, valueSize);
+            V value = readField(valueCodec, buffer, valueSize);
+
+            map.put(key, value);
+        }
+        return map;
+    }
+
+    /**
+     * Private helper that writes one length-prefixed field, flushing or
+     * growing the buffer first if it is too full.
+     *
+     * @param value   the value to write
+     * @param codec   the codec for value
+     * @param buffer  the buffer being filled
+     * @param channel the channel to flush to
+     * @param <T>     the type of value
+     * @return the buffer to keep writing into
+     * @throws IOException if the channel cannot be written
+     */
+    private static <T> ByteBuffer writeField(T value, SnapshotCodec<T> codec, ByteBuffer buffer,
+                                             WritableByteChannel channel) throws IOException {
+        int size = codec.size(value);
+        if (buffer.remaining() < Integer.BYTES + size) {
+            drain(buffer, channel);
+            if (buffer.capacity() < Integer.BYTES + size) {
+                buffer = ByteBuffer.allocate(Integer.BYTES + size);
+            }
+        }
+        buffer.putInt(size);
+        int end = buffer.position() + size;
+        codec.write(value, buffer);
+        if (buffer.position() != end) {
+            throw new IllegalStateException("The codec wrote a different size than it reported.");
+        }
+        return buffer;
+    }
+
+    /**
+     * Private helper that decodes one field from the next size bytes.
+     *
+     * @param codec  the codec to use
+     * @param buffer the buffer holding at least size bytes
+     * @param size   the number of bytes in the field
+     * @param <T>    the type being read
+     * @return the decoded value
+     */
+    private static <T> T readField(SnapshotCodec<T> codec, ByteBuffer buffer, int size) {
+        int limit = buffer.limit();
+        int end = buffer.position() + size;
+        buffer.limit(end);
+        T value = codec.read(buffer);
+        buffer.limit(limit);
+        buffer.position(end);
+        return value;
+    }
+
+    /**
+     * Private helper that writes everything in the buffer to the channel and
+     * clears it.
+     *
+     * @param buffer  the buffer in write mode
+     * @param channel the channel to write to
+     * @throws IOException if the channel cannot be written
+     */
+    private static void drain(ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Private helper that makes sure the buffer has at least needed bytes
+     * remaining, compacting, growing and reading from the channel as needed.
+     *
+     * @param buffer  the buffer in read mode
+     * @param channel the channel to read from
+     * @param needed  the number of bytes needed
+     * @return the buffer to keep reading from
+     * @throws IOException if the channel ends before enough bytes arrive
+     */
+    private static ByteBuffer fill(ByteBuffer buffer, ReadableByteChannel channel, int needed)
+            throws IOException {
+        if (needed < 0) {
+            throw new IllegalArgumentException("The snapshot record is corrupt.");
+        }
+        if (buffer.remaining() >= needed) {
+            return buffer;
+        }
+        if (buffer.capacity() < needed) {
+            ByteBuffer bigger = ByteBuffer.allocate(needed);
+            bigger.put(buffer);
+            buffer = bigger;
+        } else {
+            buffer.compact();
+        }
+        while (buffer.position() < needed) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("The snapshot ended early.");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
@@ -0,0 +1,138 @@
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Tests for LinearProbingHashMapSnapshot.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ */
+public class LinearProbingHashMapSnapshotTest {
+
+    private static final int TIMEOUT = 2000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path path;
+    private LinearProbingHashMap<Integer, String> map;
+
+    @Before
+    public void setUp() throws IOException {
+        path = folder.newFile("snapshot.bin").toPath();
+        map = new LinearProbingHashMap<>();
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testRoundTrip() {
+        Random random = new Random(1332);
+        for (int i = 0; i < 5000; i++) {
+            map.put(random.nextInt(), "v" + i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            map.remove(map.keyView().iterator().next());
+        }
+
+        LinearProbingHashMapSnapshot.write(map, path, SnapshotCodec.INTEGER, SnapshotCodec.STRING);
+        LinearProbingHashMap<Integer, String> loaded =
+                LinearProbingHashMapSnapshot.read(path, SnapshotCodec.INTEGER, SnapshotCodec.STRING);
+
+        assertEquals(map.size(), loaded.size());
+        assertEquals(map.getTable().length, loaded.getTable().length);
+        for (Integer key : map.keyView()) {
+            assertEquals(map.get(key), loaded.get(key));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testEmptyMap() {
+        LinearProbingHashMapSnapshot.write(map, path, SnapshotCodec.INTEGER, SnapshotCodec.STRING);
+        LinearProbingHashMap<Integer, String> loaded =
+                LinearProbingHashMapSnapshot.read(path, SnapshotCodec.INTEGER, SnapshotCodec.STRING);
+
+        assertEquals(0, loaded.size());
+        assertEquals(LinearProbingHashMap.INITIAL_CAPACITY, loaded.getTable().length);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testRecordsLargerThanBuffer() {
+        char[] chars = new char[200_000];
+        for (int i = 0; i < 3; i++) {
+            Arrays.fill(chars, (char) ('a' + i));
+            map.put(i, new String(chars));
+        }
+
+        LinearProbingHashMapSnapshot.write(map, path, SnapshotCodec.INTEGER, SnapshotCodec.STRING);
+        LinearProbingHashMap<Integer, String> loaded =
+                LinearProbingHashMapSnapshot.read(path, SnapshotCodec.INTEGER, SnapshotCodec.STRING);
+
+        assertEquals(3, loaded.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(map.get(i), loaded.get(i));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testShrunkTableIsGrownOnLoad() {
+        for (int i = 0; i < 10; i++) {
+            map.put(i, "v" + i);
+        }
+        map.resizeBackingTable(10);
+
+        LinearProbingHashMapSnapshot.write(map, path, SnapshotCodec.INTEGER, SnapshotCodec.STRING);
+        LinearProbingHashMap<Integer, String> loaded =
+                LinearProbingHashMapSnapshot.read(path, SnapshotCodec.INTEGER, SnapshotCodec.STRING);
+
+        assertEquals(10, loaded.size());
+        assertEquals(21, loaded.getTable().length);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testChannels() throws IOException {
+        map.put(1, "one");
+        map.put(2, "two");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        LinearProbingHashMapSnapshot.write(map, Channels.newChannel(out),
+                SnapshotCodec.INTEGER, SnapshotCodec.STRING);
+
+        LinearProbingHashMap<Integer, String> loaded = LinearProbingHashMapSnapshot.read(
+                Channels.newChannel(new ByteArrayInputStream(out.toByteArray())),
+                SnapshotCodec.INTEGER, SnapshotCodec.STRING);
+        assertEquals("one", loaded.get(1));
+        assertEquals("two", loaded.get(2));
+        assertFalse(loaded.containsKey(3));
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testBadMagic() throws IOException {
+        Files.write(path, new byte[32]);
+        LinearProbingHashMapSnapshot.read(path, SnapshotCodec.INTEGER, SnapshotCodec.STRING);
+    }
+
+    @Test(timeout = TIMEOUT, expected = EOFException.class)
+    public void testTruncated() throws IOException {
+        map.put(1, "one");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        LinearProbingHashMapSnapshot.write(map, Channels.newChannel(out),
+                SnapshotCodec.INTEGER, SnapshotCodec.STRING);
+        byte[] bytes = Arrays.copyOf(out.toByteArray(), out.size() - 1);
+
+        LinearProbingHashMapSnapshot.read(Channels.newChannel(new ByteArrayInputStream(bytes)),
+                SnapshotCodec.INTEGER, SnapshotCodec.STRING);
+    }
+}
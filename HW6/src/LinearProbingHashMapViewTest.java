@@ -0,0 +1,139 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the live views and cursor of LinearProbingHashMap.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ */
+public class LinearProbingHashMapViewTest {
+
+    private static final int TIMEOUT = 200;
+    private LinearProbingHashMap<Integer, String> map;
+
+    @Before
+    public void setUp() {
+        map = new LinearProbingHashMap<>();
+        // [_, (1, A), (2, B), (3, C), (4, D)X, (5, E), _, _, _, _, _, _, _]
+        map.put(1, "A");
+        map.put(2, "B");
+        map.put(3, "C");
+        map.put(4, "D");
+        map.put(5, "E");
+        map.remove(4);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testKeyViewMatchesKeySet() {
+        Set<Integer> view = map.keyView();
+        assertEquals(map.keySet(), view);
+        assertEquals(4, view.size());
+        assertTrue(view.contains(3));
+        assertFalse(view.contains(4));
+        assertFalse(view.contains(null));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testValueViewMatchesValues() {
+        assertEquals(map.values(), new ArrayList<>(map.valueView()));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testViewsAreLive() {
+        Set<Integer> keys = map.keyView();
+        Collection<String> values = map.valueView();
+        map.put(6, "F");
+        map.put(7, "G");
+        for (int i = 8; i < 30; i++) {
+            map.put(i, "v");
+        }
+
+        assertEquals(map.keySet(), keys);
+        assertEquals(map.size(), values.size());
+        assertTrue(values.contains("G"));
+    }
+
+    @Test(timeout = TIMEOUT, expected = ConcurrentModificationException.class)
+    public void testIteratorFailsFast() {
+        Iterator<Integer> it = map.keyView().iterator();
+        it.next();
+        map.put(10, "X");
+        it.next();
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testValueReplacementIsNotAModification() {
+        Iterator<String> it = map.valueView().iterator();
+        it.next();
+        map.put(1, "Z");
+        assertEquals("B", it.next());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testIteratorRemove() {
+        Iterator<Integer> it = map.keyView().iterator();
+        while (it.hasNext()) {
+            if (it.next() % 2 == 1) {
+                it.remove();
+            }
+        }
+        assertEquals(1, map.size());
+        assertTrue(map.containsKey(2));
+        assertFalse(map.containsKey(1));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testCursorWalksLiveEntries() {
+        LinearProbingHashMap<Integer, String>.Cursor cursor = map.cursor();
+        List<Integer> keys = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        while (cursor.advance()) {
+            keys.add(cursor.key());
+            values.add(cursor.value());
+        }
+        assertEquals(List.of(1, 2, 3, 5), keys);
+        assertEquals(List.of("A", "B", "C", "E"), values);
+        assertFalse(cursor.advance());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testCursorReset() {
+        LinearProbingHashMap<Integer, String>.Cursor cursor = map.cursor();
+        while (cursor.advance()) {
+            cursor.key();
+        }
+        map.put(6, "F");
+        cursor.reset();
+        Set<Integer> keys = new HashSet<>();
+        while (cursor.advance()) {
+            keys.add(cursor.key());
+        }
+        assertEquals(map.keySet(), keys);
+    }
+
+    @Test(timeout = TIMEOUT, expected = ConcurrentModificationException.class)
+    public void testCursorFailsFast() {
+        LinearProbingHashMap<Integer, String>.Cursor cursor = map.cursor();
+        cursor.advance();
+        map.remove(1);
+        cursor.advance();
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalStateException.class)
+    public void testCursorBeforeAdvance() {
+        map.cursor().key();
+    }
+}
@@ -0,0 +1,306 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A long-keyed version of LinearProbingHashMap.
+ *
+ * Keys, values and removed flags are kept in parallel arrays instead of
+ * LinearProbingMapEntry objects, so keys are never boxed and put does not
+ * allocate an entry. A slot is empty when its value is null and it is not
+ * marked as removed.
+ *
+ * Hashing, probing, resizing and removal follow the same rules as
+ * LinearProbingHashMap.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ * @userid pkutz3
+ * @GTID 903637824
+ *
+ * @param <V> the type of the values
+ */
+public class LongLinearProbingHashMap<V> {
+
+    /**
+     * The initial capacity of the LongLinearProbingHashMap when created with
+     * the default constructor.
+     */
+    public static final int INITIAL_CAPACITY = 13;
+
+    /**
+     * The max load factor of the LongLinearProbingHashMap.
+     */
+    public static final double MAX_LOAD_FACTOR = 0.67;
+
+    private long[] keys;
+    private V[] values;
+    private boolean[] removed;
+    private int size;
+
+    /**
+     * Constructs a new LongLinearProbingHashMap with a capacity of
+     * INITIAL_CAPACITY.
+     */
+    public LongLinearProbingHashMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs a new LongLinearProbingHashMap with the given capacity.
+     *
+     * @param initialCapacity the initial capacity of the backing arrays
+     */
+    public LongLinearProbingHashMap(int initialCapacity) {
+        keys = new long[initialCapacity];
+        values = (V[]) new Object[initialCapacity];
+        removed = new boolean[initialCapacity];
+        size = 0;
+    }
+
+    /**
+     * Adds the given key-value pair to the map. If the key is already in the
+     * map, its value is replaced.
+     *
+     * Resizes to 2 * old length + 1 before adding if the new size would go
+     * over MAX_LOAD_FACTOR.
+     *
+     * @param key   the key to add
+     * @param value the value to add
+     * @return null if the key was not already in the map, otherwise the old
+     * value associated with it
+     * @throws java.lang.IllegalArgumentException if value is null
+     */
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("The value is null.");
+        }
+
+        if ((double) (size + 1) / (double) keys.length > MAX_LOAD_FACTOR) {
+            resizeBackingTable(2 * keys.length + 1);
+        }
+
+        int i = hash(key, keys.length);
+        int delI = -1;
+        int numProbes = 0;
+        int seen = 0;
+
+        while (numProbes < keys.length && seen < size
+                && (values[i] != null || removed[i])) {
+            if (removed[i]) {
+                if (delI == -1) {
+                    delI = i;
+                }
+            } else if (keys[i] == key) {
+                V temp = values[i];
+                values[i] = value;
+                return temp;
+            } else {
+                seen++;
+            }
+            i = (i + 1) % keys.length;
+            numProbes++;
+        }
+
+        if (delI == -1) {
+            delI = i;
+        }
+        keys[delI] = key;
+        values[delI] = value;
+        removed[delI] = false;
+        size++;
+        return null;
+    }
+
+    /**
+     * Removes the entry with a matching key from the map by marking its slot
+     * as removed.
+     *
+     * @param key the key to remove
+     * @return the value previously associated with the key
+     * @throws java.util.NoSuchElementException if the key is not in the map
+     */
+    public V remove(long key) {
+        int i = indexOf(key);
+        if (i == -1) {
+            throw new NoSuchElementException("The key is not in the map.");
+        }
+
+        V temp = values[i];
+        values[i] = null;
+        removed[i] = true;
+        size--;
+        return temp;
+    }
+
+    /**
+     * Gets the value associated with the given key.
+     *
+     * @param key the key to search for in the map
+     * @return the value associated with the given key
+     * @throws java.util.NoSuchElementException if the key is not in the map
+     */
+    public V get(long key) {
+        int i = indexOf(key);
+        if (i == -1) {
+            throw new NoSuchElementException("The key is not in the map.");
+        }
+        return values[i];
+    }
+
+    /**
+     * Returns whether or not the key is in the map.
+     *
+     * @param key the key to search for in the map
+     * @return true if the key is contained within the map, false otherwise
+     */
+    public boolean containsKey(long key) {
+        return indexOf(key) != -1;
+    }
+
+    /**
+     * Private helper that finds the slot holding the given key.
+     *
+     * @param key the key to search for
+     * @return the index of the key in the backing arrays, -1 if not found
+     */
+    private int indexOf(long key) {
+        int i = hash(key, keys.length);
+        int numProbes = 0;
+
+        while (numProbes < keys.length && (values[i] != null || removed[i])) {
+            if (!removed[i] && keys[i] == key) {
+                return i;
+            }
+            i = (i + 1) % keys.length;
+            numProbes++;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the keys contained in this map in order of increasing index.
+     *
+     * @return an array of the keys in this map
+     */
+    public long[] keys() {
+        long[] result = new long[size];
+        int j = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (values[i] != null) {
+                result[j++] = keys[i];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a List of the values contained in this map in order of
+     * increasing index.
+     *
+     * @return list of values in this map
+     */
+    public List<V> values() {
+        List<V> list = new ArrayList<>(size);
+        for (V value : values) {
+            if (value != null) {
+                list.add(value);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Resize the backing arrays to length, dropping removed slots.
+     *
+     * @param length new length of the backing arrays
+     * @throws java.lang.IllegalArgumentException if length is less than the
+     *                                            number of items in the map
+     */
+    public void resizeBackingTable(int length) {
+        if (length < size) {
+            throw new IllegalArgumentException("The length is less than the items in hash map.");
+        }
+
+        long[] newKeys = new long[length];
+        V[] newValues = (V[]) new Object[length];
+
+        for (int i = 0; i < keys.length; i++) {
+            if (values[i] != null) {
+                int j = hash(keys[i], length);
+                while (newValues[j] != null) {
+                    j = (j + 1) % length;
+                }
+                newKeys[j] = keys[i];
+                newValues[j] = values[i];
+            }
+        }
+        keys = newKeys;
+        values = newValues;
+        removed = new boolean[length];
+    }
+
+    /**
+     * Clears the map and resets the backing arrays to INITIAL_CAPACITY.
+     */
+    public void clear() {
+        keys = new long[INITIAL_CAPACITY];
+        values = (V[]) new Object[INITIAL_CAPACITY];
+        removed = new boolean[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    /**
+     * Private helper that computes the home slot of a key the same way
+     * LinearProbingHashMap does for a Long key.
+     *
+     * @param key    the key to hash
+     * @param length the length of the table
+     * @return the index the key hashes to
+     */
+    private static int hash(long key, int length) {
+        return Math.abs(Long.hashCode(key) % length);
+    }
+
+    /**
+     * Returns the key array of the map.
+     *
+     * For testing purposes only.
+     *
+     * @return the key array of the map
+     */
+    public long[] getKeyTable() {
+        return keys;
+    }
+
+    /**
+     * Returns the value array of the map.
+     *
+     * For testing purposes only.
+     *
+     * @return the value array of the map
+     */
+    public Object[] getValueTable() {
+        return values;
+    }
+
+    /**
+     * Returns the removed flags of the map.
+     *
+     * For testing purposes only.
+     *
+     * @return the removed flags of the map
+     */
+    public boolean[] getRemovedTable() {
+        return removed;
+    }
+
+    /**
+     * Returns the size of the map.
+     *
+     * @return the size of the map
+     */
+    public int size() {
+        return size;
+    }
+}
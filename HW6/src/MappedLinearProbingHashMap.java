@@ -0,0 +1,722 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A linear probing hash map stored in a memory-mapped file.
+ *
+ * Keys and values are fixed-width byte arrays, and every slot is one record
+ * of [state byte][key bytes][value bytes]. The state is EMPTY, LIVE or
+ * REMOVED, which plays the role of a null slot, a LinearProbingMapEntry and
+ * an entry marked as removed. Hashing, probing, the load factor check,
+ * 2 * length + 1 growth and tombstones all follow LinearProbingHashMap, with
+ * Arrays.hashCode standing in for hashCode().
+ *
+ * The file starts with a small header holding the widths, capacity and size,
+ * so open only reads the header and maps the file, whatever the number of
+ * entries. The table is mapped in chunks that hold a whole number of
+ * records, so a map may be larger than 2 GB and larger than the heap.
+ *
+ * Writes go to the page cache straight away. Call force to flush them to the
+ * storage device. Once close has run, every method but close throws
+ * IllegalStateException.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ * @userid pkutz3
+ * @GTID 903637824
+ */
+public class MappedLinearProbingHashMap implements Closeable {
+
+    /**
+     * The initial capacity used by create when none is given.
+     */
+    public static final int INITIAL_CAPACITY = LinearProbingHashMap.INITIAL_CAPACITY;
+
+    /**
+     * The max load factor of the map.
+     */
+    public static final double MAX_LOAD_FACTOR = LinearProbingHashMap.MAX_LOAD_FACTOR;
+
+    private static final int MAGIC = 0x4C50484D;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int SIZE_OFFSET = 20;
+    private static final int MAX_CHUNK_BYTES = 1 << 30;
+
+    private static final byte EMPTY = 0;
+    private static final byte LIVE = 1;
+    private static final byte REMOVED = 2;
+
+    private final Path path;
+    private final int keyWidth;
+    private final int valueWidth;
+    private final int recordSize;
+    private final int recordsPerChunk;
+    private FileChannel channel;
+    private MappedByteBuffer header;
+    private MappedByteBuffer[] chunks;
+    private long capacity;
+    private long size;
+    private boolean closed;
+
+    /**
+     * Private constructor used by create and open.
+     *
+     * @param path       the backing file
+     * @param channel    an open read/write channel on the file
+     * @param keyWidth   the width of every key in bytes
+     * @param valueWidth the width of every value in bytes
+     * @param capacity   the number of slots
+     * @param size       the number of live entries
+     * @throws IOException if the file cannot be mapped
+     */
+    private MappedLinearProbingHashMap(Path path, FileChannel channel, int keyWidth,
+                                       int valueWidth, long capacity, long size)
+            throws IOException {
+        this.path = path;
+        this.keyWidth = keyWidth;
+        this.valueWidth = valueWidth;
+        this.recordSize = 1 + keyWidth + valueWidth;
+        this.recordsPerChunk = MAX_CHUNK_BYTES / recordSize;
+        this.channel = channel;
+        this.capacity = capacity;
+        this.size = size;
+        map();
+    }
+
+    /**
+     * Creates a new map with INITIAL_CAPACITY slots in the given file,
+     * replacing anything already there.
+     *
+     * @param path       the backing file
+     * @param keyWidth   the width of every key in bytes
+     * @param valueWidth the width of every value in bytes
+     * @return the new map
+     */
+    public static MappedLinearProbingHashMap create(Path path, int keyWidth, int valueWidth) {
+        return create(path, keyWidth, valueWidth, INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates a new map in the given file, replacing anything already there.
+     *
+     * @param path       the backing file
+     * @param keyWidth   the width of every key in bytes
+     * @param valueWidth the width of every value in bytes
+     * @param capacity   the initial number of slots
+     * @return the new map
+     * @throws java.lang.IllegalArgumentException if a width is out of range
+     *                                            or capacity is not positive
+     * @throws java.io.UncheckedIOException       if the file cannot be
+     *                                            written
+     */
+    public static MappedLinearProbingHashMap create(Path path, int keyWidth, int valueWidth,
+                                                    long capacity) {
+        if (!validWidths(keyWidth, valueWidth)) {
+            throw new IllegalArgumentException("The record widths are out of range.");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The capacity must be positive.");
+        }
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            writeHeader(channel, keyWidth, valueWidth, capacity);
+            return new MappedLinearProbingHashMap(path, channel, keyWidth, valueWidth,
+                    capacity, 0);
+        } catch (IOException e) {
+            closeQuietly(channel, e);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            closeQuietly(channel, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Reopens a map created by create. Only the header is read.
+     *
+     * @param path the backing file
+     * @return the reopened map
+     * @throws java.lang.IllegalArgumentException if the file is not a map
+     *                                            file, its header is out of
+     *                                            range, or it is shorter
+     *                                            than its header says
+     * @throws java.io.UncheckedIOException       if the file cannot be read
+     */
+    public static MappedLinearProbingHashMap open(Path path) {
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // keep reading until the header is full or the file ends
+            }
+            buffer.flip();
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt(0) != MAGIC
+                    || buffer.getInt(4) != VERSION) {
+                throw new IllegalArgumentException("The file is not a map file.");
+            }
+            int keyWidth = buffer.getInt(8);
+            int valueWidth = buffer.getInt(12);
+            long capacity = buffer.getInt(16) & 0xFFFFFFFFL;
+            long size = buffer.getLong(SIZE_OFFSET);
+            // Mapping a READ_WRITE region past the end would quietly extend
+            // a truncated file with empty slots, so check its length first.
+            if (!validWidths(keyWidth, valueWidth) || capacity <= 0 || size < 0
+                    || size > capacity || channel.size()
+                    < HEADER_SIZE + capacity * (1 + keyWidth + valueWidth)) {
+                throw new IllegalArgumentException("The file is not a map file.");
+            }
+            return new MappedLinearProbingHashMap(path, channel, keyWidth, valueWidth,
+                    capacity, size);
+        } catch (IOException e) {
+            closeQuietly(channel, e);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            closeQuietly(channel, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Adds the given key-value pair to the map, replacing the value if the
+     * key is already present. Grows to 2 * capacity + 1 first if the new
+     * size would go over MAX_LOAD_FACTOR.
+     *
+     * @param key   the key to add
+     * @param value the value to add
+     * @return null if the key was not already in the map, otherwise the old
+     * value associated with it
+     * @throws java.lang.IllegalArgumentException if key or value is null or
+     *                                            the wrong width
+     * @throws java.lang.IllegalStateException    if the map is closed
+     */
+    public byte[] put(byte[] key, byte[] value) {
+        checkOpen();
+        checkKey(key);
+        if (value == null || value.length != valueWidth) {
+            throw new IllegalArgumentException("The value must be " + valueWidth + " bytes.");
+        }
+
+        if ((double) (size + 1) / (double) capacity > MAX_LOAD_FACTOR) {
+            resizeBackingTable(2 * capacity + 1);
+        }
+
+        long i = hash(key, capacity);
+        long delI = -1;
+        long seen = 0;
+        for (long probes = 0; probes < capacity && seen < size; probes++) {
+            byte state = state(i);
+            if (state == EMPTY) {
+                break;
+            } else if (state == REMOVED) {
+                if (delI == -1) {
+                    delI = i;
+                }
+            } else if (keyEquals(i, key)) {
+                byte[] temp = readBytes(i, 1 + keyWidth, valueWidth);
+                writeBytes(i, 1 + keyWidth, value);
+                return temp;
+            } else {
+                seen++;
+            }
+            i = (i + 1) % capacity;
+        }
+
+        long slot = delI == -1 ? i : delI;
+        writeBytes(slot, 1, key);
+        writeBytes(slot, 1 + keyWidth, value);
+        setState(slot, LIVE);
+        setSize(size + 1);
+        return null;
+    }
+
+    /**
+     * Removes the entry with a matching key by marking its slot as removed.
+     *
+     * @param key the key to remove
+     * @return the value previously associated with the key
+     * @throws java.lang.IllegalArgumentException if key is null or the wrong
+     *                                            width
+     * @throws java.util.NoSuchElementException   if the key is not in the map
+     * @throws java.lang.IllegalStateException    if the map is closed
+     */
+    public byte[] remove(byte[] key) {
+        checkOpen();
+        checkKey(key);
+        long i = indexOf(key);
+        if (i == -1) {
+            throw new NoSuchElementException("The key is not in the map.");
+        }
+        byte[] value = readBytes(i, 1 + keyWidth, valueWidth);
+        setState(i, REMOVED);
+        setSize(size - 1);
+        return value;
+    }
+
+    /**
+     * Gets a copy of the value associated with the given key.
+     *
+     * @param key the key to search for in the map
+     * @return the value associated with the given key
+     * @throws java.lang.IllegalArgumentException if key is null or the wrong
+     *                                            width
+     * @throws java.util.NoSuchElementException   if the key is not in the map
+     * @throws java.lang.IllegalStateException    if the map is closed
+     */
+    public byte[] get(byte[] key) {
+        checkOpen();
+        checkKey(key);
+        long i = indexOf(key);
+        if (i == -1) {
+            throw new NoSuchElementException("The key is not in the map.");
+        }
+        return readBytes(i, 1 + keyWidth, valueWidth);
+    }
+
+    /**
+     * Returns whether or not the key is in the map.
+     *
+     * @param key the key to search for in the map
+     * @return true if the key is contained within the map, false otherwise
+     * @throws java.lang.IllegalArgumentException if key is null or the wrong
+     *                                            width
+     * @throws java.lang.IllegalStateException    if the map is closed
+     */
+    public boolean containsKey(byte[] key) {
+        checkOpen();
+        checkKey(key);
+        return indexOf(key) != -1;
+    }
+
+    /**
+     * Adds a value under a long key. The map's key width must be 8.
+     *
+     * @param key   the key to add
+     * @param value the value to add
+     * @return null if the key was not already in the map, otherwise the old
+     * value associated with it
+     */
+    public byte[] put(long key, byte[] value) {
+        return put(longKey(key), value);
+    }
+
+    /**
+     * Removes the entry for a long key. The map's key width must be 8.
+     *
+     * @param key the key to remove
+     * @return the value previously associated with the key
+     */
+    public byte[] remove(long key) {
+        return remove(longKey(key));
+    }
+
+    /**
+     * Gets the value for a long key. The map's key width must be 8.
+     *
+     * @param key the key to search for
+     * @return the value associated with the key
+     */
+    public byte[] get(long key) {
+        return get(longKey(key));
+    }
+
+    /**
+     * Returns whether a long key is in the map. The map's key width must
+     * be 8.
+     *
+     * @param key the key to search for
+     * @return true if the key is contained within the map
+     */
+    public boolean containsKey(long key) {
+        return containsKey(longKey(key));
+    }
+
+    /**
+     * Rebuilds the table with the given number of slots, dropping removed
+     * slots. The new table is written to a side file and moved over the old
+     * one, so a crash leaves either the old or the new table in place. If
+     * writing or moving the side file fails, it is deleted and the map keeps
+     * using the old table. If the new table cannot be mapped after the move,
+     * the map is closed.
+     *
+     * @param length the new number of slots
+     * @throws java.lang.IllegalArgumentException if length is less than the
+     *                                            number of items in the map
+     * @throws java.io.UncheckedIOException       if the file cannot be
+     *                                            written
+     * @throws java.lang.IllegalStateException    if the map is closed
+     */
+    public void resizeBackingTable(long length) {
+        checkOpen();
+        if (length < size || length <= 0) {
+            throw new IllegalArgumentException("The length is less than the items in hash map.");
+        }
+
+        Path tempPath = path.resolveSibling(path.getFileName() + ".resize");
+        try {
+            try (MappedLinearProbingHashMap resized =
+                         create(tempPath, keyWidth, valueWidth, length)) {
+                for (long j = 0; j < capacity; j++) {
+                    if (state(j) == LIVE) {
+                        byte[] key = readBytes(j, 1, keyWidth);
+                        long i = hash(key, length);
+                        while (resized.state(i) != EMPTY) {
+                            i = (i + 1) % length;
+                        }
+                        resized.writeBytes(i, 1, key);
+                        resized.writeBytes(i, 1 + keyWidth,
+                                readBytes(j, 1 + keyWidth, valueWidth));
+                        resized.setState(i, LIVE);
+                    }
+                }
+                resized.setSize(size);
+                resized.force();
+            }
+            // The old table stays mapped and usable until the move succeeds.
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            deleteQuietly(tempPath, e);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            deleteQuietly(tempPath, e);
+            throw e;
+        }
+
+        // path now names the new table; this map still maps the old one.
+        FileChannel oldChannel = channel;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            capacity = length;
+            map();
+        } catch (IOException | RuntimeException e) {
+            // The old table is no longer at path, so there is nothing to go
+            // back to.
+            closed = true;
+            unmap();
+            closeQuietly(channel == oldChannel ? null : channel, e);
+            closeQuietly(oldChannel, e);
+            if (e instanceof IOException) {
+                throw new UncheckedIOException((IOException) e);
+            }
+            throw (RuntimeException) e;
+        }
+        try {
+            oldChannel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Flushes every change to the storage device.
+     *
+     * @throws java.lang.IllegalStateException if the map is closed
+     */
+    public void force() {
+        checkOpen();
+        header.force();
+        for (MappedByteBuffer chunk : chunks) {
+            chunk.force();
+        }
+    }
+
+    /**
+     * Flushes and closes the map. The mapping itself is released when the
+     * buffers are garbage collected. Closing a closed map does nothing.
+     *
+     * @throws java.io.UncheckedIOException if the file cannot be closed
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        try {
+            force();
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            closed = true;
+            unmap();
+        }
+    }
+
+    /**
+     * Returns the number of live entries.
+     *
+     * @return the size of the map
+     * @throws java.lang.IllegalStateException if the map is closed
+     */
+    public long size() {
+        checkOpen();
+        return size;
+    }
+
+    /**
+     * Returns the number of slots in the table.
+     *
+     * @return the capacity of the map
+     * @throws java.lang.IllegalStateException if the map is closed
+     */
+    public long capacity() {
+        checkOpen();
+        return capacity;
+    }
+
+    /**
+     * Private helper that finds the slot holding a live entry for the key.
+     *
+     * @param key the key to search for
+     * @return the slot index, or -1 if the key is absent
+     */
+    private long indexOf(byte[] key) {
+        long i = hash(key, capacity);
+        for (long probes = 0; probes < capacity; probes++) {
+            byte state = state(i);
+            if (state == EMPTY) {
+                return -1;
+            } else if (state == LIVE && keyEquals(i, key)) {
+                return i;
+            }
+            i = (i + 1) % capacity;
+        }
+        return -1;
+    }
+
+    /**
+     * Private helper that computes the home slot of a key.
+     *
+     * @param key    the key
+     * @param length the number of slots
+     * @return the home slot
+     */
+    private static long hash(byte[] key, long length) {
+        return Math.abs(Arrays.hashCode(key) % length);
+    }
+
+    /**
+     * Private helper that compares the key stored in a slot with key.
+     *
+     * @param slot the slot index
+     * @param key  the key to compare with
+     * @return true if the stored key has the same bytes
+     */
+    private boolean keyEquals(long slot, byte[] key) {
+        ByteBuffer chunk = chunks[(int) (slot / recordsPerChunk)];
+        int base = (int) (slot % recordsPerChunk) * recordSize + 1;
+        for (int b = 0; b < keyWidth; b++) {
+            if (chunk.get(base + b) != key[b]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Private helper that reads the state byte of a slot.
+     *
+     * @param slot the slot index
+     * @return the state of the slot
+     */
+    private byte state(long slot) {
+        return chunks[(int) (slot / recordsPerChunk)]
+                .get((int) (slot % recordsPerChunk) * recordSize);
+    }
+
+    /**
+     * Private helper that writes the state byte of a slot.
+     *
+     * @param slot  the slot index
+     * @param state the new state
+     */
+    private void setState(long slot, byte state) {
+        chunks[(int) (slot / recordsPerChunk)]
+                .put((int) (slot % recordsPerChunk) * recordSize, state);
+    }
+
+    /**
+     * Private helper that copies bytes out of a slot.
+     *
+     * @param slot   the slot index
+     * @param offset the offset within the record
+     * @param length the number of bytes
+     * @return the bytes read
+     */
+    private byte[] readBytes(long slot, int offset, int length) {
+        byte[] bytes = new byte[length];
+        chunks[(int) (slot / recordsPerChunk)]
+                .get((int) (slot % recordsPerChunk) * recordSize + offset, bytes);
+        return bytes;
+    }
+
+    /**
+     * Private helper that copies bytes into a slot.
+     *
+     * @param slot   the slot index
+     * @param offset the offset within the record
+     * @param bytes  the bytes to write
+     */
+    private void writeBytes(long slot, int offset, byte[] bytes) {
+        chunks[(int) (slot / recordsPerChunk)]
+                .put((int) (slot % recordsPerChunk) * recordSize + offset, bytes);
+    }
+
+    /**
+     * Private helper that updates the size in memory and in the header.
+     *
+     * @param newSize the new size
+     */
+    private void setSize(long newSize) {
+        size = newSize;
+        header.putLong(SIZE_OFFSET, newSize);
+    }
+
+    /**
+     * Private helper that throws if the map has been closed.
+     *
+     * @throws java.lang.IllegalStateException if the map is closed
+     */
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("The map is closed.");
+        }
+    }
+
+    /**
+     * Private helper that checks a key's width.
+     *
+     * @param key the key to check
+     * @throws java.lang.IllegalArgumentException if key is null or the wrong
+     *                                            width
+     */
+    private void checkKey(byte[] key) {
+        if (key == null || key.length != keyWidth) {
+            throw new IllegalArgumentException("The key must be " + keyWidth + " bytes.");
+        }
+    }
+
+    /**
+     * Private helper that encodes a long key as 8 big-endian bytes.
+     *
+     * @param key the key
+     * @return the encoded key
+     */
+    private byte[] longKey(long key) {
+        if (keyWidth != Long.BYTES) {
+            throw new IllegalArgumentException("The key width is not 8 bytes.");
+        }
+        return ByteBuffer.allocate(Long.BYTES).putLong(key).array();
+    }
+
+    /**
+     * Private helper that maps the header and the table chunks.
+     *
+     * @throws IOException if the file cannot be mapped
+     */
+    private void map() throws IOException {
+        header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+        int count = (int) ((capacity + recordsPerChunk - 1) / recordsPerChunk);
+        chunks = new MappedByteBuffer[count];
+        for (int c = 0; c < count; c++) {
+            long first = (long) c * recordsPerChunk;
+            long records = Math.min(recordsPerChunk, capacity - first);
+            chunks[c] = channel.map(FileChannel.MapMode.READ_WRITE,
+                    HEADER_SIZE + first * recordSize, records * recordSize);
+        }
+    }
+
+    /**
+     * Private helper that drops this map's references to its buffers.
+     */
+    private void unmap() {
+        header = null;
+        chunks = new MappedByteBuffer[0];
+    }
+
+    /**
+     * Private helper that deletes a side file left by a failed resize,
+     * adding any failure to delete to the original exception.
+     *
+     * @param file  the file to delete
+     * @param cause the exception that aborted the resize
+     */
+    private static void deleteQuietly(Path file, Exception cause) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Private helper that returns whether record widths are ones create
+     * accepts.
+     *
+     * @param keyWidth   the key width
+     * @param valueWidth the value width
+     * @return true if the widths are in range
+     */
+    private static boolean validWidths(int keyWidth, int valueWidth) {
+        return keyWidth > 0 && valueWidth >= 0
+                && (long) keyWidth + valueWidth < MAX_CHUNK_BYTES;
+    }
+
+    /**
+     * Private helper that closes channel after a failed create, open or
+     * resize, adding any failure to close to the original exception.
+     *
+     * @param channel the channel to close, or null if it never opened
+     * @param cause   the exception that aborted the operation
+     */
+    private static void closeQuietly(FileChannel channel, Exception cause) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Private helper that writes a fresh header and sizes the file.
+     *
+     * @param channel    the channel to write to
+     * @param keyWidth   the key width
+     * @param valueWidth the value width
+     * @param capacity   the number of slots
+     * @throws IOException if the file cannot be written
+     */
+    private static void writeHeader(FileChannel channel, int keyWidth, int valueWidth,
+                                    long capacity) throws IOException {
+        if (capacity > 0xFFFFFFFFL) {
+            throw new IllegalArgumentException("The capacity is too large.");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(keyWidth).putInt(valueWidth)
+                .putInt((int) capacity).putLong(0L);
+        buffer.flip();
+        channel.write(buffer, 0);
+        long length = HEADER_SIZE + capacity * (1 + keyWidth + valueWidth);
+        // Writing the last byte sizes the file; the rest reads back as zeros.
+        channel.write(ByteBuffer.wrap(new byte[1]), length - 1);
+    }
+}
@@ -0,0 +1,243 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for MappedLinearProbingHashMap.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ */
+public class MappedLinearProbingHashMapTest {
+
+    private static final int TIMEOUT = 2000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path path;
+    private MappedLinearProbingHashMap map;
+
+    @Before
+    public void setUp() throws IOException {
+        path = folder.newFile("map.bin").toPath();
+        map = MappedLinearProbingHashMap.create(path, 8, 4);
+    }
+
+    @After
+    public void tearDown() {
+        map.close();
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testPutGetRemove() {
+        assertNull(map.put(1L, value(10)));
+        assertNull(map.put(2L, value(20)));
+        assertArrayEquals(value(10), map.put(1L, value(11)));
+
+        assertEquals(2, map.size());
+        assertArrayEquals(value(11), map.get(1L));
+        assertArrayEquals(value(20), map.remove(2L));
+        assertFalse(map.containsKey(2L));
+        assertTrue(map.containsKey(1L));
+        assertEquals(1, map.size());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testByteArrayKeys() {
+        byte[] key = {1, 2, 3, 4, 5, 6, 7, 8};
+        assertNull(map.put(key, value(5)));
+        assertArrayEquals(value(5), map.get(key.clone()));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testTombstoneIsReused() {
+        for (long k = 0; k < 8; k++) {
+            map.put(k, value((int) k));
+        }
+        map.remove(3L);
+        assertNull(map.put(3L, value(33)));
+        assertEquals(8, map.size());
+        assertEquals(13, map.capacity());
+        assertArrayEquals(value(33), map.get(3L));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testGrowsLikeLinearProbingHashMap() {
+        for (long k = 0; k < 8; k++) {
+            map.put(k, value((int) k));
+        }
+        assertEquals(13, map.capacity());
+        map.put(8L, value(8));
+        assertEquals(27, map.capacity());
+        assertEquals(9, map.size());
+        for (long k = 0; k <= 8; k++) {
+            assertArrayEquals(value((int) k), map.get(k));
+        }
+        assertFalse(Files.exists(path.resolveSibling("map.bin.resize")));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testReopen() {
+        for (long k = 0; k < 1000; k++) {
+            map.put(k * 31, value((int) k));
+        }
+        map.remove(31L);
+        long capacity = map.capacity();
+        map.close();
+
+        map = MappedLinearProbingHashMap.open(path);
+        assertEquals(999, map.size());
+        assertEquals(capacity, map.capacity());
+        assertFalse(map.containsKey(31L));
+        for (long k = 2; k < 1000; k++) {
+            assertArrayEquals(value((int) k), map.get(k * 31));
+        }
+        assertNull(map.put(31L, value(1)));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testFailedResizeKeepsOldTable() throws IOException {
+        for (long k = 0; k < 8; k++) {
+            map.put(k, value((int) k));
+        }
+        // A non-empty directory where the side file goes makes the resize
+        // fail before anything is moved.
+        Path blocker = Files.createDirectory(path.resolveSibling("map.bin.resize"));
+        Files.createFile(blocker.resolve("file"));
+        try {
+            map.put(8L, value(8));
+            fail("Expected the resize to fail.");
+        } catch (UncheckedIOException e) {
+            // expected
+        }
+        assertEquals(13, map.capacity());
+        assertEquals(8, map.size());
+        for (long k = 0; k < 8; k++) {
+            assertArrayEquals(value((int) k), map.get(k));
+        }
+
+        Files.delete(blocker.resolve("file"));
+        Files.delete(blocker);
+        assertNull(map.put(8L, value(8)));
+        assertEquals(27, map.capacity());
+        assertFalse(Files.exists(blocker));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testOpenRejectsBadHeader() throws IOException {
+        map.close();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            // Key width 0.
+            channel.write(ByteBuffer.allocate(4), 8);
+        }
+        try {
+            MappedLinearProbingHashMap.open(path);
+            fail("Expected a zero key width to be rejected.");
+        } catch (IllegalArgumentException e) {
+            assertEquals("The file is not a map file.", e.getMessage());
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testOpenRejectsTruncatedFile() throws IOException {
+        map.put(1L, value(1));
+        map.close();
+        long length = Files.size(path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(length - 13);
+        }
+        try {
+            MappedLinearProbingHashMap.open(path);
+            fail("Expected a truncated file to be rejected.");
+        } catch (IllegalArgumentException e) {
+            assertEquals("The file is not a map file.", e.getMessage());
+        }
+        assertEquals(length - 13, Files.size(path));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testClosedMapRejectsCalls() {
+        map.put(1L, value(10));
+        map.close();
+        map.close();
+        try {
+            map.get(1L);
+            fail("Expected the closed map to throw.");
+        } catch (IllegalStateException e) {
+            assertEquals("The map is closed.", e.getMessage());
+        }
+        try {
+            map.put(2L, value(20));
+            fail("Expected the closed map to throw.");
+        } catch (IllegalStateException e) {
+            assertEquals("The map is closed.", e.getMessage());
+        }
+        try {
+            map.size();
+            fail("Expected the closed map to throw.");
+        } catch (IllegalStateException e) {
+            assertEquals("The map is closed.", e.getMessage());
+        }
+
+        map = MappedLinearProbingHashMap.open(path);
+        assertArrayEquals(value(10), map.get(1L));
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testOpenRejectsOtherFiles() throws IOException {
+        Path other = folder.newFile("other.bin").toPath();
+        Files.write(other, new byte[64]);
+        MappedLinearProbingHashMap.open(other);
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testWrongKeyWidth() {
+        map.put(new byte[4], value(1));
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testWrongValueWidth() {
+        map.put(1L, new byte[3]);
+    }
+
+    @Test(timeout = TIMEOUT, expected = NoSuchElementException.class)
+    public void testGetMissing() {
+        map.get(42L);
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testResizeTooSmall() {
+        map.put(1L, value(1));
+        map.put(2L, value(2));
+        map.resizeBackingTable(1);
+    }
+
+    /**
+     * Encodes an int as a 4 byte value.
+     *
+     * @param v the int
+     * @return the value bytes
+     */
+    private static byte[] value(int v) {
+        return new byte[] {(byte) (v >>> 24), (byte) (v >>> 16), (byte) (v >>> 8), (byte) v};
+    }
+}
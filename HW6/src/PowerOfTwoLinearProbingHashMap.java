@@ -0,0 +1,344 @@
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A LinearProbingHashMap whose table length is always a power of two.
+ *
+ * The home slot is found by running key.hashCode() through a bit mixer and
+ * masking off the low bits, and probing steps with (i + 1) & mask, so no
+ * probe does an integer division. The mixer spreads the high bits of the
+ * hash into the low bits that the mask keeps, which keeps sequential and
+ * strided keys from piling up in one cluster.
+ *
+ * Growth doubles the table. Everything else (tombstones, load factor,
+ * exceptions) follows LinearProbingHashMap.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ * @userid pkutz3
+ * @GTID 903637824
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class PowerOfTwoLinearProbingHashMap<K, V> {
+
+    /**
+     * The initial capacity of the map when created with the default
+     * constructor.
+     */
+    public static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The max load factor of the map.
+     */
+    public static final double MAX_LOAD_FACTOR = LinearProbingHashMap.MAX_LOAD_FACTOR;
+
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private LinearProbingMapEntry<K, V>[] table;
+    private int mask;
+    private int size;
+
+    /**
+     * Constructs a new PowerOfTwoLinearProbingHashMap with a capacity of
+     * INITIAL_CAPACITY.
+     */
+    public PowerOfTwoLinearProbingHashMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs a new PowerOfTwoLinearProbingHashMap. The capacity is
+     * rounded up to the next power of two.
+     *
+     * @param initialCapacity the minimum initial capacity of the table
+     * @throws java.lang.IllegalArgumentException if initialCapacity is not
+     *                                            positive
+     */
+    public PowerOfTwoLinearProbingHashMap(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("The capacity must be positive.");
+        }
+        table = newTable(tableSizeFor(initialCapacity));
+    }
+
+    /**
+     * Adds the given key-value pair to the map. If an entry in the map
+     * already has this key, replace the entry's value with the new one.
+     *
+     * The load factor is checked before anything else, and the table doubles
+     * if it would go over MAX_LOAD_FACTOR.
+     *
+     * @param key   the key to add
+     * @param value the value to add
+     * @return null if the key was not already in the map. If it was in the
+     * map, return the old value associated with it
+     * @throws java.lang.IllegalArgumentException if key or value is null
+     */
+    public V put(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key is null.");
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("The value is null.");
+        }
+
+        if ((double) (size + 1) / (double) table.length > MAX_LOAD_FACTOR) {
+            resizeBackingTable(table.length << 1);
+        }
+
+        int i = mix(key.hashCode()) & mask;
+        int delI = -1;
+        int numProbes = 0;
+        int seen = 0;
+
+        while (numProbes <= mask && seen < size && table[i] != null) {
+            LinearProbingMapEntry<K, V> entry = table[i];
+            if (entry.isRemoved()) {
+                if (delI == -1) {
+                    delI = i;
+                }
+            } else if (entry.getKey().equals(key)) {
+                V temp = entry.getValue();
+                entry.setValue(value);
+                return temp;
+            } else {
+                seen++;
+            }
+            i = (i + 1) & mask;
+            numProbes++;
+        }
+
+        table[delI == -1 ? i : delI] = new LinearProbingMapEntry<>(key, value);
+        size++;
+        return null;
+    }
+
+    /**
+     * Removes the entry with a matching key from map by marking the entry as
+     * removed.
+     *
+     * @param key the key to remove
+     * @return the value previously associated with the key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException   if the key is not in the map
+     */
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key is null.");
+        }
+        int i = indexOf(key);
+        if (i == -1) {
+            throw new NoSuchElementException("The key is not in the map.");
+        }
+
+        table[i].setRemoved(true);
+        size--;
+        return table[i].getValue();
+    }
+
+    /**
+     * Gets the value associated with the given key.
+     *
+     * @param key the key to search for in the map
+     * @return the value associated with the given key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException   if the key is not in the map
+     */
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key is null.");
+        }
+        int i = indexOf(key);
+        if (i == -1) {
+            throw new NoSuchElementException("The key is not in the map.");
+        }
+        return table[i].getValue();
+    }
+
+    /**
+     * Returns whether or not the key is in the map.
+     *
+     * @param key the key to search for in the map
+     * @return true if the key is contained within the map, false otherwise
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    public boolean containsKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key is null.");
+        }
+        return indexOf(key) != -1;
+    }
+
+    /**
+     * Private helper that finds the slot holding a live entry for the key.
+     *
+     * @param key the key to search for
+     * @return the index of the entry, -1 if the key is not in the map
+     */
+    private int indexOf(K key) {
+        int i = mix(key.hashCode()) & mask;
+        int numProbes = 0;
+
+        while (numProbes <= mask && table[i] != null) {
+            LinearProbingMapEntry<K, V> entry = table[i];
+            if (!entry.isRemoved() && entry.getKey().equals(key)) {
+                return i;
+            }
+            i = (i + 1) & mask;
+            numProbes++;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a Set of the keys contained in this map.
+     *
+     * @return the set of keys in this map
+     */
+    public Set<K> keySet() {
+        Set<K> keys = new HashSet<>(size);
+        for (LinearProbingMapEntry<K, V> entry : table) {
+            if (entry != null && !entry.isRemoved()) {
+                keys.add(entry.getKey());
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Returns a List of the values contained in this map in order of
+     * increasing index.
+     *
+     * @return list of values in this map
+     */
+    public List<V> values() {
+        List<V> values = new ArrayList<>(size);
+        for (LinearProbingMapEntry<K, V> entry : table) {
+            if (entry != null && !entry.isRemoved()) {
+                values.add(entry.getValue());
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Resize the backing table to at least length, rounded up to the next
+     * power of two. Removed entries are not copied over.
+     *
+     * @param length the minimum new length of the backing table
+     * @throws java.lang.IllegalArgumentException if length is less than the
+     *                                            number of items in the map
+     */
+    public void resizeBackingTable(int length) {
+        if (length < size || length <= 0) {
+            throw new IllegalArgumentException("The length is less than the items in hash map.");
+        }
+
+        LinearProbingMapEntry<K, V>[] old = table;
+        table = newTable(tableSizeFor(length));
+
+        for (LinearProbingMapEntry<K, V> entry : old) {
+            if (entry != null && !entry.isRemoved()) {
+                int i = mix(entry.getKey().hashCode()) & mask;
+                while (table[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                table[i] = entry;
+            }
+        }
+    }
+
+    /**
+     * Clears the map and resets the table to INITIAL_CAPACITY.
+     */
+    public void clear() {
+        table = newTable(INITIAL_CAPACITY);
+        size = 0;
+    }
+
+    /**
+     * Counts how far each live entry sits from its home slot. Index d of the
+     * result is the number of entries found d probes past their home slot.
+     *
+     * @return the probe length histogram of the table
+     */
+    public int[] probeLengthHistogram() {
+        int[] histogram = new int[1];
+        for (int i = 0; i < table.length; i++) {
+            LinearProbingMapEntry<K, V> entry = table[i];
+            if (entry != null && !entry.isRemoved()) {
+                int distance = (i - (mix(entry.getKey().hashCode()) & mask)) & mask;
+                if (distance >= histogram.length) {
+                    int[] bigger = new int[Math.max(distance + 1, histogram.length * 2)];
+                    System.arraycopy(histogram, 0, bigger, 0, histogram.length);
+                    histogram = bigger;
+                }
+                histogram[distance]++;
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * Private helper that allocates a table and updates the mask to match.
+     *
+     * @param length the length of the new table, a power of two
+     * @return the new table
+     */
+    private LinearProbingMapEntry<K, V>[] newTable(int length) {
+        mask = length - 1;
+        return (LinearProbingMapEntry<K, V>[]) new LinearProbingMapEntry[length];
+    }
+
+    /**
+     * Returns the smallest power of two that is at least n.
+     *
+     * @param n the requested capacity, positive
+     * @return the capacity to use
+     */
+    static int tableSizeFor(int n) {
+        if (n >= MAXIMUM_CAPACITY) {
+            return MAXIMUM_CAPACITY;
+        }
+        return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+
+    /**
+     * The MurmurHash3 32-bit finalizer. Every input bit affects every output
+     * bit, so masking the result keeps information from the whole hash.
+     *
+     * @param h the hash code to mix
+     * @return the mixed hash
+     */
+    static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * Returns the table of the map.
+     *
+     * @return the table of the map
+     */
+    public LinearProbingMapEntry<K, V>[] getTable() {
+        return table;
+    }
+
+    /**
+     * Returns the size of the map.
+     *
+     * @return the size of the map
+     */
+    public int size() {
+        return size;
+    }
+}
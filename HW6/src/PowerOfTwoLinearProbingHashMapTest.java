@@ -0,0 +1,202 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for PowerOfTwoLinearProbingHashMap.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ */
+public class PowerOfTwoLinearProbingHashMapTest {
+
+    private static final int TIMEOUT = 200;
+    private PowerOfTwoLinearProbingHashMap<Integer, String> map;
+
+    @Before
+    public void setUp() {
+        map = new PowerOfTwoLinearProbingHashMap<>();
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testInitialization() {
+        assertEquals(0, map.size());
+        assertEquals(PowerOfTwoLinearProbingHashMap.INITIAL_CAPACITY,
+                map.getTable().length);
+        assertEquals(16, new PowerOfTwoLinearProbingHashMap<>(9).getTable().length);
+        assertEquals(1, new PowerOfTwoLinearProbingHashMap<>(1).getTable().length);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testTableSizeFor() {
+        assertEquals(1, PowerOfTwoLinearProbingHashMap.tableSizeFor(1));
+        assertEquals(2, PowerOfTwoLinearProbingHashMap.tableSizeFor(2));
+        assertEquals(4, PowerOfTwoLinearProbingHashMap.tableSizeFor(3));
+        assertEquals(64, PowerOfTwoLinearProbingHashMap.tableSizeFor(64));
+        assertEquals(128, PowerOfTwoLinearProbingHashMap.tableSizeFor(65));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testPutGetRemove() {
+        String temp = "C";
+        assertNull(map.put(1, "A"));
+        assertNull(map.put(2, "B"));
+        assertNull(map.put(3, temp));
+        assertEquals("B", map.put(2, "D"));
+
+        assertEquals(3, map.size());
+        assertEquals("A", map.get(1));
+        assertEquals("D", map.get(2));
+        assertSame(temp, map.remove(3));
+        assertFalse(map.containsKey(3));
+        assertTrue(map.containsKey(1));
+        assertEquals(2, map.size());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testRemovedEntryIsReused() {
+        for (int i = 0; i < 8; i++) {
+            map.put(i, "v" + i);
+        }
+        map.remove(5);
+        int removedSlots = 0;
+        for (LinearProbingMapEntry<Integer, String> entry : map.getTable()) {
+            if (entry != null && entry.isRemoved()) {
+                removedSlots++;
+            }
+        }
+        assertEquals(1, removedSlots);
+
+        assertNull(map.put(5, "again"));
+        assertEquals("again", map.get(5));
+        assertEquals(8, map.size());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testResizeDoubles() {
+        // 16 * 0.67 = 10.72, so the 11th put doubles the table
+        for (int i = 0; i < 10; i++) {
+            map.put(i, "v" + i);
+        }
+        assertEquals(16, map.getTable().length);
+        map.put(10, "v10");
+        assertEquals(32, map.getTable().length);
+
+        map.resizeBackingTable(100);
+        assertEquals(128, map.getTable().length);
+        for (int i = 0; i <= 10; i++) {
+            assertEquals("v" + i, map.get(i));
+        }
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testResizeTooSmall() {
+        map.put(1, "A");
+        map.put(2, "B");
+        map.resizeBackingTable(1);
+    }
+
+    @Test(timeout = TIMEOUT, expected = NoSuchElementException.class)
+    public void testGetMissing() {
+        map.get(7);
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testNullKey() {
+        map.put(null, "A");
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testKeySetAndValues() {
+        Set<Integer> expected = new HashSet<>();
+        for (int i = 0; i < 20; i++) {
+            map.put(i * 3, "v");
+            expected.add(i * 3);
+        }
+        assertEquals(expected, map.keySet());
+        assertEquals(20, map.values().size());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testRandomKeysDoNotClusterMoreThanPrimeTable() {
+        // Compare at the same load factor: 8191 is prime, 8192 is 2^13.
+        LinearProbingHashMap<Integer, String> prime = new LinearProbingHashMap<>(8191);
+        map.resizeBackingTable(8192);
+        Random random = new Random(1332);
+        for (int i = 0; i < 5000; i++) {
+            int key = random.nextInt();
+            map.put(key, "v");
+            prime.put(key, "v");
+        }
+
+        assertTrue(meanProbeLength(map.probeLengthHistogram())
+                <= meanProbeLength(primeHistogram(prime)));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testStridedKeysStillSpreadOut() {
+        // Without the mixer every multiple of 64 would land in 1 of
+        // length / 64 home slots and the mean probe length would be huge.
+        for (int i = 0; i < 5000; i++) {
+            map.put(i * 64, "v");
+        }
+        assertTrue(meanProbeLength(map.probeLengthHistogram()) < 1.0);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testHistogramCountsEveryEntry() {
+        for (int i = 0; i < 500; i++) {
+            map.put(i, "v");
+        }
+        map.remove(100);
+        int total = 0;
+        for (int count : map.probeLengthHistogram()) {
+            total += count;
+        }
+        assertEquals(499, total);
+    }
+
+    /**
+     * Computes the mean of a probe length histogram.
+     *
+     * @param histogram the histogram
+     * @return the mean probe length
+     */
+    private static double meanProbeLength(int[] histogram) {
+        long total = 0;
+        long count = 0;
+        for (int d = 0; d < histogram.length; d++) {
+            total += (long) d * histogram[d];
+            count += histogram[d];
+        }
+        return (double) total / count;
+    }
+
+    /**
+     * Computes the probe length histogram of a LinearProbingHashMap.
+     *
+     * @param prime the map to inspect
+     * @return index d holds the number of entries d probes from home
+     */
+    private static int[] primeHistogram(LinearProbingHashMap<Integer, String> prime) {
+        LinearProbingMapEntry<Integer, String>[] table = prime.getTable();
+        int[] histogram = new int[table.length];
+        for (int i = 0; i < table.length; i++) {
+            if (table[i] != null && !table[i].isRemoved()) {
+                int home = Math.abs(table[i].getKey().hashCode() % table.length);
+                histogram[Math.floorMod(i - home, table.length)]++;
+            }
+        }
+        return histogram;
+    }
+}
@@ -0,0 +1,204 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for IntLinearProbingHashMap and LongLinearProbingHashMap.
+ *
+ * Most tests compare against LinearProbingHashMap so the primitive maps are
+ * known to lay out their slots the same way.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ */
+public class PrimitiveLinearProbingHashMapTest {
+
+    private static final int TIMEOUT = 200;
+    private IntLinearProbingHashMap<String> intMap;
+    private LongLinearProbingHashMap<String> longMap;
+
+    @Before
+    public void setUp() {
+        intMap = new IntLinearProbingHashMap<>();
+        longMap = new LongLinearProbingHashMap<>();
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testInitialization() {
+        assertEquals(0, intMap.size());
+        assertEquals(IntLinearProbingHashMap.INITIAL_CAPACITY,
+                intMap.getKeyTable().length);
+        assertEquals(0, longMap.size());
+        assertEquals(LongLinearProbingHashMap.INITIAL_CAPACITY,
+                longMap.getKeyTable().length);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testPut() {
+        // [_, (1, A), (2, B), (3, C), (4, D), (5, E), _, _, _, _, _, _, _]
+        assertNull(intMap.put(1, "A"));
+        assertNull(intMap.put(2, "B"));
+        assertNull(intMap.put(3, "C"));
+        assertNull(intMap.put(4, "D"));
+        assertNull(intMap.put(5, "E"));
+        assertEquals("C", intMap.put(3, "F"));
+
+        assertEquals(5, intMap.size());
+        String[] expected = new String[IntLinearProbingHashMap.INITIAL_CAPACITY];
+        expected[1] = "A";
+        expected[2] = "B";
+        expected[3] = "F";
+        expected[4] = "D";
+        expected[5] = "E";
+        assertArrayEquals(expected, intMap.getValueTable());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testPutNegativeAndCollidingKeys() {
+        // -13, 0 and 13 all hash to index 0
+        assertNull(intMap.put(0, "A"));
+        assertNull(intMap.put(-13, "B"));
+        assertNull(intMap.put(13, "C"));
+        assertNull(intMap.put(-4, "D"));
+
+        assertArrayEquals(new int[] {0, -13, 13, 0, -4, 0, 0, 0, 0, 0, 0, 0, 0},
+                intMap.getKeyTable());
+        assertEquals("B", intMap.get(-13));
+        assertEquals("D", intMap.get(-4));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testRemoveLeavesTombstone() {
+        String temp = "D";
+        intMap.put(1, "A");
+        intMap.put(14, "B");
+        intMap.put(27, temp);
+
+        // [_, (1, A), (14, B)X, (27, D), _, ...]
+        assertEquals("B", intMap.remove(14));
+        assertTrue(intMap.getRemovedTable()[2]);
+        assertNull(intMap.getValueTable()[2]);
+        assertSame(temp, intMap.get(27));
+        assertFalse(intMap.containsKey(14));
+
+        // the tombstone is reused by the next colliding put
+        assertNull(intMap.put(40, "E"));
+        assertEquals(40, intMap.getKeyTable()[2]);
+        assertFalse(intMap.getRemovedTable()[2]);
+        assertEquals(3, intMap.size());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testPutExistingKeyPastTombstone() {
+        intMap.put(1, "A");
+        intMap.put(14, "B");
+        intMap.remove(1);
+
+        assertEquals("B", intMap.put(14, "C"));
+        assertEquals(1, intMap.size());
+        assertEquals("C", intMap.get(14));
+    }
+
+    @Test(timeout = TIMEOUT, expected = NoSuchElementException.class)
+    public void testGetMissing() {
+        intMap.put(1, "A");
+        intMap.get(2);
+    }
+
+    @Test(timeout = TIMEOUT, expected = NoSuchElementException.class)
+    public void testRemoveMissing() {
+        longMap.remove(1L);
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testPutNullValue() {
+        intMap.put(1, null);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testMatchesLinearProbingHashMap() {
+        LinearProbingHashMap<Integer, String> boxed = new LinearProbingHashMap<>();
+        for (int i = 0; i < 200; i++) {
+            int key = (i * 37) % 101 - 50;
+            boxed.put(key, "v" + i);
+            intMap.put(key, "v" + i);
+        }
+        for (int i = 0; i < 200; i += 3) {
+            int key = (i * 37) % 101 - 50;
+            if (boxed.containsKey(key)) {
+                assertEquals(boxed.remove(key), intMap.remove(key));
+            }
+        }
+
+        assertEquals(boxed.size(), intMap.size());
+        assertEquals(boxed.getTable().length, intMap.getKeyTable().length);
+        assertEquals(boxed.values(), intMap.values());
+        for (int key : intMap.keys()) {
+            assertEquals(boxed.get(key), intMap.get(key));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testLongKeys() {
+        long big = 1L << 40;
+        assertNull(longMap.put(big, "A"));
+        assertNull(longMap.put(big + 1, "B"));
+        assertNull(longMap.put(-big, "C"));
+
+        assertEquals("A", longMap.get(big));
+        assertEquals("B", longMap.get(big + 1));
+        assertEquals("C", longMap.get(-big));
+        assertTrue(longMap.containsKey(-big));
+        assertFalse(longMap.containsKey(big + 2));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testResize() {
+        for (int i = 0; i < 9; i++) {
+            longMap.put(i, "v" + i);
+        }
+        // (9 + 1) / 13 > 0.67, so this put grows the table to 27
+        longMap.put(9, "v9");
+        assertEquals(27, longMap.getKeyTable().length);
+
+        longMap.remove(4L);
+        longMap.resizeBackingTable(11);
+        assertEquals(9, longMap.size());
+        assertFalse(longMap.getRemovedTable()[4]);
+
+        List<String> expected = new LinkedList<>();
+        for (int i = 0; i < 10; i++) {
+            if (i != 4) {
+                expected.add("v" + i);
+            }
+        }
+        assertEquals(expected, longMap.values());
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testResizeTooSmall() {
+        intMap.put(1, "A");
+        intMap.put(2, "B");
+        intMap.resizeBackingTable(1);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testClear() {
+        intMap.put(1, "A");
+        intMap.put(2, "B");
+        intMap.clear();
+        assertEquals(0, intMap.size());
+        assertArrayEquals(new int[IntLinearProbingHashMap.INITIAL_CAPACITY],
+                intMap.getKeyTable());
+    }
+}
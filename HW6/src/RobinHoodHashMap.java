@@ -0,0 +1,361 @@
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A linear probing hash map that uses Robin Hood insertion and backward-shift
+ * deletion.
+ *
+ * On insert, an entry that is further from its home slot than the entry
+ * sitting in a slot takes that slot, and the displaced entry keeps probing.
+ * This keeps probe lengths close to the mean and lets a failed lookup stop as
+ * soon as it reaches an entry that is closer to home than the search is.
+ *
+ * On remove, the entries after the removed one are shifted back one slot
+ * until an empty slot or an entry already at home is reached. The table never
+ * holds removed entries, so probe lengths do not grow under churn.
+ *
+ * The table length is a power of two and uses the same mixer and mask as
+ * PowerOfTwoLinearProbingHashMap.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ * @userid pkutz3
+ * @GTID 903637824
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class RobinHoodHashMap<K, V> {
+
+    /**
+     * The initial capacity of the map when created with the default
+     * constructor.
+     */
+    public static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The max load factor of the map.
+     */
+    public static final double MAX_LOAD_FACTOR = LinearProbingHashMap.MAX_LOAD_FACTOR;
+
+    private LinearProbingMapEntry<K, V>[] table;
+    private int[] hashes;
+    private int mask;
+    private int size;
+
+    /**
+     * Constructs a new RobinHoodHashMap with a capacity of INITIAL_CAPACITY.
+     */
+    public RobinHoodHashMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs a new RobinHoodHashMap. The capacity is rounded up to the
+     * next power of two.
+     *
+     * @param initialCapacity the minimum initial capacity of the table
+     * @throws java.lang.IllegalArgumentException if initialCapacity is not
+     *                                            positive
+     */
+    public RobinHoodHashMap(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("The capacity must be positive.");
+        }
+        allocate(PowerOfTwoLinearProbingHashMap.tableSizeFor(initialCapacity));
+    }
+
+    /**
+     * Adds the given key-value pair to the map. If an entry in the map
+     * already has this key, replace the entry's value with the new one.
+     *
+     * The load factor is checked before anything else, and the table doubles
+     * if it would go over MAX_LOAD_FACTOR.
+     *
+     * @param key   the key to add
+     * @param value the value to add
+     * @return null if the key was not already in the map. If it was in the
+     * map, return the old value associated with it
+     * @throws java.lang.IllegalArgumentException if key or value is null
+     */
+    public V put(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key is null.");
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("The value is null.");
+        }
+
+        if ((double) (size + 1) / (double) table.length > MAX_LOAD_FACTOR) {
+            resizeBackingTable(table.length << 1);
+        }
+
+        int hash = PowerOfTwoLinearProbingHashMap.mix(key.hashCode());
+        int i = hash & mask;
+        int dist = 0;
+
+        // The key can only be in the run up to the first entry that is
+        // closer to its home slot than this key would be.
+        while (table[i] != null) {
+            int slotDist = distance(i);
+            if (slotDist < dist) {
+                break;
+            }
+            if (hashes[i] == hash && table[i].getKey().equals(key)) {
+                V temp = table[i].getValue();
+                table[i].setValue(value);
+                return temp;
+            }
+            i = (i + 1) & mask;
+            dist++;
+        }
+
+        insertFrom(i, dist, new LinearProbingMapEntry<>(key, value), hash);
+        size++;
+        return null;
+    }
+
+    /**
+     * Private helper that places an entry at slot i, which is dist probes
+     * from its home, and pushes richer entries forward until an empty slot
+     * is reached. The key must not already be in the table.
+     *
+     * @param i     the slot to start at
+     * @param dist  the distance of slot i from the entry's home slot
+     * @param entry the entry to place
+     * @param hash  the mixed hash of the entry's key
+     */
+    private void insertFrom(int i, int dist, LinearProbingMapEntry<K, V> entry, int hash) {
+        while (table[i] != null) {
+            int slotDist = distance(i);
+            if (slotDist < dist) {
+                LinearProbingMapEntry<K, V> tempEntry = table[i];
+                int tempHash = hashes[i];
+                table[i] = entry;
+                hashes[i] = hash;
+                entry = tempEntry;
+                hash = tempHash;
+                dist = slotDist;
+            }
+            i = (i + 1) & mask;
+            dist++;
+        }
+        table[i] = entry;
+        hashes[i] = hash;
+    }
+
+    /**
+     * Removes the entry with a matching key from the map and shifts the rest
+     * of its run back one slot.
+     *
+     * @param key the key to remove
+     * @return the value previously associated with the key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException   if the key is not in the map
+     */
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key is null.");
+        }
+        int i = indexOf(key);
+        if (i == -1) {
+            throw new NoSuchElementException("The key is not in the map.");
+        }
+
+        V temp = table[i].getValue();
+        int next = (i + 1) & mask;
+        while (table[next] != null && distance(next) > 0) {
+            table[i] = table[next];
+            hashes[i] = hashes[next];
+            i = next;
+            next = (next + 1) & mask;
+        }
+        table[i] = null;
+        hashes[i] = 0;
+        size--;
+        return temp;
+    }
+
+    /**
+     * Gets the value associated with the given key.
+     *
+     * @param key the key to search for in the map
+     * @return the value associated with the given key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException   if the key is not in the map
+     */
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key is null.");
+        }
+        int i = indexOf(key);
+        if (i == -1) {
+            throw new NoSuchElementException("The key is not in the map.");
+        }
+        return table[i].getValue();
+    }
+
+    /**
+     * Returns whether or not the key is in the map.
+     *
+     * @param key the key to search for in the map
+     * @return true if the key is contained within the map, false otherwise
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    public boolean containsKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key is null.");
+        }
+        return indexOf(key) != -1;
+    }
+
+    /**
+     * Private helper that finds the slot holding the key. The search stops at
+     * the first slot whose entry is closer to home than the search is.
+     *
+     * @param key the key to search for
+     * @return the index of the entry, -1 if the key is not in the map
+     */
+    private int indexOf(K key) {
+        int hash = PowerOfTwoLinearProbingHashMap.mix(key.hashCode());
+        int i = hash & mask;
+        int dist = 0;
+
+        while (table[i] != null && distance(i) >= dist) {
+            if (hashes[i] == hash && table[i].getKey().equals(key)) {
+                return i;
+            }
+            i = (i + 1) & mask;
+            dist++;
+        }
+        return -1;
+    }
+
+    /**
+     * Private helper that returns how far the entry in slot i is from its
+     * home slot.
+     *
+     * @param i the index of an occupied slot
+     * @return the probe distance of the entry
+     */
+    private int distance(int i) {
+        return (i - (hashes[i] & mask)) & mask;
+    }
+
+    /**
+     * Returns a Set of the keys contained in this map.
+     *
+     * @return the set of keys in this map
+     */
+    public Set<K> keySet() {
+        Set<K> keys = new HashSet<>(size);
+        for (LinearProbingMapEntry<K, V> entry : table) {
+            if (entry != null) {
+                keys.add(entry.getKey());
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Returns a List of the values contained in this map in order of
+     * increasing index.
+     *
+     * @return list of values in this map
+     */
+    public List<V> values() {
+        List<V> values = new ArrayList<>(size);
+        for (LinearProbingMapEntry<K, V> entry : table) {
+            if (entry != null) {
+                values.add(entry.getValue());
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Resize the backing table to at least length, rounded up to the next
+     * power of two.
+     *
+     * @param length the minimum new length of the backing table
+     * @throws java.lang.IllegalArgumentException if length is less than the
+     *                                            number of items in the map
+     */
+    public void resizeBackingTable(int length) {
+        if (length < size || length <= 0) {
+            throw new IllegalArgumentException("The length is less than the items in hash map.");
+        }
+
+        LinearProbingMapEntry<K, V>[] oldTable = table;
+        int[] oldHashes = hashes;
+        allocate(PowerOfTwoLinearProbingHashMap.tableSizeFor(length));
+
+        for (int i = 0; i < oldTable.length; i++) {
+            if (oldTable[i] != null) {
+                insertFrom(oldHashes[i] & mask, 0, oldTable[i], oldHashes[i]);
+            }
+        }
+    }
+
+    /**
+     * Clears the map and resets the table to INITIAL_CAPACITY.
+     */
+    public void clear() {
+        allocate(INITIAL_CAPACITY);
+        size = 0;
+    }
+
+    /**
+     * Counts how far each entry sits from its home slot. Index d of the
+     * result is the number of entries found d probes past their home slot.
+     *
+     * @return the probe length histogram of the table
+     */
+    public int[] probeLengthHistogram() {
+        int max = 0;
+        for (int i = 0; i < table.length; i++) {
+            if (table[i] != null) {
+                max = Math.max(max, distance(i));
+            }
+        }
+        int[] histogram = new int[max + 1];
+        for (int i = 0; i < table.length; i++) {
+            if (table[i] != null) {
+                histogram[distance(i)]++;
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * Private helper that allocates the table and hash arrays.
+     *
+     * @param length the length of the new arrays, a power of two
+     */
+    private void allocate(int length) {
+        table = (LinearProbingMapEntry<K, V>[]) new LinearProbingMapEntry[length];
+        hashes = new int[length];
+        mask = length - 1;
+    }
+
+    /**
+     * Returns the table of the map. No entry in it is ever marked as removed.
+     *
+     * @return the table of the map
+     */
+    public LinearProbingMapEntry<K, V>[] getTable() {
+        return table;
+    }
+
+    /**
+     * Returns the size of the map.
+     *
+     * @return the size of the map
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,170 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for RobinHoodHashMap.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ */
+public class RobinHoodHashMapTest {
+
+    private static final int TIMEOUT = 500;
+    private RobinHoodHashMap<Integer, String> map;
+
+    @Before
+    public void setUp() {
+        map = new RobinHoodHashMap<>();
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testPutGetRemove() {
+        String temp = "B";
+        assertNull(map.put(1, "A"));
+        assertNull(map.put(2, temp));
+        assertNull(map.put(3, "C"));
+        assertEquals("C", map.put(3, "D"));
+
+        assertEquals(3, map.size());
+        assertEquals("A", map.get(1));
+        assertEquals("D", map.get(3));
+        assertSame(temp, map.remove(2));
+        assertFalse(map.containsKey(2));
+        assertEquals(2, map.size());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testRemoveShiftsRunBack() {
+        // Keys that all share a home slot form one run of length 4.
+        RobinHoodHashMap<Collider, String> colliding = new RobinHoodHashMap<>();
+        for (int i = 0; i < 4; i++) {
+            colliding.put(new Collider(i), "v" + i);
+        }
+        int home = PowerOfTwoLinearProbingHashMap.mix(0) & 15;
+
+        colliding.remove(new Collider(0));
+        LinearProbingMapEntry<Collider, String>[] table = colliding.getTable();
+        assertEquals(new Collider(1), table[home].getKey());
+        assertEquals(new Collider(2), table[(home + 1) & 15].getKey());
+        assertEquals(new Collider(3), table[(home + 2) & 15].getKey());
+        assertNull(table[(home + 3) & 15]);
+        assertEquals("v3", colliding.get(new Collider(3)));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testTableNeverHoldsRemovedEntries() {
+        Random random = new Random(1332);
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(500);
+            if (map.containsKey(key)) {
+                map.remove(key);
+            } else {
+                map.put(key, "v");
+            }
+        }
+        for (LinearProbingMapEntry<Integer, String> entry : map.getTable()) {
+            assertTrue(entry == null || !entry.isRemoved());
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testChurnMatchesHashMap() {
+        Map<Integer, String> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 50000; i++) {
+            int key = random.nextInt(2000);
+            if (random.nextInt(3) == 0 && expected.containsKey(key)) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                String value = "v" + i;
+                assertEquals(expected.put(key, value), map.put(key, value));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected.keySet(), map.keySet());
+        for (Map.Entry<Integer, String> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testChurnKeepsProbesShort() {
+        // Fill the table, then delete and insert fresh keys so that a
+        // tombstone map would eventually be nothing but removed entries.
+        map.resizeBackingTable(4096);
+        for (int i = 0; i < 2500; i++) {
+            map.put(i, "v");
+        }
+        for (int i = 2500; i < 200000; i++) {
+            map.remove(i - 2500);
+            map.put(i, "v");
+        }
+        assertEquals(4096, map.getTable().length);
+        assertTrue(map.probeLengthHistogram().length < 40);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testResize() {
+        for (int i = 0; i < 100; i++) {
+            map.put(i, "v" + i);
+        }
+        assertEquals(256, map.getTable().length);
+        map.resizeBackingTable(1000);
+        assertEquals(1024, map.getTable().length);
+        for (int i = 0; i < 100; i++) {
+            assertEquals("v" + i, map.get(i));
+        }
+        map.clear();
+        assertEquals(0, map.size());
+        assertEquals(RobinHoodHashMap.INITIAL_CAPACITY, map.getTable().length);
+    }
+
+    @Test(timeout = TIMEOUT, expected = NoSuchElementException.class)
+    public void testRemoveMissing() {
+        map.put(1, "A");
+        map.remove(2);
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testNullValue() {
+        map.put(1, null);
+    }
+
+    /**
+     * A key whose hash code is always 0.
+     */
+    private static class Collider {
+        private final int id;
+
+        /**
+         * Creates a key with the given id.
+         *
+         * @param id the id of the key
+         */
+        Collider(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Collider && ((Collider) o).id == id;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Turns keys or values into bytes for LinearProbingHashMapSnapshot.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ * @userid pkutz3
+ * @GTID 903637824
+ *
+ * @param <T> the type being encoded
+ */
+public interface SnapshotCodec<T> {
+
+    /**
+     * Codec for Integer, 4 bytes.
+     */
+    SnapshotCodec<Integer> INTEGER = new SnapshotCodec<Integer>() {
+        @Override
+        public int size(Integer value) {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void write(Integer value, ByteBuffer buffer) {
+            buffer.putInt(value);
+        }
+
+        @Override
+        public Integer read(ByteBuffer buffer) {
+            return buffer.getInt();
+        }
+    };
+
+    /**
+     * Codec for Long, 8 bytes.
+     */
+    SnapshotCodec<Long> LONG = new SnapshotCodec<Long>() {
+        @Override
+        public int size(Long value) {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void write(Long value, ByteBuffer buffer) {
+            buffer.putLong(value);
+        }
+
+        @Override
+        public Long read(ByteBuffer buffer) {
+            return buffer.getLong();
+        }
+    };
+
+    /**
+     * Codec for String, as UTF-8.
+     */
+    SnapshotCodec<String> STRING = new SnapshotCodec<String>() {
+        @Override
+        public int size(String value) {
+            int size = value.length();
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c >= 0x80 && c < 0x800) {
+                    size++;
+                } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    // A surrogate pair is 4 bytes for 2 chars.
+                    size += 2;
+                    i++;
+                } else if (c >= 0x800 && !Character.isSurrogate(c)) {
+                    // An unpaired surrogate is written as a single '?'.
+                    size += 2;
+                }
+            }
+            return size;
+        }
+
+        @Override
+        public void write(String value, ByteBuffer buffer) {
+            buffer.put(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public String read(ByteBuffer buffer) {
+            if (buffer.hasArray()) {
+                String value = new String(buffer.array(),
+                        buffer.arrayOffset() + buffer.position(), buffer.remaining(),
+                        StandardCharsets.UTF_8);
+                buffer.position(buffer.limit());
+                return value;
+            }
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    /**
+     * Returns the number of bytes write will use for value.
+     *
+     * @param value the value to measure, never null
+     * @return the encoded size in bytes
+     */
+    int size(T value);
+
+    /**
+     * Writes value into buffer. The buffer always has at least size(value)
+     * bytes remaining.
+     *
+     * @param value  the value to write, never null
+     * @param buffer the buffer to write into
+     */
+    void write(T value, ByteBuffer buffer);
+
+    /**
+     * Reads a value back. The buffer's remaining bytes are exactly the bytes
+     * write produced.
+     *
+     * @param buffer the buffer to read from
+     * @return the decoded value
+     */
+    T read(ByteBuffer buffer);
+}
@@ -0,0 +1,361 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * An open addressing map in the style of a Swiss table: a parallel array of
+ * control bytes lets a lookup skip most slots without touching their keys.
+ *
+ * Slots come in groups of 8 and each group's 8 control bytes are packed into
+ * one long. A control byte is EMPTY, DELETED, or 0 to 127 for a full slot,
+ * in which case it holds the low 7 bits of the slot's mixed hash (h2). The
+ * remaining hash bits (h1) pick the first group to probe. A lookup compares
+ * h2 against all 8 bytes of a group at once with SWAR (SIMD within a
+ * register) arithmetic on the long, and only calls equals on slots whose
+ * byte matched, about 1 in 128 of the non-matching full slots. A probe stops
+ * at the first group that has an EMPTY byte. Groups are visited in
+ * triangular order, which reaches every group of a power-of-two table.
+ *
+ * Removal writes EMPTY when the slot's group still has an EMPTY byte, since
+ * no probe can have gone past such a group, and DELETED otherwise. DELETED
+ * slots count toward the load factor and are cleared out by the next
+ * rehash.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ * @userid pkutz3
+ * @GTID 903637824
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class SwissTableHashMap<K, V> {
+
+    /**
+     * The initial capacity of the map when created with the default
+     * constructor.
+     */
+    public static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The highest max load factor allowed, and the default.
+     */
+    public static final double MAX_LOAD_FACTOR = 0.875;
+
+    private static final int GROUP_SIZE = 8;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private static final long EMPTY = 0x80L;
+    private static final long DELETED = 0xFEL;
+    private static final long LSBS = 0x0101010101010101L;
+    private static final long MSBS = 0x8080808080808080L;
+
+    private final double maxLoadFactor;
+    private long[] control;
+    private Object[] keys;
+    private Object[] values;
+    private int groupMask;
+    private int size;
+    private int used;
+    private int threshold;
+
+    /**
+     * Constructs a new SwissTableHashMap with a capacity of INITIAL_CAPACITY.
+     */
+    public SwissTableHashMap() {
+        this(INITIAL_CAPACITY, MAX_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs a new SwissTableHashMap. The capacity is rounded up to a
+     * power of two of at least 8.
+     *
+     * @param initialCapacity the minimum number of slots
+     * @param maxLoadFactor   the fraction of slots, counting deleted ones,
+     *                        that may be used before the table is rebuilt
+     * @throws java.lang.IllegalArgumentException if initialCapacity is not
+     *                                            positive or maxLoadFactor
+     *                                            is not in (0, 0.875]
+     */
+    public SwissTableHashMap(int initialCapacity, double maxLoadFactor) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("The capacity must be positive.");
+        }
+        if (!(maxLoadFactor > 0 && maxLoadFactor <= MAX_LOAD_FACTOR)) {
+            throw new IllegalArgumentException("The load factor must be in (0, 0.875].");
+        }
+        this.maxLoadFactor = maxLoadFactor;
+        int capacity = PowerOfTwoLinearProbingHashMap.tableSizeFor(initialCapacity);
+        allocate(Math.max(GROUP_SIZE, capacity));
+    }
+
+    /**
+     * Adds the given key-value pair to the map. If an entry in the map
+     * already has this key, replace the entry's value with the new one.
+     *
+     * @param key   the key to add
+     * @param value the value to add
+     * @return null if the key was not already in the map. If it was in the
+     * map, return the old value associated with it
+     * @throws java.lang.IllegalArgumentException if key or value is null
+     */
+    public V put(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key is null.");
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("The value is null.");
+        }
+
+        int hash = PowerOfTwoLinearProbingHashMap.mix(key.hashCode());
+        int i = find(key, hash);
+        if (i >= 0) {
+            V temp = (V) values[i];
+            values[i] = value;
+            return temp;
+        }
+
+        if (used + 1 > threshold) {
+            // Grow only if live entries, not deleted slots, fill the table.
+            int capacity = keys.length;
+            rehash(size + 1 > threshold / 2 ? capacity << 1 : capacity);
+        }
+        insert(key, value, hash);
+        size++;
+        return null;
+    }
+
+    /**
+     * Removes the entry with a matching key from the map.
+     *
+     * @param key the key to remove
+     * @return the value previously associated with the key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException   if the key is not in the map
+     */
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key is null.");
+        }
+        int i = find(key, PowerOfTwoLinearProbingHashMap.mix(key.hashCode()));
+        if (i < 0) {
+            throw new NoSuchElementException("The key is not in the map.");
+        }
+
+        V temp = (V) values[i];
+        int group = i >>> 3;
+        if (matchEmpty(control[group]) != 0) {
+            setControl(i, EMPTY);
+            used--;
+        } else {
+            setControl(i, DELETED);
+        }
+        keys[i] = null;
+        values[i] = null;
+        size--;
+        return temp;
+    }
+
+    /**
+     * Gets the value associated with the given key.
+     *
+     * @param key the key to search for in the map
+     * @return the value associated with the given key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException   if the key is not in the map
+     */
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key is null.");
+        }
+        int i = find(key, PowerOfTwoLinearProbingHashMap.mix(key.hashCode()));
+        if (i < 0) {
+            throw new NoSuchElementException("The key is not in the map.");
+        }
+        return (V) values[i];
+    }
+
+    /**
+     * Returns whether or not the key is in the map.
+     *
+     * @param key the key to search for in the map
+     * @return true if the key is contained within the map, false otherwise
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    public boolean containsKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key is null.");
+        }
+        return find(key, PowerOfTwoLinearProbingHashMap.mix(key.hashCode())) >= 0;
+    }
+
+    /**
+     * Private helper that finds the slot holding a key.
+     *
+     * @param key  the key to search for
+     * @param hash the mixed hash of the key
+     * @return the slot index, or -1 if the key is not in the map
+     */
+    private int find(Object key, int hash) {
+        long pattern = LSBS * (hash & 0x7F);
+        int group = (hash >>> 7) & groupMask;
+        for (int step = 1; ; step++) {
+            long word = control[group];
+            for (long match = matchByte(word, pattern); match != 0; match &= match - 1) {
+                int i = (group << 3) + (Long.numberOfTrailingZeros(match) >>> 3);
+                if (key.equals(keys[i])) {
+                    return i;
+                }
+            }
+            if (matchEmpty(word) != 0) {
+                return -1;
+            }
+            group = (group + step) & groupMask;
+        }
+    }
+
+    /**
+     * Private helper that puts a key known to be absent in the first EMPTY
+     * or DELETED slot of its probe sequence.
+     *
+     * @param key   the key to add
+     * @param value the value to add
+     * @param hash  the mixed hash of the key
+     */
+    private void insert(Object key, Object value, int hash) {
+        int group = (hash >>> 7) & groupMask;
+        for (int step = 1; ; step++) {
+            long free = control[group] & MSBS;
+            if (free != 0) {
+                int i = (group << 3) + (Long.numberOfTrailingZeros(free) >>> 3);
+                if (controlAt(i) == EMPTY) {
+                    used++;
+                }
+                setControl(i, hash & 0x7F);
+                keys[i] = key;
+                values[i] = value;
+                return;
+            }
+            group = (group + step) & groupMask;
+        }
+    }
+
+    /**
+     * Returns a word with the high bit set in each byte of word that equals
+     * the byte repeated in pattern. A byte just above a real match can also
+     * be flagged, so callers still check the key.
+     *
+     * @param word    8 control bytes
+     * @param pattern one byte repeated 8 times
+     * @return the match bits
+     */
+    private static long matchByte(long word, long pattern) {
+        long x = word ^ pattern;
+        return (x - LSBS) & ~x & MSBS;
+    }
+
+    /**
+     * Returns a word with the high bit set in each EMPTY byte of word. EMPTY
+     * is the only control byte with bit 7 set and bit 1 clear.
+     *
+     * @param word 8 control bytes
+     * @return the match bits
+     */
+    private static long matchEmpty(long word) {
+        return word & (~word << 6) & MSBS;
+    }
+
+    /**
+     * Private helper that reads the control byte of a slot.
+     *
+     * @param i the slot index
+     * @return the control byte, as an unsigned value
+     */
+    private long controlAt(int i) {
+        return (control[i >>> 3] >>> ((i & 7) << 3)) & 0xFF;
+    }
+
+    /**
+     * Private helper that writes the control byte of a slot.
+     *
+     * @param i     the slot index
+     * @param value the control byte
+     */
+    private void setControl(int i, long value) {
+        int shift = (i & 7) << 3;
+        control[i >>> 3] = (control[i >>> 3] & ~(0xFFL << shift)) | (value << shift);
+    }
+
+    /**
+     * Private helper that rebuilds the table at the given capacity, dropping
+     * DELETED slots.
+     *
+     * @param capacity the new number of slots, a power of two
+     */
+    private void rehash(int capacity) {
+        if (capacity > MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("The map is full.");
+        }
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                insert(oldKeys[i], oldValues[i],
+                        PowerOfTwoLinearProbingHashMap.mix(oldKeys[i].hashCode()));
+            }
+        }
+    }
+
+    /**
+     * Private helper that sets up empty arrays for the given capacity.
+     *
+     * @param capacity the number of slots, a power of two of at least 8
+     */
+    private void allocate(int capacity) {
+        control = new long[capacity / GROUP_SIZE];
+        Arrays.fill(control, LSBS * EMPTY);
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        groupMask = control.length - 1;
+        used = 0;
+        // At least one slot must stay EMPTY so every probe ends.
+        threshold = Math.min(capacity - 1, (int) (capacity * maxLoadFactor));
+    }
+
+    /**
+     * Clears the map back to INITIAL_CAPACITY.
+     */
+    public void clear() {
+        allocate(INITIAL_CAPACITY);
+        size = 0;
+    }
+
+    /**
+     * Returns the number of slots.
+     *
+     * @return the capacity of the table
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Returns the number of slots that are full or DELETED.
+     *
+     * For testing purposes only.
+     *
+     * @return the number of used slots
+     */
+    int usedSlots() {
+        return used;
+    }
+
+    /**
+     * Returns the size of the map.
+     *
+     * @return the size of the map
+     */
+    public int size() {
+        return size;
+    }
+}
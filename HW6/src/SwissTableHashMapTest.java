@@ -0,0 +1,179 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for SwissTableHashMap.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ */
+public class SwissTableHashMapTest {
+
+    private static final int TIMEOUT = 2000;
+
+    private SwissTableHashMap<Integer, String> map;
+
+    @Before
+    public void setUp() {
+        map = new SwissTableHashMap<>();
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testPutGetRemove() {
+        assertNull(map.put(1, "one"));
+        assertNull(map.put(2, "two"));
+        assertEquals("one", map.put(1, "uno"));
+
+        assertEquals(2, map.size());
+        assertEquals("uno", map.get(1));
+        assertEquals("two", map.remove(2));
+        assertFalse(map.containsKey(2));
+        assertTrue(map.containsKey(1));
+        assertEquals(1, map.size());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testGrowsPastLoadFactor() {
+        for (int i = 0; i < 14; i++) {
+            map.put(i, "v");
+        }
+        assertEquals(16, map.capacity());
+
+        map.put(14, "v");
+        assertEquals(32, map.capacity());
+        for (int i = 0; i < 15; i++) {
+            assertEquals("v", map.get(i));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testMatchesHashMap() {
+        Map<Integer, String> expected = new HashMap<>();
+        Random random = new Random(1332);
+        for (int i = 0; i < 100_000; i++) {
+            int key = random.nextInt(5000);
+            if (random.nextInt(3) == 0) {
+                String value = expected.remove(key);
+                if (value == null) {
+                    assertFalse(map.containsKey(key));
+                } else {
+                    assertEquals(value, map.remove(key));
+                }
+            } else {
+                String value = "v" + i;
+                assertEquals(expected.put(key, value), map.put(key, value));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Integer, String> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testCollidingKeys() {
+        SwissTableHashMap<Collider, Integer> colliding = new SwissTableHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            colliding.put(new Collider(i), i);
+        }
+        for (int i = 0; i < 100; i += 2) {
+            assertEquals(Integer.valueOf(i), colliding.remove(new Collider(i)));
+        }
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i % 2 == 1, colliding.containsKey(new Collider(i)));
+        }
+        assertEquals(50, colliding.size());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testChurnDoesNotGrow() {
+        SwissTableHashMap<Integer, String> churn = new SwissTableHashMap<>(1024, 0.875);
+        for (int i = 0; i < 400; i++) {
+            churn.put(i, "v");
+        }
+        for (int i = 400; i < 200_000; i++) {
+            churn.remove(i - 400);
+            churn.put(i, "v");
+        }
+        assertEquals(400, churn.size());
+        assertEquals(1024, churn.capacity());
+        assertTrue(churn.usedSlots() <= 896);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testHighLoadFactor() {
+        SwissTableHashMap<Integer, String> full = new SwissTableHashMap<>(1 << 12, 0.87);
+        int n = (int) (0.87 * (1 << 12));
+        for (int i = 0; i < n; i++) {
+            full.put(i * 31, "v");
+        }
+        assertEquals(1 << 12, full.capacity());
+        for (int i = 0; i < n; i++) {
+            assertTrue(full.containsKey(i * 31));
+        }
+        assertFalse(full.containsKey(-1));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testClear() {
+        for (int i = 0; i < 100; i++) {
+            map.put(i, "v");
+        }
+        map.clear();
+        assertEquals(0, map.size());
+        assertEquals(SwissTableHashMap.INITIAL_CAPACITY, map.capacity());
+        assertFalse(map.containsKey(5));
+    }
+
+    @Test(timeout = TIMEOUT, expected = NoSuchElementException.class)
+    public void testGetMissing() {
+        map.get(1);
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testNullKey() {
+        map.put(null, "v");
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testLoadFactorTooHigh() {
+        new SwissTableHashMap<Integer, String>(16, 0.9);
+    }
+
+    /**
+     * A key whose hash code is always the same.
+     */
+    private static final class Collider {
+        private final int id;
+
+        /**
+         * Creates a key.
+         *
+         * @param id the id that decides equality
+         */
+        Collider(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Collider && ((Collider) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+    }
+}
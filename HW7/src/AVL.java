@@ -1,18 +1,37 @@
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * Your implementation of an AVL Tree.
  *
+ * add descends once and fixes up only the part of the path an insert can
+ * change. remove records the nodes it passes in a path array and walks it
+ * back up to update and rotate, the same steps a recursive version takes on
+ * its way back out. The searches and traversals are loops or explicit-stack
+ * walks. Only the bulk build and the split/join-based set operations recurse,
+ * and they go no deeper than the height of a balanced tree.
+ *
  * @author Peter Kutz
  * @userid pkutz3
  * @GTID 903637824
  * @version 1.0
  */
 public class AVL<T extends Comparable<? super T>> {
+    // Subtrees with fewer nodes than this between them are merged on one
+    // thread by parallelUnion.
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+
     // DO NOT ADD OR MODIFY INSTANCE VARIABLES.
     private AVLNode<T> root;
     private int size;
@@ -31,20 +50,122 @@ public class AVL<T extends Comparable<? super T>> {
      * Initializes the AVL tree with the data in the Collection. The data
      * should be added in the same order it appears in the Collection.
      *
+     * If the data is already in ascending order, the tree is built directly,
+     * perfectly balanced, from the distinct data in O(n), with heights,
+     * balance factors and sizes filled in bottom-up. This avoids a rotation
+     * at every level for each add. Any other order is added one at a time.
+     *
      * @throws IllegalArgumentException if data or any element in data is null
      * @param data the data to add to the tree
      */
+    @SuppressWarnings("unchecked")
     public AVL(Collection<T> data) {
+        Object[] array = toCheckedArray(data);
+        if (isSorted(array)) {
+            build(array);
+        } else {
+            for (Object t : array) {
+                add((T) t);
+            }
+        }
+    }
+
+    /**
+     * Returns a perfectly balanced AVL tree of the distinct data in the
+     * Collection, in whatever order it comes. Sorting is O(n log n), or O(n)
+     * if the data is already sorted; building is O(n).
+     *
+     * @throws IllegalArgumentException if data or any element in data is null
+     * @param data the data to add to the tree
+     * @param <T>  the type of the data
+     * @return the new AVL tree
+     */
+    public static <T extends Comparable<? super T>> AVL<T> balanced(Collection<T> data) {
+        Object[] array = toCheckedArray(data);
+        Arrays.sort(array);
+        AVL<T> tree = new AVL<>();
+        tree.build(array);
+        return tree;
+    }
+
+    /**
+     * Private helper that copies a Collection into an array, checking it
+     * for nulls.
+     *
+     * @throws IllegalArgumentException if data or any element in data is null
+     * @param data the data to copy
+     * @return the data as an array, in iteration order
+     */
+    private static Object[] toCheckedArray(Collection<?> data) {
         if (data == null) {
             throw new IllegalArgumentException("The data is null.");
         }
-        for (T t : data) {
+        Object[] array = data.toArray();
+        for (Object t : array) {
             if (t == null) {
                 throw new IllegalArgumentException("A value in the data is null");
-            } else {
-                add(t);
             }
         }
+        return array;
+    }
+
+    /**
+     * Private helper that checks whether an array is in ascending order,
+     * allowing duplicates.
+     *
+     * @param array the data
+     * @return true if no element is greater than the one after it
+     */
+    @SuppressWarnings("unchecked")
+    private boolean isSorted(Object[] array) {
+        for (int i = 1; i < array.length; i++) {
+            if (((T) array[i - 1]).compareTo((T) array[i]) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Private helper that replaces the tree with a perfectly balanced one
+     * holding the distinct data of a sorted array.
+     *
+     * @param array the data in ascending order; duplicates are compacted
+     *              out in place
+     */
+    @SuppressWarnings("unchecked")
+    private void build(Object[] array) {
+        int distinct = 0;
+        for (int i = 0; i < array.length; i++) {
+            if (distinct == 0 || ((T) array[distinct - 1]).compareTo((T) array[i]) != 0) {
+                array[distinct++] = array[i];
+            }
+        }
+        root = build(array, 0, distinct);
+        size = distinct;
+    }
+
+    /**
+     * Private helper that builds a perfectly balanced subtree from
+     * array[low, high), rooted at the middle element, updating each node
+     * after its children. It recurses only log2(n) deep.
+     *
+     * @param array the data in strictly ascending order
+     * @param low   the first index, inclusive
+     * @param high  the last index, exclusive
+     * @return the root of the subtree, or null if the range is empty
+     */
+    @SuppressWarnings("unchecked")
+    private AVLNode<T> build(Object[] array, int low, int high) {
+        if (low >= high) {
+            return null;
+        }
+        int mid = (low + high) >>> 1;
+        AVLNode<T> node = new AVLNode<>((T) array[mid]);
+        node.setLeft(build(array, low, mid));
+        node.setRight(build(array, mid + 1, high));
+        update(node);
+        return node;
     }
 
     /**
@@ -65,28 +186,130 @@ public class AVL<T extends Comparable<? super T>> {
             throw new IllegalArgumentException("The data is null.");
         }
 
-        root = rAdd(root, data);
+        // Only the nodes from the deepest one with a nonzero balance factor
+        // down to the new leaf can change height, and a rotation can only
+        // happen at that node, so remember it and its parent on the way
+        // down. Every node passed gains one descendant.
+        AVLNode<T> top = root;
+        AVLNode<T> topParent = null;
+        AVLNode<T> parent = null;
+        AVLNode<T> curr = root;
+        int compare = 0;
+        while (curr != null) {
+            compare = data.compareTo(curr.getData());
+            if (compare == 0) {
+                adjustSizes(data, curr, -1);
+                return;
+            }
+            curr.setSize(curr.getSize() + 1);
+            if (curr.getBalanceFactor() != 0) {
+                top = curr;
+                topParent = parent;
+            }
+            parent = curr;
+            curr = compare < 0 ? curr.getLeft() : curr.getRight();
+        }
+        size++;
+        AVLNode<T> leaf = new AVLNode<>(data);
+        if (parent == null) {
+            root = leaf;
+            return;
+        }
+        if (compare < 0) {
+            parent.setLeft(leaf);
+        } else {
+            parent.setRight(leaf);
+        }
+
+        // Every node strictly between top and the leaf was balanced, so its
+        // side toward the leaf is now one taller.
+        curr = data.compareTo(top.getData()) < 0 ? top.getLeft() : top.getRight();
+        while (curr != leaf) {
+            curr.setHeight(curr.getHeight() + 1);
+            if (data.compareTo(curr.getData()) < 0) {
+                curr.setBalanceFactor(1);
+                curr = curr.getLeft();
+            } else {
+                curr.setBalanceFactor(-1);
+                curr = curr.getRight();
+            }
+        }
+        update(top);
+        replaceChild(topParent, top, checkRotations(top));
     }
 
     /**
-     * Private helper that adds the data to the tree recursively using pointer
-     * reinforcement. Also updates the nodes and rebalances if necessary.
+     * Private helper that adds delta to the subtree size of every node on
+     * the search path for data, from the root down to but not including
+     * stop.
      *
-     * @param curr the current node that is being accessed
-     * @param data the data to add
-     * @return the node replacing curr if a rotation is necessary; curr if not
-     **/
-    private AVLNode<T> rAdd(AVLNode<T> curr, T data) {
-        if (curr == null) {
-            size++;
-            return new AVLNode<>(data);
-        } else if (data.compareTo(curr.getData()) < 0) {
-            curr.setLeft(rAdd(curr.getLeft(), data));
-        } else if (data.compareTo(curr.getData()) > 0) {
-            curr.setRight(rAdd(curr.getRight(), data));
+     * @param data  the data whose search path to follow
+     * @param stop  the node on that path to stop at
+     * @param delta the amount to add to each size
+     */
+    private void adjustSizes(T data, AVLNode<T> stop, int delta) {
+        AVLNode<T> curr = root;
+        while (curr != stop) {
+            curr.setSize(curr.getSize() + delta);
+            curr = data.compareTo(curr.getData()) < 0 ? curr.getLeft() : curr.getRight();
         }
-        update(curr);
-        return checkRotations(curr);
+    }
+
+    /**
+     * Private helper that updates and rebalances each node of a search path,
+     * from the deepest up to the root, and links each replacement into its
+     * parent.
+     *
+     * Once a node comes out with the height and balance factor it had, it
+     * needs no rotation and nothing above it can change, so the walk stops.
+     * The caller must already have fixed the sizes along the path.
+     *
+     * @param path  the nodes passed on the way down, root first
+     * @param depth the number of nodes in path
+     */
+    private void rebalance(AVLNode<T>[] path, int depth) {
+        for (int i = depth - 1; i >= 0; i--) {
+            AVLNode<T> curr = path[i];
+            int oldHeight = curr.getHeight();
+            int oldBalanceFactor = curr.getBalanceFactor();
+            update(curr);
+            if (curr.getHeight() == oldHeight
+                    && curr.getBalanceFactor() == oldBalanceFactor) {
+                return;
+            }
+            replaceChild(i == 0 ? null : path[i - 1], curr, checkRotations(curr));
+        }
+    }
+
+    /**
+     * Private helper that puts repl where child was under parent.
+     *
+     * @param parent the parent of child, or null if child is the root
+     * @param child  the node being replaced
+     * @param repl   the node taking its place, possibly child itself
+     */
+    private void replaceChild(AVLNode<T> parent, AVLNode<T> child, AVLNode<T> repl) {
+        if (repl == child) {
+            return;
+        }
+        if (parent == null) {
+            root = repl;
+        } else if (parent.getLeft() == child) {
+            parent.setLeft(repl);
+        } else {
+            parent.setRight(repl);
+        }
+    }
+
+    /**
+     * Private helper that allocates a path array long enough for any search
+     * path in the tree, which has at most height + 1 nodes.
+     *
+     * @return an empty path array
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private AVLNode<T>[] newPath() {
+        return (AVLNode<T>[]) new AVLNode[height() + 2];
     }
 
     /**
@@ -142,22 +365,28 @@ public class AVL<T extends Comparable<? super T>> {
     }
 
     /**
-     * Private method used to update the height and balance factor of curr node.
+     * Private method used to update the height, balance factor and subtree
+     * size of curr node.
      *
      * @param curr the node being updated
      */
     private void update(AVLNode<T> curr) {
         int lHeight = -1;
         int rHeight = -1;
+        int lSize = 0;
+        int rSize = 0;
 
         if (curr.getLeft() != null) {
             lHeight = curr.getLeft().getHeight();
+            lSize = curr.getLeft().getSize();
         }
         if (curr.getRight() != null) {
             rHeight = curr.getRight().getHeight();
+            rSize = curr.getRight().getSize();
         }
         curr.setHeight(Math.max(lHeight, rHeight) + 1);
         curr.setBalanceFactor(lHeight - rHeight);
+        curr.setSize(lSize + rSize + 1);
     }
 
     /**
@@ -184,64 +413,45 @@ public class AVL<T extends Comparable<? super T>> {
             throw new IllegalArgumentException("The data is null.");
         }
 
-        AVLNode<T> dummy = new AVLNode<>(null);
-        root = rRemove(root, data, dummy);
-        return dummy.getData();
-    }
-
-    /**
-     * Private helper that removes the data from the tree recursively using
-     * pointer reinforcement,
-     *
-     * @param curr the current node that is being accessed
-     * @param data the data to be removed
-     * @param dummy dummy node used to store the removed data
-     * @return the node replacing curr if a rotation is necessary; curr if not
-     */
-    private AVLNode<T> rRemove(AVLNode<T> curr, T data, AVLNode<T> dummy) {
+        AVLNode<T>[] path = newPath();
+        int depth = 0;
+        AVLNode<T> curr = root;
+        int compare;
+        while (curr != null && (compare = data.compareTo(curr.getData())) != 0) {
+            curr.setSize(curr.getSize() - 1);
+            path[depth++] = curr;
+            curr = compare < 0 ? curr.getLeft() : curr.getRight();
+        }
         if (curr == null) {
-            throw new NoSuchElementException("The data was not found in the tree.");
-        } else if (data.compareTo(curr.getData()) < 0) {
-            curr.setLeft(rRemove(curr.getLeft(), data, dummy));
-        } else if (data.compareTo(curr.getData()) > 0) {
-            curr.setRight(rRemove(curr.getRight(), data, dummy));
-        } else {
-            dummy.setData(curr.getData());
-            size--;
-
-            if (curr.getLeft() == null && curr.getRight() == null) {
-                return null;
-            } else if (curr.getRight() == null) {
-                return curr.getLeft();
-            } else if (curr.getLeft() == null) {
-                return curr.getRight();
-            } else {
-                AVLNode<T> dummy2 = new AVLNode<>(null);
-                curr.setRight(removeSuccessor(curr.getRight(), dummy2));
-                curr.setData(dummy2.getData());
+            for (int i = 0; i < depth; i++) {
+                path[i].setSize(path[i].getSize() + 1);
             }
+            throw new NoSuchElementException("The data was not found in the tree.");
         }
-        update(curr);
-        return checkRotations(curr);
-    }
+        T removed = curr.getData();
+        size--;
 
-    /**
-     * Private helper method that removes the successor from the tree and
-     * rearranges the tree to implement remove by successor.
-     *
-     * @param curr the current node being accessed
-     * @param dummy the dummy node used to store removed data
-     * @return the successor node used in remove by successor
-     */
-    private AVLNode<T> removeSuccessor(AVLNode<T> curr, AVLNode<T> dummy) {
-        if (curr.getLeft() == null) {
-            dummy.setData(curr.getData());
-            return curr.getRight();
+        if (curr.getLeft() != null && curr.getRight() != null) {
+            curr.setSize(curr.getSize() - 1);
+            path[depth++] = curr;
+            AVLNode<T> successor = curr.getRight();
+            while (successor.getLeft() != null) {
+                successor.setSize(successor.getSize() - 1);
+                path[depth++] = successor;
+                successor = successor.getLeft();
+            }
+            if (path[depth - 1] == curr) {
+                curr.setRight(successor.getRight());
+            } else {
+                path[depth - 1].setLeft(successor.getRight());
+            }
+            curr.setData(successor.getData());
         } else {
-            curr.setLeft(removeSuccessor(curr.getLeft(), dummy));
-            update(curr);
-            return checkRotations(curr);
+            AVLNode<T> child = curr.getLeft() != null ? curr.getLeft() : curr.getRight();
+            replaceChild(depth == 0 ? null : path[depth - 1], curr, child);
         }
+        rebalance(path, depth);
+        return removed;
     }
 
     /**
@@ -260,27 +470,11 @@ public class AVL<T extends Comparable<? super T>> {
             throw new IllegalArgumentException("The data is null.");
         }
 
-        return rGet(root, data);
-    }
-
-    /**
-     * Private helper method that traverses through the tree and finds a node
-     * with the given data.
-     * @param curr the current node being accessed
-     * @param data the data we are trying to get
-     * @return the data that was found in the tree
-     */
-    private T rGet(AVLNode<T> curr, T data) {
+        AVLNode<T> curr = find(data);
         if (curr == null) {
             throw new NoSuchElementException("The data is not in the tree.");
         }
-        if (data.compareTo(curr.getData()) < 0) {
-            return rGet(curr.getLeft(), data);
-        } else if (data.compareTo(curr.getData()) > 0) {
-            return rGet(curr.getRight(), data);
-        } else {
-            return curr.getData();
-        }
+        return curr.getData();
     }
 
     /**
@@ -297,26 +491,25 @@ public class AVL<T extends Comparable<? super T>> {
             throw new IllegalArgumentException("The data is null.");
         }
 
-        return rContains(root, data);
+        return find(data) != null;
     }
 
     /**
-     * Private helper method searches the tree to see if the data is in said tree.
+     * Private helper that finds the node holding data.
      *
-     * @param curr the current node being accessed
      * @param data the data being searched for
-     * @return true if data is in tree; false if data is not in tree
+     * @return the node whose data equals data, or null if there is none
      */
-    private boolean rContains(AVLNode<T> curr, T data) {
-        if (curr == null) {
-            return false;
-        } else if (data.compareTo(curr.getData()) < 0) {
-            return rContains(curr.getLeft(), data);
-        } else if (data.compareTo(curr.getData()) > 0) {
-            return rContains(curr.getRight(), data);
-        } else {
-            return true;
+    private AVLNode<T> find(T data) {
+        AVLNode<T> curr = root;
+        while (curr != null) {
+            int compare = data.compareTo(curr.getData());
+            if (compare == 0) {
+                return curr;
+            }
+            curr = compare < 0 ? curr.getLeft() : curr.getRight();
         }
+        return null;
     }
 
     /**
@@ -354,38 +547,24 @@ public class AVL<T extends Comparable<? super T>> {
      */
     public List<T> deepestBranches() {
         List<T> list = new ArrayList<>(size);
-        rDeep(root, list);
-        return list;
-    }
-
-    /**
-     * Private helper method that executes the deepestBranches method recursively.
-     * Compares the heights of child nodes to only traverse the longest branches.
-     * @param curr the current node being accessed
-     * @param list a list of the nodes on the deepest branches
-     */
-    private void rDeep(AVLNode<T> curr, List<T> list) {
-        int lHeight = -1;
-        int rHeight = -1;
-        if (curr != null) {
+        Deque<AVLNode<T>> stack = new ArrayDeque<>();
+        if (root != null) {
+            stack.push(root);
+        }
+        while (!stack.isEmpty()) {
+            AVLNode<T> curr = stack.pop();
             list.add(curr.getData());
-
-            if (curr.getLeft() != null) {
-                lHeight = curr.getLeft().getHeight();
-            }
-            if (curr.getRight() != null) {
-                rHeight = curr.getRight().getHeight();
+            int lHeight = curr.getLeft() == null ? -1 : curr.getLeft().getHeight();
+            int rHeight = curr.getRight() == null ? -1 : curr.getRight().getHeight();
+            // Right goes on first so the left branch is listed first.
+            if (rHeight >= lHeight && curr.getRight() != null) {
+                stack.push(curr.getRight());
             }
-
-            if (lHeight > rHeight) {
-                rDeep(curr.getLeft(), list);
-            } else if (rHeight > lHeight) {
-                rDeep(curr.getRight(), list);
-            } else {
-                rDeep(curr.getLeft(), list);
-                rDeep(curr.getRight(), list);
+            if (lHeight >= rHeight && curr.getLeft() != null) {
+                stack.push(curr.getLeft());
             }
         }
+        return list;
     }
 
     /**
@@ -425,30 +604,632 @@ public class AVL<T extends Comparable<? super T>> {
             throw new IllegalArgumentException("data1 cannot be greater than data2.");
         }
 
+        // In-order, but only nodes inside the bounds go on the stack; a node
+        // outside them just steers the walk toward the range.
         List<T> list = new ArrayList<>(size);
-        rSorted(root, list, data1, data2);
+        Deque<AVLNode<T>> stack = new ArrayDeque<>();
+        AVLNode<T> curr = root;
+        while (curr != null || !stack.isEmpty()) {
+            while (curr != null) {
+                if (curr.getData().compareTo(data1) <= 0) {
+                    curr = curr.getRight();
+                } else if (curr.getData().compareTo(data2) >= 0) {
+                    curr = curr.getLeft();
+                } else {
+                    stack.push(curr);
+                    curr = curr.getLeft();
+                }
+            }
+            if (!stack.isEmpty()) {
+                curr = stack.pop();
+                list.add(curr.getData());
+                curr = curr.getRight();
+            }
+        }
         return list;
     }
 
     /**
-     * Private helper method that executes sortedInBetween method recursively.
-     * @param curr the current node being accessed
-     * @param list the list of sorted nodes in between data1 and data2
-     * @param data1 the lower bound
-     * @param data2 the upper bound
+     * Returns the number of data in the tree that are less than the given
+     * data, which does not need to be in the tree.
+     *
+     * Uses the subtree sizes, so it is O(log n).
+     *
+     * @throws java.lang.IllegalArgumentException if data is null
+     * @param data the data to rank
+     * @return the number of data in the tree less than data
+     */
+    public int rank(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("The data is null.");
+        }
+        return countBelow(data, false);
+    }
+
+    /**
+     * Returns the data at the given index of the sorted order of the tree,
+     * so select(0) is the smallest and select(size - 1) is the largest.
+     *
+     * Uses the subtree sizes, so it is O(log n).
+     *
+     * @throws java.lang.IndexOutOfBoundsException if index is negative or
+     * not less than the size
+     * @param index the index of the data in sorted order
+     * @return the data at that index
      */
-    private void rSorted(AVLNode<T> curr, List<T> list, T data1, T data2) {
-        if (curr != null) {
-            if (curr.getData().compareTo(data1) <= 0) {
-                rSorted(curr.getRight(), list, data1, data2);
-            } else if (curr.getData().compareTo(data2) >= 0) {
-                rSorted(curr.getLeft(), list, data1, data2);
+    public T select(int index) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("The index is negative.");
+        }
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("The index is not less than "
+                    + "the size of the tree.");
+        }
+        AVLNode<T> curr = root;
+        while (true) {
+            int leftSize = sizeOf(curr.getLeft());
+            if (index < leftSize) {
+                curr = curr.getLeft();
+            } else if (index == leftSize) {
+                return curr.getData();
             } else {
-                rSorted(curr.getLeft(), list, data1, data2);
-                list.add(curr.getData());
-                rSorted(curr.getRight(), list, data1, data2);
+                index -= leftSize + 1;
+                curr = curr.getRight();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of data that are > data1 and < data2, the same
+     * data sortedInBetween would return, without listing them.
+     *
+     * Uses the subtree sizes, so it is O(log n).
+     *
+     * @throws java.lang.IllegalArgumentException if data1 or data2 are null
+     * or if data1 > data2
+     * @param data1 the smaller data in the threshold
+     * @param data2 the larger data in the threshold
+     * @return the number of data that are > data1 and < data2
+     */
+    public int countInRange(T data1, T data2) {
+        if (data1 == null || data2 == null) {
+            throw new IllegalArgumentException("The data is null.");
+        }
+        if (data1.compareTo(data2) > 0) {
+            throw new IllegalArgumentException("data1 cannot be greater than data2.");
+        }
+        // When data1 equals data2 and is in the tree this comes out as -1.
+        return Math.max(countBelow(data2, false) - countBelow(data1, true), 0);
+    }
+
+    /**
+     * Returns the k largest data in the tree, least to greatest.
+     *
+     * Descends once to the smallest of them using the subtree sizes, then
+     * walks forward in order, so it is O(log n + k).
+     *
+     * @throws java.lang.IllegalArgumentException if k is negative or greater
+     * than the size
+     * @param k the number of largest data to return
+     * @return sorted list of the k largest data
+     */
+    public List<T> kLargest(int k) {
+        if (k < 0 || k > size) {
+            throw new IllegalArgumentException("There are not enough elements "
+                    + "in the tree.");
+        }
+        List<T> list = new ArrayList<>(k);
+        if (k == 0) {
+            return list;
+        }
+
+        // The stack holds the in-order successors of the current node.
+        Deque<AVLNode<T>> stack = new ArrayDeque<>();
+        int index = size - k;
+        AVLNode<T> curr = root;
+        while (curr != null) {
+            int leftSize = sizeOf(curr.getLeft());
+            if (index < leftSize) {
+                stack.push(curr);
+                curr = curr.getLeft();
+            } else if (index == leftSize) {
+                stack.push(curr);
+                curr = null;
+            } else {
+                index -= leftSize + 1;
+                curr = curr.getRight();
+            }
+        }
+        while (list.size() < k) {
+            curr = stack.pop();
+            list.add(curr.getData());
+            for (AVLNode<T> next = curr.getRight(); next != null; next = next.getLeft()) {
+                stack.push(next);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Returns an iterator over the data between low and high in ascending
+     * order, without building a list.
+     *
+     * Creating it descends once to the first data in the range; after that
+     * each next is amortized O(1) and allocates nothing, using a stack of at
+     * most h + 2 nodes. A null bound leaves that end of the range open. The
+     * tree must not be modified while the iterator is in use.
+     *
+     * @throws java.lang.IllegalArgumentException if low > high
+     * @param low           the lower bound, or null for none
+     * @param lowInclusive  whether data equal to low are included
+     * @param high          the upper bound, or null for none
+     * @param highInclusive whether data equal to high are included
+     * @return an iterator over the range in ascending order
+     */
+    public Iterator<T> rangeIterator(T low, boolean lowInclusive, T high,
+                                     boolean highInclusive) {
+        checkBounds(low, high);
+        return new RangeIterator(low, lowInclusive, high, highInclusive, false);
+    }
+
+    /**
+     * Returns an iterator over the data between low and high in descending
+     * order, without building a list. It works like rangeIterator but starts
+     * from the high end.
+     *
+     * @throws java.lang.IllegalArgumentException if low > high
+     * @param low           the lower bound, or null for none
+     * @param lowInclusive  whether data equal to low are included
+     * @param high          the upper bound, or null for none
+     * @param highInclusive whether data equal to high are included
+     * @return an iterator over the range in descending order
+     */
+    public Iterator<T> descendingRangeIterator(T low, boolean lowInclusive, T high,
+                                               boolean highInclusive) {
+        checkBounds(low, high);
+        return new RangeIterator(high, highInclusive, low, lowInclusive, true);
+    }
+
+    /**
+     * Returns a sized Spliterator over the data between low and high in
+     * ascending order, for use with streams. The size comes from the subtree
+     * sizes in O(log n); the data are read lazily as with rangeIterator.
+     *
+     * @throws java.lang.IllegalArgumentException if low > high
+     * @param low           the lower bound, or null for none
+     * @param lowInclusive  whether data equal to low are included
+     * @param high          the upper bound, or null for none
+     * @param highInclusive whether data equal to high are included
+     * @return a Spliterator over the range in ascending order
+     */
+    public Spliterator<T> rangeSpliterator(T low, boolean lowInclusive, T high,
+                                           boolean highInclusive) {
+        checkBounds(low, high);
+        int above = high == null ? size : countBelow(high, highInclusive);
+        int below = low == null ? 0 : countBelow(low, !lowInclusive);
+        return Spliterators.spliterator(
+                new RangeIterator(low, lowInclusive, high, highInclusive, false),
+                Math.max(above - below, 0), Spliterator.ORDERED | Spliterator.SORTED
+                        | Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+
+    /**
+     * Private helper that checks a pair of range bounds.
+     *
+     * @param low  the lower bound, or null for none
+     * @param high the upper bound, or null for none
+     */
+    private void checkBounds(T low, T high) {
+        if (low != null && high != null && low.compareTo(high) > 0) {
+            throw new IllegalArgumentException("low cannot be greater than high.");
+        }
+    }
+
+    /**
+     * Private helper that counts the data less than, or with inclusive also
+     * equal to, the given data.
+     *
+     * @param data      the bound
+     * @param inclusive whether data equal to the bound count
+     * @return the number of data below the bound
+     */
+    private int countBelow(T data, boolean inclusive) {
+        int count = 0;
+        AVLNode<T> curr = root;
+        while (curr != null) {
+            int compare = data.compareTo(curr.getData());
+            if (compare == 0) {
+                return count + sizeOf(curr.getLeft()) + (inclusive ? 1 : 0);
+            } else if (compare > 0) {
+                count += sizeOf(curr.getLeft()) + 1;
+                curr = curr.getRight();
+            } else {
+                curr = curr.getLeft();
             }
         }
+        return count;
+    }
+
+    /**
+     * Private helper that returns the size of a subtree.
+     *
+     * @param node the subtree root, possibly null
+     * @return the number of nodes in the subtree
+     */
+    private int sizeOf(AVLNode<T> node) {
+        return node == null ? 0 : node.getSize();
+    }
+
+    /**
+     * Moves every data greater than or equal to the given data out of this
+     * tree into a new tree, which is returned. This tree keeps the data less
+     * than data.
+     *
+     * Splits along one search path, joining the pieces on either side, so it
+     * is O(log n). No nodes are copied.
+     *
+     * @throws IllegalArgumentException if data is null
+     * @param data the data to split at
+     * @return a tree of the data greater than or equal to data
+     */
+    public AVL<T> split(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("The data is null.");
+        }
+        Split pieces = new Split();
+        split(root, data, pieces);
+        AVL<T> greater = new AVL<>();
+        greater.setRoot(pieces.match == null ? pieces.greater
+                : join(null, pieces.match, pieces.greater));
+        setRoot(pieces.less);
+        return greater;
+    }
+
+    /**
+     * Returns a tree of all the data in left, then pivot, then all the data
+     * in right. Every data in left must be less than pivot and every data in
+     * right greater. left and right are emptied.
+     *
+     * Walks down the taller tree to a subtree the height of the shorter one,
+     * so it is O(|left.height() - right.height()| + 1) after the O(log n)
+     * order check.
+     *
+     * @throws IllegalArgumentException if any argument is null, or if the
+     * data are not in order
+     * @param left  the tree of smaller data
+     * @param pivot the data between the two trees
+     * @param right the tree of larger data
+     * @param <T>   the type of the data
+     * @return the joined tree
+     */
+    public static <T extends Comparable<? super T>> AVL<T> join(AVL<T> left, T pivot,
+                                                              AVL<T> right) {
+        if (left == null || right == null) {
+            throw new IllegalArgumentException("The tree is null.");
+        }
+        if (pivot == null) {
+            throw new IllegalArgumentException("The data is null.");
+        }
+        if (left == right && left.root != null) {
+            throw new IllegalArgumentException("left and right are the same tree.");
+        }
+        if (left.root != null && left.select(left.size - 1).compareTo(pivot) >= 0) {
+            throw new IllegalArgumentException("Every data in left must be less than pivot.");
+        }
+        if (right.root != null && right.select(0).compareTo(pivot) <= 0) {
+            throw new IllegalArgumentException("Every data in right must be greater than pivot.");
+        }
+        AVL<T> tree = new AVL<>();
+        tree.setRoot(tree.join(left.root, new AVLNode<>(pivot), right.root));
+        left.clear();
+        right.clear();
+        return tree;
+    }
+
+    /**
+     * Adds every data in other to this tree, keeping this tree's copy of any
+     * data in both. other is emptied.
+     *
+     * Splits other at this tree's root and merges the halves recursively,
+     * then joins, so it is O(m log(n / m + 1)) for trees of sizes m <= n,
+     * instead of the O(m log(n + m)) of adding each data.
+     *
+     * @throws IllegalArgumentException if other is null
+     * @param other the tree to merge in
+     */
+    public void union(AVL<T> other) {
+        checkOther(other);
+        if (other != this) {
+            setRoot(union(root, other.root));
+            other.clear();
+        }
+    }
+
+    /**
+     * Does the same as union, with the two halves of each large enough merge
+     * run as separate fork/join tasks in the common pool. Subtrees of fewer
+     * than PARALLEL_THRESHOLD nodes between them are merged sequentially.
+     *
+     * @throws IllegalArgumentException if other is null
+     * @param other the tree to merge in
+     */
+    public void parallelUnion(AVL<T> other) {
+        checkOther(other);
+        if (other != this) {
+            setRoot(ForkJoinPool.commonPool().invoke(new UnionTask(root, other.root)));
+            other.clear();
+        }
+    }
+
+    /**
+     * Removes from this tree every data that is not also in other. other is
+     * emptied.
+     *
+     * Runs in O(m log(n / m + 1)) for trees of sizes m <= n.
+     *
+     * @throws IllegalArgumentException if other is null
+     * @param other the tree to intersect with
+     */
+    public void intersection(AVL<T> other) {
+        checkOther(other);
+        if (other != this) {
+            setRoot(intersection(root, other.root));
+            other.clear();
+        }
+    }
+
+    /**
+     * Removes from this tree every data that is also in other. other is
+     * emptied.
+     *
+     * Runs in O(m log(n / m + 1)) for trees of sizes m <= n.
+     *
+     * @throws IllegalArgumentException if other is null
+     * @param other the tree whose data to remove
+     */
+    public void difference(AVL<T> other) {
+        checkOther(other);
+        if (other == this) {
+            clear();
+        } else {
+            setRoot(difference(root, other.root));
+            other.clear();
+        }
+    }
+
+    /**
+     * Private helper that checks the argument of a set operation.
+     *
+     * @param other the other tree
+     */
+    private void checkOther(AVL<T> other) {
+        if (other == null) {
+            throw new IllegalArgumentException("The tree is null.");
+        }
+    }
+
+    /**
+     * Private helper that makes node the root, taking the size from its
+     * subtree size.
+     *
+     * @param node the new root, possibly null
+     */
+    private void setRoot(AVLNode<T> node) {
+        root = node;
+        size = sizeOf(node);
+    }
+
+    /**
+     * Private helper that joins two AVL subtrees around a detached pivot
+     * node, with every data in left less than the pivot's and every data in
+     * right greater. Recurses down the taller tree's inner spine, only as
+     * deep as the difference in heights.
+     *
+     * @param left  the smaller subtree, possibly null
+     * @param pivot a node with no children to put between them
+     * @param right the larger subtree, possibly null
+     * @return the root of the joined subtree
+     */
+    private AVLNode<T> join(AVLNode<T> left, AVLNode<T> pivot, AVLNode<T> right) {
+        if (heightOf(left) > heightOf(right) + 1) {
+            left.setRight(join(left.getRight(), pivot, right));
+            update(left);
+            return checkRotations(left);
+        } else if (heightOf(right) > heightOf(left) + 1) {
+            right.setLeft(join(left, pivot, right.getLeft()));
+            update(right);
+            return checkRotations(right);
+        }
+        pivot.setLeft(left);
+        pivot.setRight(right);
+        update(pivot);
+        return pivot;
+    }
+
+    /**
+     * Private helper that joins two AVL subtrees with no pivot, using the
+     * largest node of left as the pivot.
+     *
+     * @param left  the smaller subtree, possibly null
+     * @param right the larger subtree, possibly null
+     * @return the root of the joined subtree
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private AVLNode<T> join(AVLNode<T> left, AVLNode<T> right) {
+        if (left == null) {
+            return right;
+        }
+        AVLNode<T>[] last = (AVLNode<T>[]) new AVLNode[1];
+        AVLNode<T> rest = removeLast(left, last);
+        return join(rest, last[0], right);
+    }
+
+    /**
+     * Private helper that detaches the largest node of a subtree and
+     * rebalances on the way back up.
+     *
+     * @param curr the subtree root
+     * @param last where to store the detached node
+     * @return the root of what is left of the subtree
+     */
+    private AVLNode<T> removeLast(AVLNode<T> curr, AVLNode<T>[] last) {
+        if (curr.getRight() == null) {
+            last[0] = curr;
+            AVLNode<T> left = curr.getLeft();
+            curr.setLeft(null);
+            return left;
+        }
+        curr.setRight(removeLast(curr.getRight(), last));
+        update(curr);
+        return checkRotations(curr);
+    }
+
+    /**
+     * Private helper that splits a subtree at data into the subtree of
+     * smaller data, the node equal to data if any (detached), and the
+     * subtree of larger data. Each node on the search path is detached and
+     * used as the pivot to join it back onto one side.
+     *
+     * @param curr   the subtree root
+     * @param data   the data to split at
+     * @param pieces where to store the three results
+     */
+    private void split(AVLNode<T> curr, T data, Split pieces) {
+        if (curr == null) {
+            pieces.less = null;
+            pieces.match = null;
+            pieces.greater = null;
+            return;
+        }
+        int compare = data.compareTo(curr.getData());
+        AVLNode<T> left = curr.getLeft();
+        AVLNode<T> right = curr.getRight();
+        curr.setLeft(null);
+        curr.setRight(null);
+        if (compare == 0) {
+            update(curr);
+            pieces.less = left;
+            pieces.match = curr;
+            pieces.greater = right;
+        } else if (compare < 0) {
+            split(left, data, pieces);
+            pieces.greater = join(pieces.greater, curr, right);
+        } else {
+            split(right, data, pieces);
+            pieces.less = join(left, curr, pieces.less);
+        }
+    }
+
+    /**
+     * Private helper for union.
+     *
+     * @param a the subtree whose data are kept on ties
+     * @param b the other subtree
+     * @return the root of the union
+     */
+    private AVLNode<T> union(AVLNode<T> a, AVLNode<T> b) {
+        if (a == null) {
+            return b;
+        } else if (b == null) {
+            return a;
+        }
+        AVLNode<T> aLeft = a.getLeft();
+        AVLNode<T> aRight = a.getRight();
+        Split pieces = new Split();
+        split(b, a.getData(), pieces);
+        AVLNode<T> bRight = pieces.greater;
+        AVLNode<T> left = union(aLeft, pieces.less);
+        AVLNode<T> right = union(aRight, bRight);
+        a.setLeft(null);
+        a.setRight(null);
+        return join(left, a, right);
+    }
+
+    /**
+     * Private helper for parallelUnion: union with the left half forked.
+     *
+     * @param a the subtree whose data are kept on ties
+     * @param b the other subtree
+     * @return the root of the union
+     */
+    private AVLNode<T> parallelUnion(AVLNode<T> a, AVLNode<T> b) {
+        if (sizeOf(a) + sizeOf(b) < PARALLEL_THRESHOLD) {
+            return union(a, b);
+        }
+        if (a == null) {
+            return b;
+        } else if (b == null) {
+            return a;
+        }
+        AVLNode<T> aLeft = a.getLeft();
+        AVLNode<T> aRight = a.getRight();
+        Split pieces = new Split();
+        split(b, a.getData(), pieces);
+        UnionTask leftTask = new UnionTask(aLeft, pieces.less);
+        leftTask.fork();
+        AVLNode<T> right = parallelUnion(aRight, pieces.greater);
+        AVLNode<T> left = leftTask.join();
+        a.setLeft(null);
+        a.setRight(null);
+        return join(left, a, right);
+    }
+
+    /**
+     * Private helper for intersection.
+     *
+     * @param a the subtree whose data are kept
+     * @param b the other subtree
+     * @return the root of the intersection
+     */
+    private AVLNode<T> intersection(AVLNode<T> a, AVLNode<T> b) {
+        if (a == null || b == null) {
+            return null;
+        }
+        AVLNode<T> aLeft = a.getLeft();
+        AVLNode<T> aRight = a.getRight();
+        Split pieces = new Split();
+        split(b, a.getData(), pieces);
+        boolean found = pieces.match != null;
+        AVLNode<T> bRight = pieces.greater;
+        AVLNode<T> left = intersection(aLeft, pieces.less);
+        AVLNode<T> right = intersection(aRight, bRight);
+        if (!found) {
+            return join(left, right);
+        }
+        a.setLeft(null);
+        a.setRight(null);
+        return join(left, a, right);
+    }
+
+    /**
+     * Private helper for difference.
+     *
+     * @param a the subtree to remove from
+     * @param b the subtree of data to remove
+     * @return the root of the difference
+     */
+    private AVLNode<T> difference(AVLNode<T> a, AVLNode<T> b) {
+        if (a == null || b == null) {
+            return a;
+        }
+        AVLNode<T> bLeft = b.getLeft();
+        AVLNode<T> bRight = b.getRight();
+        Split pieces = new Split();
+        split(a, b.getData(), pieces);
+        AVLNode<T> aRight = pieces.greater;
+        AVLNode<T> left = difference(pieces.less, bLeft);
+        AVLNode<T> right = difference(aRight, bRight);
+        return join(left, right);
+    }
+
+    /**
+     * Private helper that returns the height of a subtree.
+     *
+     * @param node the subtree root, possibly null
+     * @return the height of the subtree, -1 if it is empty
+     */
+    private int heightOf(AVLNode<T> node) {
+        return node == null ? -1 : node.getHeight();
     }
 
     /**
@@ -500,4 +1281,120 @@ public class AVL<T extends Comparable<? super T>> {
         // DO NOT MODIFY THIS METHOD!
         return root;
     }
-}
\ No newline at end of file
+
+    /**
+     * An in-order walk over a range, in either direction, with an explicit
+     * stack of the nodes still to visit.
+     */
+    private class RangeIterator implements Iterator<T> {
+
+        private final AVLNode<T>[] stack;
+        private int depth;
+        private final T end;
+        private final boolean endInclusive;
+        private final boolean descending;
+
+        /**
+         * Descends to the first node in the range, pushing every node on the
+         * way that comes at or after it in iteration order.
+         *
+         * @param start          the bound iteration starts from, or null
+         * @param startInclusive whether data equal to start are included
+         * @param end            the bound iteration stops at, or null
+         * @param endInclusive   whether data equal to end are included
+         * @param descending     whether to iterate from high to low
+         */
+        RangeIterator(T start, boolean startInclusive, T end, boolean endInclusive,
+                      boolean descending) {
+            this.stack = newPath();
+            this.end = end;
+            this.endInclusive = endInclusive;
+            this.descending = descending;
+            AVLNode<T> curr = root;
+            while (curr != null) {
+                int compare = start == null ? 1 : order(curr.getData(), start);
+                if (compare > 0 || (compare == 0 && startInclusive)) {
+                    stack[depth++] = curr;
+                    curr = descending ? curr.getRight() : curr.getLeft();
+                } else {
+                    curr = descending ? curr.getLeft() : curr.getRight();
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (depth == 0) {
+                return false;
+            }
+            if (end == null) {
+                return true;
+            }
+            int compare = order(stack[depth - 1].getData(), end);
+            return compare < 0 || (compare == 0 && endInclusive);
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("There are no more data in the range.");
+            }
+            AVLNode<T> curr = stack[--depth];
+            stack[depth] = null;
+            AVLNode<T> next = descending ? curr.getLeft() : curr.getRight();
+            while (next != null) {
+                stack[depth++] = next;
+                next = descending ? next.getRight() : next.getLeft();
+            }
+            return curr.getData();
+        }
+
+        /**
+         * Compares two data in iteration order.
+         *
+         * @param a the first data
+         * @param b the second data
+         * @return negative, zero or positive as a comes before, with or after
+         * b in iteration order
+         */
+        private int order(T a, T b) {
+            return descending ? b.compareTo(a) : a.compareTo(b);
+        }
+    }
+
+    /**
+     * The three results of splitting a subtree.
+     */
+    private class Split {
+        private AVLNode<T> less;
+        private AVLNode<T> match;
+        private AVLNode<T> greater;
+    }
+
+    /**
+     * A fork/join task for one merge of parallelUnion.
+     */
+    private class UnionTask extends RecursiveTask<AVLNode<T>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final AVLNode<T> a;
+        private final AVLNode<T> b;
+
+        /**
+         * Creates a task that merges two subtrees.
+         *
+         * @param a the subtree whose data are kept on ties
+         * @param b the other subtree
+         */
+        UnionTask(AVLNode<T> a, AVLNode<T> b) {
+            this.a = a;
+            this.b = b;
+        }
+
+        @Override
+        protected AVLNode<T> compute() {
+            return parallelUnion(a, b);
+        }
+    }
+}
@@ -0,0 +1,350 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Rough benchmarks for AVL. Run main and read the console.
+ *
+ * These are not JMH benchmarks, so only compare numbers from the same run.
+ * sortedTree keeps 10^7 nodes live, so give the JVM at least -Xmx2g.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ */
+public class AVLBenchmark {
+
+    private static final int N = 1_000_000;
+    private static final int SORTED_N = 10_000_000;
+    private static final int QUERIES = 1_000_000;
+    private static final int LIST_QUERIES = 20;
+    private static final int PAGE = 50;
+    private static final int BULK_N = 10_000_000;
+
+    // Results the JIT can't prove unused.
+    private static long sink;
+
+    /**
+     * Runs every benchmark in this class.
+     *
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        randomTree();
+        orderStatistics();
+        rangePages();
+        sortedTree();
+        bulkLoad();
+        setOperations();
+    }
+
+    /**
+     * Times each operation on a tree built from shuffled keys.
+     */
+    private static void randomTree() {
+        int[] keys = new int[N];
+        for (int i = 0; i < N; i++) {
+            keys[i] = i;
+        }
+        Random random = new Random(17);
+        for (int i = N - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int temp = keys[i];
+            keys[i] = keys[j];
+            keys[j] = temp;
+        }
+
+        System.out.println("== random: " + N + " keys, ms ==");
+        for (int round = 0; round < 3; round++) {
+            AVL<Integer> tree = new AVL<>();
+            long start = System.nanoTime();
+            for (int key : keys) {
+                tree.add(key);
+            }
+            long add = (System.nanoTime() - start) / 1_000_000;
+
+            start = System.nanoTime();
+            for (int key : keys) {
+                if (tree.contains(key)) {
+                    sink++;
+                }
+            }
+            long contains = (System.nanoTime() - start) / 1_000_000;
+
+            start = System.nanoTime();
+            sink += tree.sortedInBetween(-1, N).size() + tree.deepestBranches().size();
+            long traverse = (System.nanoTime() - start) / 1_000_000;
+
+            start = System.nanoTime();
+            for (int key : keys) {
+                sink += tree.remove(key);
+            }
+            long remove = (System.nanoTime() - start) / 1_000_000;
+
+            System.out.printf("add %4d  contains %4d  sortedInBetween+deepest %4d"
+                    + "  remove %4d%n", add, contains, traverse, remove);
+        }
+    }
+
+    /**
+     * Compares rank, select and kLargest with answering the same queries from
+     * the list sortedInBetween builds, which was the only way before the
+     * tree kept subtree sizes. Reports microseconds per query.
+     */
+    private static void orderStatistics() {
+        AVL<Integer> tree = new AVL<>();
+        Random random = new Random(17);
+        for (int i = 0; i < N; i++) {
+            tree.add(random.nextInt(4 * N));
+        }
+        int n = tree.size();
+        System.out.println("== order statistics: " + n + " keys, us per query ==");
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < LIST_QUERIES; i++) {
+                sink += tree.sortedInBetween(-1, random.nextInt(4 * N)).size();
+            }
+            double listRank = (System.nanoTime() - start) / 1e3 / LIST_QUERIES;
+
+            start = System.nanoTime();
+            for (int i = 0; i < QUERIES; i++) {
+                sink += tree.rank(random.nextInt(4 * N));
+            }
+            double rank = (System.nanoTime() - start) / 1e3 / QUERIES;
+
+            start = System.nanoTime();
+            for (int i = 0; i < LIST_QUERIES; i++) {
+                sink += tree.sortedInBetween(-1, 4 * N).get(random.nextInt(n));
+            }
+            double listSelect = (System.nanoTime() - start) / 1e3 / LIST_QUERIES;
+
+            start = System.nanoTime();
+            for (int i = 0; i < QUERIES; i++) {
+                sink += tree.select(random.nextInt(n));
+            }
+            double select = (System.nanoTime() - start) / 1e3 / QUERIES;
+
+            start = System.nanoTime();
+            for (int i = 0; i < LIST_QUERIES; i++) {
+                sink += tree.sortedInBetween(-1, 4 * N).subList(n - 50, n).size();
+            }
+            double listLargest = (System.nanoTime() - start) / 1e3 / LIST_QUERIES;
+
+            start = System.nanoTime();
+            for (int i = 0; i < QUERIES / 10; i++) {
+                sink += tree.kLargest(50).size();
+            }
+            double largest = (System.nanoTime() - start) / 1e3 / (QUERIES / 10);
+
+            System.out.printf("rank  list %8.0f  tree %5.2f   select  list %8.0f  tree %5.2f"
+                    + "   kLargest(50)  list %8.0f  tree %5.2f%n",
+                    listRank, rank, listSelect, select, listLargest, largest);
+        }
+    }
+
+    /**
+     * Compares reading the first and last PAGE data of a wide range through
+     * sortedInBetween with reading them through the range iterators.
+     * Reports microseconds per page.
+     */
+    private static void rangePages() {
+        AVL<Integer> tree = new AVL<>();
+        for (int i = 0; i < N; i++) {
+            tree.add(i);
+        }
+        System.out.println("== range pages: " + PAGE + " of ~" + N + " matches, us per page ==");
+        Random random = new Random(17);
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < LIST_QUERIES; i++) {
+                int low = random.nextInt(N / 10);
+                List<Integer> list = tree.sortedInBetween(low, N);
+                sink += list.subList(0, PAGE).size() + list.subList(list.size() - PAGE,
+                        list.size()).size();
+            }
+            double list = (System.nanoTime() - start) / 1e3 / LIST_QUERIES;
+
+            start = System.nanoTime();
+            for (int i = 0; i < QUERIES / 10; i++) {
+                int low = random.nextInt(N / 10);
+                Iterator<Integer> up = tree.rangeIterator(low, false, N, false);
+                Iterator<Integer> down = tree.descendingRangeIterator(low, false, N, false);
+                for (int j = 0; j < PAGE; j++) {
+                    sink += up.next() + down.next();
+                }
+            }
+            double iterator = (System.nanoTime() - start) / 1e3 / (QUERIES / 10);
+
+            System.out.printf("first+last page  sortedInBetween %8.0f  iterators %5.2f%n",
+                    list, iterator);
+        }
+    }
+
+    /**
+     * Times sorted adds of SORTED_N keys, the input that would make a plain
+     * BST one long path, and then removes them in the same order.
+     */
+    private static void sortedTree() {
+        System.out.println("== sorted: " + SORTED_N + " keys, ms ==");
+        AVL<Integer> tree = new AVL<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < SORTED_N; i++) {
+            tree.add(i);
+        }
+        long add = (System.nanoTime() - start) / 1_000_000;
+        int height = tree.height();
+
+        start = System.nanoTime();
+        sink += tree.sortedInBetween(-1, SORTED_N).size();
+        long traverse = (System.nanoTime() - start) / 1_000_000;
+
+        start = System.nanoTime();
+        for (int i = 0; i < SORTED_N; i++) {
+            sink += tree.remove(i);
+        }
+        long remove = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.printf("add %5d (height %d)  sortedInBetween %4d  remove %5d%n",
+                add, height, traverse, remove);
+    }
+
+    /**
+     * Compares building a tree of BULK_N keys with the Collection
+     * constructor or balanced against adding them one at a time, for sorted
+     * and shuffled input.
+     */
+    private static void bulkLoad() {
+        System.out.println("== bulk load: " + BULK_N + " keys, ms ==");
+        List<Integer> data = new ArrayList<>(BULK_N);
+        for (int i = 0; i < BULK_N; i++) {
+            data.add(i);
+        }
+
+        long start = System.nanoTime();
+        AVL<Integer> tree = new AVL<>(data);
+        long sortedBulk = (System.nanoTime() - start) / 1_000_000;
+        sink += tree.size();
+        tree = null;
+
+        start = System.nanoTime();
+        tree = new AVL<>();
+        for (Integer key : data) {
+            tree.add(key);
+        }
+        long sortedAdds = (System.nanoTime() - start) / 1_000_000;
+        sink += tree.size();
+        tree = null;
+
+        Collections.shuffle(data, new Random(17));
+        start = System.nanoTime();
+        tree = AVL.balanced(data);
+        long shuffledBulk = (System.nanoTime() - start) / 1_000_000;
+        sink += tree.size();
+        tree = null;
+
+        start = System.nanoTime();
+        tree = new AVL<>();
+        for (Integer key : data) {
+            tree.add(key);
+        }
+        long shuffledAdds = (System.nanoTime() - start) / 1_000_000;
+        sink += tree.size();
+
+        System.out.printf("sorted  constructor %5d  add each %5d%n", sortedBulk, sortedAdds);
+        System.out.printf("shuffled  balanced %5d  add each %5d%n", shuffledBulk, shuffledAdds);
+    }
+
+    /**
+     * Compares the join-based set operations against doing the same work one
+     * data at a time, merging trees of m random keys into a tree of N.
+     */
+    private static void setOperations() {
+        Random random = new Random(17);
+        List<Integer> big = randomKeys(random, N);
+        System.out.println("== set operations: n " + N + ", ms ==");
+        System.out.println("available processors: "
+                + Runtime.getRuntime().availableProcessors());
+        // The first round warms up the JIT.
+        for (int round = 0; round < 2; round++) {
+            for (int m : new int[] {100, 10_000, N}) {
+                List<Integer> small = randomKeys(random, m);
+
+                AVL<Integer> tree = AVL.balanced(big);
+                AVL<Integer> other = AVL.balanced(small);
+                long start = System.nanoTime();
+                tree.union(other);
+                long union = (System.nanoTime() - start) / 1_000_000;
+                sink += tree.size();
+
+                tree = AVL.balanced(big);
+                other = AVL.balanced(small);
+                start = System.nanoTime();
+                for (Integer key : small) {
+                    tree.add(key);
+                }
+                long adds = (System.nanoTime() - start) / 1_000_000;
+                sink += tree.size();
+
+                tree = AVL.balanced(big);
+                start = System.nanoTime();
+                tree.intersection(other);
+                long intersection = (System.nanoTime() - start) / 1_000_000;
+                sink += tree.size();
+
+                tree = AVL.balanced(big);
+                AVL<Integer> common = new AVL<>();
+                start = System.nanoTime();
+                for (Integer key : small) {
+                    if (tree.contains(key)) {
+                        common.add(key);
+                    }
+                }
+                long lookups = (System.nanoTime() - start) / 1_000_000;
+                sink += common.size();
+
+                other = AVL.balanced(small);
+                start = System.nanoTime();
+                tree.difference(other);
+                long difference = (System.nanoTime() - start) / 1_000_000;
+                sink += tree.size();
+
+                tree = AVL.balanced(big);
+                start = System.nanoTime();
+                for (Integer key : small) {
+                    if (tree.contains(key)) {
+                        tree.remove(key);
+                    }
+                }
+                long removes = (System.nanoTime() - start) / 1_000_000;
+                sink += tree.size();
+
+                tree = AVL.balanced(big);
+                other = AVL.balanced(small);
+                start = System.nanoTime();
+                tree.parallelUnion(other);
+                long parallel = (System.nanoTime() - start) / 1_000_000;
+                sink += tree.size();
+
+                System.out.printf("m %7d  union %4d (add each %4d, parallel %4d)"
+                        + "  intersection %4d (lookups %4d)  difference %4d (remove each %4d)%n",
+                        m, union, adds, parallel, intersection, lookups, difference, removes);
+            }
+        }
+    }
+
+    /**
+     * Returns count random keys in [0, 4 * N), possibly with duplicates.
+     *
+     * @param random the source of keys
+     * @param count  how many keys to draw
+     * @return the keys
+     */
+    private static List<Integer> randomKeys(Random random, int count) {
+        List<Integer> keys = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            keys.add(random.nextInt(4 * N));
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,140 @@
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for AVL's bulk construction from sorted data.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ */
+public class AVLBulkLoadTest {
+
+    private static final int TIMEOUT = 10000;
+
+    @Test(timeout = TIMEOUT)
+    public void testSortedInputIsBalanced() {
+        AVL<Integer> tree = new AVL<>(Arrays.asList(0, 1, 1, 2, 3, 4, 4, 4, 5, 6));
+        assertEquals(7, tree.size());
+        assertEquals(2, tree.height());
+        assertEquals(Integer.valueOf(3), tree.getRoot().getData());
+        assertEquals(Integer.valueOf(1), tree.getRoot().getLeft().getData());
+        assertEquals(Integer.valueOf(5), tree.getRoot().getRight().getData());
+        checkNode(tree.getRoot(), null, null);
+
+        tree = new AVL<>(Arrays.asList(0, 1, 2, 3, 4, 5));
+        assertEquals(2, tree.height());
+        checkNode(tree.getRoot(), null, null);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testLargeSortedInput() {
+        List<Integer> data = new ArrayList<>();
+        for (int i = 0; i < 1_000_000; i++) {
+            data.add(i);
+        }
+        AVL<Integer> tree = new AVL<>(data);
+        assertEquals(1_000_000, tree.size());
+        assertEquals(19, tree.height());
+        checkNode(tree.getRoot(), null, null);
+        assertEquals(123_456, tree.rank(123_456));
+        assertEquals(Integer.valueOf(999_999), tree.select(999_999));
+
+        for (int i = 0; i < 1_000_000; i += 3) {
+            tree.remove(i);
+        }
+        tree.add(-1);
+        checkNode(tree.getRoot(), null, null);
+        assertEquals(666_667, tree.size());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testUnsortedInputKeepsInsertionOrder() {
+        List<Integer> data = new LinkedList<>();
+        Random random = new Random(1332);
+        for (int i = 0; i < 1000; i++) {
+            data.add(random.nextInt(500));
+        }
+        AVL<Integer> expected = new AVL<>();
+        for (Integer i : data) {
+            expected.add(i);
+        }
+        AVL<Integer> tree = new AVL<>(data);
+        assertEquals(expected.size(), tree.size());
+        assertEquals(shape(expected.getRoot()), shape(tree.getRoot()));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testBalanced() {
+        List<Integer> data = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            data.add(i % 700);
+        }
+        Collections.shuffle(data, new Random(1332));
+        AVL<Integer> tree = AVL.balanced(data);
+        List<Integer> distinct = new ArrayList<>(new TreeSet<>(data));
+        assertEquals(distinct, tree.sortedInBetween(-1, 700));
+        assertEquals(shape(new AVL<>(distinct).getRoot()), shape(tree.getRoot()));
+        assertEquals(9, tree.height());
+        checkNode(tree.getRoot(), null, null);
+
+        AVL<Integer> empty = AVL.balanced(new ArrayList<Integer>());
+        assertEquals(0, empty.size());
+        assertNull(empty.getRoot());
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testBalancedNullElement() {
+        AVL.balanced(Arrays.asList(1, null, 3));
+    }
+
+    /**
+     * Checks heights, balance factors, sizes, balance and ordering of the
+     * subtree at node, whose data must lie strictly between low and high.
+     *
+     * @param node the subtree root
+     * @param low the exclusive lower bound, or null for none
+     * @param high the exclusive upper bound, or null for none
+     * @return the height of node
+     */
+    private static int checkNode(AVLNode<Integer> node, Integer low, Integer high) {
+        if (node == null) {
+            return -1;
+        }
+        assertTrue(low == null || node.getData() > low);
+        assertTrue(high == null || node.getData() < high);
+        int left = checkNode(node.getLeft(), low, node.getData());
+        int right = checkNode(node.getRight(), node.getData(), high);
+        assertEquals(Math.max(left, right) + 1, node.getHeight());
+        assertEquals(left - right, node.getBalanceFactor());
+        assertTrue(Math.abs(left - right) <= 1);
+        int leftSize = node.getLeft() == null ? 0 : node.getLeft().getSize();
+        int rightSize = node.getRight() == null ? 0 : node.getRight().getSize();
+        assertEquals(leftSize + rightSize + 1, node.getSize());
+        return node.getHeight();
+    }
+
+    /**
+     * Describes the shape and data of a subtree.
+     *
+     * @param node the subtree root
+     * @return a string that differs for different trees
+     */
+    private static String shape(AVLNode<Integer> node) {
+        if (node == null) {
+            return ".";
+        }
+        return "(" + node.getData() + " " + shape(node.getLeft()) + " "
+                + shape(node.getRight()) + ")";
+    }
+}
@@ -0,0 +1,136 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for AVL's iterative add, remove and traversals.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ */
+public class AVLIterativeTest {
+
+    private static final int TIMEOUT = 10000;
+    private AVL<Integer> tree;
+
+    @Before
+    public void setUp() {
+        tree = new AVL<>();
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testSortedInput() {
+        int n = 1_000_000;
+        for (int i = 0; i < n; i++) {
+            tree.add(i);
+        }
+        assertEquals(n, tree.size());
+        // Sorted adds fill the tree level by level, and 2^19 <= n < 2^20.
+        assertEquals(19, tree.height());
+        checkNode(tree.getRoot(), null, null);
+        assertEquals(Integer.valueOf(n - 1), tree.get(n - 1));
+
+        for (int i = 0; i < n; i += 2) {
+            assertEquals(Integer.valueOf(i), tree.remove(i));
+        }
+        assertEquals(n / 2, tree.size());
+        checkNode(tree.getRoot(), null, null);
+        assertFalse(tree.contains(0));
+        assertTrue(tree.contains(1));
+
+        for (int i = 1; i < n; i += 2) {
+            tree.remove(i);
+        }
+        assertEquals(0, tree.size());
+        assertNull(tree.getRoot());
+        assertEquals(-1, tree.height());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testMatchesTreeSet() {
+        Random random = new Random(1332);
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < 20_000; i++) {
+            int value = random.nextInt(2_000);
+            if (random.nextInt(3) == 0 && expected.contains(value)) {
+                assertEquals(Integer.valueOf(value), tree.remove(value));
+                expected.remove(value);
+            } else {
+                tree.add(value);
+                expected.add(value);
+            }
+            assertEquals(expected.size(), tree.size());
+            if (i % 1000 == 0) {
+                checkNode(tree.getRoot(), null, null);
+            }
+        }
+        checkNode(tree.getRoot(), null, null);
+
+        for (int i = 0; i < 200; i++) {
+            int low = random.nextInt(2_000);
+            int high = low + random.nextInt(200);
+            assertEquals(new ArrayList<>(expected.subSet(low, false, high, false)),
+                    tree.sortedInBetween(low, high));
+        }
+
+        List<Integer> deepest = new ArrayList<>();
+        deepest(tree.getRoot(), deepest);
+        assertEquals(deepest, tree.deepestBranches());
+    }
+
+    /**
+     * Checks heights, balance factors, sizes, balance and ordering of the
+     * subtree at node, whose data must lie strictly between low and high.
+     *
+     * @param node the subtree root
+     * @param low  the exclusive lower bound, or null for none
+     * @param high the exclusive upper bound, or null for none
+     * @return the height of node
+     */
+    private static int checkNode(AVLNode<Integer> node, Integer low, Integer high) {
+        if (node == null) {
+            return -1;
+        }
+        assertTrue(low == null || node.getData() > low);
+        assertTrue(high == null || node.getData() < high);
+        int left = checkNode(node.getLeft(), low, node.getData());
+        int right = checkNode(node.getRight(), node.getData(), high);
+        assertEquals(Math.max(left, right) + 1, node.getHeight());
+        assertEquals(left - right, node.getBalanceFactor());
+        assertTrue(Math.abs(left - right) <= 1);
+        int leftSize = node.getLeft() == null ? 0 : node.getLeft().getSize();
+        int rightSize = node.getRight() == null ? 0 : node.getRight().getSize();
+        assertEquals(leftSize + rightSize + 1, node.getSize());
+        return node.getHeight();
+    }
+
+    /**
+     * Reference deepestBranches, written recursively from the definition.
+     *
+     * @param node the subtree root
+     * @param list the list to append to
+     */
+    private static void deepest(AVLNode<Integer> node, List<Integer> list) {
+        if (node == null) {
+            return;
+        }
+        list.add(node.getData());
+        int left = node.getLeft() == null ? -1 : node.getLeft().getHeight();
+        int right = node.getRight() == null ? -1 : node.getRight().getHeight();
+        if (left >= right) {
+            deepest(node.getLeft(), list);
+        }
+        if (right >= left) {
+            deepest(node.getRight(), list);
+        }
+    }
+}
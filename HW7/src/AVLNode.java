@@ -11,6 +11,7 @@ public class AVLNode<T extends Comparable<? super T>> {
     private AVLNode<T> right;
     private int height;
     private int balanceFactor;
+    private int size = 1;
 
     /**
      * Create an AVL node with the specified data.
@@ -111,6 +112,24 @@ public class AVLNode<T extends Comparable<? super T>> {
         this.balanceFactor = balanceFactor;
     }
 
+    /**
+     * Get the number of nodes in the subtree rooted at this node.
+     *
+     * @return size of this node's subtree
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Set the number of nodes in the subtree rooted at this node.
+     *
+     * @param size size of this node's subtree
+     */
+    public void setSize(int size) {
+        this.size = size;
+    }
+
     /**
      * DO NOT USE EXCEPT FOR DEBUGGING PURPOSES
      */
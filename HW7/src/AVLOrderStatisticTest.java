@@ -0,0 +1,150 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for AVL's rank, select, countInRange and kLargest.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ */
+public class AVLOrderStatisticTest {
+
+    private static final int TIMEOUT = 10000;
+    private AVL<Integer> tree;
+
+    @Before
+    public void setUp() {
+        tree = new AVL<>();
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testExampleTree() {
+        for (int i : new int[] {10, 5, 15, 2, 7, 13, 20, 1, 4, 6, 8, 14, 17, 25, 0, 9, 30}) {
+            tree.add(i);
+        }
+        assertEquals(17, tree.getRoot().getSize());
+        assertEquals(0, tree.rank(0));
+        assertEquals(3, tree.rank(3));
+        assertEquals(9, tree.rank(10));
+        assertEquals(17, tree.rank(100));
+        assertEquals(Integer.valueOf(0), tree.select(0));
+        assertEquals(Integer.valueOf(10), tree.select(9));
+        assertEquals(Integer.valueOf(30), tree.select(16));
+        assertEquals(4, tree.countInRange(7, 14));
+        assertEquals(4, tree.countInRange(3, 8));
+        assertEquals(0, tree.countInRange(8, 8));
+        assertEquals(0, tree.countInRange(8, 9));
+        assertEquals(Arrays.asList(17, 20, 25, 30), tree.kLargest(4));
+        assertEquals(new ArrayList<>(), tree.kLargest(0));
+        assertEquals(tree.sortedInBetween(-1, 31), tree.kLargest(17));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testSizesSurviveFailedOperations() {
+        for (int i = 0; i < 100; i++) {
+            tree.add(i);
+        }
+        tree.add(50);
+        try {
+            tree.remove(1000);
+            fail();
+        } catch (NoSuchElementException e) {
+            assertEquals(100, tree.getRoot().getSize());
+        }
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, tree.rank(i));
+            assertEquals(Integer.valueOf(i), tree.select(i));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testMatchesTreeSet() {
+        Random random = new Random(1332);
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < 20_000; i++) {
+            int value = random.nextInt(2_000);
+            if (random.nextInt(3) == 0 && expected.contains(value)) {
+                tree.remove(value);
+                expected.remove(value);
+            } else {
+                tree.add(value);
+                expected.add(value);
+            }
+            if (i % 100 == 0) {
+                checkQueries(expected, random);
+            }
+        }
+        checkQueries(expected, random);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testExceptions() {
+        tree.add(1);
+        try {
+            tree.rank(null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            tree.select(-1);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+        try {
+            tree.select(1);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+        try {
+            tree.countInRange(2, 1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            tree.kLargest(2);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Checks a few random queries of each kind against expected.
+     *
+     * @param expected the data the tree should hold
+     * @param random   the source of query arguments
+     */
+    private void checkQueries(TreeSet<Integer> expected, Random random) {
+        List<Integer> sorted = new ArrayList<>(expected);
+        assertEquals(sorted.size(), tree.size());
+        for (int j = 0; j < 10; j++) {
+            int value = random.nextInt(2_100) - 50;
+            assertEquals(expected.headSet(value).size(), tree.rank(value));
+            int low = random.nextInt(2_000);
+            int high = low + random.nextInt(300);
+            assertEquals(expected.subSet(low, false, high, false).size(),
+                    tree.countInRange(low, high));
+            if (!sorted.isEmpty()) {
+                int index = random.nextInt(sorted.size());
+                assertEquals(sorted.get(index), tree.select(index));
+                int k = random.nextInt(Math.min(sorted.size(), 50) + 1);
+                assertEquals(sorted.subList(sorted.size() - k, sorted.size()),
+                        tree.kLargest(k));
+            }
+        }
+    }
+}
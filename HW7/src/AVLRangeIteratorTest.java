@@ -0,0 +1,147 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for AVL's range iterators and range Spliterator.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ */
+public class AVLRangeIteratorTest {
+
+    private static final int TIMEOUT = 10000;
+    private AVL<Integer> tree;
+
+    @Before
+    public void setUp() {
+        tree = new AVL<>();
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testExampleTree() {
+        for (int i : new int[] {10, 5, 15, 2, 7, 13, 20, 1, 4, 6, 8, 14, 17, 25, 0, 9, 30}) {
+            tree.add(i);
+        }
+        assertEquals(tree.sortedInBetween(7, 14), drain(tree.rangeIterator(7, false, 14, false)));
+        assertEquals(List.of(7, 8, 9, 10, 13, 14), drain(tree.rangeIterator(7, true, 14, true)));
+        assertEquals(List.of(14, 13, 10, 9, 8, 7),
+                drain(tree.descendingRangeIterator(7, true, 14, true)));
+        assertEquals(List.of(8), drain(tree.rangeIterator(8, true, 8, true)));
+        assertEquals(List.of(), drain(tree.rangeIterator(8, false, 8, true)));
+        assertEquals(List.of(25, 30), drain(tree.rangeIterator(20, false, null, false)));
+        assertEquals(List.of(2, 1, 0), drain(tree.descendingRangeIterator(null, false, 3, false)));
+        assertEquals(17, drain(tree.rangeIterator(null, false, null, false)).size());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testFirstPageOfLargeRange() {
+        for (int i = 0; i < 1_000_000; i++) {
+            tree.add(i);
+        }
+        Iterator<Integer> it = tree.rangeIterator(100, true, 900_000, false);
+        for (int i = 100; i < 150; i++) {
+            assertTrue(it.hasNext());
+            assertEquals(Integer.valueOf(i), it.next());
+        }
+        it = tree.descendingRangeIterator(100, true, 900_000, false);
+        for (int i = 899_999; i > 899_949; i--) {
+            assertEquals(Integer.valueOf(i), it.next());
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testMatchesTreeSet() {
+        Random random = new Random(1332);
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < 3_000; i++) {
+            int value = random.nextInt(1_000);
+            tree.add(value);
+            expected.add(value);
+        }
+        for (int i = 0; i < 2_000; i++) {
+            Integer low = random.nextInt(10) == 0 ? null : random.nextInt(1_100) - 50;
+            Integer high = random.nextInt(10) == 0 ? null : random.nextInt(1_100) - 50;
+            if (low != null && high != null && low > high) {
+                Integer temp = low;
+                low = high;
+                high = temp;
+            }
+            boolean lowInclusive = random.nextBoolean();
+            boolean highInclusive = random.nextBoolean();
+
+            TreeSet<Integer> range = new TreeSet<>();
+            for (int value : expected) {
+                if ((low == null || value > low || (lowInclusive && value == low))
+                        && (high == null || value < high || (highInclusive && value == high))) {
+                    range.add(value);
+                }
+            }
+            assertEquals(new ArrayList<>(range),
+                    drain(tree.rangeIterator(low, lowInclusive, high, highInclusive)));
+            assertEquals(new ArrayList<>(range.descendingSet()),
+                    drain(tree.descendingRangeIterator(low, lowInclusive, high, highInclusive)));
+
+            Spliterator<Integer> spliterator =
+                    tree.rangeSpliterator(low, lowInclusive, high, highInclusive);
+            assertEquals(range.size(), spliterator.getExactSizeIfKnown());
+            assertEquals(new ArrayList<>(range), StreamSupport.stream(spliterator, false)
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testExceptions() {
+        tree.add(1);
+        Iterator<Integer> it = tree.rangeIterator(0, true, 2, true);
+        assertEquals(Integer.valueOf(1), it.next());
+        assertFalse(it.hasNext());
+        try {
+            it.next();
+            fail();
+        } catch (NoSuchElementException e) {
+            // expected
+        }
+        try {
+            tree.rangeIterator(2, true, 1, true);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            tree.descendingRangeIterator(2, true, 1, true);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        assertFalse(new AVL<Integer>().rangeIterator(null, true, null, true).hasNext());
+    }
+
+    /**
+     * Collects what is left in an iterator.
+     *
+     * @param it the iterator
+     * @return the remaining data in order
+     */
+    private static List<Integer> drain(Iterator<Integer> it) {
+        List<Integer> list = new ArrayList<>();
+        while (it.hasNext()) {
+            list.add(it.next());
+        }
+        return list;
+    }
+}
@@ -0,0 +1,219 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for AVL's split, join, union, intersection and difference.
+ *
+ * @author Peter Kutz
+ * @version 1.0
+ */
+public class AVLSetOperationsTest {
+
+    private static final int TIMEOUT = 10000;
+    private Random random;
+
+    @Before
+    public void setUp() {
+        random = new Random(1332);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testSplit() {
+        for (int trial = 0; trial < 200; trial++) {
+            TreeSet<Integer> expected = randomSet(random.nextInt(300), 500);
+            AVL<Integer> tree = toTree(expected);
+            int at = random.nextInt(520) - 10;
+            AVL<Integer> greater = tree.split(at);
+            checkTree(tree, expected.headSet(at, false));
+            checkTree(greater, expected.tailSet(at, true));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testJoin() {
+        for (int trial = 0; trial < 200; trial++) {
+            int pivot = random.nextInt(1000);
+            TreeSet<Integer> small = randomSet(random.nextInt(300), pivot);
+            TreeSet<Integer> large = new TreeSet<>();
+            for (int value : randomSet(random.nextInt(300), 1000)) {
+                large.add(pivot + 1 + value);
+            }
+            AVL<Integer> left = toTree(small);
+            AVL<Integer> right = toTree(large);
+            AVL<Integer> joined = AVL.join(left, pivot, right);
+
+            TreeSet<Integer> expected = new TreeSet<>(small);
+            expected.add(pivot);
+            expected.addAll(large);
+            checkTree(joined, expected);
+            assertEquals(0, left.size());
+            assertNull(right.getRoot());
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testJoinOutOfOrder() {
+        AVL<Integer> left = toTree(randomSet(10, 100));
+        AVL<Integer> right = toTree(randomSet(10, 100));
+        try {
+            AVL.join(left, 50, right);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals(10, left.size());
+        }
+        try {
+            AVL.join(new AVL<Integer>(), null, new AVL<Integer>());
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testSetOperations() {
+        for (int trial = 0; trial < 300; trial++) {
+            int range = 1 + random.nextInt(2000);
+            TreeSet<Integer> a = randomSet(random.nextInt(500), range);
+            TreeSet<Integer> b = randomSet(random.nextInt(500), range);
+
+            AVL<Integer> tree = toTree(a);
+            AVL<Integer> other = toTree(b);
+            tree.union(other);
+            TreeSet<Integer> expected = new TreeSet<>(a);
+            expected.addAll(b);
+            checkTree(tree, expected);
+            assertEquals(0, other.size());
+
+            tree = toTree(a);
+            tree.intersection(toTree(b));
+            expected = new TreeSet<>(a);
+            expected.retainAll(b);
+            checkTree(tree, expected);
+
+            tree = toTree(a);
+            tree.difference(toTree(b));
+            expected = new TreeSet<>(a);
+            expected.removeAll(b);
+            checkTree(tree, expected);
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testUnionKeepsThisTreesData() {
+        AVL<String> tree = new AVL<>();
+        String mine = new String("b");
+        tree.add(mine);
+        AVL<String> other = new AVL<>();
+        other.add("a");
+        other.add(new String("b"));
+        tree.union(other);
+        assertSame(mine, tree.get("b"));
+        assertEquals(2, tree.size());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testWithItself() {
+        TreeSet<Integer> a = randomSet(100, 1000);
+        AVL<Integer> tree = toTree(a);
+        tree.union(tree);
+        checkTree(tree, a);
+        tree.intersection(tree);
+        checkTree(tree, a);
+        tree.difference(tree);
+        checkTree(tree, new TreeSet<>());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testParallelUnion() {
+        TreeSet<Integer> a = randomSet(200_000, 1_000_000);
+        TreeSet<Integer> b = randomSet(150_000, 1_000_000);
+        AVL<Integer> tree = toTree(a);
+        tree.parallelUnion(toTree(b));
+        TreeSet<Integer> expected = new TreeSet<>(a);
+        expected.addAll(b);
+        checkTree(tree, expected);
+    }
+
+    /**
+     * Returns a set of about count random integers in [0, range).
+     *
+     * @param count how many integers to draw
+     * @param range the bound on the integers
+     * @return the set
+     */
+    private TreeSet<Integer> randomSet(int count, int range) {
+        TreeSet<Integer> set = new TreeSet<>();
+        for (int i = 0; i < count && range > 0; i++) {
+            set.add(random.nextInt(range));
+        }
+        return set;
+    }
+
+    /**
+     * Builds a tree from a set by adding in random order.
+     *
+     * @param set the data
+     * @return the tree
+     */
+    private AVL<Integer> toTree(TreeSet<Integer> set) {
+        List<Integer> data = new ArrayList<>(set);
+        Collections.shuffle(data, random);
+        AVL<Integer> tree = new AVL<>();
+        for (Integer i : data) {
+            tree.add(i);
+        }
+        return tree;
+    }
+
+    /**
+     * Checks that tree holds exactly expected and is a valid AVL tree.
+     *
+     * @param tree     the tree
+     * @param expected the data it should hold
+     */
+    private static void checkTree(AVL<Integer> tree, SortedSet<Integer> expected) {
+        assertEquals(expected.size(), tree.size());
+        assertEquals(new ArrayList<>(expected),
+                tree.sortedInBetween(Integer.MIN_VALUE, Integer.MAX_VALUE));
+        checkNode(tree.getRoot(), null, null);
+    }
+
+    /**
+     * Checks heights, balance factors, sizes, balance and ordering of the
+     * subtree at node, whose data must lie strictly between low and high.
+     *
+     * @param node the subtree root
+     * @param low the exclusive lower bound, or null for none
+     * @param high the exclusive upper bound, or null for none
+     * @return the height of node
+     */
+    private static int checkNode(AVLNode<Integer> node, Integer low, Integer high) {
+        if (node == null) {
+            return -1;
+        }
+        assertTrue(low == null || node.getData() > low);
+        assertTrue(high == null || node.getData() < high);
+        int left = checkNode(node.getLeft(), low, node.getData());
+        int right = checkNode(node.getRight(), node.getData(), high);
+        assertEquals(Math.max(left, right) + 1, node.getHeight());
+        assertEquals(left - right, node.getBalanceFactor());
+        assertTrue(Math.abs(left - right) <= 1);
+        int leftSize = node.getLeft() == null ? 0 : node.getLeft().getSize();
+        int rightSize = node.getRight() == null ? 0 : node.getRight().getSize();
+        assertEquals(leftSize + rightSize + 1, node.getSize());
+        return node.getHeight();
+    }
+}